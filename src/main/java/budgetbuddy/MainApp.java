@@ -3,17 +3,29 @@ package budgetbuddy;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import budgetbuddy.commons.core.Config;
 import budgetbuddy.commons.core.LogsCenter;
+import budgetbuddy.commons.core.StorageSettings.AccountsFormat;
 import budgetbuddy.commons.core.Version;
 import budgetbuddy.commons.exceptions.DataConversionException;
+import budgetbuddy.commons.util.AtomicFileWriter;
 import budgetbuddy.commons.util.ConfigUtil;
+import budgetbuddy.commons.util.FileUtil;
 import budgetbuddy.commons.util.StringUtil;
 import budgetbuddy.logic.Logic;
 import budgetbuddy.logic.LogicManager;
+import budgetbuddy.logic.script.ScriptEngine;
+import budgetbuddy.logic.script.exceptions.ScriptException;
 import budgetbuddy.model.AccountsManager;
 import budgetbuddy.model.LoansManager;
 import budgetbuddy.model.Model;
@@ -28,7 +40,11 @@ import budgetbuddy.storage.Storage;
 import budgetbuddy.storage.StorageManager;
 import budgetbuddy.storage.UserPrefsStorage;
 import budgetbuddy.storage.accounts.AccountsStorage;
+import budgetbuddy.storage.accounts.ArchivingAccountsStorage;
+import budgetbuddy.storage.accounts.BinaryAccountsStorage;
+import budgetbuddy.storage.accounts.JournalAccountsStorage;
 import budgetbuddy.storage.accounts.JsonAccountsStorage;
+import budgetbuddy.storage.accounts.SegmentedAccountsStorage;
 import budgetbuddy.storage.loans.JsonLoansStorage;
 import budgetbuddy.storage.loans.LoansStorage;
 import budgetbuddy.storage.rules.JsonRuleStorage;
@@ -49,6 +65,9 @@ public class MainApp extends Application {
 
     private static final Logger logger = LogsCenter.getLogger(MainApp.class);
 
+    /** The number of threads used to read the data files and start the script engine. */
+    private static final int STARTUP_THREADS = Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors()));
+
     protected Ui ui;
     protected Logic logic;
     protected Storage storage;
@@ -59,38 +78,156 @@ public class MainApp extends Application {
     public void init() throws Exception {
         logger.info("=============================[ Initializing Budget Buddy ]===========================");
         super.init();
+        long initStartTime = System.nanoTime();
 
         AppParameters appParameters = AppParameters.parse(getParameters());
-        config = initConfig(appParameters.getConfigPath());
+        config = timed("config", () -> initConfig(appParameters.getConfigPath()));
 
         UserPrefsStorage userPrefsStorage = new JsonUserPrefsStorage(config.getUserPrefsFilePath());
-        UserPrefs userPrefs = initPrefs(userPrefsStorage);
-        AccountsStorage accountsStorage = new JsonAccountsStorage(userPrefs.getAccountsFilePath());
-        LoansStorage loansStorage = new JsonLoansStorage(userPrefs.getLoansFilePath());
-        RuleStorage ruleStorage = new JsonRuleStorage(userPrefs.getRuleFilePath());
-        ScriptsStorage scriptsStorage = new FlatfileScriptsStorage(userPrefs.getScriptsPath());
+        UserPrefs userPrefs = timed("user prefs", () -> initPrefs(userPrefsStorage));
+        initFsyncPolicy(userPrefs);
+
+        ExecutorService executor = Executors.newFixedThreadPool(STARTUP_THREADS, runnable -> {
+            Thread thread = new Thread(runnable, "startup");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            // The script engine does not depend on any data, so it warms up while the data files are parsed.
+            CompletableFuture<ScriptEngine> scriptEngine = CompletableFuture.supplyAsync(() ->
+                    timed("script engine", this::initScriptEngine), executor);
+
+            AccountsStorage accountsStorage = timed("accounts storage", () -> initAccountsStorage(userPrefs));
+            LoansStorage loansStorage = new JsonLoansStorage(userPrefs.getLoansFilePath());
+            RuleStorage ruleStorage = new JsonRuleStorage(userPrefs.getRuleFilePath());
+            ScriptsStorage scriptsStorage = new FlatfileScriptsStorage(userPrefs.getScriptsPath());
 
-        storage = new StorageManager(accountsStorage, loansStorage, ruleStorage, scriptsStorage, userPrefsStorage);
+            storage = new StorageManager(accountsStorage, loansStorage, ruleStorage, scriptsStorage,
+                    userPrefsStorage, userPrefs.getStorageSettings().getDurability());
 
-        initLogging(config);
+            initLogging(config);
 
-        model = initModelManager(storage, userPrefs);
+            model = initModelManager(storage, userPrefs, executor);
 
-        logic = new LogicManager(model, storage);
+            logic = new LogicManager(model, storage, await(scriptEngine));
+        } finally {
+            executor.shutdown();
+        }
 
         ui = new UiManager(logic);
+        logger.info(String.format("Initialized in %d ms", elapsedMillisSince(initStartTime)));
+    }
+
+    /**
+     * Returns an {@code AccountsStorage} for the accounts format in {@code userPrefs}, which archives
+     * old transactions if {@code userPrefs} asks for it.
+     */
+    private AccountsStorage initAccountsStorage(ReadOnlyUserPrefs userPrefs) {
+        AccountsStorage accountsStorage = initAccountsFormatStorage(userPrefs);
+        int archiveAfterDays = userPrefs.getStorageSettings().getArchiveAfterDays();
+        if (archiveAfterDays <= 0) {
+            return accountsStorage;
+        }
+        return new ArchivingAccountsStorage(accountsStorage,
+                ArchivingAccountsStorage.toArchiveDirectory(userPrefs.getAccountsFilePath()), archiveAfterDays);
+    }
+
+    /**
+     * Returns an {@code AccountsStorage} for the accounts format in {@code userPrefs}.
+     */
+    private AccountsStorage initAccountsFormatStorage(ReadOnlyUserPrefs userPrefs) {
+        switch (userPrefs.getStorageSettings().getAccountsFormat()) {
+        case JOURNAL:
+            return new JournalAccountsStorage(userPrefs.getAccountsFilePath());
+        case BINARY:
+            Path binaryFilePath = BinaryAccountsStorage.toBinaryFilePath(userPrefs.getAccountsFilePath());
+            if (!FileUtil.isFileExists(binaryFilePath)) {
+                try {
+                    BinaryAccountsStorage.convertFromJson(userPrefs.getAccountsFilePath(), binaryFilePath);
+                } catch (DataConversionException | IOException e) {
+                    logger.warning("Failed to convert accounts file to binary: " + StringUtil.getDetails(e));
+                }
+            }
+            return new BinaryAccountsStorage(binaryFilePath);
+        case SEGMENTED:
+        case SHARDED:
+            Path segmentsDirectory = SegmentedAccountsStorage.toSegmentsDirectory(userPrefs.getAccountsFilePath());
+            if (!FileUtil.isFileExists(segmentsDirectory.resolve(SegmentedAccountsStorage.MANIFEST_FILE_NAME))) {
+                try {
+                    SegmentedAccountsStorage.convertFromJson(userPrefs.getAccountsFilePath(), segmentsDirectory);
+                } catch (DataConversionException | IOException e) {
+                    logger.warning("Failed to convert accounts file to segments: " + StringUtil.getDetails(e));
+                }
+            }
+            return new SegmentedAccountsStorage(segmentsDirectory,
+                    userPrefs.getStorageSettings().getAccountsFormat() == AccountsFormat.SHARDED);
+        case JSON:
+        default:
+            return new JsonAccountsStorage(userPrefs.getAccountsFilePath());
+        }
     }
 
     /**
      * Returns a {@code ModelManager} with the data from {@code storage} and {@code userPrefs}.
+     * The model components are read from {@code storage} concurrently on {@code executor}.
      */
-    private Model initModelManager(Storage storage, ReadOnlyUserPrefs userPrefs) {
-        AccountsManager accountsManager = initAccountsManager(storage);
-        LoansManager loansManager = initLoansManager(storage);
-        RuleManager ruleManager = initRuleManager(storage);
-        ScriptLibrary scriptLibrary = initScriptLibrary(storage);
+    private Model initModelManager(Storage storage, ReadOnlyUserPrefs userPrefs, Executor executor) {
+        CompletableFuture<AccountsManager> accountsManager = CompletableFuture.supplyAsync(() ->
+                timed("accounts", () -> initAccountsManager(storage)), executor);
+        CompletableFuture<LoansManager> loansManager = CompletableFuture.supplyAsync(() ->
+                timed("loans", () -> initLoansManager(storage)), executor);
+        CompletableFuture<RuleManager> ruleManager = CompletableFuture.supplyAsync(() ->
+                timed("rules", () -> initRuleManager(storage)), executor);
+        CompletableFuture<ScriptLibrary> scriptLibrary = CompletableFuture.supplyAsync(() ->
+                timed("scripts", () -> initScriptLibrary(storage)), executor);
+
+        return new ModelManager(await(loansManager), await(ruleManager), await(accountsManager),
+                await(scriptLibrary), userPrefs);
+    }
 
-        return new ModelManager(loansManager, ruleManager, accountsManager, scriptLibrary, userPrefs);
+    /**
+     * Returns a script engine which has evaluated a script, so that the script compiler is ready to use.
+     */
+    private ScriptEngine initScriptEngine() {
+        ScriptEngine scriptEngine = new ScriptEngine();
+        try {
+            scriptEngine.evaluateScript("");
+        } catch (ScriptException e) {
+            logger.log(Level.WARNING, "Error warming up the script engine", e);
+        }
+        return scriptEngine;
+    }
+
+    /**
+     * Returns the result of {@code phase}, and logs how long it took.
+     */
+    private static <T> T timed(String phaseName, Supplier<T> phase) {
+        long startTime = System.nanoTime();
+        T result = phase.get();
+        logger.info(String.format("Initialized %s in %d ms", phaseName, elapsedMillisSince(startTime)));
+        return result;
+    }
+
+    private static long elapsedMillisSince(long startNanoTime) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanoTime);
+    }
+
+    /**
+     * Waits for {@code future} to complete and returns its result.
+     * Unchecked exceptions and errors thrown while computing the result are rethrown as they are.
+     */
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
     }
 
     /**
@@ -170,6 +307,17 @@ public class MainApp extends Application {
         return accountsManagerOptional.orElseGet(SampleDataUtil::getSampleAccountsManager);
     }
 
+    /**
+     * Applies the fsync policy in {@code userPrefs} to all files written from now on.
+     */
+    private void initFsyncPolicy(ReadOnlyUserPrefs userPrefs) {
+        try {
+            AtomicFileWriter.setFsyncPolicy(userPrefs.getStorageSettings().getFsyncPolicy());
+        } catch (IOException e) {
+            logger.warning("Failed to sync files to disk: " + StringUtil.getDetails(e));
+        }
+    }
+
     private void initLogging(Config config) {
         LogsCenter.init(config);
     }
@@ -245,7 +393,9 @@ public class MainApp extends Application {
     @Override
     public void start(Stage primaryStage) {
         logger.info("Starting Budget Buddy " + MainApp.VERSION);
+        long startTime = System.nanoTime();
         ui.start(primaryStage);
+        logger.info(String.format("Started UI in %d ms", elapsedMillisSince(startTime)));
     }
 
     @Override
@@ -256,5 +406,10 @@ public class MainApp extends Application {
         } catch (IOException e) {
             logger.severe("Failed to save preferences " + StringUtil.getDetails(e));
         }
+        try {
+            storage.flush();
+        } catch (IOException e) {
+            logger.severe("Failed to save data " + StringUtil.getDetails(e));
+        }
     }
 }
@@ -9,6 +9,8 @@ public class Messages {
     public static final String MESSAGE_INVALID_COMMAND_FORMAT = "Invalid command format! \n%1$s";
     public static final String MESSAGE_INVALID_DISPLAYED_INDEX = "The index provided is invalid";
 
+    public static final String MESSAGE_ARCHIVED_TRANSACTION = "Archived transactions cannot be edited or deleted";
+
     public static final String MESSAGE_TRANSACTIONS_LISTED_OVERVIEW = "%1$d transactions listed!";
     public static final String MESSAGE_ACCOUNTS_LISTED_OVERVIEW = "%1$d account(s) listed!";
     public static final String MESSAGE_ACCOUNT_SEARCH_RESULTS_EMPTY = "There are no results matching your search,"
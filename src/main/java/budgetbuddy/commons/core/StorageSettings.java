@@ -0,0 +1,136 @@
+package budgetbuddy.commons.core;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * A Serializable class that contains the storage settings.
+ * Guarantees: immutable.
+ */
+public class StorageSettings implements Serializable {
+
+    /**
+     * The formats in which accounts can be stored on disk.
+     */
+    public enum AccountsFormat {
+        /** The whole accounts manager is rewritten as a single json file on every save. */
+        JSON,
+        /** A json snapshot plus an append-only journal of the changes made since the snapshot. */
+        JOURNAL,
+        /** A compact binary file, kept next to the json file, which is converted on first use. */
+        BINARY,
+        /**
+         * A directory, kept next to the json file, with one file per account whose transactions are read only
+         * when the account is first used. The json file is converted on first use.
+         */
+        SEGMENTED,
+        /**
+         * The same directory as {@link #SEGMENTED}, but the files of all accounts are read in parallel
+         * when the app starts.
+         */
+        SHARDED
+    }
+
+    /**
+     * When changes made by a command are written to disk.
+     */
+    public enum Durability {
+        /** Changes are written before the command completes. */
+        SYNCHRONOUS,
+        /**
+         * Changes are written by a background thread after the command completes, and are flushed on exit.
+         * Changes made shortly before a crash may be lost.
+         */
+        ASYNCHRONOUS
+    }
+
+    /**
+     * When files written to disk are synced, so that they survive a crash of the operating system or a power loss.
+     * Files are always replaced atomically, so a crash of the app never leaves a partly written file.
+     */
+    public enum FsyncPolicy {
+        /** Every file is synced before it replaces the old file. */
+        ALWAYS,
+        /** Files written within a short interval are synced together in the background, and on exit. */
+        BATCHED,
+        /** Files are never synced, and are written to disk whenever the operating system chooses. */
+        NEVER
+    }
+
+    private static final AccountsFormat DEFAULT_ACCOUNTS_FORMAT = AccountsFormat.JSON;
+    private static final Durability DEFAULT_DURABILITY = Durability.SYNCHRONOUS;
+    private static final FsyncPolicy DEFAULT_FSYNC_POLICY = FsyncPolicy.ALWAYS;
+    private static final int DEFAULT_ARCHIVE_AFTER_DAYS = 0;
+
+    private final AccountsFormat accountsFormat;
+    private final Durability durability;
+    private final FsyncPolicy fsyncPolicy;
+    /**
+     * How many days old a transaction must be before it is moved to the read-only archive of its account,
+     * or 0 if transactions are never archived.
+     */
+    private final int archiveAfterDays;
+
+    public StorageSettings() {
+        accountsFormat = DEFAULT_ACCOUNTS_FORMAT;
+        durability = DEFAULT_DURABILITY;
+        fsyncPolicy = DEFAULT_FSYNC_POLICY;
+        archiveAfterDays = DEFAULT_ARCHIVE_AFTER_DAYS;
+    }
+
+    public StorageSettings(AccountsFormat accountsFormat, Durability durability, FsyncPolicy fsyncPolicy,
+                           int archiveAfterDays) {
+        this.accountsFormat = accountsFormat;
+        this.durability = durability;
+        this.fsyncPolicy = fsyncPolicy;
+        this.archiveAfterDays = archiveAfterDays;
+    }
+
+    public AccountsFormat getAccountsFormat() {
+        return accountsFormat;
+    }
+
+    public Durability getDurability() {
+        return durability;
+    }
+
+    public FsyncPolicy getFsyncPolicy() {
+        return fsyncPolicy;
+    }
+
+    public int getArchiveAfterDays() {
+        return archiveAfterDays;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (other == this) {
+            return true;
+        }
+        if (!(other instanceof StorageSettings)) { //this handles null as well.
+            return false;
+        }
+
+        StorageSettings o = (StorageSettings) other;
+
+        return Objects.equals(accountsFormat, o.accountsFormat)
+                && Objects.equals(durability, o.durability)
+                && Objects.equals(fsyncPolicy, o.fsyncPolicy)
+                && archiveAfterDays == o.archiveAfterDays;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(accountsFormat, durability, fsyncPolicy, archiveAfterDays);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Accounts format : " + accountsFormat + "\n");
+        sb.append("Durability : " + durability + "\n");
+        sb.append("Fsync policy : " + fsyncPolicy + "\n");
+        sb.append("Archive after days : " + archiveAfterDays);
+        return sb.toString();
+    }
+}
@@ -0,0 +1,285 @@
+package budgetbuddy.commons.util;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.BufferedOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import budgetbuddy.commons.core.LogsCenter;
+import budgetbuddy.commons.core.StorageSettings.FsyncPolicy;
+
+/**
+ * Replaces files atomically, by writing the new content to a temporary file in the same directory
+ * and renaming it over the old file. Readers, and the file after a crash of the app, see either
+ * the old content or the new content, never a partly written file.
+ *
+ * Whether the new content is synced to the disk before the rename is decided by the {@link FsyncPolicy}.
+ * Content appended to a file, such as a journal, is not atomic, but is synced by the same policy.
+ */
+public class AtomicFileWriter {
+
+    /** How long files written under {@link FsyncPolicy#BATCHED} may wait before they are synced. */
+    public static final long BATCH_INTERVAL_MILLIS = 1000;
+
+    static final String TEMP_FILE_SUFFIX = ".tmp";
+
+    private static final Logger logger = LogsCenter.getLogger(AtomicFileWriter.class);
+
+    private static final Object lock = new Object();
+    private static volatile FsyncPolicy fsyncPolicy = FsyncPolicy.ALWAYS;
+    /** Files and directories written under {@link FsyncPolicy#BATCHED} which have not been synced yet. */
+    private static final Set<Path> pendingSyncs = new LinkedHashSet<>();
+    private static ScheduledExecutorService batchSyncer;
+
+    private AtomicFileWriter() {} // prevents instantiation
+
+    /**
+     * Writes the content to be stored in a file.
+     * The stream may be closed by the content writer, but the file is only closed once the content is synced.
+     */
+    @FunctionalInterface
+    public interface ContentWriter {
+        void writeTo(OutputStream out) throws IOException;
+    }
+
+    public static FsyncPolicy getFsyncPolicy() {
+        return fsyncPolicy;
+    }
+
+    /**
+     * Sets the policy used by all later writes.
+     * Files waiting to be synced under the previous policy are synced first.
+     */
+    public static void setFsyncPolicy(FsyncPolicy newFsyncPolicy) throws IOException {
+        requireNonNull(newFsyncPolicy);
+        syncPending();
+        fsyncPolicy = newFsyncPolicy;
+    }
+
+    /**
+     * Atomically replaces the content of {@code file} with {@code content}, creating the file and its
+     * parent directories if they do not exist.
+     */
+    public static void write(Path file, byte[] content) throws IOException {
+        requireNonNull(content);
+        write(file, out -> out.write(content));
+    }
+
+    /**
+     * Atomically replaces the content of {@code file} with what {@code contentWriter} writes, creating the file
+     * and its parent directories if they do not exist. If {@code contentWriter} fails, the file is unchanged.
+     */
+    public static void write(Path file, ContentWriter contentWriter) throws IOException {
+        requireNonNull(file);
+        requireNonNull(contentWriter);
+
+        FileUtil.createParentDirsOfFile(file);
+        Path directory = file.toAbsolutePath().getParent();
+        Path tempFile = Files.createTempFile(directory, file.getFileName().toString(), TEMP_FILE_SUFFIX);
+        FsyncPolicy policy = fsyncPolicy;
+        try {
+            try (FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.WRITE);
+                 OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel))) {
+                contentWriter.writeTo(new UnclosableOutputStream(out));
+                out.flush();
+                if (policy == FsyncPolicy.ALWAYS) {
+                    channel.force(true);
+                }
+            }
+            moveAtomically(tempFile, file);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tempFile);
+            throw e;
+        }
+
+        switch (policy) {
+        case ALWAYS:
+            syncDirectory(directory);
+            break;
+        case BATCHED:
+            scheduleSync(file.toAbsolutePath(), directory);
+            break;
+        case NEVER:
+        default:
+            break;
+        }
+    }
+
+    /**
+     * Appends {@code content} to {@code file}, creating the file and its parent directories if they do not exist,
+     * and syncs the file as the {@link FsyncPolicy} decides.
+     */
+    public static void append(Path file, byte[] content) throws IOException {
+        requireNonNull(file);
+        requireNonNull(content);
+
+        FileUtil.createParentDirsOfFile(file);
+        Path directory = file.toAbsolutePath().getParent();
+        boolean isCreated = !Files.exists(file);
+        FsyncPolicy policy = fsyncPolicy;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = ByteBuffer.wrap(content);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            if (policy == FsyncPolicy.ALWAYS) {
+                channel.force(false);
+            }
+        }
+
+        switch (policy) {
+        case ALWAYS:
+            if (isCreated) {
+                syncDirectory(directory);
+            }
+            break;
+        case BATCHED:
+            scheduleSync(file.toAbsolutePath(), directory);
+            break;
+        case NEVER:
+        default:
+            break;
+        }
+    }
+
+    /**
+     * Syncs every file written under {@link FsyncPolicy#BATCHED} which has not been synced yet.
+     */
+    public static void syncPending() throws IOException {
+        Path[] toSync;
+        synchronized (lock) {
+            toSync = pendingSyncs.toArray(new Path[0]);
+            pendingSyncs.clear();
+        }
+
+        IOException firstFailure = null;
+        for (Path path : toSync) {
+            try {
+                if (Files.isDirectory(path)) {
+                    syncDirectory(path);
+                } else {
+                    syncFile(path);
+                }
+            } catch (IOException e) {
+                firstFailure = firstFailure == null ? e : firstFailure;
+            }
+        }
+        if (firstFailure != null) {
+            throw firstFailure;
+        }
+    }
+
+    /**
+     * Returns true if {@code path} was written under {@link FsyncPolicy#BATCHED} and has not been synced yet.
+     */
+    static boolean isSyncPending(Path path) {
+        synchronized (lock) {
+            return pendingSyncs.contains(path.toAbsolutePath());
+        }
+    }
+
+    /**
+     * Renames {@code source} to {@code target}, replacing {@code target}, atomically if the file system allows it.
+     */
+    private static void moveAtomically(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Queues {@code file} and {@code directory} to be synced by the background syncer.
+     */
+    private static void scheduleSync(Path file, Path directory) {
+        synchronized (lock) {
+            boolean isSyncScheduled = !pendingSyncs.isEmpty();
+            pendingSyncs.add(file);
+            pendingSyncs.add(directory);
+            if (isSyncScheduled) {
+                return;
+            }
+            if (batchSyncer == null) {
+                batchSyncer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "file-syncer");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            }
+            batchSyncer.schedule(AtomicFileWriter::syncPendingInBackground, BATCH_INTERVAL_MILLIS,
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Syncs pending files on the background syncer, logging any failure since no caller is waiting for it.
+     */
+    private static void syncPendingInBackground() {
+        try {
+            syncPending();
+        } catch (IOException e) {
+            logger.warning("Failed to sync files to disk: " + e);
+        }
+    }
+
+    /**
+     * Syncs the content of {@code file}. A file which has since been deleted or replaced needs no syncing.
+     */
+    private static void syncFile(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (NoSuchFileException e) {
+            // nothing to sync
+        }
+    }
+
+    /**
+     * Syncs the entries of {@code directory}, so that a rename within it survives a crash.
+     * Some platforms do not allow directories to be opened, in which case nothing is synced.
+     */
+    private static void syncDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            logger.fine("Unable to sync directory " + directory + ": " + e);
+        }
+    }
+
+    /**
+     * An output stream which is flushed, rather than closed, when it is closed.
+     */
+    private static class UnclosableOutputStream extends FilterOutputStream {
+        UnclosableOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
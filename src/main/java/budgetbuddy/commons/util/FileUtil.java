@@ -73,11 +73,12 @@ public class FileUtil {
     }
 
     /**
-     * Writes given string to a file.
+     * Writes given string to a file, atomically replacing its previous content.
      * Will create the file if it does not exist yet.
+     * @see AtomicFileWriter
      */
     public static void writeToFile(Path file, String content) throws IOException {
-        Files.write(file, content.getBytes(CHARSET));
+        AtomicFileWriter.write(file, content.getBytes(CHARSET));
     }
 
 }
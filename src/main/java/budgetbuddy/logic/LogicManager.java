@@ -37,10 +37,19 @@ public class LogicManager implements Logic {
     private final ScriptEngine scriptEngine;
 
     public LogicManager(Model model, Storage storage) {
+        this(model, storage, new ScriptEngine());
+    }
+
+    /**
+     * Creates a {@code LogicManager} which evaluates scripts with {@code scriptEngine}.
+     * The model is added to the environment of {@code scriptEngine}.
+     */
+    public LogicManager(Model model, Storage storage, ScriptEngine scriptEngine) {
         this.model = model;
         this.storage = storage;
         commandLineParser = new CommandLineParser();
-        scriptEngine = new ScriptEngine(new ScriptModelBinding(model));
+        this.scriptEngine = scriptEngine;
+        scriptEngine.addToEnvironment(new ScriptModelBinding(model));
     }
 
     @Override
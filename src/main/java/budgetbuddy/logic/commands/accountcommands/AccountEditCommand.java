@@ -86,7 +86,7 @@ public class AccountEditCommand extends Command {
         Description updatedDescription = accountEditDescriptor.getDescription().orElse(accountToEdit.getDescription());
 
         return new Account(updatedName, updatedDescription,
-                accountToEdit.getTransactionList(), accountToEdit.getBalance());
+                accountToEdit.getTransactionList(), accountToEdit.getBalance(), accountToEdit.getArchive());
     }
 
     @Override
@@ -0,0 +1,96 @@
+package budgetbuddy.logic.commands.rulecommands;
+
+import static budgetbuddy.commons.core.Messages.MESSAGE_ACCOUNT_NOT_FOUND;
+import static budgetbuddy.commons.util.CollectionUtil.requireAllNonNull;
+import static budgetbuddy.logic.parser.CliSyntax.PREFIX_ACCOUNT;
+import static budgetbuddy.logic.parser.CliSyntax.PREFIX_AMOUNT_FROM;
+import static budgetbuddy.logic.parser.CliSyntax.PREFIX_AMOUNT_UNTIL;
+import static budgetbuddy.logic.parser.CliSyntax.PREFIX_CATEGORY;
+import static budgetbuddy.logic.parser.CliSyntax.PREFIX_DESCRIPTION;
+import static budgetbuddy.logic.parser.CliSyntax.PREFIX_FROM;
+import static budgetbuddy.logic.parser.CliSyntax.PREFIX_UNTIL;
+
+import java.util.List;
+import java.util.Objects;
+
+import budgetbuddy.logic.commands.CommandCategory;
+import budgetbuddy.logic.commands.CommandResult;
+import budgetbuddy.logic.commands.exceptions.CommandException;
+import budgetbuddy.logic.commands.scriptcommands.ScriptCommand;
+import budgetbuddy.logic.rules.RuleEngine;
+import budgetbuddy.logic.script.ScriptEngine;
+import budgetbuddy.model.Model;
+import budgetbuddy.model.account.Account;
+import budgetbuddy.model.attributes.Name;
+import budgetbuddy.model.transaction.TransactionMatchesConditionsPredicate;
+
+/**
+ * Runs all rules against the existing transactions of an account, or of every account.
+ */
+public class RuleApplyCommand extends ScriptCommand {
+
+    public static final String COMMAND_WORD = "rule apply";
+
+    public static final String MESSAGE_USAGE = COMMAND_WORD + ": Runs all rules against the existing transactions"
+            + " of an account, or of every account if no account is provided, with the option to filter"
+            + " the transactions.\n"
+            + "Parameters: "
+            + "[" + PREFIX_ACCOUNT + "<account>] "
+            + "[" + PREFIX_CATEGORY + "<category>] "
+            + "[" + PREFIX_FROM + "<from date>] "
+            + "[" + PREFIX_UNTIL + "<to date>] "
+            + "[" + PREFIX_AMOUNT_FROM + "<from amount>] "
+            + "[" + PREFIX_AMOUNT_UNTIL + "<until amount>] "
+            + "[" + PREFIX_DESCRIPTION + "<description>]\n"
+            + "Example: " + COMMAND_WORD + " "
+            + PREFIX_ACCOUNT + "food "
+            + PREFIX_FROM + "1/1/2019";
+
+    public static final String MESSAGE_SUCCESS = "Rules applied. %1$d transactions changed.";
+    public static final String MESSAGE_NO_RULES =
+            "No rules found in the Rule Engine. Make a new rule with `rule add`.";
+
+    private final Name accountName;
+    private final TransactionMatchesConditionsPredicate predicate;
+
+    /**
+     * Creates a command which runs all rules against the transactions of the account named {@code accountName},
+     * or of every account if it is null, which match {@code predicate}.
+     */
+    public RuleApplyCommand(Name accountName, TransactionMatchesConditionsPredicate predicate) {
+        requireAllNonNull(predicate);
+        this.accountName = accountName;
+        this.predicate = predicate;
+    }
+
+    @Override
+    public CommandResult execute(Model model, ScriptEngine scriptEngine) throws CommandException {
+        requireAllNonNull(model, model.getRuleManager(), model.getAccountsManager(), scriptEngine);
+        if (model.getRuleManager().getRules().isEmpty()) {
+            throw new CommandException(MESSAGE_NO_RULES);
+        }
+
+        List<Account> accounts;
+        if (accountName != null) {
+            Account account = model.getAccountsManager().getAccount(accountName);
+            if (account == null) {
+                throw new CommandException(String.format(MESSAGE_ACCOUNT_NOT_FOUND, accountName));
+            }
+            accounts = List.of(account);
+        } else {
+            accounts = List.copyOf(model.getAccountsManager().getAccounts());
+        }
+
+        int changed = RuleEngine.applyRules(model, scriptEngine, accounts, predicate);
+        model.getAccountsManager().transactionListUpdateSource();
+        return new CommandResult(String.format(MESSAGE_SUCCESS, changed), CommandCategory.TRANSACTION);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other == this // short circuit if same object
+                || (other instanceof RuleApplyCommand // instanceof handles nulls
+                && Objects.equals(accountName, ((RuleApplyCommand) other).accountName)
+                && predicate.equals(((RuleApplyCommand) other).predicate)); // state check
+    }
+}
@@ -47,6 +47,9 @@ public class TransactionDeleteCommand extends Command {
         }
 
         Transaction transactionToDelete = lastShownList.get(targetIndex.getZeroBased());
+        if (!model.getAccountsManager().getActiveAccount().getTransactionList().contains(transactionToDelete)) {
+            throw new CommandException(Messages.MESSAGE_ARCHIVED_TRANSACTION);
+        }
         model.getAccountsManager().getActiveAccount().deleteTransaction(transactionToDelete);
         model.getAccountsManager().transactionListUpdateSource();
         return new CommandResult(String.format(MESSAGE_DELETE_TRANSACTION_SUCCESS, transactionToDelete),
@@ -1,5 +1,6 @@
 package budgetbuddy.logic.commands.transactioncommands;
 
+import static budgetbuddy.commons.core.Messages.MESSAGE_ARCHIVED_TRANSACTION;
 import static budgetbuddy.commons.core.Messages.MESSAGE_INVALID_DISPLAYED_INDEX;
 import static budgetbuddy.commons.util.CollectionUtil.requireAllNonNull;
 import static budgetbuddy.logic.parser.CliSyntax.DATE_EXAMPLE;
@@ -89,6 +90,9 @@ public class TransactionEditCommand extends ScriptCommand {
             Transaction targetTransaction = targetTransactionList.get(targetTransactionIndex.getZeroBased());
 
             Account oldAccount = accountsManager.getActiveAccount();
+            if (!oldAccount.getTransactionList().contains(targetTransaction)) {
+                throw new CommandException(MESSAGE_ARCHIVED_TRANSACTION);
+            }
 
             //target account is set to the active account if not provided.
             if (targetAccountName == null || model.getAccountsManager().getAccount(targetAccountName) == null) {
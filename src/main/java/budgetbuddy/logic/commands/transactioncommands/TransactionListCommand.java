@@ -1,6 +1,7 @@
 package budgetbuddy.logic.commands.transactioncommands;
 
 import static budgetbuddy.commons.util.CollectionUtil.requireAllNonNull;
+import static budgetbuddy.logic.parser.CliSyntax.KEYWORD_EXPLAIN;
 import static budgetbuddy.logic.parser.CliSyntax.PREFIX_AMOUNT_FROM;
 import static budgetbuddy.logic.parser.CliSyntax.PREFIX_AMOUNT_UNTIL;
 import static budgetbuddy.logic.parser.CliSyntax.PREFIX_CATEGORY;
@@ -24,11 +25,12 @@ import budgetbuddy.logic.commands.CommandCategory;
 import budgetbuddy.logic.commands.CommandResult;
 import budgetbuddy.model.Model;
 import budgetbuddy.model.account.Account;
+import budgetbuddy.model.transaction.QueryPlan;
 import budgetbuddy.model.transaction.Transaction;
 import budgetbuddy.model.transaction.TransactionMatchesConditionsPredicate;
 
 /**
- * Lists the transactions of the current active account.
+ * Lists the transactions of the current active account, including those of its archived transactions which match.
  */
 public class TransactionListCommand extends Command {
 
@@ -38,6 +40,7 @@ public class TransactionListCommand extends Command {
             + " active account with the option to filter or sort. If no "
             + "arguments are provided, all transactions are shown, sorted by most recent transactions first.\n"
             + "Parameters: "
+            + "[" + KEYWORD_EXPLAIN + "] "
             + "[" + PREFIX_CATEGORY + "<category>] "
             + "[" + PREFIX_FROM + "<from date>] "
             + "[" + PREFIX_UNTIL + "/<to date>]"
@@ -60,30 +63,53 @@ public class TransactionListCommand extends Command {
     public static final String MESSAGE_SUCCESS = "Transactions listed from account %1$s, "
             + "total nett flow of transactions is %2$s.";
 
+    public static final String MESSAGE_UNPLANNED = "All %1$d transactions shown without searching";
+
+    public static final String MESSAGE_ARCHIVE_PLAN = "%1$d archived transactions tested against all conditions";
+
     private final TransactionMatchesConditionsPredicate predicate;
     private Comparator<Transaction> transactionComparator = SORT_BY_DESCENDING_DATE;
+    private final boolean isExplained;
 
     public TransactionListCommand(TransactionMatchesConditionsPredicate predicate,
                                   Optional<Comparator<Transaction>> optionalTransactionComparator) {
+        this(predicate, optionalTransactionComparator, false);
+    }
+
+    /**
+     * Creates a command which lists the transactions matching {@code predicate}, and if {@code isExplained},
+     * also shows how the matching transactions were found.
+     */
+    public TransactionListCommand(TransactionMatchesConditionsPredicate predicate,
+                                  Optional<Comparator<Transaction>> optionalTransactionComparator,
+                                  boolean isExplained) {
         this.predicate = predicate;
         if (optionalTransactionComparator.isPresent()) {
             transactionComparator = optionalTransactionComparator.get();
         }
+        this.isExplained = isExplained;
     }
 
     @Override
     public CommandResult execute(Model model) {
         requireAllNonNull(model, model.getAccountsManager());
         Account activeAccount = model.getAccountsManager().getActiveAccount();
-        model.getAccountsManager().transactionListSwitchSource(activeAccount);
-        model.getAccountsManager().updateFilteredTransactionList(this.predicate);
+        model.getAccountsManager().transactionListSwitchSource(activeAccount, this.predicate);
         model.getAccountsManager().updateSortedTransactionList(transactionComparator);
-        String resultMessage = MESSAGE_SUCCESS;
-
-        return new CommandResult(String.format(resultMessage,
+        String resultMessage = String.format(MESSAGE_SUCCESS,
                 model.getAccountsManager().getActiveAccount().getName(),
-                model.getAccountsManager().getFilteredTransactionListNettFlow().toString()),
-                CommandCategory.TRANSACTION);
+                model.getAccountsManager().getFilteredTransactionListNettFlow().toString());
+        if (isExplained) {
+            QueryPlan plan = model.getAccountsManager().getTransactionListPlan();
+            resultMessage += "\n" + (plan == null
+                    ? String.format(MESSAGE_UNPLANNED, activeAccount.getTransactionList().getTransactionsCount())
+                    : plan.explain());
+            if (!activeAccount.getArchive().isEmpty()) {
+                resultMessage += "\n" + String.format(MESSAGE_ARCHIVE_PLAN, activeAccount.getArchive().size());
+            }
+        }
+
+        return new CommandResult(resultMessage, CommandCategory.TRANSACTION);
     }
 
     @Override
@@ -91,6 +117,7 @@ public class TransactionListCommand extends Command {
         return other == this // short circuit if same object
                 || (other instanceof TransactionListCommand // instanceof handles nulls
                 && predicate.equals(((TransactionListCommand) other).predicate)
-                && transactionComparator.equals(((TransactionListCommand) other).transactionComparator)); // state check
+                && transactionComparator.equals(((TransactionListCommand) other).transactionComparator)
+                && isExplained == ((TransactionListCommand) other).isExplained); // state check
     }
 }
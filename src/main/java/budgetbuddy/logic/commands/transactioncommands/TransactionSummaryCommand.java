@@ -0,0 +1,120 @@
+package budgetbuddy.logic.commands.transactioncommands;
+
+import static budgetbuddy.commons.util.AppUtil.getDateFormatter;
+import static budgetbuddy.commons.util.CollectionUtil.requireAllNonNull;
+import static budgetbuddy.logic.parser.CliSyntax.PREFIX_CATEGORY;
+import static budgetbuddy.logic.parser.CliSyntax.PREFIX_FROM;
+import static budgetbuddy.logic.parser.CliSyntax.PREFIX_UNTIL;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import budgetbuddy.logic.commands.Command;
+import budgetbuddy.logic.commands.CommandCategory;
+import budgetbuddy.logic.commands.CommandResult;
+import budgetbuddy.model.Model;
+import budgetbuddy.model.account.Account;
+import budgetbuddy.model.account.AccountTotals;
+import budgetbuddy.model.account.AccountTotals.Total;
+import budgetbuddy.model.attributes.Amount;
+import budgetbuddy.model.attributes.Category;
+
+/**
+ * Summarises the transactions of the current active account by month, and optionally by category,
+ * from the running totals of the account. The first and last months only cover the days in the range.
+ */
+public class TransactionSummaryCommand extends Command {
+
+    public static final String COMMAND_WORD = "txn summary";
+
+    public static final String MESSAGE_USAGE = COMMAND_WORD + ": Shows the income and expense of the current"
+            + " active account in each month, and of the given categories in each month. If no dates are"
+            + " provided, all transactions are summarised.\n"
+            + "Parameters: "
+            + "[" + PREFIX_FROM + "<from date>] "
+            + "[" + PREFIX_UNTIL + "<to date>] "
+            + "[" + PREFIX_CATEGORY + "<category>]...\n"
+            + "Example: " + COMMAND_WORD + " "
+            + PREFIX_FROM + "1/1/2019 "
+            + PREFIX_UNTIL + "31/3/2019 "
+            + PREFIX_CATEGORY + "Food";
+
+    public static final String MESSAGE_SUCCESS = "Summary of account %1$s from %2$s until %3$s:\n"
+            + "Total: %4$s";
+
+    public static final String MESSAGE_NO_TRANSACTIONS = "Account %1$s has no transactions to summarise.";
+
+    public static final String MESSAGE_MONTH = "%1$s: %2$s";
+
+    public static final String MESSAGE_CATEGORY_MONTH = "%1$s in %2$s: %3$s";
+
+    public static final String MESSAGE_TOTAL = "income %1$s, expense %2$s (%3$d transactions)";
+
+    private final Optional<LocalDate> optionalFrom;
+    private final Optional<LocalDate> optionalUntil;
+    private final List<Category> categories;
+
+    /**
+     * Creates a command which summarises the transactions dated from {@code optionalFrom} until
+     * {@code optionalUntil}, either of which defaults to the date of the earliest or latest transaction,
+     * with a summary of each of {@code categories} by month.
+     */
+    public TransactionSummaryCommand(Optional<LocalDate> optionalFrom, Optional<LocalDate> optionalUntil,
+                                     List<Category> categories) {
+        requireAllNonNull(optionalFrom, optionalUntil, categories);
+        this.optionalFrom = optionalFrom;
+        this.optionalUntil = optionalUntil;
+        this.categories = List.copyOf(categories);
+    }
+
+    @Override
+    public CommandResult execute(Model model) {
+        requireAllNonNull(model, model.getAccountsManager());
+        Account activeAccount = model.getAccountsManager().getActiveAccount();
+        AccountTotals totals = activeAccount.getTotals();
+        if (totals.getFirstDate() == null) {
+            return new CommandResult(String.format(MESSAGE_NO_TRANSACTIONS, activeAccount.getName()),
+                    CommandCategory.TRANSACTION);
+        }
+
+        LocalDate from = optionalFrom.orElse(totals.getFirstDate());
+        LocalDate until = optionalUntil.orElse(totals.getLastDate());
+        StringBuilder result = new StringBuilder(String.format(MESSAGE_SUCCESS, activeAccount.getName(),
+                from.format(getDateFormatter()), until.format(getDateFormatter()),
+                formatTotal(totals.getTotal(from, until))));
+
+        for (Map.Entry<YearMonth, Total> monthTotal : totals.getMonthlyTotals(from, until).entrySet()) {
+            result.append("\n").append(String.format(MESSAGE_MONTH,
+                    monthTotal.getKey(), formatTotal(monthTotal.getValue())));
+        }
+        for (Category category : categories) {
+            for (Map.Entry<YearMonth, Total> monthTotal
+                    : totals.getMonthlyTotals(category, from, until).entrySet()) {
+                result.append("\n").append(String.format(MESSAGE_CATEGORY_MONTH,
+                        category, monthTotal.getKey(), formatTotal(monthTotal.getValue())));
+            }
+        }
+
+        return new CommandResult(result.toString(), CommandCategory.TRANSACTION);
+    }
+
+    /**
+     * Formats the income, expense and number of transactions of {@code total}.
+     */
+    private static String formatTotal(Total total) {
+        return String.format(MESSAGE_TOTAL, new Amount(total.getIncome()), new Amount(total.getExpense()),
+                total.getCount());
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other == this // short circuit if same object
+                || (other instanceof TransactionSummaryCommand // instanceof handles nulls
+                && optionalFrom.equals(((TransactionSummaryCommand) other).optionalFrom)
+                && optionalUntil.equals(((TransactionSummaryCommand) other).optionalUntil)
+                && categories.equals(((TransactionSummaryCommand) other).categories)); // state check
+    }
+}
@@ -45,6 +45,7 @@ public class CliSyntax {
 
     // Transactions
     public static final Prefix PREFIX_RECURRENCE = new Prefix("r/");
+    public static final String KEYWORD_EXPLAIN = "explain";
 
     // Scripts
     public static final Prefix PREFIX_SCRIPT_DESCRIPTION = new Prefix("d/");
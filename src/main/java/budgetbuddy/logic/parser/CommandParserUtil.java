@@ -1,6 +1,12 @@
 package budgetbuddy.logic.parser;
 
 import static budgetbuddy.commons.util.AppUtil.getDateFormatter;
+import static budgetbuddy.logic.parser.CliSyntax.PREFIX_AMOUNT_FROM;
+import static budgetbuddy.logic.parser.CliSyntax.PREFIX_AMOUNT_UNTIL;
+import static budgetbuddy.logic.parser.CliSyntax.PREFIX_CATEGORY;
+import static budgetbuddy.logic.parser.CliSyntax.PREFIX_DESCRIPTION;
+import static budgetbuddy.logic.parser.CliSyntax.PREFIX_FROM;
+import static budgetbuddy.logic.parser.CliSyntax.PREFIX_UNTIL;
 import static budgetbuddy.logic.parser.CliSyntax.SORT_ASCENDING_AMOUNT;
 import static budgetbuddy.logic.parser.CliSyntax.SORT_ASCENDING_DATE;
 import static budgetbuddy.logic.parser.CliSyntax.SORT_ASCENDING_DESCRIPTION;
@@ -17,7 +23,10 @@ import static java.util.Objects.requireNonNull;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
 import java.util.regex.Matcher;
 
 import budgetbuddy.commons.core.index.Index;
@@ -39,6 +48,7 @@ import budgetbuddy.model.rule.script.ActionScript;
 import budgetbuddy.model.rule.script.PredicateScript;
 import budgetbuddy.model.script.ScriptName;
 import budgetbuddy.model.transaction.Transaction;
+import budgetbuddy.model.transaction.TransactionMatchesConditionsPredicate;
 
 /**
  * Contains utility methods used for parsing strings in the various *CommandParser classes.
@@ -47,6 +57,9 @@ public class CommandParserUtil {
 
     public static final String MESSAGE_INVALID_INDEX = "Index should be a positive integer.";
     public static final String MESSAGE_INVALID_DATE = "Date should be in the form of dd/mm/yyyy.";
+    public static final String MESSAGE_INVALID_DATE_RANGE = "The start date of the range cannot be after the end date.";
+    public static final String MESSAGE_INVALID_AMOUNT_RANGE =
+            "The minimum amount cannot be greater than the maximum amount.";
 
     /**
      * Parses {@code oneBasedIndex} into an {@code Index} and returns it.
@@ -405,4 +418,50 @@ public class CommandParserUtil {
             throw new ParseException(Direction.MESSAGE_CONSTRAINTS);
         }
     }
+
+    /**
+     * Parses the category, date range, amount range and description prefixes in {@code argMultimap}
+     * into a {@link TransactionMatchesConditionsPredicate}. Absent prefixes leave that condition unset.
+     *
+     * @param argMultimap the tokenized arguments
+     * @return the predicate matching all the given conditions
+     * @throws ParseException if any value is invalid, or a range has its start after its end.
+     */
+    public static TransactionMatchesConditionsPredicate parseTransactionConditions(ArgumentMultimap argMultimap)
+            throws ParseException {
+        requireNonNull(argMultimap);
+        List<Category> categoryList = new ArrayList<>();
+        for (String category : argMultimap.getAllValues(PREFIX_CATEGORY)) {
+            categoryList.add(parseCategory(category));
+        }
+
+        Optional<LocalDate> optionalFrom = argMultimap.getValue(PREFIX_FROM).isPresent()
+                ? Optional.of(parseDate(argMultimap.getValue(PREFIX_FROM).get()))
+                : Optional.empty();
+        Optional<LocalDate> optionalUntil = argMultimap.getValue(PREFIX_UNTIL).isPresent()
+                ? Optional.of(parseDate(argMultimap.getValue(PREFIX_UNTIL).get()))
+                : Optional.empty();
+        if (optionalFrom.isPresent() && optionalUntil.isPresent()
+                && optionalFrom.get().isAfter(optionalUntil.get())) {
+            throw new ParseException(MESSAGE_INVALID_DATE_RANGE);
+        }
+
+        Optional<Amount> optionalFromAmount = argMultimap.getValue(PREFIX_AMOUNT_FROM).isPresent()
+                ? Optional.of(parseAmount(argMultimap.getValue(PREFIX_AMOUNT_FROM).get()))
+                : Optional.empty();
+        Optional<Amount> optionalUntilAmount = argMultimap.getValue(PREFIX_AMOUNT_UNTIL).isPresent()
+                ? Optional.of(parseAmount(argMultimap.getValue(PREFIX_AMOUNT_UNTIL).get()))
+                : Optional.empty();
+        if (optionalFromAmount.isPresent() && optionalUntilAmount.isPresent()
+                && !optionalFromAmount.get().lessThanEquals(optionalUntilAmount.get())) {
+            throw new ParseException(MESSAGE_INVALID_AMOUNT_RANGE);
+        }
+
+        Optional<Description> optionalDescription = argMultimap.getValue(PREFIX_DESCRIPTION).isPresent()
+                ? Optional.of(parseDescription(argMultimap.getValue(PREFIX_DESCRIPTION).get()))
+                : Optional.empty();
+
+        return new TransactionMatchesConditionsPredicate(categoryList, optionalFrom, optionalUntil,
+                optionalFromAmount, optionalUntilAmount, optionalDescription);
+    }
 }
@@ -0,0 +1,44 @@
+package budgetbuddy.logic.parser.commandparsers.rulecommandparsers;
+
+import static budgetbuddy.logic.parser.CliSyntax.PREFIX_ACCOUNT;
+import static budgetbuddy.logic.parser.CliSyntax.PREFIX_AMOUNT_FROM;
+import static budgetbuddy.logic.parser.CliSyntax.PREFIX_AMOUNT_UNTIL;
+import static budgetbuddy.logic.parser.CliSyntax.PREFIX_CATEGORY;
+import static budgetbuddy.logic.parser.CliSyntax.PREFIX_DESCRIPTION;
+import static budgetbuddy.logic.parser.CliSyntax.PREFIX_FROM;
+import static budgetbuddy.logic.parser.CliSyntax.PREFIX_UNTIL;
+
+import budgetbuddy.logic.commands.rulecommands.RuleApplyCommand;
+import budgetbuddy.logic.parser.ArgumentMultimap;
+import budgetbuddy.logic.parser.ArgumentTokenizer;
+import budgetbuddy.logic.parser.CommandParser;
+import budgetbuddy.logic.parser.CommandParserUtil;
+import budgetbuddy.logic.parser.exceptions.ParseException;
+import budgetbuddy.model.attributes.Name;
+
+/**
+ * Parses the <code>rule apply</code> command.
+ */
+public class RuleApplyCommandParser implements CommandParser<RuleApplyCommand> {
+    @Override
+    public String name() {
+        return RuleApplyCommand.COMMAND_WORD;
+    }
+
+    /**
+     * Parses the given {@code String} of arguments in the context of the RuleApplyCommand
+     * and returns a RuleApplyCommand object for execution.
+     * @throws ParseException if the user input does not conform the expected format
+     */
+    @Override
+    public RuleApplyCommand parse(String args) throws ParseException {
+        ArgumentMultimap argMultimap = ArgumentTokenizer.tokenize(args, PREFIX_ACCOUNT, PREFIX_CATEGORY,
+                PREFIX_FROM, PREFIX_UNTIL, PREFIX_AMOUNT_FROM, PREFIX_AMOUNT_UNTIL, PREFIX_DESCRIPTION);
+
+        Name accountName = argMultimap.getValue(PREFIX_ACCOUNT).isPresent()
+                ? CommandParserUtil.parseName(argMultimap.getValue(PREFIX_ACCOUNT).get())
+                : null;
+
+        return new RuleApplyCommand(accountName, CommandParserUtil.parseTransactionConditions(argMultimap));
+    }
+}
@@ -0,0 +1,57 @@
+package budgetbuddy.logic.parser.commandparsers.transactioncommandparsers;
+
+import static budgetbuddy.logic.parser.CliSyntax.PREFIX_CATEGORY;
+import static budgetbuddy.logic.parser.CliSyntax.PREFIX_FROM;
+import static budgetbuddy.logic.parser.CliSyntax.PREFIX_UNTIL;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import budgetbuddy.logic.commands.transactioncommands.TransactionSummaryCommand;
+import budgetbuddy.logic.parser.ArgumentMultimap;
+import budgetbuddy.logic.parser.ArgumentTokenizer;
+import budgetbuddy.logic.parser.CommandParser;
+import budgetbuddy.logic.parser.CommandParserUtil;
+import budgetbuddy.logic.parser.exceptions.ParseException;
+import budgetbuddy.model.attributes.Category;
+
+/**
+ * Parses the <code>transaction summary</code> command.
+ */
+public class TransactionSummaryCommandParser implements CommandParser {
+    @Override
+    public String name() {
+        return TransactionSummaryCommand.COMMAND_WORD;
+    }
+
+    /**
+     * Parses the given {@code String} of arguments in the context of the TransactionSummaryCommand
+     * and returns a TransactionSummaryCommand object for execution.
+     * @throws ParseException if the user input does not conform the expected format
+     */
+    @Override
+    public TransactionSummaryCommand parse(String args) throws ParseException {
+        ArgumentMultimap argMultimap = ArgumentTokenizer.tokenize(args, PREFIX_FROM, PREFIX_UNTIL, PREFIX_CATEGORY);
+
+        Optional<LocalDate> optionalFrom = argMultimap.getValue(PREFIX_FROM).isPresent()
+                ? Optional.of(CommandParserUtil.parseDate(argMultimap.getValue(PREFIX_FROM).get()))
+                : Optional.empty();
+        Optional<LocalDate> optionalUntil = argMultimap.getValue(PREFIX_UNTIL).isPresent()
+                ? Optional.of(CommandParserUtil.parseDate(argMultimap.getValue(PREFIX_UNTIL).get()))
+                : Optional.empty();
+
+        if (optionalFrom.isPresent() && optionalUntil.isPresent()
+                && optionalFrom.get().isAfter(optionalUntil.get())) {
+            throw new ParseException("The start date of the range cannot be after the end date.");
+        }
+
+        List<Category> categoryList = new ArrayList<>();
+        for (String category : argMultimap.getAllValues(PREFIX_CATEGORY)) {
+            categoryList.add(CommandParserUtil.parseCategory(category));
+        }
+
+        return new TransactionSummaryCommand(optionalFrom, optionalUntil, categoryList);
+    }
+}
@@ -0,0 +1,145 @@
+package budgetbuddy.logic.rules;
+
+import static budgetbuddy.commons.util.CollectionUtil.requireAllNonNull;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import budgetbuddy.commons.core.index.Index;
+import budgetbuddy.logic.rules.performable.Performable;
+import budgetbuddy.logic.rules.testable.Testable;
+import budgetbuddy.logic.script.ScriptEngine;
+import budgetbuddy.model.Model;
+import budgetbuddy.model.RuleManager;
+import budgetbuddy.model.ScriptLibrary;
+import budgetbuddy.model.account.Account;
+import budgetbuddy.model.rule.Rule;
+import budgetbuddy.model.transaction.Transaction;
+
+/**
+ * The rules of a {@code RuleManager}, each compiled once into a {@code Testable} and a {@code Performable},
+ * with their values already converted, so running the rules against a transaction only tests their predicates.
+ * The predicates are also indexed in a {@code RuleNetwork}, so only the rules a transaction may satisfy are tested.
+ */
+class CompiledRules {
+
+    private final RuleManager ruleManager;
+    private final long ruleGeneration;
+    private final ScriptLibrary scriptLibrary;
+    private final List<Testable> testables = new ArrayList<>();
+    private final List<Performable> performables = new ArrayList<>();
+    private final RuleNetwork network;
+    private final boolean hasScripts;
+
+    /**
+     * Compiles the rules of {@code ruleManager}, whose scripts are run by {@code scriptEngine}
+     * from {@code scriptLibrary}.
+     */
+    CompiledRules(RuleManager ruleManager, ScriptLibrary scriptLibrary, ScriptEngine scriptEngine) {
+        requireAllNonNull(ruleManager, scriptLibrary, scriptEngine);
+        List<Rule> rules = ruleManager.getRules();
+        this.ruleManager = ruleManager;
+        this.ruleGeneration = ruleManager.getGeneration();
+        this.scriptLibrary = scriptLibrary;
+        for (Rule rule : rules) {
+            testables.add(RuleEngine.generateTestable(rule.getPredicate(), scriptLibrary, scriptEngine));
+            performables.add(RuleEngine.generatePerformable(rule.getAction(), scriptLibrary, scriptEngine));
+        }
+        network = new RuleNetwork(rules.stream().map(Rule::getPredicate).collect(Collectors.toList()));
+        hasScripts = rules.stream().anyMatch(rule -> rule.getPredicate().getType().equals(Rule.TYPE_SCRIPT)
+                || rule.getAction().getType().equals(Rule.TYPE_SCRIPT));
+    }
+
+    /**
+     * Returns true if these are the current rules of {@code ruleManager}, compiled to run their scripts
+     * from {@code scriptLibrary}.
+     */
+    boolean isCompiledFor(RuleManager ruleManager, ScriptLibrary scriptLibrary) {
+        return this.ruleManager == ruleManager && ruleGeneration == ruleManager.getGeneration()
+                && this.scriptLibrary == scriptLibrary;
+    }
+
+    /**
+     * Returns true if any rule has a predicate or action script. Scripts share the script engine and may read
+     * and change the model, so rules with scripts must run against the accounts themselves, one at a time.
+     */
+    boolean hasScripts() {
+        return hasScripts;
+    }
+
+    /**
+     * Runs the rules, in order, against the transaction at {@code txnIndex} in {@code account}.
+     * The transaction is read from the account once, and updated in it once, after every rule has run.
+     */
+    void execute(Model model, Index txnIndex, Account account) {
+        RuleContext context = new RuleContext(model, txnIndex, account);
+        execute(context);
+        context.commit();
+    }
+
+    /**
+     * Runs the rules, in order, against the transaction of {@code context}.
+     * Only the rules the transaction may satisfy are tested. Since an action may change the transaction,
+     * those rules are found again after each action, so the rules which run are the same as if every rule
+     * was tested in order.
+     */
+    private void execute(RuleContext context) {
+        BitSet candidates = network.candidates(context.getTransaction());
+        for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+            if (testables.get(i).test(context)) {
+                Transaction txn = context.getTransaction();
+                performables.get(i).perform(context);
+                Transaction performedTxn = context.getTransaction();
+                if (!performedTxn.equals(txn)) {
+                    candidates = network.candidates(performedTxn);
+                }
+            }
+        }
+    }
+
+    /**
+     * Runs the rules against each transaction of {@code account} which matches {@code predicate},
+     * changing each transaction in the account as its rules run.
+     *
+     * @return the number of transactions which changed.
+     */
+    int executeAll(Model model, Account account, Predicate<Transaction> predicate) {
+        int changed = 0;
+        for (int i = 0; i < account.getTransactionList().getTransactionsCount(); i++) {
+            Index txnIndex = Index.fromZeroBased(i);
+            Transaction txn = account.getTransaction(txnIndex);
+            if (predicate.test(txn)) {
+                execute(model, txnIndex, account);
+                if (!account.getTransaction(txnIndex).equals(txn)) {
+                    changed++;
+                }
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Returns the transactions of {@code account}, in order, after running the rules against each of them
+     * which matches {@code predicate}, without changing the account.
+     * The rules run against a context detached from the account, so the rules of different accounts can be
+     * evaluated at once, and the results applied to each account as a single change.
+     * The rules must not have scripts.
+     */
+    List<Transaction> evaluateAll(Model model, Account account, Predicate<Transaction> predicate) {
+        assert !hasScripts : "Rules with scripts must run against the account itself";
+        List<Transaction> editedTxns = new ArrayList<>(account.getTransactionList().getTransactionsCount());
+        for (Transaction txn : account.getTransactionList()) {
+            if (!predicate.test(txn)) {
+                editedTxns.add(txn);
+                continue;
+            }
+            RuleContext context = new RuleContext(model, txn);
+            execute(context);
+            editedTxns.add(context.commit());
+        }
+        return editedTxns;
+    }
+}
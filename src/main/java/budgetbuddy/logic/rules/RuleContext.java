@@ -0,0 +1,207 @@
+package budgetbuddy.logic.rules;
+
+import static budgetbuddy.commons.util.CollectionUtil.requireAllNonNull;
+import static java.util.Objects.requireNonNull;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import budgetbuddy.commons.core.index.Index;
+import budgetbuddy.model.Model;
+import budgetbuddy.model.account.Account;
+import budgetbuddy.model.attributes.Amount;
+import budgetbuddy.model.attributes.Category;
+import budgetbuddy.model.attributes.Description;
+import budgetbuddy.model.attributes.Direction;
+import budgetbuddy.model.rule.expression.Attribute;
+import budgetbuddy.model.transaction.Transaction;
+
+/**
+ * The transaction which the rules are run against, read from its account once.
+ *
+ * Predicates read the transaction and its attributes from the context, and actions change the context
+ * rather than the account, so running every rule against a transaction updates the account once, when the
+ * context is committed. A context may also be detached from any account, in which case committing it
+ * only gives the changed transaction.
+ */
+public class RuleContext {
+
+    private final Model model;
+    private final Index txnIndex;
+    private final Account account;
+
+    private LocalDate date;
+    private Amount amount;
+    private Direction direction;
+    private Description description;
+    private Set<Category> categories;
+    private boolean isChanged;
+
+    /** The transaction as it is in the context, or null if it has changed since it was last created. */
+    private Transaction transaction;
+    /** The attributes of the transaction, by attribute, read since the transaction last changed. */
+    private final Map<Attribute, Object> attributes = new EnumMap<>(Attribute.class);
+
+    /**
+     * Creates a context for the transaction at {@code txnIndex} in {@code account}.
+     */
+    public RuleContext(Model model, Index txnIndex, Account account) {
+        requireAllNonNull(model, txnIndex, account);
+        this.model = model;
+        this.txnIndex = txnIndex;
+        this.account = account;
+        load(account.getTransaction(txnIndex));
+    }
+
+    /**
+     * Creates a context for {@code transaction} which is detached from any account.
+     */
+    public RuleContext(Model model, Transaction transaction) {
+        requireAllNonNull(model, transaction);
+        this.model = model;
+        this.txnIndex = null;
+        this.account = null;
+        load(transaction);
+    }
+
+    /**
+     * Sets the context to {@code loaded}, unchanged.
+     */
+    private void load(Transaction loaded) {
+        date = loaded.getLocalDate();
+        amount = loaded.getAmount();
+        direction = loaded.getDirection();
+        description = loaded.getDescription();
+        categories = loaded.getCategories();
+        transaction = loaded;
+        attributes.clear();
+        isChanged = false;
+    }
+
+    public Model getModel() {
+        return model;
+    }
+
+    /**
+     * Returns the index of the transaction in its account, or null if the context is detached.
+     */
+    public Index getTxnIndex() {
+        return txnIndex;
+    }
+
+    /**
+     * Returns the account of the transaction, or null if the context is detached.
+     */
+    public Account getAccount() {
+        return account;
+    }
+
+    /**
+     * Returns the transaction as it is in the context, with every change made to the context so far.
+     */
+    public Transaction getTransaction() {
+        if (transaction == null) {
+            transaction = new Transaction(date, amount, direction, description, categories);
+        }
+        return transaction;
+    }
+
+    /**
+     * Returns the value of {@code attribute} of the transaction, or null if the transaction does not have it.
+     */
+    public Object getAttribute(Attribute attribute) {
+        requireNonNull(attribute);
+        if (!attributes.containsKey(attribute)) {
+            attributes.put(attribute, RuleEngine.extractAttribute(attribute, getTransaction()));
+        }
+        return attributes.get(attribute);
+    }
+
+    public Direction getDirection() {
+        return direction;
+    }
+
+    public Description getDescription() {
+        return description;
+    }
+
+    public Set<Category> getCategories() {
+        return Collections.unmodifiableSet(categories);
+    }
+
+    public void setDirection(Direction direction) {
+        requireNonNull(direction);
+        if (!direction.equals(this.direction)) {
+            this.direction = direction;
+            changed();
+        }
+    }
+
+    public void setDescription(Description description) {
+        requireNonNull(description);
+        if (!description.equals(this.description)) {
+            this.description = description;
+            changed();
+        }
+    }
+
+    /**
+     * Adds {@code category} to the categories of the transaction, if it does not have it.
+     */
+    public void addCategory(Category category) {
+        requireNonNull(category);
+        if (!categories.contains(category)) {
+            categories = new HashSet<>(categories);
+            categories.add(category);
+            changed();
+        }
+    }
+
+    /**
+     * Removes {@code category} from the categories of the transaction, if it has it.
+     */
+    public void removeCategory(Category category) {
+        requireNonNull(category);
+        if (categories.contains(category)) {
+            categories = new HashSet<>(categories);
+            categories.remove(category);
+            changed();
+        }
+    }
+
+    /**
+     * Drops the transaction and attributes read from the context, which no longer match it.
+     */
+    private void changed() {
+        transaction = null;
+        attributes.clear();
+        isChanged = true;
+    }
+
+    /**
+     * Updates the transaction in its account with the changes made to the context, if any,
+     * and returns the transaction as it is in the context.
+     */
+    public Transaction commit() {
+        Transaction committed = getTransaction();
+        if (isChanged && account != null) {
+            account.updateTransaction(txnIndex, committed);
+        }
+        isChanged = false;
+        return committed;
+    }
+
+    /**
+     * Reads the transaction from its account again, after it may have been changed other than through the context.
+     * Any change to the context which was not committed is lost. Nothing is done if the context is detached.
+     */
+    public void reload() {
+        if (account != null) {
+            load(account.getTransaction(txnIndex));
+        }
+    }
+}
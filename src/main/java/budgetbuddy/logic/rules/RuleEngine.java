@@ -3,8 +3,11 @@ package budgetbuddy.logic.rules;
 import static budgetbuddy.commons.util.CollectionUtil.requireAllNonNull;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 import budgetbuddy.commons.core.index.Index;
 import budgetbuddy.logic.parser.CommandParserUtil;
@@ -32,6 +35,7 @@ import budgetbuddy.logic.rules.testable.TestableScript;
 import budgetbuddy.logic.script.ScriptEngine;
 import budgetbuddy.logic.script.exceptions.ScriptException;
 import budgetbuddy.model.Model;
+import budgetbuddy.model.RuleManager;
 import budgetbuddy.model.ScriptLibrary;
 import budgetbuddy.model.account.Account;
 import budgetbuddy.model.attributes.Direction;
@@ -47,7 +51,6 @@ import budgetbuddy.model.rule.script.ActionScript;
 import budgetbuddy.model.rule.script.PredicateScript;
 import budgetbuddy.model.script.ScriptName;
 import budgetbuddy.model.transaction.Transaction;
-import javafx.collections.ObservableList;
 
 /**
  * Represents the Rule Engine that handles the creation and processing of rules.
@@ -92,19 +95,57 @@ public class RuleEngine {
 
     /**
      * Runs all rules against a transaction, given a valid index and account.
+     * The rules are compiled once and kept until they change.
      */
     public static void executeRules(Model model, ScriptEngine scriptEngine, Index txnIndex, Account account) {
         requireAllNonNull(model, model.getRuleManager(), model.getScriptLibrary(), scriptEngine, txnIndex, account);
-        ScriptLibrary scriptLibrary = model.getScriptLibrary();
-        ObservableList<Rule> rules = model.getRuleManager().getRules();
+        getCompiledRules(model, scriptEngine).execute(model, txnIndex, account);
+    }
 
-        for (Rule rule : rules) {
-            Testable testable = generateTestable(rule.getPredicate(), scriptLibrary, scriptEngine);
-            if (testable.test(txnIndex, account)) {
-                Performable performable = generatePerformable(rule.getAction(), scriptLibrary, scriptEngine);
-                performable.perform(model, txnIndex, account);
-            }
+    /**
+     * Runs all rules against every transaction of {@code accounts} which matches {@code predicate}.
+     * If no rule has a script, the rules are evaluated for each account in parallel, and the changed transactions
+     * are then applied to each account as a single change. Otherwise, the rules run against one transaction
+     * at a time, as they do when a transaction is added.
+     *
+     * @return the number of transactions which changed.
+     */
+    public static int applyRules(Model model, ScriptEngine scriptEngine, List<Account> accounts,
+                                 Predicate<Transaction> predicate) {
+        requireAllNonNull(model, model.getRuleManager(), model.getScriptLibrary(), scriptEngine, accounts, predicate);
+        CompiledRules compiledRules = getCompiledRules(model, scriptEngine);
+        if (compiledRules.hasScripts()) {
+            return accounts.stream()
+                    .mapToInt(account -> compiledRules.executeAll(model, account, predicate))
+                    .sum();
+        }
+
+        // load every transaction list before the accounts are evaluated in parallel
+        accounts.forEach(Account::getTransactionList);
+        List<List<Transaction>> editedTxnLists = accounts.parallelStream()
+                .map(account -> compiledRules.evaluateAll(model, account, predicate))
+                .collect(Collectors.toList());
+        int changed = 0;
+        for (int i = 0; i < accounts.size(); i++) {
+            changed += accounts.get(i).updateTransactions(editedTxnLists.get(i));
         }
+        return changed;
+    }
+
+    /**
+     * Returns the compiled rules of the model kept with {@code scriptEngine}, compiling them if the rules changed
+     * since they were last compiled, or were last compiled for another model.
+     */
+    private static CompiledRules getCompiledRules(Model model, ScriptEngine scriptEngine) {
+        RuleManager ruleManager = model.getRuleManager();
+        ScriptLibrary scriptLibrary = model.getScriptLibrary();
+        Object kept = scriptEngine.getCompiledRules();
+        if (kept instanceof CompiledRules && ((CompiledRules) kept).isCompiledFor(ruleManager, scriptLibrary)) {
+            return (CompiledRules) kept;
+        }
+        CompiledRules compiled = new CompiledRules(ruleManager, scriptLibrary, scriptEngine);
+        scriptEngine.keepCompiledRules(compiled);
+        return compiled;
     }
 
     /**
@@ -118,10 +159,9 @@ public class RuleEngine {
             return testableMap.get(predExpr.getOperator()).apply(predExpr.getAttribute(), predExpr.getValue());
         } else {
             ScriptName scriptName = ((PredicateScript) predicate).getScriptName();
-            return new TestableScript((txnIndex, account) -> {
+            return new TestableScript((txn, account) -> {
                 try {
-                    Transaction txn = account.getTransaction(txnIndex);
-                    Object retVal = scriptEngine.evaluateScript(scriptLibrary.getScript(scriptName), txn, account);
+                    Object retVal = scriptEngine.evaluateScript(scriptLibrary, scriptName, txn, account);
                     if (!(retVal instanceof Boolean)) {
                         return false;
                     }
@@ -147,7 +187,7 @@ public class RuleEngine {
             return new PerformableScript((txnIndex, account) -> {
                 try {
                     Transaction txn = account.getTransaction(txnIndex);
-                    scriptEngine.evaluateScript(scriptLibrary.getScript(scriptName), txn, account);
+                    scriptEngine.evaluateScript(scriptLibrary, scriptName, txn, account);
                 } catch (ScriptException ignored) {
                     // If an error occurs, no need to do anything.
                 }
@@ -190,7 +230,14 @@ public class RuleEngine {
      */
     public static Object extractAttribute(Attribute attribute, Index txnIndex, Account account) {
         requireAllNonNull(attribute, txnIndex, account);
-        Transaction txn = account.getTransaction(txnIndex);
+        return extractAttribute(attribute, account.getTransaction(txnIndex));
+    }
+
+    /**
+     * Returns the value of an attribute of {@code txn}, or null if the transaction does not have the attribute.
+     */
+    public static Object extractAttribute(Attribute attribute, Transaction txn) {
+        requireAllNonNull(attribute, txn);
         switch (attribute) {
         case DESCRIPTION:
             return txn.getDescription();
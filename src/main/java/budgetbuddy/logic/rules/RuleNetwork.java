@@ -0,0 +1,227 @@
+package budgetbuddy.logic.rules;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Queue;
+import java.util.TreeMap;
+
+import budgetbuddy.logic.parser.exceptions.ParseException;
+import budgetbuddy.model.rule.Rule;
+import budgetbuddy.model.rule.RulePredicate;
+import budgetbuddy.model.rule.expression.Attribute;
+import budgetbuddy.model.rule.expression.Operator;
+import budgetbuddy.model.rule.expression.PredicateExpression;
+import budgetbuddy.model.transaction.Transaction;
+
+/**
+ * An index of the predicates of a list of rules, which finds the rules whose predicates a transaction may satisfy
+ * without testing every rule.
+ *
+ * Predicate expressions are indexed by the attribute they test: equal-to expressions in a hash map from their
+ * value, comparisons in a sorted map from their bound, so the rules a value satisfies are a range of the map,
+ * and contains expressions in an Aho-Corasick automaton, which finds every value contained in the attribute
+ * in one pass over it. Predicate scripts cannot be indexed, so they are always candidates.
+ */
+class RuleNetwork {
+
+    private final BitSet unindexed = new BitSet();
+    private final Map<Attribute, Map<Object, BitSet>> equalTo = new EnumMap<>(Attribute.class);
+    private final Map<Attribute, Map<Operator, NavigableMap<Object, BitSet>>> bounds =
+            new EnumMap<>(Attribute.class);
+    private final Map<Attribute, ContainsAutomaton> contains = new EnumMap<>(Attribute.class);
+
+    /**
+     * Indexes {@code predicates}, where the predicate at index {@code i} is that of the rule at index {@code i}.
+     */
+    RuleNetwork(List<RulePredicate> predicates) {
+        requireNonNull(predicates);
+        for (int rule = 0; rule < predicates.size(); rule++) {
+            RulePredicate predicate = predicates.get(rule);
+            if (predicate.getType().equals(Rule.TYPE_EXPRESSION)) {
+                index((PredicateExpression) predicate, rule);
+            } else {
+                unindexed.set(rule);
+            }
+        }
+        contains.values().forEach(ContainsAutomaton::build);
+    }
+
+    /**
+     * Indexes {@code expression}, the predicate of the rule at index {@code rule}.
+     * Expressions whose value cannot be converted to the type of their attribute can never be satisfied,
+     * so they are left out.
+     */
+    private void index(PredicateExpression expression, int rule) {
+        Attribute attribute = expression.getAttribute();
+        Operator operator = expression.getOperator();
+        if (operator == Operator.CONTAINS) {
+            String value = expression.getValue().toString();
+            if (value.isEmpty()) {
+                unindexed.set(rule);
+            } else {
+                contains.computeIfAbsent(attribute, unused -> new ContainsAutomaton()).add(value, rule);
+            }
+            return;
+        }
+
+        Object value;
+        try {
+            value = RuleEngine.convertValue(attribute.getEvaluatedType(), expression.getValue());
+        } catch (ParseException e) {
+            return;
+        }
+        if (operator == Operator.EQUAL_TO) {
+            equalTo.computeIfAbsent(attribute, unused -> new HashMap<>())
+                    .computeIfAbsent(value, unused -> new BitSet()).set(rule);
+        } else {
+            bounds.computeIfAbsent(attribute, unused -> new EnumMap<>(Operator.class))
+                    .computeIfAbsent(operator, unused -> new TreeMap<>())
+                    .computeIfAbsent(value, unused -> new BitSet()).set(rule);
+        }
+    }
+
+    /**
+     * Returns the rules whose predicates {@code txn} may satisfy. Every rule whose predicate {@code txn}
+     * satisfies is included, but the predicates of the rules must still be tested.
+     */
+    BitSet candidates(Transaction txn) {
+        BitSet candidates = (BitSet) unindexed.clone();
+        for (Attribute attribute : Attribute.values()) {
+            Object value = RuleEngine.extractAttribute(attribute, txn);
+            if (value == null) {
+                continue;
+            }
+
+            Map<Object, BitSet> equalToRules = equalTo.get(attribute);
+            if (equalToRules != null && equalToRules.containsKey(value)) {
+                candidates.or(equalToRules.get(value));
+            }
+
+            Map<Operator, NavigableMap<Object, BitSet>> boundRules = bounds.getOrDefault(attribute, Map.of());
+            boundRules.forEach((operator, rulesByBound) ->
+                    orAll(candidates, satisfiedBounds(operator, rulesByBound, value)));
+
+            ContainsAutomaton containsRules = contains.get(attribute);
+            if (containsRules != null) {
+                candidates.or(containsRules.match(value.toString()));
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * Returns the rules, by their bound, which compare {@code value} to their bound with {@code operator} and
+     * are satisfied by it.
+     */
+    private static Collection<BitSet> satisfiedBounds(Operator operator, NavigableMap<Object, BitSet> rulesByBound,
+                                                      Object value) {
+        switch (operator) {
+        case LESS_THAN:
+            return rulesByBound.tailMap(value, false).values();
+        case LESS_EQUAL:
+            return rulesByBound.tailMap(value, true).values();
+        case MORE_THAN:
+            return rulesByBound.headMap(value, false).values();
+        case MORE_EQUAL:
+            return rulesByBound.headMap(value, true).values();
+        default:
+            assert false : "Operator is not a comparison";
+            return rulesByBound.values();
+        }
+    }
+
+    /**
+     * Adds every rule in {@code rules} to {@code candidates}.
+     */
+    private static void orAll(BitSet candidates, Collection<BitSet> rules) {
+        rules.forEach(candidates::or);
+    }
+
+    /**
+     * An Aho-Corasick automaton over the values of contains expressions, which finds every value
+     * contained in a text, and so every expression the text satisfies, in one pass over the text.
+     */
+    private static class ContainsAutomaton {
+        private final List<Map<Character, Integer>> children = new ArrayList<>();
+        private final List<BitSet> outputs = new ArrayList<>();
+        private int[] failures;
+
+        ContainsAutomaton() {
+            addNode();
+        }
+
+        /**
+         * Adds a node without children or rules, and returns its index.
+         */
+        private int addNode() {
+            children.add(new HashMap<>());
+            outputs.add(new BitSet());
+            return children.size() - 1;
+        }
+
+        /**
+         * Adds {@code pattern}, the value of the contains expression of the rule at index {@code rule}.
+         */
+        void add(String pattern, int rule) {
+            int node = 0;
+            for (char c : pattern.toCharArray()) {
+                Integer child = children.get(node).get(c);
+                if (child == null) {
+                    child = addNode();
+                    children.get(node).put(c, child);
+                }
+                node = child;
+            }
+            outputs.get(node).set(rule);
+        }
+
+        /**
+         * Links each node to the node of its longest proper suffix in the automaton, and adds the rules of
+         * the suffix to those of the node, once every pattern is added.
+         */
+        void build() {
+            failures = new int[children.size()];
+            Queue<Integer> queue = new ArrayDeque<>(children.get(0).values());
+            while (!queue.isEmpty()) {
+                int node = queue.remove();
+                for (Map.Entry<Character, Integer> edge : children.get(node).entrySet()) {
+                    int child = edge.getValue();
+                    int failure = failures[node];
+                    while (failure != 0 && !children.get(failure).containsKey(edge.getKey())) {
+                        failure = failures[failure];
+                    }
+                    failures[child] = node != 0 && children.get(failure).containsKey(edge.getKey())
+                            ? children.get(failure).get(edge.getKey())
+                            : 0;
+                    outputs.get(child).or(outputs.get(failures[child]));
+                    queue.add(child);
+                }
+            }
+        }
+
+        /**
+         * Returns the rules whose values are contained in {@code text}.
+         */
+        BitSet match(String text) {
+            BitSet matched = new BitSet();
+            int node = 0;
+            for (char c : text.toCharArray()) {
+                while (node != 0 && !children.get(node).containsKey(c)) {
+                    node = failures[node];
+                }
+                node = children.get(node).getOrDefault(c, 0);
+                matched.or(outputs.get(node));
+            }
+            return matched;
+        }
+    }
+}
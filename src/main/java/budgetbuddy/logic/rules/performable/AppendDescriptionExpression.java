@@ -1,15 +1,12 @@
 package budgetbuddy.logic.rules.performable;
 
-import static budgetbuddy.commons.util.CollectionUtil.requireAllNonNull;
+import static java.util.Objects.requireNonNull;
 
-import budgetbuddy.commons.core.index.Index;
 import budgetbuddy.logic.parser.CommandParserUtil;
 import budgetbuddy.logic.parser.exceptions.ParseException;
-import budgetbuddy.model.Model;
-import budgetbuddy.model.account.Account;
+import budgetbuddy.logic.rules.RuleContext;
 import budgetbuddy.model.attributes.Description;
 import budgetbuddy.model.rule.expression.Value;
-import budgetbuddy.model.transaction.Transaction;
 
 /**
  * Represents a append description expression.
@@ -26,20 +23,13 @@ public class AppendDescriptionExpression extends PerformableExpression {
     }
 
     @Override
-    public void perform(Model model, Index txnIndex, Account account) {
-        requireAllNonNull(model, txnIndex);
-
+    public void perform(RuleContext context) {
+        requireNonNull(context);
         try {
-            Transaction toEdit = account.getTransaction(txnIndex);
-            Description updatedDesc = CommandParserUtil.parseDescription(toEdit.getDescription().toString()
+            Description updatedDesc = CommandParserUtil.parseDescription(context.getDescription().toString()
                     + value.toString());
-
-            Transaction updatedTransaction = new Transaction(toEdit.getLocalDate(), toEdit.getAmount(),
-                    toEdit.getDirection(), updatedDesc, toEdit.getCategories());
-
-            account.updateTransaction(txnIndex, updatedTransaction);
-
-            logger.info("Rule Execution———Description updated in:\n" + updatedTransaction);
+            context.setDescription(updatedDesc);
+            logger.info("Rule Execution———Description updated to:\n" + updatedDesc);
         } catch (ParseException e) {
             // Should not happen as value should be parsable by the time this method is called
             // but will exit without completing if it does happen.
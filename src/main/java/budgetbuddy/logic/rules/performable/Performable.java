@@ -1,15 +1,13 @@
 package budgetbuddy.logic.rules.performable;
 
-import budgetbuddy.commons.core.index.Index;
-import budgetbuddy.model.Model;
-import budgetbuddy.model.account.Account;
+import budgetbuddy.logic.rules.RuleContext;
 
 /**
  * Represents an action with hidden internal logic and the ability to be performed.
  */
 public interface Performable {
     /**
-     * Executes the action.
+     * Executes the action on the transaction of {@code context}.
      */
-    void perform(Model model, Index txnIndex, Account account);
+    void perform(RuleContext context);
 }
@@ -3,7 +3,7 @@ package budgetbuddy.logic.rules.performable;
 import static budgetbuddy.commons.util.CollectionUtil.requireAllNonNull;
 
 import budgetbuddy.commons.core.index.Index;
-import budgetbuddy.model.Model;
+import budgetbuddy.logic.rules.RuleContext;
 import budgetbuddy.model.account.Account;
 
 /**
@@ -22,8 +22,11 @@ public class PerformableScript implements Performable {
     }
 
     @Override
-    public void perform(Model model, Index txnIndex, Account account) {
-        evaluator.run(txnIndex, account);
+    public void perform(RuleContext context) {
+        // the script reads and may change the transaction in its account, rather than in the context
+        context.commit();
+        evaluator.run(context.getTxnIndex(), context.getAccount());
+        context.reload();
     }
 
     /**
@@ -1,24 +1,21 @@
 package budgetbuddy.logic.rules.performable;
 
-import static budgetbuddy.commons.util.CollectionUtil.requireAllNonNull;
+import static java.util.Objects.requireNonNull;
 
-import java.util.HashSet;
-import java.util.Set;
-
-import budgetbuddy.commons.core.index.Index;
 import budgetbuddy.logic.parser.CommandParserUtil;
 import budgetbuddy.logic.parser.exceptions.ParseException;
-import budgetbuddy.model.Model;
-import budgetbuddy.model.account.Account;
+import budgetbuddy.logic.rules.RuleContext;
 import budgetbuddy.model.attributes.Category;
 import budgetbuddy.model.rule.expression.Value;
-import budgetbuddy.model.transaction.Transaction;
 
 /**
  * Represents a set category expression.
  */
 public class SetCategoryExpression extends PerformableExpression {
 
+    /** The category parsed from the value once, or null if the value is not a valid category. */
+    private final Category categoryToAdd;
+
     /**
      * Constructs a SetCategoryExpression with the given value.
      *
@@ -26,31 +23,30 @@ public class SetCategoryExpression extends PerformableExpression {
      */
     public SetCategoryExpression(Value value) {
         super(value);
+        Category parsed;
+        try {
+            parsed = CommandParserUtil.parseCategory(value.toString());
+        } catch (ParseException e) {
+            parsed = null;
+        }
+        categoryToAdd = parsed;
     }
 
     @Override
-    public void perform(Model model, Index txnIndex, Account account) {
-        requireAllNonNull(model, txnIndex);
-
-        try {
-            Transaction toEdit = account.getTransaction(txnIndex);
-            Set<Category> categories = new HashSet<>(toEdit.getCategories());
-
-            Category categoryToAdd = CommandParserUtil.parseCategory(value.toString());
-            if (categories.contains(categoryToAdd)) {
-                return;
-            }
-
-            categories.add(categoryToAdd);
-            Transaction updatedTransaction = new Transaction(toEdit.getLocalDate(), toEdit.getAmount(),
-                    toEdit.getDirection(), toEdit.getDescription(), categories);
-
-            account.updateTransaction(txnIndex, updatedTransaction);
-
-            logger.info("Rule Execution———Category added in:\n" + updatedTransaction);
-        } catch (ParseException e) {
+    public void perform(RuleContext context) {
+        requireNonNull(context);
+        if (categoryToAdd == null) {
             // Should not happen as value should be parsable by the time this method is called
             // but will exit without completing if it does happen.
+            return;
         }
+
+        if (context.getCategories().contains(categoryToAdd)) {
+            return;
+        }
+
+        context.addCategory(categoryToAdd);
+
+        logger.info("Rule Execution———Category added:\n" + categoryToAdd);
     }
 }
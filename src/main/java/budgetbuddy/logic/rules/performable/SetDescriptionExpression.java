@@ -1,21 +1,21 @@
 package budgetbuddy.logic.rules.performable;
 
-import static budgetbuddy.commons.util.CollectionUtil.requireAllNonNull;
+import static java.util.Objects.requireNonNull;
 
-import budgetbuddy.commons.core.index.Index;
 import budgetbuddy.logic.parser.CommandParserUtil;
 import budgetbuddy.logic.parser.exceptions.ParseException;
-import budgetbuddy.model.Model;
-import budgetbuddy.model.account.Account;
+import budgetbuddy.logic.rules.RuleContext;
 import budgetbuddy.model.attributes.Description;
 import budgetbuddy.model.rule.expression.Value;
-import budgetbuddy.model.transaction.Transaction;
 
 /**
  * Represents a set description expression.
  */
 public class SetDescriptionExpression extends PerformableExpression {
 
+    /** The description parsed from the value once, or null if the value is not a valid description. */
+    private final Description description;
+
     /**
      * Constructs a SetDescriptionExpression with the given value.
      *
@@ -23,25 +23,26 @@ public class SetDescriptionExpression extends PerformableExpression {
      */
     public SetDescriptionExpression(Value value) {
         super(value);
+        Description parsed;
+        try {
+            parsed = CommandParserUtil.parseDescription(value.toString());
+        } catch (ParseException e) {
+            parsed = null;
+        }
+        description = parsed;
     }
 
     @Override
-    public void perform(Model model, Index txnIndex, Account account) {
-        requireAllNonNull(model, txnIndex);
-
-        try {
-            Transaction toEdit = account.getTransaction(txnIndex);
-            Description updatedDesc = CommandParserUtil.parseDescription(value.toString());
-
-            Transaction updatedTransaction = new Transaction(toEdit.getLocalDate(), toEdit.getAmount(),
-                    toEdit.getDirection(), updatedDesc, toEdit.getCategories());
-
-            account.updateTransaction(txnIndex, updatedTransaction);
-
-            logger.info("Rule Execution———Description updated in:\n" + updatedTransaction);
-        } catch (ParseException e) {
+    public void perform(RuleContext context) {
+        requireNonNull(context);
+        if (description == null) {
             // Should not happen as value should be parsable by the time this method is called
             // but will exit without completing if it does happen.
+            return;
         }
+
+        context.setDescription(description);
+
+        logger.info("Rule Execution———Description updated to:\n" + description);
     }
 }
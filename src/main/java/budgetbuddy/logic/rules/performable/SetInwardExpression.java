@@ -1,13 +1,10 @@
 package budgetbuddy.logic.rules.performable;
 
-import static budgetbuddy.commons.util.CollectionUtil.requireAllNonNull;
+import static java.util.Objects.requireNonNull;
 
-import budgetbuddy.commons.core.index.Index;
-import budgetbuddy.model.Model;
-import budgetbuddy.model.account.Account;
+import budgetbuddy.logic.rules.RuleContext;
 import budgetbuddy.model.attributes.Direction;
 import budgetbuddy.model.rule.expression.Value;
-import budgetbuddy.model.transaction.Transaction;
 
 /**
  * Represents a set inward expression.
@@ -24,17 +21,12 @@ public class SetInwardExpression extends PerformableExpression {
     }
 
     @Override
-    public void perform(Model model, Index txnIndex, Account account) {
-        requireAllNonNull(model, txnIndex);
-
-        Transaction toEdit = account.getTransaction(txnIndex);
+    public void perform(RuleContext context) {
+        requireNonNull(context);
         Direction updatedDirection = Direction.IN;
 
-        Transaction updatedTransaction = new Transaction(toEdit.getLocalDate(), toEdit.getAmount(), updatedDirection,
-                toEdit.getDescription(), toEdit.getCategories());
-
-        account.updateTransaction(txnIndex, updatedTransaction);
+        context.setDirection(updatedDirection);
 
-        logger.info("Rule Execution———Direction updated in:\n" + updatedTransaction);
+        logger.info("Rule Execution———Direction updated to:\n" + updatedDirection);
     }
 }
@@ -1,13 +1,10 @@
 package budgetbuddy.logic.rules.performable;
 
-import static budgetbuddy.commons.util.CollectionUtil.requireAllNonNull;
+import static java.util.Objects.requireNonNull;
 
-import budgetbuddy.commons.core.index.Index;
-import budgetbuddy.model.Model;
-import budgetbuddy.model.account.Account;
+import budgetbuddy.logic.rules.RuleContext;
 import budgetbuddy.model.attributes.Direction;
 import budgetbuddy.model.rule.expression.Value;
-import budgetbuddy.model.transaction.Transaction;
 
 /**
  * Represents a switch direction expression.
@@ -24,17 +21,12 @@ public class SwitchDirectionExpression extends PerformableExpression {
     }
 
     @Override
-    public void perform(Model model, Index txnIndex, Account account) {
-        requireAllNonNull(model, txnIndex);
+    public void perform(RuleContext context) {
+        requireNonNull(context);
+        Direction updatedDirection = context.getDirection().equals(Direction.IN) ? Direction.OUT : Direction.IN;
 
-        Transaction toEdit = account.getTransaction(txnIndex);
-        Direction updatedDirection = toEdit.getDirection().equals(Direction.IN) ? Direction.OUT : Direction.IN;
+        context.setDirection(updatedDirection);
 
-        Transaction updatedTransaction = new Transaction(toEdit.getLocalDate(), toEdit.getAmount(), updatedDirection,
-                toEdit.getDescription(), toEdit.getCategories());
-
-        account.updateTransaction(txnIndex, updatedTransaction);
-
-        logger.info("Rule Execution———Direction updated in:\n" + updatedTransaction);
+        logger.info("Rule Execution———Direction updated to:\n" + updatedDirection);
     }
 }
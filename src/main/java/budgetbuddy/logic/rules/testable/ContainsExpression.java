@@ -1,10 +1,8 @@
 package budgetbuddy.logic.rules.testable;
 
-import static budgetbuddy.commons.util.CollectionUtil.requireAllNonNull;
+import static java.util.Objects.requireNonNull;
 
-import budgetbuddy.commons.core.index.Index;
-import budgetbuddy.logic.rules.RuleEngine;
-import budgetbuddy.model.account.Account;
+import budgetbuddy.logic.rules.RuleContext;
 import budgetbuddy.model.rule.expression.Attribute;
 import budgetbuddy.model.rule.expression.Value;
 
@@ -23,9 +21,9 @@ public class ContainsExpression extends TestableExpression {
     }
 
     @Override
-    public boolean test(Index txnIndex, Account account) {
-        requireAllNonNull(txnIndex, account);
-        Object attr = RuleEngine.extractAttribute(attribute, txnIndex, account);
+    public boolean test(RuleContext context) {
+        requireNonNull(context);
+        Object attr = context.getAttribute(attribute);
         if (attr == null) {
             return false;
         }
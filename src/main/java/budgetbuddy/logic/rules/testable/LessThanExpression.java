@@ -1,11 +1,8 @@
 package budgetbuddy.logic.rules.testable;
 
-import static budgetbuddy.commons.util.CollectionUtil.requireAllNonNull;
+import java.util.OptionalInt;
 
-import budgetbuddy.commons.core.index.Index;
-import budgetbuddy.logic.parser.exceptions.ParseException;
-import budgetbuddy.logic.rules.RuleEngine;
-import budgetbuddy.model.account.Account;
+import budgetbuddy.logic.rules.RuleContext;
 import budgetbuddy.model.rule.expression.Attribute;
 import budgetbuddy.model.rule.expression.Value;
 
@@ -24,20 +21,8 @@ public class LessThanExpression extends TestableExpression {
     }
 
     @Override
-    @SuppressWarnings("unchecked")
-    public boolean test(Index txnIndex, Account account) {
-        requireAllNonNull(txnIndex, account);
-        Comparable left = (Comparable) RuleEngine.extractAttribute(attribute, txnIndex, account);
-        Comparable right;
-        try {
-            right = (Comparable) RuleEngine.convertValue(attribute.getEvaluatedType(), value);
-
-            // attributes should never have a blank type
-            assert right != null;
-        } catch (ParseException e) {
-            return false;
-        }
-
-        return left != null && left.compareTo(right) < 0;
+    public boolean test(RuleContext context) {
+        OptionalInt comparison = compareAttribute(context);
+        return comparison.isPresent() && comparison.getAsInt() < 0;
     }
 }
@@ -1,7 +1,6 @@
 package budgetbuddy.logic.rules.testable;
 
-import budgetbuddy.commons.core.index.Index;
-import budgetbuddy.model.account.Account;
+import budgetbuddy.logic.rules.RuleContext;
 
 /**
  * Represents a predicate with hidden internal logic and the ability to be tested.
@@ -9,7 +8,7 @@ import budgetbuddy.model.account.Account;
 @FunctionalInterface
 public interface Testable {
     /**
-     * Tests if the transaction in this account satisfy the predicate.
+     * Tests if the transaction of {@code context} satisfies the predicate.
      */
-    boolean test(Index txnIndex, Account account);
+    boolean test(RuleContext context);
 }
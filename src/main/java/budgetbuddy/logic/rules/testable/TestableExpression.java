@@ -1,11 +1,16 @@
 package budgetbuddy.logic.rules.testable;
 
 import static budgetbuddy.commons.util.CollectionUtil.requireAllNonNull;
+import static java.util.Objects.requireNonNull;
 
 import java.util.Objects;
+import java.util.OptionalInt;
 import java.util.logging.Logger;
 
 import budgetbuddy.commons.core.LogsCenter;
+import budgetbuddy.logic.parser.exceptions.ParseException;
+import budgetbuddy.logic.rules.RuleContext;
+import budgetbuddy.logic.rules.RuleEngine;
 import budgetbuddy.model.rule.expression.Attribute;
 import budgetbuddy.model.rule.expression.Value;
 
@@ -16,6 +21,8 @@ public abstract class TestableExpression implements Testable {
     protected final Attribute attribute;
     protected final Value value;
     protected final Logger logger = LogsCenter.getLogger(TestableExpression.class);
+    /** The value converted to the type of the attribute once, or null if it cannot be converted. */
+    private final Comparable<?> convertedValue;
 
     /**
      * Constructs a TestableExpression given an attribute and a value.
@@ -28,6 +35,34 @@ public abstract class TestableExpression implements Testable {
         requireAllNonNull(attribute, value);
         this.attribute = attribute;
         this.value = value;
+        this.convertedValue = convertValue(attribute, value);
+    }
+
+    /**
+     * Returns {@code value} converted to the type of {@code attribute}, or null if it cannot be converted.
+     */
+    private static Comparable<?> convertValue(Attribute attribute, Value value) {
+        try {
+            return (Comparable<?>) RuleEngine.convertValue(attribute.getEvaluatedType(), value);
+        } catch (ParseException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Compares the attribute of the transaction of {@code context} with the converted value.
+     *
+     * @return the result of the comparison, or an empty {@code OptionalInt} if the transaction does not have
+     *     the attribute or the value cannot be converted.
+     */
+    @SuppressWarnings("unchecked")
+    protected OptionalInt compareAttribute(RuleContext context) {
+        requireNonNull(context);
+        Comparable<Object> left = (Comparable<Object>) context.getAttribute(attribute);
+        if (left == null || convertedValue == null) {
+            return OptionalInt.empty();
+        }
+        return OptionalInt.of(left.compareTo(convertedValue));
     }
 
     @Override
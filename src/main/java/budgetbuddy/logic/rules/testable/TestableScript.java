@@ -2,8 +2,9 @@ package budgetbuddy.logic.rules.testable;
 
 import static budgetbuddy.commons.util.CollectionUtil.requireAllNonNull;
 
-import budgetbuddy.commons.core.index.Index;
+import budgetbuddy.logic.rules.RuleContext;
 import budgetbuddy.model.account.Account;
+import budgetbuddy.model.transaction.Transaction;
 
 /**
  * Represents a predicate written as a script.
@@ -21,8 +22,8 @@ public class TestableScript implements Testable {
     }
 
     @Override
-    public boolean test(Index txnIndex, Account account) {
-        return evaluator.run(txnIndex, account);
+    public boolean test(RuleContext context) {
+        return evaluator.run(context.getTransaction(), context.getAccount());
     }
 
     /**
@@ -33,7 +34,7 @@ public class TestableScript implements Testable {
         /**
          * Executes the script and returns the result.
          */
-        boolean run(Index txnIndex, Account account);
+        boolean run(Transaction txn, Account account);
     }
 
     @Override
@@ -2,23 +2,31 @@ package budgetbuddy.logic.script;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import javax.script.Bindings;
+import javax.script.Compilable;
+import javax.script.CompiledScript;
 import javax.script.ScriptContext;
 import javax.script.ScriptEngineManager;
 
 import budgetbuddy.commons.core.LogsCenter;
 import budgetbuddy.logic.script.exceptions.ScriptException;
+import budgetbuddy.model.ScriptLibrary;
 import budgetbuddy.model.script.Script;
+import budgetbuddy.model.script.ScriptName;
 
 /**
  * Evaluates scripts.
  */
 public class ScriptEngine {
     static final String INCORRECT_ARITY_MESSAGE = "Incorrect number of arguments passed to function call";
+    static final String NO_SUCH_SCRIPT_MESSAGE = "No script named %1$s";
 
     private final Logger logger = LogsCenter.getLogger(ScriptEngine.class);
 
@@ -26,6 +34,14 @@ public class ScriptEngine {
     private final List<ScriptEnvironmentInitialiser> initialisers;
     private final javax.script.ScriptEngine scriptEngine;
 
+    /** The scripts compiled from {@link #compiledLibrary}, which are kept until a script in it changes. */
+    private final Map<ScriptName, CompiledCode> compiledScripts = new HashMap<>();
+    private ScriptLibrary compiledLibrary;
+    private long compiledGeneration;
+
+    /** The rules the rule engine last compiled to run with this engine, which it keeps until the rules change. */
+    private volatile Object compiledRules;
+
     /**
      * Creates a new ScriptManager with the specified environment initialiser.
      *
@@ -53,17 +69,7 @@ public class ScriptEngine {
      * @throws ScriptException if an exception occurs during script evaluation
      */
     public Object evaluateScript(String script, Object... argv) throws ScriptException {
-        synchronized (scriptEngineLock) {
-            try {
-                setVariable("argv", argv);
-                return scriptEngine.eval(script);
-            } catch (Exception ex) {
-                Throwable cause = unwrapNashornExceptions(ex);
-                logger.log(Level.WARNING, "Exception while evaluating script", cause);
-                throw new ScriptException(
-                        String.format("Exception while evaluating script: %1$s", cause.toString()), cause);
-            }
-        }
+        return evaluate(() -> scriptEngine.eval(script), argv);
     }
 
     /**
@@ -78,6 +84,101 @@ public class ScriptEngine {
         return evaluateScript(script.getCode(), argv);
     }
 
+    /**
+     * Evaluates a script stored in a script library.
+     *
+     * The script is compiled when it is first evaluated, and the compiled script is kept until a script
+     * in the library is added, replaced or removed, so evaluating the script again does not parse its code again.
+     *
+     * @param scriptLibrary the script library
+     * @param name the name of the script
+     * @param argv the arguments to pass to the script
+     * @return the result of the script, which may be <code>null</code>
+     * @throws ScriptException if there is no script by that name, or an exception occurs during script
+     * compilation or evaluation
+     */
+    public Object evaluateScript(ScriptLibrary scriptLibrary, ScriptName name, Object... argv)
+            throws ScriptException {
+        CompiledCode compiled = getCompiledScript(scriptLibrary, name);
+        if (compiled == null) {
+            throw new ScriptException(String.format(NO_SUCH_SCRIPT_MESSAGE, name));
+        }
+        return evaluate(compiled::eval, argv);
+    }
+
+    /**
+     * Returns the rules last kept with {@link #keepCompiledRules}, or <code>null</code> if none were.
+     */
+    public Object getCompiledRules() {
+        return compiledRules;
+    }
+
+    /**
+     * Keeps {@code compiledRules}, which were compiled to run with this engine, in place of any kept before,
+     * so that each engine and the model it runs against keep their own compiled rules.
+     */
+    public void keepCompiledRules(Object compiledRules) {
+        this.compiledRules = compiledRules;
+    }
+
+    /**
+     * Returns the compiled script named {@code name} in {@code scriptLibrary}, compiling it if it has not been
+     * compiled since the library last changed, or <code>null</code> if there is no script by that name.
+     */
+    private CompiledCode getCompiledScript(ScriptLibrary scriptLibrary, ScriptName name) {
+        synchronized (scriptEngineLock) {
+            long generation = scriptLibrary.getGeneration();
+            if (scriptLibrary != compiledLibrary || generation != compiledGeneration) {
+                compiledScripts.clear();
+                compiledLibrary = scriptLibrary;
+                compiledGeneration = generation;
+            }
+            CompiledCode compiled = compiledScripts.get(name);
+            if (compiled == null) {
+                Script script = scriptLibrary.getScript(name);
+                if (script == null) {
+                    return null;
+                }
+                compiled = compile(script);
+                compiledScripts.put(name, compiled);
+            }
+            return compiled;
+        }
+    }
+
+    /**
+     * Compiles a script, keeping any exception thrown while compiling it to be thrown when it is evaluated.
+     */
+    private CompiledCode compile(Script script) {
+        synchronized (scriptEngineLock) {
+            if (!(scriptEngine instanceof Compilable)) {
+                return new CompiledCode(this, script, null, null);
+            }
+            try {
+                return new CompiledCode(this, script, ((Compilable) scriptEngine).compile(script.getCode()), null);
+            } catch (Exception ex) {
+                return new CompiledCode(this, script, null, ex);
+            }
+        }
+    }
+
+    /**
+     * Runs {@code evaluation} with {@code argv} as the arguments of the script.
+     */
+    private Object evaluate(Callable<Object> evaluation, Object... argv) throws ScriptException {
+        synchronized (scriptEngineLock) {
+            try {
+                setVariable("argv", argv);
+                return evaluation.call();
+            } catch (Exception ex) {
+                Throwable cause = unwrapNashornExceptions(ex);
+                logger.log(Level.WARNING, "Exception while evaluating script", cause);
+                throw new ScriptException(
+                        String.format("Exception while evaluating script: %1$s", cause.toString()), cause);
+            }
+        }
+    }
+
     /**
      * Resets the script evaluation context.
      *
@@ -154,4 +255,35 @@ public class ScriptEngine {
 
         return t;
     }
+
+    /**
+     * A script compiled by a script engine from a script library.
+     * Scripts are evaluated from their code if the script engine cannot compile them.
+     */
+    private static class CompiledCode {
+        private final ScriptEngine engine;
+        private final String code;
+        private final CompiledScript compiledScript;
+        private final Exception compileException;
+
+        CompiledCode(ScriptEngine engine, Script script, CompiledScript compiledScript, Exception compileException) {
+            this.engine = engine;
+            this.code = script.getCode();
+            this.compiledScript = compiledScript;
+            this.compileException = compileException;
+        }
+
+        /**
+         * Evaluates the compiled script, or throws the exception thrown while compiling it.
+         */
+        Object eval() throws Exception {
+            if (compileException != null) {
+                throw compileException;
+            }
+            if (compiledScript == null) {
+                return engine.scriptEngine.eval(code);
+            }
+            return compiledScript.eval();
+        }
+    }
 }
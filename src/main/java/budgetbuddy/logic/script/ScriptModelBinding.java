@@ -16,6 +16,7 @@ import budgetbuddy.logic.parser.exceptions.ParseException;
 import budgetbuddy.logic.script.exceptions.ScriptException;
 import budgetbuddy.model.Model;
 import budgetbuddy.model.account.Account;
+import budgetbuddy.model.account.AccountTotals;
 import budgetbuddy.model.attributes.Amount;
 import budgetbuddy.model.attributes.Category;
 import budgetbuddy.model.attributes.Description;
@@ -66,6 +67,7 @@ public class ScriptModelBinding implements ScriptEnvironmentInitialiser {
         engine.setVariable("accountDescription",
                 (ScriptBindingInterfaces.AccountOnly) this::scriptAccountDescription);
         engine.setVariable("accountTxns", (ScriptBindingInterfaces.AccountOnly) this::scriptAccountTxns);
+        engine.setVariable("accountSummary", (ScriptBindingInterfaces.AccountObjects) this::scriptAccountSummary);
 
         engine.setVariable("addTxn", (ScriptBindingInterfaces.LongStringStringObjects) this::scriptAddTxn);
         engine.setVariable("editTxn",
@@ -207,7 +209,7 @@ public class ScriptModelBinding implements ScriptEnvironmentInitialiser {
             desc = CommandParserUtil.parseDescription(newDesc);
         }
 
-        return new Account(name, desc, acc.getTransactionList(), acc.getBalance());
+        return new Account(name, desc, acc.getTransactionList(), acc.getBalance(), acc.getArchive());
     }
 
     /**
@@ -267,6 +269,23 @@ public class ScriptModelBinding implements ScriptEnvironmentInitialiser {
         return account.getTransactionList().asUnmodifiableObservableList();
     }
 
+    /**
+     * Provides <code>accountSummary(account, { from, until, category }) -> Total</code>, where the
+     * <code>Total</code> has a <code>count</code>, <code>income</code> and <code>expense</code>.
+     */
+    private AccountTotals.Total scriptAccountSummary(Account account, Object... optional) throws Exception {
+        requireAllNonNull(account, optional);
+        ScriptObjectWrapper opt = ScriptObjectWrapper.fromOptionalVarargs(optional);
+
+        LocalDate from = opt.getDate("from").orElse(LocalDate.MIN);
+        LocalDate until = opt.getDate("until").orElse(LocalDate.MAX);
+        String category = opt.get("category", String.class).orElse(null);
+        if (category == null) {
+            return account.getTotals().getTotal(from, until);
+        }
+        return account.getTotals().getCategoryTotal(CommandParserUtil.parseCategory(category), from, until);
+    }
+
     /**
      * Provides <code>addTxn(amount, direction, description, { account, date, categories })
      * -> Transaction</code>.
@@ -171,7 +171,7 @@ public class ScriptObjectWrapper {
             return Optional.empty();
         }
 
-        return get(key, LocalDate.class, false).or(() -> get("date", String.class)
+        return get(key, LocalDate.class, false).or(() -> get(key, String.class)
                 .map(dateStr -> LocalDate.parse(dateStr, getDateFormatter())));
     }
 
@@ -18,12 +18,14 @@ import budgetbuddy.model.attributes.Description;
 import budgetbuddy.model.attributes.Direction;
 import budgetbuddy.model.attributes.Name;
 import budgetbuddy.model.attributes.SignedAmount;
+import budgetbuddy.model.transaction.QueryPlan;
+import budgetbuddy.model.transaction.SortedTransactionView;
 import budgetbuddy.model.transaction.Transaction;
 import budgetbuddy.model.transaction.TransactionList;
+import budgetbuddy.model.transaction.TransactionMatchesConditionsPredicate;
 import budgetbuddy.storage.export.HtmlExporter;
 import javafx.collections.ObservableList;
 import javafx.collections.transformation.FilteredList;
-import javafx.collections.transformation.SortedList;
 
 
 /**
@@ -34,9 +36,22 @@ public class AccountsManager {
     private final UniqueAccountList accounts;
     private final FilteredList<Account> filteredAccounts;
     private Index activeAccountIndex = Index.fromZeroBased(0);
-    private final TransactionList activeTransactionList;
-    private final SortedList<Transaction> sortedTransactions;
+    private final SortedTransactionView sortedTransactions;
+    private final TransactionList selectedTransactions = new TransactionList();
     private final FilteredList<Transaction> filteredTransactions;
+    private Account activeAccount;
+
+    /** The filter of the shown transactions, or null if the active account's own list is shown. */
+    private Predicate<Transaction> transactionFilter;
+
+    /** The plan with which the shown transactions were selected from the account's list, or null if not planned. */
+    private QueryPlan transactionListPlan;
+
+    /**
+     * Counts changes to the list of accounts and to the active account,
+     * plus the generations of accounts which have since been removed or replaced.
+     */
+    private long generation;
 
 
     /**
@@ -48,10 +63,7 @@ public class AccountsManager {
         accounts = new UniqueAccountList();
         accounts.add(defaultAccount);
 
-        activeTransactionList = new TransactionList();
-        activeTransactionList.setAll(defaultAccount.getTransactionList());
-
-        sortedTransactions = new SortedList<>(activeTransactionList.asUnmodifiableObservableList());
+        sortedTransactions = new SortedTransactionView(defaultAccount.getTransactionList(), SORT_BY_DESCENDING_DATE);
         filteredTransactions = new FilteredList<>(sortedTransactions);
 
         filteredAccounts = new FilteredList<>(getAccounts());
@@ -76,8 +88,7 @@ public class AccountsManager {
         this.accounts = uniqueAccounts;
 
         filteredAccounts = new FilteredList<>(this.getAccounts());
-        activeTransactionList = new TransactionList();
-        sortedTransactions = new SortedList<>(activeTransactionList.asUnmodifiableObservableList());
+        sortedTransactions = new SortedTransactionView(new TransactionList(), SORT_BY_DESCENDING_DATE);
         filteredTransactions = new FilteredList<>(sortedTransactions);
 
         try {
@@ -86,7 +97,7 @@ public class AccountsManager {
             //the index provided is out of bounds, so we set to the default.
             setActiveAccountByIndex(DEFAULT_INDEX);
         }
-        activeTransactionList.setAll(getActiveAccount().getTransactionList());
+        transactionListUpdateSource();
     }
 
     /**
@@ -114,11 +125,24 @@ public class AccountsManager {
      * Reset the filteredAccountList so that it contains all the accounts.
      */
     public void resetFilteredAccountList() {
+        clearAccountFilter();
+        //activeAccountIndex is reset to the first account
+        setActiveAccountByIndex(DEFAULT_INDEX);
+    }
+
+    /**
+     * Clears the filter of the filteredAccountList without switching the active account,
+     * so that a caller which switches to another account only switches once.
+     */
+    private void clearAccountFilter() {
         filteredAccounts.setPredicate(s -> true);
         //filteredAccounts should not be empty
         assert !filteredAccounts.isEmpty();
-        //activeAccountIndex is reset to the first account
-        setActiveAccountByIndex(DEFAULT_INDEX);
+        //the active account may be at another index once the filter is cleared
+        Index unfilteredIndex = activeAccount == null ? null : accounts.indexOfEquivalent(activeAccount);
+        if (unfilteredIndex != null) {
+            activeAccountIndex = unfilteredIndex;
+        }
     }
 
     /**
@@ -127,8 +151,9 @@ public class AccountsManager {
      */
     public void addAccount(Account toAdd) throws IndexOutOfBoundsException {
         //whenever we add an account, we reset the list if it is filtered
-        resetFilteredAccountList();
+        clearAccountFilter();
         accounts.add(toAdd);
+        generation++;
         Index targetIndex = accounts.indexOfEquivalent(toAdd);
         if (targetIndex != null) {
             //the new account will be the active account
@@ -144,10 +169,12 @@ public class AccountsManager {
      * @param editedAccount The edited account to replace the target account with.
      */
     public void editAccount(Index toEdit, Account editedAccount) throws AccountNotFoundException {
-        accounts.replace(filteredAccounts.get(toEdit.getZeroBased()), editedAccount);
+        Account accountToEdit = filteredAccounts.get(toEdit.getZeroBased());
+        accounts.replace(accountToEdit, editedAccount);
+        generation += accountToEdit.getGeneration() + 1;
         //editing the account may cause it to no longer be part of the filtered list,
         //so we have to reset the filtered account list.
-        resetFilteredAccountList();
+        clearAccountFilter();
         setActiveAccountByIndex(accounts.indexOfEquivalent(editedAccount));
     }
 
@@ -168,12 +195,13 @@ public class AccountsManager {
         Account accountToDelete = filteredAccounts.get(toDelete.getZeroBased());
         boolean isActiveAccount = accountToDelete.isActive();
         accounts.remove(accountToDelete);
+        generation += accountToDelete.getGeneration() + 1;
         if (filteredAccounts.size() == 0) {
             // there was only one account left on the filtered list
             // (it had to have been the active account)
             // reset the filtered account list and set the first one to active
             unsetActiveAccount();
-            resetFilteredAccountList();
+            clearAccountFilter();
             setActiveAccountByIndex(DEFAULT_INDEX);
         } else if (isActiveAccount) {
             // we removed the active account, reset it to the first account
@@ -227,6 +255,10 @@ public class AccountsManager {
             unsetActiveAccount();
             newActiveAccount.setActive();
             activeAccountIndex = toSet;
+            if (newActiveAccount != activeAccount) {
+                activeAccount = newActiveAccount;
+                generation++;
+            }
         } else {
             //the list of filtered accounts should never be empty
             throw new EmptyAccountListException();
@@ -239,7 +271,7 @@ public class AccountsManager {
      */
     public void setActiveAccount(Account account) {
         unsetActiveAccount();
-        resetFilteredAccountList();
+        clearAccountFilter();
         Index targetIndex = accounts.indexOfEquivalent(account);
         if (targetIndex != null) {
             setActiveAccountByIndex(targetIndex);
@@ -250,21 +282,24 @@ public class AccountsManager {
 
     /**
      * Updates the filter of the filtered transaction list to filter by the given {@code predicate}.
+     * The filter is kept when the transactions shown are updated, or switched to another account.
      */
     public void updateFilteredTransactionList(Predicate<Transaction> predicate) {
         requireNonNull(predicate);
-        filteredTransactions.setPredicate(predicate);
+        transactionFilter = predicate;
+        showTransactions(getActiveAccount());
     }
 
     /**
      * Resets the filter of the filtered transaction list.
      */
     public void resetFilteredTransactionList() {
-        filteredTransactions.setPredicate(t -> true);
+        transactionFilter = null;
+        showTransactions(getActiveAccount());
     }
 
     /**
-     * Updates the sorted transaction list with a new transaction comparator.
+     * Sorts the transaction list with a new transaction comparator.
      * The comparator must not be null.
      */
     public void updateSortedTransactionList(Comparator<Transaction> comparator) {
@@ -273,7 +308,7 @@ public class AccountsManager {
     }
 
     /**
-     * Resets the sorted transaction list to the default.
+     * Sorts the transaction list in the default order, from the latest date, using its date index.
      */
     public void resetSortedTransactionList() {
         sortedTransactions.setComparator(SORT_BY_DESCENDING_DATE);
@@ -326,6 +361,18 @@ public class AccountsManager {
         return accounts.get(toGet);
     }
 
+    /**
+     * Returns a counter that increases whenever the accounts, their transactions or the active account change.
+     * Filtering and sorting do not change the generation.
+     */
+    public long getGeneration() {
+        long accountGenerations = 0;
+        for (Account account : accounts) {
+            accountGenerations += account.getGeneration();
+        }
+        return generation + accountGenerations;
+    }
+
     public Index getActiveAccountIndex() {
         return activeAccountIndex;
     }
@@ -339,31 +386,79 @@ public class AccountsManager {
 
 
     /**
-     * Switches the account source for the TransactionList
+     * Switches the account source for the TransactionList.
+     * The shown transactions are a view of the account's own list, which follows its changes without copying it.
      */
     public void transactionListSwitchSource(Account account) {
         //when we switch the source account of the transactionList,
         //if the account does not exist in the FilteredAccountList,
         //the account list filter gets cleared.
         if (!filteredAccounts.contains(account)) {
-            resetFilteredAccountList();
-        }
-        if (activeTransactionList != null) {
-            activeTransactionList.setAll(account.getTransactionList());
-        }
-        if (sortedTransactions != null) {
-            resetSortedTransactionList();
+            clearAccountFilter();
         }
+        showTransactions(account);
+        resetSortedTransactionList();
+    }
+
+    /**
+     * Switches the account source for the TransactionList, and filters it to the transactions of the account,
+     * archived or not, which match {@code predicate}.
+     * The filter is kept when the transactions shown are updated, or switched to another account.
+     */
+    public void transactionListSwitchSource(Account account, Predicate<Transaction> predicate) {
+        requireNonNull(predicate);
+        transactionFilter = predicate;
+        transactionListSwitchSource(account);
     }
 
     /**
-     * Updates the transactionList linked to the currentActiveAccount.
+     * Updates the transactionList linked to the currentActiveAccount, selecting the transactions which match
+     * the filter again.
+     * Nothing is copied or sorted again if the active account's list is already shown in the default order.
      */
     public void transactionListUpdateSource() {
-        activeTransactionList.setAll(getActiveAccount().getTransactionList());
+        showTransactions(getActiveAccount());
         resetSortedTransactionList();
     }
 
+    /**
+     * Returns the plan with which the shown transactions were last selected from the active account's list,
+     * or null if the account's own list is shown, or the filter could not be planned.
+     */
+    public QueryPlan getTransactionListPlan() {
+        return transactionListPlan;
+    }
+
+    /**
+     * Shows the transactions of {@code account} which match the filter, if any.
+     * The matching transactions are found from the indices of the list and the records of the archive, so only
+     * they are created, and the shown list is not filtered again. The account's own list is shown, so that
+     * it follows the changes to the account, if there is no filter, or every transaction matches and none is
+     * archived.
+     */
+    private void showTransactions(Account account) {
+        transactionListPlan = null;
+        boolean isEverything = transactionFilter instanceof TransactionMatchesConditionsPredicate
+                && ((TransactionMatchesConditionsPredicate) transactionFilter).isUnconditional();
+        if (transactionFilter == null || (isEverything && account.getArchive().isEmpty())) {
+            sortedTransactions.setSource(account.getTransactionList());
+            return;
+        }
+        List<Transaction> selected;
+        if (transactionFilter instanceof TransactionMatchesConditionsPredicate) {
+            TransactionMatchesConditionsPredicate conditions =
+                    (TransactionMatchesConditionsPredicate) transactionFilter;
+            TransactionList transactionList = account.getTransactionList();
+            transactionListPlan = transactionList.plan(conditions);
+            selected = transactionList.select(conditions, transactionListPlan);
+        } else {
+            selected = account.getTransactionList().select(transactionFilter);
+        }
+        selected.addAll(account.getArchive().select(transactionFilter));
+        selectedTransactions.setAll(selected);
+        sortedTransactions.setSource(selectedTransactions);
+    }
+
     /**
      * Exports the overview report of all accounts.
      * @throws IOException
@@ -41,6 +41,7 @@ public class LoansManager {
     private final FilteredList<Loan> filteredLoans = new FilteredList<Loan>(internalUnmodifiableList);
 
     private Comparator<Loan> sorter;
+    private long generation;
 
     public LoansManager() {}
 
@@ -84,6 +85,7 @@ public class LoansManager {
         requireNonNull(sorter);
         this.sorter = this.sorter.equals(sorter) ? sorter.reversed() : sorter;
         internalList.sort(this.sorter);
+        generation++;
     }
 
     /**
@@ -129,6 +131,7 @@ public class LoansManager {
         internalList.add(0, toAdd);
         internalList.sort(sorter);
         updateFilteredList(FILTER_ALL);
+        generation++;
     }
 
     /**
@@ -143,6 +146,7 @@ public class LoansManager {
         checkIndexValidityInFilteredList(toEdit);
         internalList.set(filteredLoans.getSourceIndex(toEdit.getZeroBased()), editedLoan);
         internalList.sort(sorter);
+        generation++;
     }
 
     /**
@@ -154,6 +158,7 @@ public class LoansManager {
     public void updateStatus(Index toUpdate, Loan updatedLoan) throws LoanNotFoundException {
         checkIndexValidityInFilteredList(toUpdate);
         internalList.set(filteredLoans.getSourceIndex(toUpdate.getZeroBased()), updatedLoan);
+        generation++;
     }
 
     /**
@@ -164,6 +169,15 @@ public class LoansManager {
         checkIndexValidityInFilteredList(toDelete);
         Loan inFilteredList = filteredLoans.get(toDelete.getZeroBased());
         internalList.remove(inFilteredList);
+        generation++;
+    }
+
+    /**
+     * Returns a counter that increases whenever the loans, their order or the debtors change.
+     * Filtering does not change the generation.
+     */
+    public long getGeneration() {
+        return generation;
     }
 
     /**
@@ -185,6 +199,7 @@ public class LoansManager {
     public void setDebtors(List<Debtor> debtors) {
         requireNonNull(debtors);
         this.debtors.setAll(debtors);
+        generation++;
     }
 
     /**
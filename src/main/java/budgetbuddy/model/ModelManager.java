@@ -58,13 +58,13 @@ public class ModelManager implements Model {
 
     @Override
     public void resetFilteredTransactionList() {
-        filteredTransactions.setPredicate(s -> true);
+        accountsManager.resetFilteredTransactionList();
     }
 
     @Override
     public void updateFilteredTransactionList(Predicate<Transaction> predicate) {
         requireNonNull(predicate);
-        filteredTransactions.setPredicate(predicate);
+        accountsManager.updateFilteredTransactionList(predicate);
     }
 
     @Override
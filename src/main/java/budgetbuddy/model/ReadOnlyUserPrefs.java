@@ -3,6 +3,7 @@ package budgetbuddy.model;
 import java.nio.file.Path;
 
 import budgetbuddy.commons.core.GuiSettings;
+import budgetbuddy.commons.core.StorageSettings;
 
 /**
  * Unmodifiable view of user prefs.
@@ -11,6 +12,8 @@ public interface ReadOnlyUserPrefs {
 
     GuiSettings getGuiSettings();
 
+    StorageSettings getStorageSettings();
+
     Path getLoansFilePath();
 
     Path getRuleFilePath();
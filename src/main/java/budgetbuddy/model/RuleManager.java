@@ -19,6 +19,7 @@ public class RuleManager {
     private final ObservableList<Rule> internalList = FXCollections.observableArrayList();
     private final ObservableList<Rule> internalUnmodifiableList =
             FXCollections.unmodifiableObservableList(internalList);
+    private long generation;
 
     /**
      * Creates a new (empty) list of rules.
@@ -72,6 +73,7 @@ public class RuleManager {
      */
     public void addRule(Rule toAdd) {
         internalList.add(toAdd);
+        generation++;
     }
 
     /**
@@ -82,6 +84,7 @@ public class RuleManager {
     public void editRule(Index toEdit, Rule editedRule) throws RuleNotFoundException {
         checkIndexValidity(toEdit);
         internalList.set(toEdit.getZeroBased(), editedRule);
+        generation++;
     }
 
     /**
@@ -93,6 +96,7 @@ public class RuleManager {
         checkIndexValidity(firstIndex);
         checkIndexValidity(secondIndex);
         Collections.swap(internalList, firstIndex.getZeroBased(), secondIndex.getZeroBased());
+        generation++;
     }
 
     /**
@@ -102,6 +106,14 @@ public class RuleManager {
     public void deleteRule(Index toDelete) {
         checkIndexValidity(toDelete);
         internalList.remove(toDelete.getZeroBased());
+        generation++;
+    }
+
+    /**
+     * Returns a counter that increases whenever the list of rules is modified.
+     */
+    public long getGeneration() {
+        return generation;
     }
 
     /**
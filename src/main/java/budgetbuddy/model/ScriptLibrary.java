@@ -39,4 +39,11 @@ public interface ScriptLibrary {
      * @return an unmodifiable view of the stored scripts
      */
     ObservableList<Script> getScriptList();
+
+    /**
+     * Returns a counter that increases whenever a script is added, replaced or removed.
+     *
+     * @return the generation of this library
+     */
+    long getGeneration();
 }
@@ -20,6 +20,7 @@ public class ScriptLibraryManager implements ScriptLibrary {
     private final ObservableList<Script> scriptList = FXCollections.observableArrayList();
     private final ObservableList<Script> unmodifiableScriptList = FXCollections.unmodifiableObservableList(scriptList);
     private final HashMap<ScriptName, Integer> nameToIndexCache = new HashMap<>();
+    private long generation;
 
     /**
      * Constructs a script manager with no scripts.
@@ -44,6 +45,7 @@ public class ScriptLibraryManager implements ScriptLibrary {
     public boolean addScript(Script s) {
         requireNonNull(s);
         synchronized (listLock) {
+            generation++;
             Integer oldIndex = nameToIndexCache.get(s.getName());
             if (oldIndex != null) {
                 scriptList.set(oldIndex, s);
@@ -75,6 +77,7 @@ public class ScriptLibraryManager implements ScriptLibrary {
                 return false;
             }
             scriptList.remove(index.intValue());
+            generation++;
             // The thinking is that removing a script doesn't happen too often.
             reconstructCache();
             return true;
@@ -102,6 +105,13 @@ public class ScriptLibraryManager implements ScriptLibrary {
         return unmodifiableScriptList;
     }
 
+    @Override
+    public long getGeneration() {
+        synchronized (listLock) {
+            return generation;
+        }
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
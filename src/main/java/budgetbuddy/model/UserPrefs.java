@@ -7,6 +7,7 @@ import java.nio.file.Paths;
 import java.util.Objects;
 
 import budgetbuddy.commons.core.GuiSettings;
+import budgetbuddy.commons.core.StorageSettings;
 
 /**
  * Represents User's preferences.
@@ -14,6 +15,7 @@ import budgetbuddy.commons.core.GuiSettings;
 public class UserPrefs implements ReadOnlyUserPrefs {
 
     private GuiSettings guiSettings = new GuiSettings();
+    private StorageSettings storageSettings = new StorageSettings();
     private Path loansFilePath = Paths.get("data", "loans.json");
     private Path ruleFilePath = Paths.get("data", "rules.json");
     private Path scriptsPath = Paths.get("data", "scripts");
@@ -38,6 +40,7 @@ public class UserPrefs implements ReadOnlyUserPrefs {
     public void resetData(ReadOnlyUserPrefs newUserPrefs) {
         requireNonNull(newUserPrefs);
         setGuiSettings(newUserPrefs.getGuiSettings());
+        setStorageSettings(newUserPrefs.getStorageSettings());
         setLoansFilePath(newUserPrefs.getLoansFilePath());
         setRuleFilePath(newUserPrefs.getRuleFilePath());
         setScriptsPath(newUserPrefs.getScriptsPath());
@@ -53,6 +56,15 @@ public class UserPrefs implements ReadOnlyUserPrefs {
         this.guiSettings = guiSettings;
     }
 
+    public StorageSettings getStorageSettings() {
+        return storageSettings;
+    }
+
+    public void setStorageSettings(StorageSettings storageSettings) {
+        requireNonNull(storageSettings);
+        this.storageSettings = storageSettings;
+    }
+
     public Path getLoansFilePath() {
         return loansFilePath;
     }
@@ -102,6 +114,7 @@ public class UserPrefs implements ReadOnlyUserPrefs {
         UserPrefs o = (UserPrefs) other;
 
         return guiSettings.equals(o.guiSettings)
+                && storageSettings.equals(o.storageSettings)
                 && loansFilePath.equals(o.loansFilePath)
                 && ruleFilePath.equals(o.ruleFilePath)
                 && scriptsPath.equals(o.scriptsPath)
@@ -110,13 +123,14 @@ public class UserPrefs implements ReadOnlyUserPrefs {
 
     @Override
     public int hashCode() {
-        return Objects.hash(guiSettings, loansFilePath, ruleFilePath, scriptsPath, accountsFilePath);
+        return Objects.hash(guiSettings, storageSettings, loansFilePath, ruleFilePath, scriptsPath, accountsFilePath);
     }
 
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
         sb.append("Gui Settings : " + guiSettings);
+        sb.append("\nStorage Settings : " + storageSettings);
         sb.append("\nLoans data file location : " + loansFilePath);
         sb.append("\nRule data file location : " + ruleFilePath);
         sb.append("\nScripts location : " + scriptsPath);
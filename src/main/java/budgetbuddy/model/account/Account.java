@@ -1,10 +1,13 @@
 package budgetbuddy.model.account;
 
 import static budgetbuddy.commons.util.CollectionUtil.requireAllNonNull;
+import static java.util.Objects.requireNonNull;
 
-import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.Supplier;
 
 import budgetbuddy.commons.core.index.Index;
 import budgetbuddy.model.attributes.Amount;
@@ -13,6 +16,7 @@ import budgetbuddy.model.attributes.Description;
 import budgetbuddy.model.attributes.Direction;
 import budgetbuddy.model.attributes.Name;
 import budgetbuddy.model.transaction.Transaction;
+import budgetbuddy.model.transaction.TransactionArchive;
 import budgetbuddy.model.transaction.TransactionList;
 import javafx.beans.Observable;
 import javafx.beans.property.BooleanProperty;
@@ -31,11 +35,17 @@ public class Account {
     public static final String CURRENCY_SIGN = "$";
     private Name name;
     private Description description;
-    private final TransactionList transactionList;
+    private TransactionList transactionList;
+    /** Loads the transaction list when it is first needed, or null once the transaction list is loaded. */
+    private Supplier<TransactionList> transactionListLoader;
+    /** The old transactions of this account, which are read-only and not held as part of the transaction list. */
+    private final TransactionArchive archive;
     private BooleanProperty isActiveBooleanProperty = new SimpleBooleanProperty(false);
     private long balance;
     private LongProperty balanceLongProperty = new SimpleLongProperty(0);
-    private Set<Category> categoryset = new HashSet<>();
+    /** The running totals of the archived and listed transactions, or null until they are first needed. */
+    private AccountTotals totals;
+    private long generation;
 
     /**
      * Every field must be present and not null.
@@ -48,10 +58,47 @@ public class Account {
      * Every field must be present and not null.
      */
     public Account(Name name, Description description, TransactionList transactionList, long balance) {
-        requireAllNonNull(name, transactionList);
+        this(name, description, transactionList, balance, TransactionArchive.EMPTY);
+    }
+
+    /**
+     * Creates an account whose old transactions are in {@code archive}, and whose other transactions are in
+     * {@code transactionList}. {@code balance} must be the balance of both.
+     * Every field must be present and not null.
+     */
+    public Account(Name name, Description description, TransactionList transactionList, long balance,
+                   TransactionArchive archive) {
+        requireAllNonNull(name, transactionList, archive);
         this.name = name;
         this.description = description;
         this.transactionList = transactionList;
+        this.archive = archive;
+        this.balance = balance;
+        this.balanceLongProperty.set(balance);
+    }
+
+    /**
+     * Creates an account whose transaction list is only loaded by {@code transactionListLoader}
+     * when it is first needed. {@code balance} must be the balance of the transactions to be loaded.
+     * Every field must be present and not null.
+     */
+    public Account(Name name, Description description, long balance,
+                   Supplier<TransactionList> transactionListLoader) {
+        this(name, description, balance, transactionListLoader, TransactionArchive.EMPTY);
+    }
+
+    /**
+     * Creates an account whose old transactions are in {@code archive}, and whose other transactions are
+     * only loaded by {@code transactionListLoader} when they are first needed.
+     * {@code balance} must be the balance of both. Every field must be present and not null.
+     */
+    public Account(Name name, Description description, long balance,
+                   Supplier<TransactionList> transactionListLoader, TransactionArchive archive) {
+        requireAllNonNull(name, transactionListLoader, archive);
+        this.name = name;
+        this.description = description;
+        this.transactionListLoader = transactionListLoader;
+        this.archive = archive;
         this.balance = balance;
         this.balanceLongProperty.set(balance);
     }
@@ -65,11 +112,42 @@ public class Account {
     }
 
     public TransactionList getTransactionList() {
+        if (transactionListLoader != null) {
+            transactionList = requireNonNull(transactionListLoader.get());
+            transactionListLoader = null;
+        }
         return transactionList;
     }
 
+    /**
+     * Returns a copy of this account which loads its transactions with the loader of this account when they are
+     * first needed, so that they can be loaded on another thread without loading this account.
+     * The transaction list of this account must not have been loaded.
+     */
+    public Account copyUnloaded() {
+        if (transactionListLoader == null) {
+            throw new IllegalStateException("The transaction list of " + name + " has been loaded");
+        }
+        return new Account(name, description, balance, transactionListLoader, archive);
+    }
+
+    /**
+     * Returns true if the transaction list of this account has been loaded.
+     * An account whose transaction list has not been loaded has not been changed since it was created.
+     */
+    public boolean isTransactionListLoaded() {
+        return transactionListLoader == null;
+    }
+
+    /**
+     * Returns the archived transactions of this account, which are not in its transaction list.
+     */
+    public TransactionArchive getArchive() {
+        return archive;
+    }
+
     public Transaction getTransaction(Index toGet) {
-        return this.transactionList.getTransaction(toGet);
+        return getTransactionList().getTransaction(toGet);
     }
 
     /**
@@ -89,7 +167,10 @@ public class Account {
      * @param toAdd
      */
     public void addTransaction(Transaction toAdd) throws NumberFormatException {
-        this.transactionList.add(toAdd);
+        getTransactionList().add(toAdd);
+        if (totals != null) {
+            totals.add(toAdd);
+        }
         if (toAdd.getDirection().equals(Direction.IN)) {
             checkBalanceValidity(balance + toAdd.getAmount().toLong());
             balance = balance + toAdd.getAmount().toLong();
@@ -98,6 +179,7 @@ public class Account {
             balance = balance - toAdd.getAmount().toLong();
         }
         balanceLongProperty.set(balance);
+        generation++;
     }
 
     /**
@@ -106,7 +188,7 @@ public class Account {
      * @param editedTxn
      */
     public void updateTransaction(Index txnIndex, Transaction editedTxn) {
-        Transaction targetedTransaction = transactionList.getTransaction(txnIndex);
+        Transaction targetedTransaction = getTransactionList().getTransaction(txnIndex);
         Amount targetedAmount = targetedTransaction.getAmount();
         Direction targetedDirection = targetedTransaction.getDirection();
 
@@ -125,7 +207,61 @@ public class Account {
             }
         }
         balanceLongProperty.set(balance);
-        this.transactionList.setTransaction(txnIndex, editedTxn);
+        getTransactionList().setTransaction(txnIndex, editedTxn);
+        if (totals != null) {
+            totals.remove(targetedTransaction);
+            totals.add(editedTxn);
+        }
+        generation++;
+    }
+
+    /**
+     * Replaces each transaction with the transaction at the same position in {@code editedTxns}, as a single change
+     * of the transaction list, so the list and its indices are rebuilt once rather than once per transaction.
+     * {@code editedTxns} must have as many transactions as the transaction list.
+     *
+     * @return the number of transactions which changed.
+     */
+    public int updateTransactions(List<Transaction> editedTxns) {
+        requireNonNull(editedTxns);
+        TransactionList transactionList = getTransactionList();
+        if (editedTxns.size() != transactionList.getTransactionsCount()) {
+            throw new IllegalArgumentException("Every transaction must be replaced");
+        }
+
+        int changed = 0;
+        long updatedBalance = balance;
+        Iterator<Transaction> editedIterator = editedTxns.iterator();
+        for (Transaction targetedTransaction : transactionList) {
+            Transaction editedTxn = editedIterator.next();
+            if (targetedTransaction.equals(editedTxn)) {
+                continue;
+            }
+            changed++;
+            updatedBalance -= signedAmount(targetedTransaction);
+            updatedBalance += signedAmount(editedTxn);
+            if (totals != null) {
+                totals.remove(targetedTransaction);
+                totals.add(editedTxn);
+            }
+        }
+        if (changed == 0) {
+            return 0;
+        }
+
+        balance = updatedBalance;
+        balanceLongProperty.set(balance);
+        transactionList.setAll(editedTxns);
+        generation++;
+        return changed;
+    }
+
+    /**
+     * Returns the amount of {@code transaction}, negated if it is outgoing.
+     */
+    private static long signedAmount(Transaction transaction) {
+        long amount = transaction.getAmount().toLong();
+        return transaction.getDirection().equals(Direction.IN) ? amount : -amount;
     }
 
     /**
@@ -133,7 +269,10 @@ public class Account {
      * @param toDelete
      */
     public void deleteTransaction(Transaction toDelete) throws NumberFormatException {
-        this.transactionList.remove(toDelete);
+        getTransactionList().remove(toDelete);
+        if (totals != null) {
+            totals.remove(toDelete);
+        }
         if (toDelete.getDirection().equals(Direction.IN)) {
             checkBalanceValidity(balance + toDelete.getAmount().toLong());
             balance = balance - toDelete.getAmount().toLong();
@@ -142,6 +281,7 @@ public class Account {
             balance = balance - toDelete.getAmount().toLong();
         }
         balanceLongProperty.set(balance);
+        generation++;
     }
 
     /**
@@ -172,6 +312,13 @@ public class Account {
         return balance;
     }
 
+    /**
+     * Returns a counter that increases whenever a transaction is added to, updated in or deleted from this account.
+     */
+    public long getGeneration() {
+        return generation;
+    }
+
     @Override
     public boolean equals(Object other) {
         if (other == this) {
@@ -186,12 +333,13 @@ public class Account {
         return otherAccount.getName().equals(getName())
                 && otherAccount.getDescription().equals(getDescription())
                 && otherAccount.getTransactionList().equals(getTransactionList())
+                && otherAccount.getArchive().equals(getArchive())
                 && otherAccount.getBalance() == getBalance();
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(name, description, transactionList, balance);
+        return Objects.hash(name, description, getTransactionList(), archive, balance);
     }
 
     @Override
@@ -199,34 +347,35 @@ public class Account {
         return getName().toString() + " (" + getDescription().toString() + ")";
     }
 
-    public String getIncome() {
-        long income = 0;
-        for (Transaction transaction: transactionList) {
-            if (transaction.getDirection().equals(Direction.IN)) {
-                income = income + transaction.getAmount().toLong();
-            }
+    /**
+     * Returns the running totals of the transactions of this account, archived or not.
+     * The totals are computed when they are first needed, and then updated as transactions are
+     * added, updated and deleted.
+     */
+    public AccountTotals getTotals() {
+        if (totals == null) {
+            AccountTotals computedTotals = new AccountTotals();
+            archive.forEach(computedTotals::add);
+            getTransactionList().forEach(computedTotals::add);
+            totals = computedTotals;
         }
+        return totals;
+    }
+
+    public String getIncome() {
+        long income = getTotals().getIncome();
 
         return String.format("%s%d.%02d", CURRENCY_SIGN, income / 100, income % 100);
     }
 
     public String getExpense() {
-        long expense = 0;
-        for (Transaction transaction: transactionList) {
-            if (transaction.getDirection().equals(Direction.OUT)) {
-                expense = expense + transaction.getAmount().toLong();
-            }
-        }
+        long expense = getTotals().getExpense();
 
         return String.format("%s%d.%02d", CURRENCY_SIGN, expense / 100, expense % 100);
     }
 
     public Set<Category> getCategories() {
-        for (Transaction transaction: transactionList) {
-            categoryset.addAll(transaction.getCategories());
-        }
-
-        return categoryset;
+        return getTotals().getCategories();
     }
 
     public String getBalanceString() {
@@ -0,0 +1,279 @@
+package budgetbuddy.model.account;
+
+import static budgetbuddy.commons.util.CollectionUtil.requireAllNonNull;
+import static java.util.Objects.requireNonNull;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import budgetbuddy.model.attributes.Category;
+import budgetbuddy.model.attributes.Direction;
+import budgetbuddy.model.transaction.Transaction;
+
+/**
+ * Running totals of the transactions of an account: its income and expense, and the number of transactions,
+ * income and expense of each category. The totals are also rolled up by day, by category and month, and by
+ * category and day. The totals are updated as transactions are added and removed, so reading them does not go
+ * through the transactions.
+ *
+ * Totals over a range of dates read whole months from the month rollups, and only the days of the months which
+ * the range covers in part from the day rollups.
+ */
+public class AccountTotals {
+
+    private final Total total = new Total();
+    private final Map<Category, Total> categoryTotals = new HashMap<>();
+    private final NavigableMap<LocalDate, Total> dayTotals = new TreeMap<>();
+    private final Map<Category, NavigableMap<YearMonth, Total>> categoryMonthTotals = new HashMap<>();
+    private final Map<Category, NavigableMap<LocalDate, Total>> categoryDayTotals = new HashMap<>();
+
+    /**
+     * Adds {@code transaction} to the totals.
+     */
+    void add(Transaction transaction) {
+        requireNonNull(transaction);
+        update(transaction, 1);
+    }
+
+    /**
+     * Removes {@code transaction}, which must have been added, from the totals.
+     */
+    void remove(Transaction transaction) {
+        requireNonNull(transaction);
+        update(transaction, -1);
+    }
+
+    /**
+     * Adds {@code sign} times the amount of {@code transaction}, and {@code sign} to the count,
+     * to each total the transaction is part of.
+     */
+    private void update(Transaction transaction, int sign) {
+        long amount = sign * transaction.getAmount().toLong();
+        boolean isIncoming = transaction.getDirection().equals(Direction.IN);
+        total.add(amount, isIncoming, sign);
+        addTo(dayTotals, transaction.getLocalDate(), amount, isIncoming, sign);
+        YearMonth month = YearMonth.from(transaction.getLocalDate());
+        for (Category category : transaction.getCategories()) {
+            addTo(categoryTotals, category, amount, isIncoming, sign);
+            NavigableMap<YearMonth, Total> monthTotals =
+                    categoryMonthTotals.computeIfAbsent(category, unused -> new TreeMap<>());
+            addTo(monthTotals, month, amount, isIncoming, sign);
+            if (monthTotals.isEmpty()) {
+                categoryMonthTotals.remove(category);
+            }
+            NavigableMap<LocalDate, Total> categoryDays =
+                    categoryDayTotals.computeIfAbsent(category, unused -> new TreeMap<>());
+            addTo(categoryDays, transaction.getLocalDate(), amount, isIncoming, sign);
+            if (categoryDays.isEmpty()) {
+                categoryDayTotals.remove(category);
+            }
+        }
+    }
+
+    /**
+     * Adds to the total under {@code key} in {@code totals}, and drops the total once no transaction is part of it.
+     * Removals from a total which does not exist are ignored.
+     */
+    private static <K> void addTo(Map<K, Total> totals, K key, long amount, boolean isIncoming, int countChange) {
+        Total keyTotal = totals.get(key);
+        if (keyTotal == null) {
+            if (countChange < 0) {
+                return;
+            }
+            keyTotal = new Total();
+            totals.put(key, keyTotal);
+        }
+        keyTotal.add(amount, isIncoming, countChange);
+        if (keyTotal.count == 0) {
+            totals.remove(key);
+        }
+    }
+
+    public long getIncome() {
+        return total.income;
+    }
+
+    public long getExpense() {
+        return total.expense;
+    }
+
+    /**
+     * Returns the categories which at least one transaction has.
+     */
+    public Set<Category> getCategories() {
+        return Set.copyOf(categoryTotals.keySet());
+    }
+
+    /**
+     * Returns the number of transactions with {@code category}.
+     */
+    public int getCategoryCount(Category category) {
+        return getCategoryTotal(category).getCount();
+    }
+
+    /**
+     * Returns the sum of the amounts of the incoming transactions with {@code category}.
+     */
+    public long getCategoryIncome(Category category) {
+        return getCategoryTotal(category).getIncome();
+    }
+
+    /**
+     * Returns the sum of the amounts of the outgoing transactions with {@code category}.
+     */
+    public long getCategoryExpense(Category category) {
+        return getCategoryTotal(category).getExpense();
+    }
+
+    /**
+     * Returns the totals of the transactions with {@code category}.
+     */
+    public Total getCategoryTotal(Category category) {
+        Total categoryTotal = categoryTotals.get(category);
+        return categoryTotal == null ? new Total() : categoryTotal.copy();
+    }
+
+    /**
+     * Returns the totals of the transactions with {@code category} dated from {@code from} to {@code until},
+     * inclusive, from the category rollups.
+     */
+    public Total getCategoryTotal(Category category, LocalDate from, LocalDate until) {
+        Total rangeTotal = new Total();
+        getMonthlyTotals(category, from, until).values().forEach(rangeTotal::add);
+        return rangeTotal;
+    }
+
+    /**
+     * Returns the totals of the transactions dated from {@code from} to {@code until}, inclusive,
+     * from the daily rollup.
+     */
+    public Total getTotal(LocalDate from, LocalDate until) {
+        requireAllNonNull(from, until);
+        return sumDays(dayTotals, from, until);
+    }
+
+    /**
+     * Returns the totals of the transactions dated from {@code from} to {@code until}, inclusive, in each month
+     * which has such transactions, from the daily rollup.
+     */
+    public SortedMap<YearMonth, Total> getMonthlyTotals(LocalDate from, LocalDate until) {
+        requireAllNonNull(from, until);
+        SortedMap<YearMonth, Total> monthlyTotals = new TreeMap<>();
+        if (!from.isAfter(until)) {
+            dayTotals.subMap(from, true, until, true).forEach((day, dayTotal) ->
+                    monthlyTotals.computeIfAbsent(YearMonth.from(day), unused -> new Total()).add(dayTotal));
+        }
+        return monthlyTotals;
+    }
+
+    /**
+     * Returns the totals of the transactions with {@code category} dated from {@code from} to {@code until},
+     * inclusive, in each month which has such transactions. Months which the range covers in whole are read from
+     * the category and month rollup, and the others from the category and day rollup.
+     */
+    public SortedMap<YearMonth, Total> getMonthlyTotals(Category category, LocalDate from, LocalDate until) {
+        requireAllNonNull(category, from, until);
+        SortedMap<YearMonth, Total> monthlyTotals = new TreeMap<>();
+        NavigableMap<YearMonth, Total> monthTotals = categoryMonthTotals.get(category);
+        if (monthTotals == null || from.isAfter(until)) {
+            return monthlyTotals;
+        }
+        NavigableMap<LocalDate, Total> categoryDays = categoryDayTotals.get(category);
+        monthTotals.subMap(YearMonth.from(from), true, YearMonth.from(until), true).forEach((month, monthTotal) -> {
+            LocalDate monthStart = month.atDay(1);
+            LocalDate monthEnd = month.atEndOfMonth();
+            if (!monthStart.isBefore(from) && !monthEnd.isAfter(until)) {
+                monthlyTotals.put(month, monthTotal.copy());
+                return;
+            }
+            Total partTotal = sumDays(categoryDays, monthStart.isBefore(from) ? from : monthStart,
+                    monthEnd.isAfter(until) ? until : monthEnd);
+            if (partTotal.count > 0) {
+                monthlyTotals.put(month, partTotal);
+            }
+        });
+        return monthlyTotals;
+    }
+
+    /**
+     * Returns the sum of the totals in {@code days} dated from {@code from} to {@code until}, inclusive.
+     */
+    private static Total sumDays(NavigableMap<LocalDate, Total> days, LocalDate from, LocalDate until) {
+        Total rangeTotal = new Total();
+        if (!from.isAfter(until)) {
+            days.subMap(from, true, until, true).values().forEach(rangeTotal::add);
+        }
+        return rangeTotal;
+    }
+
+    /**
+     * Returns the date of the earliest transaction, or null if there are no transactions.
+     */
+    public LocalDate getFirstDate() {
+        return dayTotals.isEmpty() ? null : dayTotals.firstKey();
+    }
+
+    /**
+     * Returns the date of the latest transaction, or null if there are no transactions.
+     */
+    public LocalDate getLastDate() {
+        return dayTotals.isEmpty() ? null : dayTotals.lastKey();
+    }
+
+    /**
+     * The number of transactions in a group, and the sums of the amounts of the incoming and outgoing ones.
+     */
+    public static class Total {
+        private int count;
+        private long income;
+        private long expense;
+
+        public int getCount() {
+            return count;
+        }
+
+        public long getIncome() {
+            return income;
+        }
+
+        public long getExpense() {
+            return expense;
+        }
+
+        /**
+         * Adds {@code amount} to the income or expense, and {@code countChange} to the count.
+         */
+        private void add(long amount, boolean isIncoming, int countChange) {
+            count += countChange;
+            if (isIncoming) {
+                income += amount;
+            } else {
+                expense += amount;
+            }
+        }
+
+        /**
+         * Adds the totals of {@code other} to these.
+         */
+        private void add(Total other) {
+            count += other.count;
+            income += other.income;
+            expense += other.expense;
+        }
+
+        /**
+         * Returns a copy of these totals.
+         */
+        private Total copy() {
+            Total copy = new Total();
+            copy.add(this);
+            return copy;
+        }
+    }
+}
@@ -3,8 +3,12 @@ package budgetbuddy.model.account;
 import static budgetbuddy.commons.util.CollectionUtil.requireAllNonNull;
 import static java.util.Objects.requireNonNull;
 
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import budgetbuddy.commons.core.index.Index;
 import budgetbuddy.model.account.exceptions.AccountNotFoundException;
@@ -16,6 +20,8 @@ import javafx.collections.ObservableList;
 
 /**
  * A list of accounts that enforces uniqueness between its elements and does not allow nulls.
+ * Accounts are unique by name, and the position of each name is kept in a hash index,
+ * so finding an account does not go through the list.
  *
  * Supports a minimal set of list operations.
  */
@@ -26,6 +32,8 @@ public class UniqueAccountList implements Iterable<Account> {
     private final ObservableList<Account> internalUnmodifiableList =
             FXCollections.unmodifiableObservableList(internalList);
 
+    private final Map<Name, Integer> positions = new HashMap<>();
+
     public UniqueAccountList() {}
 
     public UniqueAccountList(List<Account> toBeCopied) {
@@ -38,7 +46,7 @@ public class UniqueAccountList implements Iterable<Account> {
      */
     public boolean contains(Account toCheck) {
         requireNonNull(toCheck);
-        return internalList.stream().anyMatch(acc -> accountsHaveSameName(toCheck, acc));
+        return positions.containsKey(toCheck.getName());
     }
 
     /**
@@ -50,6 +58,7 @@ public class UniqueAccountList implements Iterable<Account> {
         if (contains(toAdd)) {
             throw new DuplicateAccountException();
         }
+        positions.put(toAdd.getName(), internalList.size());
         internalList.add(toAdd);
     }
 
@@ -61,7 +70,7 @@ public class UniqueAccountList implements Iterable<Account> {
     public void replace(Account target, Account editedAccount) {
         requireAllNonNull(target, editedAccount);
 
-        int index = internalList.indexOf(target);
+        int index = positionOf(target);
         if (index == -1) {
             throw new AccountNotFoundException();
         }
@@ -77,6 +86,8 @@ public class UniqueAccountList implements Iterable<Account> {
         }
 
         internalList.set(index, editedAccount);
+        positions.remove(target.getName());
+        positions.put(editedAccount.getName(), index);
     }
 
     /**
@@ -85,9 +96,15 @@ public class UniqueAccountList implements Iterable<Account> {
      */
     public void remove(Account toRemove) {
         requireNonNull(toRemove);
-        if (!internalList.remove(toRemove)) {
+        int index = positionOf(toRemove);
+        if (index == -1) {
             throw new AccountNotFoundException();
         }
+        internalList.remove(index);
+        positions.remove(toRemove.getName());
+        for (int i = index; i < internalList.size(); i++) {
+            positions.put(internalList.get(i).getName(), i);
+        }
     }
 
     /**
@@ -98,13 +115,8 @@ public class UniqueAccountList implements Iterable<Account> {
     public Account get(Account toGet) {
         requireNonNull(toGet);
 
-        for (Account account : internalUnmodifiableList) {
-            if (accountsAreEquivalent(account, toGet)) {
-                return account;
-            }
-        }
-
-        return null;
+        Account account = get(toGet.getName());
+        return accountsAreEquivalent(account, toGet) ? account : null;
     }
 
     /**
@@ -124,18 +136,18 @@ public class UniqueAccountList implements Iterable<Account> {
     public Account get(Name name) {
         requireNonNull(name);
 
-        for (Account account : internalUnmodifiableList) {
-            if (account.getName().equals(name)) {
-                return account;
-            }
-        }
-
-        return null;
+        Integer position = positions.get(name);
+        return position == null ? null : internalList.get(position);
     }
 
+    /**
+     * Replaces the contents of this list with the accounts of {@code replacement}.
+     */
     public void setAll(UniqueAccountList replacement) {
         requireNonNull(replacement);
         internalList.setAll(replacement.internalList);
+        positions.clear();
+        positions.putAll(replacement.positions);
     }
 
     /**
@@ -149,6 +161,10 @@ public class UniqueAccountList implements Iterable<Account> {
         }
 
         internalList.setAll(accounts);
+        positions.clear();
+        for (int i = 0; i < accounts.size(); i++) {
+            positions.put(accounts.get(i).getName(), i);
+        }
     }
 
     /**
@@ -166,13 +182,11 @@ public class UniqueAccountList implements Iterable<Account> {
     public Index indexOfEquivalent(Account toGet) {
         requireNonNull(toGet);
 
-        for (int i = 0; i < internalList.size(); ++i) {
-            if (accountsAreEquivalent(internalList.get(i), toGet)) {
-                return Index.fromZeroBased(i);
-            }
+        Integer position = positions.get(toGet.getName());
+        if (position == null || !accountsAreEquivalent(internalList.get(position), toGet)) {
+            return null;
         }
-
-        return null;
+        return Index.fromZeroBased(position);
     }
 
     /**
@@ -200,14 +214,21 @@ public class UniqueAccountList implements Iterable<Account> {
     }
 
     /**
-     * Returns true if {@code accounts} contains only unique accounts.
+     * Returns the position of the account equal to {@code account}, or -1 if there is none.
+     */
+    private int positionOf(Account account) {
+        Integer position = positions.get(account.getName());
+        return position != null && internalList.get(position).equals(account) ? position : -1;
+    }
+
+    /**
+     * Returns true if {@code accounts} contains only unique accounts, which do not share a name.
      */
     private boolean accountsAreUnique(List<Account> accounts) {
-        for (int i = 0; i < accounts.size() - 1; i++) {
-            for (int j = i + 1; j < accounts.size(); j++) {
-                if (accountsAreEquivalent(accounts.get(i), accounts.get(j))) {
-                    return false;
-                }
+        Set<Name> names = new HashSet<>();
+        for (Account account : accounts) {
+            if (!names.add(account.getName())) {
+                return false;
             }
         }
         return true;
@@ -0,0 +1,64 @@
+package budgetbuddy.model.attributes;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Assigns every distinct category a small integer id, which is the same for all accounts.
+ * Ids are never reused, so they can be used to index bitmaps of categories.
+ */
+public class CategoryDictionary {
+
+    private static final Object LOCK = new Object();
+    private static final Map<Category, Integer> IDS = new ConcurrentHashMap<>();
+    private static final List<Category> CATEGORIES = new ArrayList<>();
+
+    private CategoryDictionary() {}
+
+    /**
+     * Returns the id of {@code category}, assigning it the next id if it does not have one yet.
+     */
+    public static int idOf(Category category) {
+        requireNonNull(category);
+        Integer id = IDS.get(category);
+        if (id != null) {
+            return id;
+        }
+        synchronized (LOCK) {
+            return IDS.computeIfAbsent(category, newCategory -> {
+                CATEGORIES.add(newCategory);
+                return CATEGORIES.size() - 1;
+            });
+        }
+    }
+
+    /**
+     * Returns the id of {@code category}, or an empty OptionalInt if it has not been assigned one.
+     */
+    public static OptionalInt findId(Category category) {
+        requireNonNull(category);
+        Integer id = IDS.get(category);
+        return id == null ? OptionalInt.empty() : OptionalInt.of(id);
+    }
+
+    /**
+     * Returns the category with the given {@code id}, which must have been assigned by {@link #idOf(Category)}.
+     */
+    public static Category categoryOf(int id) {
+        synchronized (LOCK) {
+            return CATEGORIES.get(id);
+        }
+    }
+
+    /**
+     * Returns the single shared instance of the category equal to {@code category}.
+     */
+    public static Category intern(Category category) {
+        return categoryOf(idOf(category));
+    }
+}
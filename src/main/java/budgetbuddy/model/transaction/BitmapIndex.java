@@ -0,0 +1,91 @@
+package budgetbuddy.model.transaction;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * An index of the transactions of a {@code TransactionList} by keys derived from one of its columns,
+ * holding a bitmap of the indices of the transactions with each key.
+ *
+ * @param <K> The type of the keys.
+ */
+class BitmapIndex<K> {
+
+    private final Map<K, BitSet> bitmaps = new HashMap<>();
+
+    /**
+     * Returns the number of distinct keys in the index.
+     */
+    int keyCount() {
+        return bitmaps.size();
+    }
+
+    /**
+     * Returns the number of transactions with {@code key}.
+     */
+    int count(K key) {
+        BitSet bitmap = bitmaps.get(key);
+        return bitmap == null ? 0 : bitmap.cardinality();
+    }
+
+    /**
+     * Returns a new bitmap of the transactions with {@code key}.
+     */
+    BitSet rowsWith(K key) {
+        BitSet bitmap = bitmaps.get(key);
+        return bitmap == null ? new BitSet() : (BitSet) bitmap.clone();
+    }
+
+    /**
+     * Adds the transaction at {@code row} under each of {@code keys}.
+     */
+    void add(int row, Collection<K> keys) {
+        for (K key : keys) {
+            bitmaps.computeIfAbsent(key, unused -> new BitSet()).set(row);
+        }
+    }
+
+    /**
+     * Removes the transaction at {@code row} from under each of {@code keys}.
+     */
+    void remove(int row, Collection<K> keys) {
+        for (K key : keys) {
+            BitSet bitmap = bitmaps.get(key);
+            if (bitmap != null) {
+                bitmap.clear(row);
+                if (bitmap.isEmpty()) {
+                    bitmaps.remove(key);
+                }
+            }
+        }
+    }
+
+    /**
+     * Updates the index after the transaction at {@code removedRow} was removed from the list,
+     * moving every later transaction one index down. The transaction must already be removed from the index.
+     */
+    void rowRemoved(int removedRow) {
+        for (BitSet bitmap : bitmaps.values()) {
+            if (bitmap.length() <= removedRow) {
+                continue;
+            }
+            BitSet later = bitmap.get(removedRow + 1, bitmap.length());
+            bitmap.clear(removedRow, bitmap.length());
+            later.stream().forEach(offset -> bitmap.set(removedRow + offset));
+        }
+    }
+
+    /**
+     * Updates the index after the transactions of the list were reordered, so that the transaction
+     * at index {@code i} moved to index {@code permutation[i]}.
+     */
+    void permute(int[] permutation) {
+        for (Map.Entry<K, BitSet> entry : bitmaps.entrySet()) {
+            BitSet permuted = new BitSet();
+            entry.getValue().stream().forEach(row -> permuted.set(permutation[row]));
+            entry.setValue(permuted);
+        }
+    }
+}
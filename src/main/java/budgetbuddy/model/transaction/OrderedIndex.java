@@ -0,0 +1,202 @@
+package budgetbuddy.model.transaction;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.function.IntToLongFunction;
+
+/**
+ * An index of the transactions of a {@code TransactionList}, ordered by a key read from one of its columns.
+ * Transactions with the same key are ordered by their index in the list, so that the index also gives the
+ * order of a stable sort by the key.
+ */
+class OrderedIndex {
+
+    private final IntToLongFunction key;
+    private int[] rows;
+    private int size;
+
+    /**
+     * Creates an index of the transactions from index 0 to {@code size} of a list, where {@code key} returns
+     * the key of the transaction at the given index.
+     */
+    OrderedIndex(IntToLongFunction key, int size) {
+        this.key = key;
+        this.size = size;
+        Integer[] order = new Integer[size];
+        for (int row = 0; row < size; row++) {
+            order[row] = row;
+        }
+        Arrays.sort(order, (i, j) -> Long.compare(key.applyAsLong(i), key.applyAsLong(j)));
+        rows = new int[Math.max(size, 1)];
+        for (int position = 0; position < size; position++) {
+            rows[position] = order[position];
+        }
+    }
+
+    /**
+     * Creates a copy of {@code toCopy} for another list with the same transactions in the same order,
+     * where {@code key} returns the key of the transaction at the given index in the other list.
+     */
+    OrderedIndex(IntToLongFunction key, OrderedIndex toCopy) {
+        this.key = key;
+        this.size = toCopy.size;
+        this.rows = toCopy.rows.clone();
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of transactions whose key is between {@code from} and {@code until}, inclusive.
+     */
+    int count(long from, long until) {
+        return Math.max(0, upperBound(until) - lowerBound(from));
+    }
+
+    /**
+     * Returns a bitmap of the transactions whose key is between {@code from} and {@code until}, inclusive.
+     */
+    BitSet rowsBetween(long from, long until) {
+        BitSet selected = new BitSet();
+        for (int position = lowerBound(from), end = upperBound(until); position < end; position++) {
+            selected.set(rows[position]);
+        }
+        return selected;
+    }
+
+    /**
+     * Returns the indices of the transactions in the order of a stable sort by ascending key.
+     */
+    int[] ascendingOrder() {
+        return Arrays.copyOf(rows, size);
+    }
+
+    /**
+     * Returns the indices of the transactions in the order of a stable sort by descending key.
+     */
+    int[] descendingOrder() {
+        int[] order = new int[size];
+        int next = 0;
+        int runEnd = size;
+        while (runEnd > 0) {
+            long runKey = key.applyAsLong(rows[runEnd - 1]);
+            int runStart = runEnd - 1;
+            while (runStart > 0 && key.applyAsLong(rows[runStart - 1]) == runKey) {
+                runStart--;
+            }
+            System.arraycopy(rows, runStart, order, next, runEnd - runStart);
+            next += runEnd - runStart;
+            runEnd = runStart;
+        }
+        return order;
+    }
+
+    /**
+     * Adds the transaction at {@code row}, whose key must already be in the column.
+     */
+    void insert(int row) {
+        int position = positionOf(key.applyAsLong(row), row);
+        if (size == rows.length) {
+            rows = Arrays.copyOf(rows, size * 2);
+        }
+        System.arraycopy(rows, position, rows, position + 1, size - position);
+        rows[position] = row;
+        size++;
+    }
+
+    /**
+     * Removes the transaction at {@code row}, whose key must still be in the column.
+     */
+    void remove(int row) {
+        int position = positionOf(key.applyAsLong(row), row);
+        System.arraycopy(rows, position + 1, rows, position, size - position - 1);
+        size--;
+    }
+
+    /**
+     * Updates the index after the transaction at {@code removedRow} was removed from the list,
+     * moving every later transaction one index down.
+     */
+    void rowRemoved(int removedRow) {
+        for (int position = 0; position < size; position++) {
+            if (rows[position] > removedRow) {
+                rows[position]--;
+            }
+        }
+    }
+
+    /**
+     * Updates the index after the transactions of the list were reordered, so that the transaction
+     * at index {@code i} moved to index {@code permutation[i]}. The keys must already be reordered.
+     */
+    void permute(int[] permutation) {
+        for (int position = 0; position < size; position++) {
+            rows[position] = permutation[rows[position]];
+        }
+        // transactions with the same key may have changed their relative order
+        int runStart = 0;
+        while (runStart < size) {
+            long runKey = key.applyAsLong(rows[runStart]);
+            int runEnd = runStart + 1;
+            while (runEnd < size && key.applyAsLong(rows[runEnd]) == runKey) {
+                runEnd++;
+            }
+            Arrays.sort(rows, runStart, runEnd);
+            runStart = runEnd;
+        }
+    }
+
+    /**
+     * Returns the position of the first transaction whose key is at least {@code from}.
+     */
+    private int lowerBound(long from) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (key.applyAsLong(rows[middle]) < from) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns the position after the last transaction whose key is at most {@code until}.
+     */
+    private int upperBound(long until) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (key.applyAsLong(rows[middle]) <= until) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns the position of the transaction at {@code row} with the key {@code rowKey}, or the position
+     * where it would be inserted if it is not in the index.
+     */
+    private int positionOf(long rowKey, int row) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            long middleKey = key.applyAsLong(rows[middle]);
+            if (middleKey < rowKey || (middleKey == rowKey && rows[middle] < row)) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
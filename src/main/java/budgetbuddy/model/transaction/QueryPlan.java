@@ -0,0 +1,130 @@
+package budgetbuddy.model.transaction;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * A plan for finding the transactions of a {@code TransactionList} which match a
+ * {@link TransactionMatchesConditionsPredicate}.
+ *
+ * Each condition which an index of the list can answer is a lookup, with an estimate of the number of transactions
+ * it leaves. Lookups are done from the most selective, and the transactions they return are intersected, until few
+ * enough transactions are left that testing them is cheaper than another lookup. The candidates left are then
+ * tested against every condition.
+ */
+public class QueryPlan {
+
+    /** The number of candidates at or below which the remaining conditions are tested rather than looked up. */
+    static final int RESIDUAL_THRESHOLD = 32;
+
+    private final int totalRows;
+    private final List<Step> steps;
+    private final BitSet candidates;
+
+    private QueryPlan(int totalRows, List<Step> steps, BitSet candidates) {
+        this.totalRows = totalRows;
+        this.steps = steps;
+        this.candidates = candidates;
+    }
+
+    /**
+     * Plans and does the {@code lookups} over a list of {@code totalRows} transactions.
+     */
+    static QueryPlan execute(int totalRows, List<Lookup> lookups) {
+        List<Lookup> ordered = new ArrayList<>(lookups);
+        ordered.sort(Comparator.comparingInt(lookup -> lookup.estimatedRows));
+
+        List<Step> steps = new ArrayList<>();
+        BitSet candidates = null;
+        for (Lookup lookup : ordered) {
+            if (candidates != null && candidates.cardinality() <= RESIDUAL_THRESHOLD) {
+                steps.add(new Step(lookup.condition, lookup.estimatedRows, -1));
+                continue;
+            }
+            BitSet rows = lookup.rows.get();
+            if (candidates == null) {
+                candidates = rows;
+            } else {
+                candidates.and(rows);
+            }
+            steps.add(new Step(lookup.condition, lookup.estimatedRows, candidates.cardinality()));
+        }
+        if (candidates == null) {
+            candidates = new BitSet(totalRows);
+            candidates.set(0, totalRows);
+        }
+        return new QueryPlan(totalRows, steps, candidates);
+    }
+
+    /**
+     * Returns the transactions left by the lookups, which must still be tested against every condition.
+     */
+    BitSet getCandidates() {
+        return candidates;
+    }
+
+    public int getCandidateCount() {
+        return candidates.cardinality();
+    }
+
+    /**
+     * Returns a description of each step of the plan, with the number of transactions it left.
+     */
+    public String explain() {
+        StringBuilder explanation = new StringBuilder();
+        explanation.append(String.format("Searched %d transactions:\n", totalRows));
+        int number = 1;
+        for (Step step : steps) {
+            if (step.candidateRows < 0) {
+                explanation.append(String.format("%d. Test %s (about %d matches)\n",
+                        number++, step.condition, step.estimatedRows));
+            } else {
+                explanation.append(String.format("%d. Look up %s (about %d matches): %d candidates left\n",
+                        number++, step.condition, step.estimatedRows, step.candidateRows));
+            }
+        }
+        if (steps.isEmpty()) {
+            explanation.append(String.format("%d. Scan every transaction\n", number));
+        }
+        explanation.append(String.format("%d candidates tested against all conditions", getCandidateCount()));
+        return explanation.toString();
+    }
+
+    /**
+     * A condition which can be answered by an index of the list.
+     */
+    static class Lookup {
+        private final String condition;
+        private final int estimatedRows;
+        private final Supplier<BitSet> rows;
+
+        /**
+         * Creates a lookup of the transactions matching {@code condition}, of which there are about
+         * {@code estimatedRows}, and which {@code rows} returns as a new bitmap.
+         */
+        Lookup(String condition, int estimatedRows, Supplier<BitSet> rows) {
+            this.condition = condition;
+            this.estimatedRows = estimatedRows;
+            this.rows = rows;
+        }
+    }
+
+    /**
+     * A lookup of the plan, or a condition which is only tested because few enough candidates were left.
+     */
+    private static class Step {
+        private final String condition;
+        private final int estimatedRows;
+        /** The number of candidates left after the lookup, or -1 if the condition was not looked up. */
+        private final int candidateRows;
+
+        Step(String condition, int estimatedRows, int candidateRows) {
+            this.condition = condition;
+            this.estimatedRows = estimatedRows;
+            this.candidateRows = candidateRows;
+        }
+    }
+}
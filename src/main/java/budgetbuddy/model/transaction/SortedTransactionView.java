@@ -0,0 +1,257 @@
+package budgetbuddy.model.transaction;
+
+import static budgetbuddy.commons.util.CollectionUtil.requireAllNonNull;
+import static java.util.Objects.requireNonNull;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.collections.ObservableListBase;
+import javafx.collections.WeakListChangeListener;
+
+/**
+ * A sorted, unmodifiable view of a {@code TransactionList}, which can be pointed at another list without
+ * copying either list.
+ *
+ * The view holds the indices of the transactions of the list in sorted order. A change of one transaction
+ * in the list moves only that transaction in the view, and is reported as a change of that transaction alone,
+ * so the list is not sorted again. Changes of many transactions at once, and pointing the view at another list,
+ * sort the list again, reading the order from its indexes where they can give it.
+ */
+public class SortedTransactionView extends ObservableListBase<Transaction> {
+
+    private final ListChangeListener<Transaction> sourceListener = this::sourceChanged;
+    /** Listens to the source without keeping this view alive, as the lists of a source may outlive its views. */
+    private final WeakListChangeListener<Transaction> weakSourceListener =
+            new WeakListChangeListener<>(sourceListener);
+    private TransactionList source;
+    private Comparator<Transaction> comparator;
+    private Comparator<Integer> rowComparator;
+    private int[] order;
+    private int size;
+
+    /**
+     * Creates a view of {@code source} sorted by {@code comparator}.
+     */
+    public SortedTransactionView(TransactionList source, Comparator<Transaction> comparator) {
+        requireAllNonNull(source, comparator);
+        this.source = source;
+        this.comparator = comparator;
+        source.asUnmodifiableObservableList().addListener(weakSourceListener);
+        sortSource();
+    }
+
+    @Override
+    public Transaction get(int index) {
+        Objects.checkIndex(index, size);
+        return source.asUnmodifiableObservableList().get(order[index]);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Points the view at {@code newSource}, which is then followed as it changes.
+     * Nothing is done if the view already shows {@code newSource}.
+     */
+    public void setSource(TransactionList newSource) {
+        requireNonNull(newSource);
+        if (newSource == source) {
+            return;
+        }
+        List<Transaction> removed = lazyView(source.asUnmodifiableObservableList(), order, size);
+        source.asUnmodifiableObservableList().removeListener(weakSourceListener);
+        source = newSource;
+        source.asUnmodifiableObservableList().addListener(weakSourceListener);
+        sortSource();
+        fireReplaced(removed);
+    }
+
+    /**
+     * Sorts the view by {@code newComparator}, reporting the change as a permutation.
+     * Nothing is done if the view is already sorted by {@code newComparator}.
+     */
+    public void setComparator(Comparator<Transaction> newComparator) {
+        requireNonNull(newComparator);
+        if (newComparator == comparator) {
+            return;
+        }
+        int[] oldOrder = Arrays.copyOf(order, size);
+        comparator = newComparator;
+        sortSource();
+
+        int[] newPositions = new int[size];
+        for (int position = 0; position < size; position++) {
+            newPositions[order[position]] = position;
+        }
+        int[] permutation = new int[size];
+        for (int position = 0; position < size; position++) {
+            permutation[position] = newPositions[oldOrder[position]];
+        }
+        if (size > 0) {
+            beginChange();
+            nextPermutation(0, size, permutation);
+            endChange();
+        }
+    }
+
+    /**
+     * Sorts the indices of every transaction of the source by the comparator.
+     */
+    private void sortSource() {
+        rowComparator = source.toRowComparator(comparator);
+        order = source.toSortOrder(comparator);
+        size = order.length;
+    }
+
+    /**
+     * Updates the view after the source changed, moving only the changed transaction if one was changed.
+     */
+    private void sourceChanged(ListChangeListener.Change<? extends Transaction> change) {
+        while (change.next()) {
+            if (change.wasPermutated()) {
+                for (int position = 0; position < size; position++) {
+                    order[position] = change.getPermutation(order[position]);
+                }
+            } else if (change.getRemovedSize() <= 1 && change.getAddedSize() <= 1) {
+                updateRow(change.getFrom(), change.getRemoved(), change.getAddedSize());
+            } else {
+                List<Transaction> removed = new ArrayList<>(lazyView(oldRows(change), order, size));
+                sortSource();
+                fireReplaced(removed);
+                // the view now holds every transaction of the source, including those of any later parts
+                return;
+            }
+        }
+    }
+
+    /**
+     * Updates the view after the transaction at {@code row} in the source, if any, was replaced by
+     * {@code addedSize} transactions, removing and inserting at most one transaction in the view.
+     */
+    private void updateRow(int row, List<? extends Transaction> removed, int addedSize) {
+        beginChange();
+        if (!removed.isEmpty()) {
+            int position = positionOf(row);
+            System.arraycopy(order, position + 1, order, position, size - position - 1);
+            size--;
+            nextRemove(position, removed.get(0));
+        }
+        int shift = addedSize - removed.size();
+        if (shift != 0) {
+            for (int position = 0; position < size; position++) {
+                if (order[position] >= row + removed.size()) {
+                    order[position] += shift;
+                }
+            }
+        }
+        if (addedSize > 0) {
+            int position = insertionPositionOf(row);
+            if (size == order.length) {
+                order = Arrays.copyOf(order, Math.max(1, size * 2));
+            }
+            System.arraycopy(order, position, order, position + 1, size - position);
+            order[position] = row;
+            size++;
+            nextAdd(position, position + 1);
+        }
+        endChange();
+    }
+
+    /**
+     * Returns the position in the view of the transaction at {@code row} in the source.
+     */
+    private int positionOf(int row) {
+        for (int position = 0; position < size; position++) {
+            if (order[position] == row) {
+                return position;
+            }
+        }
+        throw new IllegalStateException("Transaction is not in the view");
+    }
+
+    /**
+     * Returns the position in the view at which the transaction at {@code row} in the source belongs.
+     */
+    private int insertionPositionOf(int row) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (rowComparator.compare(order[middle], row) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns the transactions the source held before {@code change}, by their index in the source then.
+     */
+    private List<Transaction> oldRows(ListChangeListener.Change<? extends Transaction> change) {
+        ObservableList<Transaction> current = source.asUnmodifiableObservableList();
+        int from = change.getFrom();
+        int removedSize = change.getRemovedSize();
+        int shift = change.getAddedSize() - removedSize;
+        List<? extends Transaction> removed = change.getRemoved();
+        return new AbstractList<>() {
+            @Override
+            public Transaction get(int row) {
+                if (row < from) {
+                    return current.get(row);
+                } else if (row < from + removedSize) {
+                    return removed.get(row - from);
+                }
+                return current.get(row + shift);
+            }
+
+            @Override
+            public int size() {
+                return current.size() - shift;
+            }
+        };
+    }
+
+    /**
+     * Returns a list which reads the transactions at the first {@code length} indices of {@code rows}
+     * from {@code transactions} as they are read.
+     */
+    private static List<Transaction> lazyView(List<Transaction> transactions, int[] rows, int length) {
+        return new AbstractList<>() {
+            @Override
+            public Transaction get(int index) {
+                Objects.checkIndex(index, length);
+                return transactions.get(rows[index]);
+            }
+
+            @Override
+            public int size() {
+                return length;
+            }
+        };
+    }
+
+    /**
+     * Reports that every transaction in {@code removed} was replaced by the transactions now in the view.
+     */
+    private void fireReplaced(List<Transaction> removed) {
+        beginChange();
+        if (!removed.isEmpty()) {
+            nextRemove(0, removed);
+        }
+        if (size > 0) {
+            nextAdd(0, size);
+        }
+        endChange();
+    }
+}
@@ -0,0 +1,399 @@
+package budgetbuddy.model.transaction;
+
+import static budgetbuddy.commons.util.CollectionUtil.requireAllNonNull;
+import static java.util.Objects.requireNonNull;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import budgetbuddy.model.attributes.Amount;
+import budgetbuddy.model.attributes.Category;
+import budgetbuddy.model.attributes.Description;
+import budgetbuddy.model.attributes.Direction;
+
+/**
+ * A read-only list of old transactions, stored as fixed-width records in a buffer which is usually
+ * memory-mapped from a file, so that the transactions are not held on the heap.
+ *
+ * Each record holds the amount, a bitmap of the categories, the date in epoch days, the index of the description
+ * and the direction. Categories and descriptions are kept once each, in dictionaries shared by all records.
+ * Filtering and totals work on the records directly; a {@code Transaction} is only created when it is requested,
+ * for example to be shown in the transaction list.
+ */
+public class TransactionArchive implements Iterable<Transaction> {
+
+    /** The number of bytes in each record. */
+    public static final int RECORD_SIZE = 28;
+    /** The number of distinct categories an archive can hold, one for each bit of the category bitmap. */
+    public static final int MAX_CATEGORIES = Long.SIZE;
+
+    public static final TransactionArchive EMPTY =
+            new TransactionArchive(ByteBuffer.allocate(0), List.of(), List.of(), LocalDate.MIN);
+
+    private static final int AMOUNT_OFFSET = 0;
+    private static final int CATEGORIES_OFFSET = 8;
+    private static final int DATE_OFFSET = 16;
+    private static final int DESCRIPTION_OFFSET = 20;
+    private static final int FLAGS_OFFSET = 24;
+    private static final int FLAG_DIRECTION_IN = 1;
+
+    /** The first and last dates which can be shown and parsed as a four-digit year. */
+    private static final long MIN_EPOCH_DAY = LocalDate.of(1, 1, 1).toEpochDay();
+    private static final long MAX_EPOCH_DAY = LocalDate.of(9999, 12, 31).toEpochDay();
+
+    private final ByteBuffer records;
+    private final List<Category> categories;
+    private final List<String> descriptions;
+    private final LocalDate cutoff;
+    private final int size;
+
+    /** The total income and expense, computed when either is first needed, since that reads every record. */
+    private volatile long[] totals;
+
+    /**
+     * Creates an archive over the records in {@code records}, from its position to its limit.
+     * Every transaction of the account dated before {@code cutoff} must be in the records.
+     * Every field must be present and not null.
+     */
+    public TransactionArchive(ByteBuffer records, List<Category> categories, List<String> descriptions,
+                              LocalDate cutoff) {
+        requireAllNonNull(records, categories, descriptions, cutoff);
+        if (records.remaining() % RECORD_SIZE != 0) {
+            throw new IllegalArgumentException("Records must be " + RECORD_SIZE + " bytes long");
+        }
+        if (categories.size() > MAX_CATEGORIES) {
+            throw new IllegalArgumentException("An archive can hold at most " + MAX_CATEGORIES + " categories");
+        }
+        this.records = records.slice().asReadOnlyBuffer();
+        this.categories = List.copyOf(categories);
+        this.descriptions = List.copyOf(descriptions);
+        this.cutoff = cutoff;
+        this.size = this.records.remaining() / RECORD_SIZE;
+    }
+
+    /**
+     * Checks that every record can be created as a transaction, so that a corrupted archive is found
+     * when it is read rather than when one of its transactions is first shown.
+     * @throws IllegalArgumentException If a record holds an invalid amount, date, description index or category.
+     */
+    public void checkRecords() {
+        long validCategoryBits = categories.size() == MAX_CATEGORIES ? -1L : (1L << categories.size()) - 1;
+        for (int index = 0; index < size; index++) {
+            if (!Amount.isValidAmount(getAmount(index))) {
+                throw new IllegalArgumentException("Invalid amount in record " + index);
+            }
+            if ((getCategoryBits(index) & ~validCategoryBits) != 0) {
+                throw new IllegalArgumentException("Unknown category in record " + index);
+            }
+            long epochDay = getEpochDay(index);
+            if (epochDay < MIN_EPOCH_DAY || epochDay > MAX_EPOCH_DAY) {
+                throw new IllegalArgumentException("Invalid date in record " + index);
+            }
+            int descriptionIndex = getDescriptionIndex(index);
+            if (descriptionIndex < 0 || descriptionIndex >= descriptions.size()) {
+                throw new IllegalArgumentException("Unknown description in record " + index);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of transactions in the archive.
+     */
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the date before which every transaction of the account is archived.
+     * Only transactions dated on or after the cutoff are kept in the transaction list of the account.
+     */
+    public LocalDate getCutoff() {
+        return cutoff;
+    }
+
+    /**
+     * Returns a read-only view of the records, from the first record to the last.
+     */
+    public ByteBuffer getRecords() {
+        return records.duplicate();
+    }
+
+    /**
+     * Returns the category dictionary, in the order of the bits of the category bitmaps.
+     */
+    public List<Category> getCategoryDictionary() {
+        return categories;
+    }
+
+    /**
+     * Returns the description dictionary, in the order of the description indices of the records.
+     */
+    public List<String> getDescriptionDictionary() {
+        return descriptions;
+    }
+
+    /**
+     * Creates the transaction at {@code index}, which must be between 0 and the size of the archive.
+     */
+    public Transaction getTransaction(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+        Set<Category> transactionCategories = new HashSet<>();
+        long categoryBits = getCategoryBits(index);
+        for (int bit = 0; bit < categories.size(); bit++) {
+            if ((categoryBits & (1L << bit)) != 0) {
+                transactionCategories.add(categories.get(bit));
+            }
+        }
+        return new Transaction(LocalDate.ofEpochDay(getEpochDay(index)), new Amount(getAmount(index)),
+                isIncoming(index) ? Direction.IN : Direction.OUT, new Description(getDescription(index)),
+                transactionCategories);
+    }
+
+    /**
+     * Returns the archived transactions which match {@code predicate}, in archive order.
+     * A {@link TransactionMatchesConditionsPredicate} is tested against the records, so that only
+     * the matching transactions are created.
+     */
+    public List<Transaction> select(Predicate<Transaction> predicate) {
+        requireNonNull(predicate);
+        List<Transaction> selected = new ArrayList<>();
+        if (predicate instanceof TransactionMatchesConditionsPredicate) {
+            TransactionMatchesConditionsPredicate conditions = (TransactionMatchesConditionsPredicate) predicate;
+            TransactionMatchesConditionsPredicate.RowMatcher matcher = conditions.toArchiveMatcher(this);
+            for (int index = 0; index < size; index++) {
+                if (matcher.test(index)) {
+                    selected.add(getTransaction(index));
+                }
+            }
+            return selected;
+        }
+        for (Transaction transaction : this) {
+            if (predicate.test(transaction)) {
+                selected.add(transaction);
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * Returns the sum of the amounts of the incoming transactions.
+     */
+    public long getIncome() {
+        return getTotals()[0];
+    }
+
+    /**
+     * Returns the sum of the amounts of the outgoing transactions.
+     */
+    public long getExpense() {
+        return getTotals()[1];
+    }
+
+    /**
+     * Returns the categories of the archived transactions.
+     */
+    public Set<Category> getCategories() {
+        return new HashSet<>(categories);
+    }
+
+    private long[] getTotals() {
+        long[] computedTotals = totals;
+        if (computedTotals == null) {
+            computedTotals = new long[2];
+            for (int index = 0; index < size; index++) {
+                computedTotals[isIncoming(index) ? 0 : 1] += getAmount(index);
+            }
+            totals = computedTotals;
+        }
+        return computedTotals;
+    }
+
+    long getAmount(int index) {
+        return records.getLong(index * RECORD_SIZE + AMOUNT_OFFSET);
+    }
+
+    long getCategoryBits(int index) {
+        return records.getLong(index * RECORD_SIZE + CATEGORIES_OFFSET);
+    }
+
+    long getEpochDay(int index) {
+        return records.getInt(index * RECORD_SIZE + DATE_OFFSET);
+    }
+
+    int getDescriptionIndex(int index) {
+        return records.getInt(index * RECORD_SIZE + DESCRIPTION_OFFSET);
+    }
+
+    String getDescription(int index) {
+        return descriptions.get(getDescriptionIndex(index));
+    }
+
+    boolean isIncoming(int index) {
+        return (records.getInt(index * RECORD_SIZE + FLAGS_OFFSET) & FLAG_DIRECTION_IN) != 0;
+    }
+
+    /**
+     * Returns the bitmap of those of {@code toFind} which are in the category dictionary.
+     */
+    long toCategoryBits(Collection<Category> toFind) {
+        long bits = 0;
+        for (int bit = 0; bit < categories.size(); bit++) {
+            if (toFind.contains(categories.get(bit))) {
+                bits |= 1L << bit;
+            }
+        }
+        return bits;
+    }
+
+    @Override
+    public Iterator<Transaction> iterator() {
+        return new Iterator<>() {
+            private int next = 0;
+
+            @Override
+            public boolean hasNext() {
+                return next < size;
+            }
+
+            @Override
+            public Transaction next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return getTransaction(next++);
+            }
+        };
+    }
+
+    /**
+     * Returns true if both archives hold the same transactions in the same order.
+     */
+    @Override
+    public boolean equals(Object other) {
+        if (other == this) {
+            return true;
+        }
+        if (!(other instanceof TransactionArchive) || ((TransactionArchive) other).size != size) {
+            return false;
+        }
+        Iterator<Transaction> otherTransactions = ((TransactionArchive) other).iterator();
+        for (Transaction transaction : this) {
+            if (!transaction.equals(otherTransactions.next())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hashCode = 1;
+        for (Transaction transaction : this) {
+            hashCode = 31 * hashCode + transaction.hashCode();
+        }
+        return hashCode;
+    }
+
+    /**
+     * Builds a new archive, holding the transactions of an existing archive followed by more transactions.
+     * The records of the existing archive are copied without creating its transactions.
+     */
+    public static class Builder {
+        private final List<Category> categories;
+        private final Map<Category, Integer> categoryBits = new HashMap<>();
+        private final List<String> descriptions;
+        private final Map<String, Integer> descriptionIndices = new HashMap<>();
+        private ByteBuffer records;
+
+        public Builder(TransactionArchive base) {
+            requireNonNull(base);
+            categories = new ArrayList<>(base.categories);
+            for (int bit = 0; bit < categories.size(); bit++) {
+                categoryBits.put(categories.get(bit), bit);
+            }
+            descriptions = new ArrayList<>(base.descriptions);
+            for (int index = 0; index < descriptions.size(); index++) {
+                descriptionIndices.putIfAbsent(descriptions.get(index), index);
+            }
+            records = ByteBuffer.allocate(Math.max(base.records.remaining() * 2, RECORD_SIZE * 16));
+            records.put(base.getRecords());
+        }
+
+        /**
+         * Returns true if the categories of {@code transaction} fit in the category dictionary.
+         */
+        public boolean canAdd(Transaction transaction) {
+            long newCategories = transaction.getCategories().stream()
+                    .filter(category -> !categoryBits.containsKey(category))
+                    .count();
+            return categories.size() + newCategories <= MAX_CATEGORIES;
+        }
+
+        /**
+         * Appends {@code transaction} to the archive.
+         * @throws IllegalArgumentException If the categories of {@code transaction} do not fit.
+         */
+        public Builder add(Transaction transaction) {
+            requireNonNull(transaction);
+            if (!canAdd(transaction)) {
+                throw new IllegalArgumentException("An archive can hold at most " + MAX_CATEGORIES + " categories");
+            }
+            long bits = 0;
+            for (Category category : transaction.getCategories()) {
+                Integer bit = categoryBits.get(category);
+                if (bit == null) {
+                    bit = categories.size();
+                    categories.add(category);
+                    categoryBits.put(category, bit);
+                }
+                bits |= 1L << bit;
+            }
+            String description = transaction.getDescription().getDescription();
+            Integer descriptionIndex = descriptionIndices.get(description);
+            if (descriptionIndex == null) {
+                descriptionIndex = descriptions.size();
+                descriptions.add(description);
+                descriptionIndices.put(description, descriptionIndex);
+            }
+
+            if (records.remaining() < RECORD_SIZE) {
+                ByteBuffer grown = ByteBuffer.allocate(records.capacity() * 2);
+                records.flip();
+                grown.put(records);
+                records = grown;
+            }
+            records.putLong(transaction.getAmount().toLong())
+                    .putLong(bits)
+                    .putInt(Math.toIntExact(transaction.getLocalDate().toEpochDay()))
+                    .putInt(descriptionIndex)
+                    .putInt(transaction.getDirection().equals(Direction.IN) ? FLAG_DIRECTION_IN : 0);
+            return this;
+        }
+
+        /**
+         * Returns the archive built so far, which must hold every transaction of the account dated before
+         * {@code cutoff}.
+         */
+        public TransactionArchive build(LocalDate cutoff) {
+            ByteBuffer built = records.duplicate();
+            built.flip();
+            return new TransactionArchive(built, categories, descriptions, cutoff);
+        }
+    }
+}
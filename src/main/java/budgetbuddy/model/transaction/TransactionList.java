@@ -3,30 +3,86 @@ package budgetbuddy.model.transaction;
 import static budgetbuddy.commons.util.CollectionUtil.requireAllNonNull;
 import static java.util.Objects.requireNonNull;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 import budgetbuddy.commons.core.index.Index;
+import budgetbuddy.model.attributes.Amount;
+import budgetbuddy.model.attributes.Category;
+import budgetbuddy.model.attributes.CategoryDictionary;
+import budgetbuddy.model.attributes.Description;
+import budgetbuddy.model.attributes.Direction;
 import budgetbuddy.model.transaction.exceptions.TransactionNotFoundException;
-import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
+import javafx.collections.ObservableListBase;
 
 /**
  * A list of Transactions that does not allow nulls.
+ *
+ * The transactions are stored in columns rather than as {@code Transaction} objects: an array each of amounts,
+ * epoch days, descriptions and category set ids, and a bitmap of directions. Each distinct set of categories
+ * is stored once. A {@code Transaction} is created whenever one is read from the list, so transactions read
+ * from the list are equal to, but not the same object as, the transactions added to it.
+ *
+ * Filtering by category uses an index from the id of each category in the {@link CategoryDictionary}
+ * to a bitmap of the transactions which have that category. Filtering and sorting by date or amount use
+ * indices of the transactions in date and in amount order, so a range is a binary search and a slice of
+ * the index. Searching
+ * descriptions uses an index from each three-character sequence of the descriptions to a bitmap of the
+ * transactions whose description has it, so only the transactions which have every sequence of the search
+ * text are tested. The indices are built when first needed, and then kept up to date with the list.
  */
 public class TransactionList implements Iterable<Transaction> {
 
     public static final String MESSAGE_CONSTRAINTS = "TransactionList can not be null";
-    private final ObservableList<Transaction> internalList = FXCollections.observableArrayList();
-    private final ObservableList<Transaction> internalUnmodifiableList =
-            FXCollections.unmodifiableObservableList(internalList);
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int TRIGRAM_LENGTH = 3;
+
+    private int size;
+    private long[] amounts = new long[INITIAL_CAPACITY];
+    private int[] epochDays = new int[INITIAL_CAPACITY];
+    private Description[] descriptions = new Description[INITIAL_CAPACITY];
+    private int[] categorySetIds = new int[INITIAL_CAPACITY];
+    private BitSet incoming = new BitSet();
+
+    /** The distinct category sets of the transactions, indexed by their ids. */
+    private List<Set<Category>> categorySets = new ArrayList<>();
+    private Map<Set<Category>, Integer> categorySetIdsBySet = new HashMap<>();
+    /** The dictionary ids of the categories in each category set, indexed by the id of the set. */
+    private List<int[]> categorySetDictionaryIds = new ArrayList<>();
+
+    /** The transactions with each category, by dictionary id, or null if it has not been built. */
+    private BitmapIndex<Integer> categoryIndex;
+    /** The transactions with each trigram in their description, or null if it has not been built. */
+    private BitmapIndex<Long> descriptionIndex;
+    /** The transactions in date order, or null if it has not been built. */
+    private OrderedIndex dateIndex;
+    /** The transactions in amount order, or null if it has not been built. */
+    private OrderedIndex amountIndex;
+
+    private final TransactionListView view = new TransactionListView();
 
     /**
      * Returns true if the list contains an equivalent Transaction as the given argument.
      */
     public boolean contains(Transaction toCheck) {
         requireNonNull(toCheck);
-        return internalList.stream().anyMatch(toCheck::equals);
+        return indexOf(toCheck) >= 0;
     }
 
     /**
@@ -34,9 +90,31 @@ public class TransactionList implements Iterable<Transaction> {
      */
     public void add(Transaction toAdd) {
         requireNonNull(toAdd);
-        internalList.add(toAdd);
+        ensureCapacity(size + 1);
+        store(size++, toAdd);
+        indexRow(size - 1);
+        view.fireAdded(size - 1, size);
     }
 
+    /**
+     * Adds all of {@code toAdd} to the end of the list, as a single change.
+     */
+    public void addAll(List<Transaction> toAdd) {
+        requireNonNull(toAdd);
+        toAdd.forEach(Objects::requireNonNull);
+        if (toAdd.isEmpty()) {
+            return;
+        }
+        int from = size;
+        ensureCapacity(size + toAdd.size());
+        dateIndex = null;
+        amountIndex = null;
+        for (Transaction transaction : toAdd) {
+            store(size++, transaction);
+            indexRow(size - 1);
+        }
+        view.fireAdded(from, size);
+    }
 
     /**
      * Returns the Transaction at the specified index in the list.
@@ -44,10 +122,10 @@ public class TransactionList implements Iterable<Transaction> {
      * @throws TransactionNotFoundException If the transaction is not in the list.
      */
     public Transaction getTransaction(Index toGet) throws TransactionNotFoundException {
-        if (toGet.getOneBased() > internalList.size()) {
+        if (toGet.getOneBased() > size) {
             throw new TransactionNotFoundException();
         }
-        return internalList.get(toGet.getZeroBased());
+        return get(toGet.getZeroBased());
     }
 
     /**
@@ -57,7 +135,13 @@ public class TransactionList implements Iterable<Transaction> {
     public void setTransaction(Index txnIndex, Transaction editedTransaction) {
         requireAllNonNull(txnIndex, editedTransaction);
 
-        internalList.set(txnIndex.getZeroBased(), editedTransaction);
+        int index = txnIndex.getZeroBased();
+        Objects.checkIndex(index, size);
+        Transaction replaced = get(index);
+        unindexRow(index);
+        store(index, editedTransaction);
+        indexRow(index);
+        view.fireSet(index, replaced);
     }
 
     /**
@@ -66,7 +150,48 @@ public class TransactionList implements Iterable<Transaction> {
      */
     public void setAll(TransactionList toCopy) {
         requireNonNull(toCopy);
-        internalList.setAll(toCopy.internalList);
+        if (toCopy == this) {
+            return;
+        }
+        List<Transaction> removed = toList();
+        size = toCopy.size;
+        amounts = Arrays.copyOf(toCopy.amounts, Math.max(size, INITIAL_CAPACITY));
+        epochDays = Arrays.copyOf(toCopy.epochDays, amounts.length);
+        descriptions = Arrays.copyOf(toCopy.descriptions, amounts.length);
+        categorySetIds = Arrays.copyOf(toCopy.categorySetIds, amounts.length);
+        incoming = (BitSet) toCopy.incoming.clone();
+        categorySets = new ArrayList<>(toCopy.categorySets);
+        categorySetIdsBySet = new HashMap<>(toCopy.categorySetIdsBySet);
+        categorySetDictionaryIds = new ArrayList<>(toCopy.categorySetDictionaryIds);
+        categoryIndex = null;
+        descriptionIndex = null;
+        dateIndex = toCopy.dateIndex == null ? null : new OrderedIndex(row -> epochDays[row], toCopy.dateIndex);
+        amountIndex = toCopy.amountIndex == null ? null : new OrderedIndex(row -> amounts[row], toCopy.amountIndex);
+        view.fireReplaced(removed);
+    }
+
+    /**
+     * Replaces all transactions within the list with {@code transactions}.
+     */
+    public void setAll(List<Transaction> transactions) {
+        requireNonNull(transactions);
+        transactions.forEach(Objects::requireNonNull);
+        List<Transaction> removed = toList();
+        size = 0;
+        incoming.clear();
+        categorySets = new ArrayList<>();
+        categorySetIdsBySet = new HashMap<>();
+        categorySetDictionaryIds = new ArrayList<>();
+        categoryIndex = null;
+        descriptionIndex = null;
+        dateIndex = null;
+        amountIndex = null;
+        ensureCapacity(transactions.size());
+        for (Transaction transaction : transactions) {
+            store(size++, transaction);
+        }
+        Arrays.fill(descriptions, size, descriptions.length, null);
+        view.fireReplaced(removed);
     }
 
     /**
@@ -75,47 +200,627 @@ public class TransactionList implements Iterable<Transaction> {
      */
     public void remove(Transaction toRemove) {
         requireNonNull(toRemove);
-        if (!internalList.remove(toRemove)) {
+        int index = indexOf(toRemove);
+        if (index < 0) {
             throw new TransactionNotFoundException();
         }
+        Transaction removed = get(index);
+        unindexRow(index);
+        int moved = size - index - 1;
+        System.arraycopy(amounts, index + 1, amounts, index, moved);
+        System.arraycopy(epochDays, index + 1, epochDays, index, moved);
+        System.arraycopy(descriptions, index + 1, descriptions, index, moved);
+        System.arraycopy(categorySetIds, index + 1, categorySetIds, index, moved);
+        for (int i = index; i < size - 1; i++) {
+            incoming.set(i, incoming.get(i + 1));
+        }
+        size--;
+        incoming.clear(size);
+        descriptions[size] = null;
+        if (categoryIndex != null) {
+            categoryIndex.rowRemoved(index);
+        }
+        if (descriptionIndex != null) {
+            descriptionIndex.rowRemoved(index);
+        }
+        if (dateIndex != null) {
+            dateIndex.rowRemoved(index);
+        }
+        if (amountIndex != null) {
+            amountIndex.rowRemoved(index);
+        }
+        view.fireRemoved(index, removed);
     }
 
     /**
      * Returns the current number of transactions in the list.
      */
     public int getTransactionsCount() {
-        return internalList.size();
+        return size;
     }
 
     /**
-     * Returns the backing list as an unmodifiable {@code ObservableList}.
+     * Returns the list as an unmodifiable {@code ObservableList}.
      */
     public ObservableList<Transaction> asUnmodifiableObservableList() {
-        return internalUnmodifiableList;
+        return view;
     }
 
     /**
-     * Sorts the backing list by providing a comparator
+     * Sorts the list by providing a comparator.
+     * The comparators in {@link ComparatorUtil} compare the columns directly, without creating transactions.
      */
     public void sort(Comparator<Transaction> c) {
-        internalList.sort(c);
+        requireNonNull(c);
+        int[] order = toSortOrder(c);
+
+        int[] permutation = new int[size];
+        long[] sortedAmounts = new long[amounts.length];
+        int[] sortedEpochDays = new int[epochDays.length];
+        Description[] sortedDescriptions = new Description[descriptions.length];
+        int[] sortedCategorySetIds = new int[categorySetIds.length];
+        BitSet sortedIncoming = new BitSet();
+        for (int newIndex = 0; newIndex < size; newIndex++) {
+            int oldIndex = order[newIndex];
+            permutation[oldIndex] = newIndex;
+            sortedAmounts[newIndex] = amounts[oldIndex];
+            sortedEpochDays[newIndex] = epochDays[oldIndex];
+            sortedDescriptions[newIndex] = descriptions[oldIndex];
+            sortedCategorySetIds[newIndex] = categorySetIds[oldIndex];
+            sortedIncoming.set(newIndex, incoming.get(oldIndex));
+        }
+        amounts = sortedAmounts;
+        epochDays = sortedEpochDays;
+        descriptions = sortedDescriptions;
+        categorySetIds = sortedCategorySetIds;
+        incoming = sortedIncoming;
+        if (categoryIndex != null) {
+            categoryIndex.permute(permutation);
+        }
+        if (descriptionIndex != null) {
+            descriptionIndex.permute(permutation);
+        }
+        if (dateIndex != null) {
+            dateIndex.permute(permutation);
+        }
+        if (amountIndex != null) {
+            amountIndex.permute(permutation);
+        }
+        view.firePermutation(permutation);
+    }
+
+    /**
+     * Returns a plan for finding the transactions which match {@code conditions}, with the lookups of the plan done.
+     */
+    public QueryPlan plan(TransactionMatchesConditionsPredicate conditions) {
+        requireNonNull(conditions);
+        return conditions.toQueryPlan(this);
+    }
+
+    /**
+     * Returns the transactions which match {@code predicate}, in list order.
+     * A {@link TransactionMatchesConditionsPredicate} is planned using the indices of the list, and the candidates
+     * it leaves are tested against the columns, so that only the matching transactions are created.
+     */
+    public List<Transaction> select(Predicate<Transaction> predicate) {
+        requireNonNull(predicate);
+        if (predicate instanceof TransactionMatchesConditionsPredicate) {
+            TransactionMatchesConditionsPredicate conditions = (TransactionMatchesConditionsPredicate) predicate;
+            return select(conditions, plan(conditions));
+        }
+        List<Transaction> selected = new ArrayList<>();
+        for (int index = 0; index < size; index++) {
+            Transaction transaction = get(index);
+            if (predicate.test(transaction)) {
+                selected.add(transaction);
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * Returns the transactions which match {@code conditions}, in list order, testing only the candidates
+     * left by {@code plan}, which must have been made by {@link #plan} for {@code conditions} since the
+     * list last changed.
+     */
+    public List<Transaction> select(TransactionMatchesConditionsPredicate conditions, QueryPlan plan) {
+        requireAllNonNull(conditions, plan);
+        List<Transaction> selected = new ArrayList<>();
+        TransactionMatchesConditionsPredicate.RowMatcher matcher = conditions.toRowMatcher(this);
+        BitSet candidates = plan.getCandidates();
+        for (int index = candidates.nextSetBit(0); index >= 0; index = candidates.nextSetBit(index + 1)) {
+            if (matcher.test(index)) {
+                selected.add(get(index));
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * Returns the sum of the amounts of the incoming transactions.
+     */
+    public long getIncome() {
+        long income = 0;
+        for (int index = incoming.nextSetBit(0); index >= 0 && index < size; index = incoming.nextSetBit(index + 1)) {
+            income += amounts[index];
+        }
+        return income;
+    }
+
+    /**
+     * Returns the sum of the amounts of the outgoing transactions.
+     */
+    public long getExpense() {
+        long expense = 0;
+        for (int index = incoming.nextClearBit(0); index < size; index = incoming.nextClearBit(index + 1)) {
+            expense += amounts[index];
+        }
+        return expense;
+    }
+
+    /**
+     * Returns the categories of the transactions in the list.
+     */
+    public Set<Category> getCategories() {
+        Set<Category> categories = new HashSet<>();
+        BitSet usedCategorySets = new BitSet();
+        for (int index = 0; index < size; index++) {
+            usedCategorySets.set(categorySetIds[index]);
+        }
+        usedCategorySets.stream().forEach(id -> categories.addAll(categorySets.get(id)));
+        return categories;
+    }
+
+    long getAmount(int index) {
+        return amounts[index];
+    }
+
+    long getEpochDay(int index) {
+        return epochDays[index];
+    }
+
+    String getDescription(int index) {
+        return descriptions[index].getDescription();
+    }
+
+    boolean isIncoming(int index) {
+        return incoming.get(index);
+    }
+
+    int getCategorySetId(int index) {
+        return categorySetIds[index];
+    }
+
+    /**
+     * Returns the distinct category sets of the transactions, indexed by their ids.
+     */
+    List<Set<Category>> getCategorySets() {
+        return categorySets;
+    }
+
+    /**
+     * Returns a new bitmap of the transactions which have any of {@code categories}.
+     */
+    BitSet getRowsWithAnyCategory(Collection<Category> categories) {
+        BitSet rows = new BitSet(size);
+        for (Category category : categories) {
+            CategoryDictionary.findId(category).ifPresent(id -> rows.or(getCategoryIndex().rowsWith(id)));
+        }
+        return rows;
+    }
+
+    /**
+     * Returns an upper bound of the number of transactions which have any of {@code categories}.
+     */
+    int estimateRowsWithAnyCategory(Collection<Category> categories) {
+        int estimate = 0;
+        for (Category category : categories) {
+            estimate += CategoryDictionary.findId(category).stream().map(getCategoryIndex()::count).sum();
+        }
+        return Math.min(estimate, size);
+    }
+
+    /**
+     * Returns a new bitmap of the transactions whose description may contain {@code text}.
+     * Every transaction whose description contains {@code text} is in the bitmap, but not every transaction
+     * in the bitmap has a description which contains it.
+     */
+    BitSet getRowsWithDescriptionLike(String text) {
+        BitSet rows = new BitSet(size);
+        rows.set(0, size);
+        if (text.length() >= TRIGRAM_LENGTH) {
+            for (Long trigram : trigramsOf(text)) {
+                rows.and(getDescriptionIndex().rowsWith(trigram));
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Returns an upper bound of the number of transactions whose description contains {@code text}.
+     */
+    int estimateRowsWithDescriptionLike(String text) {
+        int estimate = size;
+        if (text.length() >= TRIGRAM_LENGTH) {
+            for (Long trigram : trigramsOf(text)) {
+                estimate = Math.min(estimate, getDescriptionIndex().count(trigram));
+            }
+        }
+        return estimate;
     }
 
+    /**
+     * Returns a new bitmap of the transactions dated from {@code fromDay} to {@code untilDay}, in epoch days.
+     */
+    BitSet getRowsBetweenDays(long fromDay, long untilDay) {
+        return getDateIndex().rowsBetween(fromDay, untilDay);
+    }
+
+    int countRowsBetweenDays(long fromDay, long untilDay) {
+        return getDateIndex().count(fromDay, untilDay);
+    }
+
+    /**
+     * Returns a new bitmap of the transactions with amounts from {@code fromAmount} to {@code untilAmount}.
+     */
+    BitSet getRowsBetweenAmounts(long fromAmount, long untilAmount) {
+        return getAmountIndex().rowsBetween(fromAmount, untilAmount);
+    }
+
+    int countRowsBetweenAmounts(long fromAmount, long untilAmount) {
+        return getAmountIndex().count(fromAmount, untilAmount);
+    }
+
+    private BitmapIndex<Integer> getCategoryIndex() {
+        if (categoryIndex == null) {
+            categoryIndex = new BitmapIndex<>();
+            for (int index = 0; index < size; index++) {
+                categoryIndex.add(index, getCategoryKeys(index));
+            }
+        }
+        return categoryIndex;
+    }
+
+    private BitmapIndex<Long> getDescriptionIndex() {
+        if (descriptionIndex == null) {
+            descriptionIndex = new BitmapIndex<>();
+            for (int index = 0; index < size; index++) {
+                descriptionIndex.add(index, trigramsOf(getDescription(index)));
+            }
+        }
+        return descriptionIndex;
+    }
+
+    private OrderedIndex getAmountIndex() {
+        if (amountIndex == null) {
+            amountIndex = new OrderedIndex(row -> amounts[row], size);
+        }
+        return amountIndex;
+    }
+
+    private OrderedIndex getDateIndex() {
+        if (dateIndex == null) {
+            dateIndex = new OrderedIndex(row -> epochDays[row], size);
+        }
+        return dateIndex;
+    }
+
+    /**
+     * Adds the transaction at {@code index} to each index which has been built.
+     */
+    private void indexRow(int index) {
+        if (categoryIndex != null) {
+            categoryIndex.add(index, getCategoryKeys(index));
+        }
+        if (descriptionIndex != null) {
+            descriptionIndex.add(index, trigramsOf(getDescription(index)));
+        }
+        if (dateIndex != null) {
+            dateIndex.insert(index);
+        }
+        if (amountIndex != null) {
+            amountIndex.insert(index);
+        }
+    }
+
+    /**
+     * Removes the transaction at {@code index}, which must still be in the columns, from each index
+     * which has been built.
+     */
+    private void unindexRow(int index) {
+        if (categoryIndex != null) {
+            categoryIndex.remove(index, getCategoryKeys(index));
+        }
+        if (descriptionIndex != null) {
+            descriptionIndex.remove(index, trigramsOf(getDescription(index)));
+        }
+        if (dateIndex != null) {
+            dateIndex.remove(index);
+        }
+        if (amountIndex != null) {
+            amountIndex.remove(index);
+        }
+    }
+
+    private List<Integer> getCategoryKeys(int index) {
+        return Arrays.stream(categorySetDictionaryIds.get(categorySetIds[index])).boxed().collect(Collectors.toList());
+    }
+
+    /**
+     * Returns the distinct sequences of three characters in {@code text}, each packed into a long.
+     */
+    private static Set<Long> trigramsOf(String text) {
+        Set<Long> trigrams = new HashSet<>();
+        for (int start = 0; start + TRIGRAM_LENGTH <= text.length(); start++) {
+            trigrams.add(((long) text.charAt(start) << 32) | ((long) text.charAt(start + 1) << 16)
+                    | text.charAt(start + 2));
+        }
+        return trigrams;
+    }
+
+    /**
+     * Creates the transaction at {@code index}.
+     */
+    private Transaction get(int index) {
+        return new Transaction(LocalDate.ofEpochDay(epochDays[index]), new Amount(amounts[index]),
+                incoming.get(index) ? Direction.IN : Direction.OUT, descriptions[index],
+                categorySets.get(categorySetIds[index]));
+    }
+
+    /**
+     * Returns the index of the first transaction equal to {@code transaction}, or -1 if there is none.
+     */
+    private int indexOf(Transaction transaction) {
+        long amount = transaction.getAmount().toLong();
+        long epochDay = transaction.getLocalDate().toEpochDay();
+        boolean isIncoming = transaction.getDirection().equals(Direction.IN);
+        Integer categorySetId = categorySetIdsBySet.get(transaction.getCategories());
+        if (categorySetId == null) {
+            return -1;
+        }
+        for (int index = 0; index < size; index++) {
+            if (amounts[index] == amount && epochDays[index] == epochDay && incoming.get(index) == isIncoming
+                    && categorySetIds[index] == categorySetId
+                    && descriptions[index].equals(transaction.getDescription())) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Stores {@code transaction} in the columns at {@code index}, which must be within the capacity.
+     */
+    private void store(int index, Transaction transaction) {
+        amounts[index] = transaction.getAmount().toLong();
+        epochDays[index] = Math.toIntExact(transaction.getLocalDate().toEpochDay());
+        descriptions[index] = transaction.getDescription();
+        categorySetIds[index] = toCategorySetId(transaction.getCategories());
+        incoming.set(index, transaction.getDirection().equals(Direction.IN));
+    }
+
+    /**
+     * Returns the id of {@code categories}, adding it to the category sets if it is not already there.
+     */
+    private int toCategorySetId(Set<Category> categories) {
+        Integer id = categorySetIdsBySet.get(categories);
+        if (id == null) {
+            Set<Category> storedCategories = new HashSet<>();
+            int[] dictionaryIds = new int[categories.size()];
+            int next = 0;
+            for (Category category : categories) {
+                int dictionaryId = CategoryDictionary.idOf(category);
+                dictionaryIds[next++] = dictionaryId;
+                storedCategories.add(CategoryDictionary.categoryOf(dictionaryId));
+            }
+            storedCategories = Set.copyOf(storedCategories);
+            id = categorySets.size();
+            categorySets.add(storedCategories);
+            categorySetDictionaryIds.add(dictionaryIds);
+            categorySetIdsBySet.put(storedCategories, id);
+        }
+        return id;
+    }
+
+    /**
+     * Grows the columns, if needed, so that they can hold {@code capacity} transactions.
+     */
+    private void ensureCapacity(int capacity) {
+        if (capacity <= amounts.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, amounts.length * 2);
+        amounts = Arrays.copyOf(amounts, newCapacity);
+        epochDays = Arrays.copyOf(epochDays, newCapacity);
+        descriptions = Arrays.copyOf(descriptions, newCapacity);
+        categorySetIds = Arrays.copyOf(categorySetIds, newCapacity);
+    }
+
+    /**
+     * Returns the indices of the transactions in the order a stable sort by {@code c} would put them.
+     * Sorting by date or amount reads the order from the date or amount index.
+     */
+    int[] toSortOrder(Comparator<Transaction> c) {
+        if (c == ComparatorUtil.SORT_BY_ASCENDING_DATE) {
+            return getDateIndex().ascendingOrder();
+        } else if (c == ComparatorUtil.SORT_BY_DESCENDING_DATE) {
+            return getDateIndex().descendingOrder();
+        } else if (c == ComparatorUtil.SORT_BY_ASCENDING_AMOUNT) {
+            return getAmountIndex().ascendingOrder();
+        } else if (c == ComparatorUtil.SORT_BY_DESCENDING_AMOUNT) {
+            return getAmountIndex().descendingOrder();
+        }
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        Comparator<Integer> rowComparator = toColumnComparator(c);
+        if (rowComparator == null) {
+            List<Transaction> transactions = toList();
+            rowComparator = (i, j) -> c.compare(transactions.get(i), transactions.get(j));
+        }
+        Arrays.sort(order, rowComparator);
+        return Arrays.stream(order).mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Returns a comparator of the indices of transactions in the list, which orders them as a stable sort by
+     * {@code c} would. Only the transactions being compared are created, and only if {@code c} is not one of
+     * the comparators in {@link ComparatorUtil}.
+     */
+    Comparator<Integer> toRowComparator(Comparator<Transaction> c) {
+        Comparator<Integer> columnComparator = toColumnComparator(c);
+        Comparator<Integer> rowComparator = columnComparator != null
+                ? columnComparator
+                : (i, j) -> c.compare(get(i), get(j));
+        return rowComparator.thenComparing(Comparator.naturalOrder());
+    }
+
+    /**
+     * Returns a comparator of the indices of transactions in the list which compares their columns as {@code c}
+     * compares the transactions, or null if {@code c} is not one of the comparators in {@link ComparatorUtil}.
+     */
+    private Comparator<Integer> toColumnComparator(Comparator<Transaction> c) {
+        if (c == ComparatorUtil.SORT_BY_ASCENDING_DATE) {
+            return (i, j) -> Integer.compare(epochDays[i], epochDays[j]);
+        } else if (c == ComparatorUtil.SORT_BY_DESCENDING_DATE) {
+            return (i, j) -> Integer.compare(epochDays[j], epochDays[i]);
+        } else if (c == ComparatorUtil.SORT_BY_ASCENDING_AMOUNT) {
+            return (i, j) -> Long.compare(amounts[i], amounts[j]);
+        } else if (c == ComparatorUtil.SORT_BY_DESCENDING_AMOUNT) {
+            return (i, j) -> Long.compare(amounts[j], amounts[i]);
+        } else if (c == ComparatorUtil.SORT_BY_ASCENDING_DESCRIPTION) {
+            return (i, j) -> descriptions[i].compareTo(descriptions[j]);
+        } else if (c == ComparatorUtil.SORT_BY_DESCENDING_DESCRIPTION) {
+            return (i, j) -> descriptions[j].compareTo(descriptions[i]);
+        }
+        return null;
+    }
+
+    /**
+     * Creates all the transactions in the list.
+     */
+    private List<Transaction> toList() {
+        List<Transaction> transactions = new ArrayList<>(size);
+        for (int index = 0; index < size; index++) {
+            transactions.add(get(index));
+        }
+        return transactions;
+    }
 
     @Override
     public Iterator<Transaction> iterator() {
-        return internalList.iterator();
+        return new Iterator<>() {
+            private int next = 0;
+
+            @Override
+            public boolean hasNext() {
+                return next < size;
+            }
+
+            @Override
+            public Transaction next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return get(next++);
+            }
+        };
     }
 
     @Override
     public boolean equals(Object other) {
-        return other == this // short circuit if same object
-                || (other instanceof TransactionList // instanceof handles nulls
-                && internalList.equals(((TransactionList) other).internalList));
+        if (other == this) { // short circuit if same object
+            return true;
+        }
+        if (!(other instanceof TransactionList)) { // instanceof handles nulls
+            return false;
+        }
+        TransactionList otherList = (TransactionList) other;
+        if (otherList.size != size) {
+            return false;
+        }
+        for (int index = 0; index < size; index++) {
+            if (amounts[index] != otherList.amounts[index]
+                    || epochDays[index] != otherList.epochDays[index]
+                    || incoming.get(index) != otherList.incoming.get(index)
+                    || !descriptions[index].equals(otherList.descriptions[index])
+                    || !categorySets.get(categorySetIds[index])
+                            .equals(otherList.categorySets.get(otherList.categorySetIds[index]))) {
+                return false;
+            }
+        }
+        return true;
     }
 
     @Override
     public int hashCode() {
-        return internalList.hashCode();
+        int hashCode = 1;
+        for (int index = 0; index < size; index++) {
+            hashCode = 31 * hashCode + Objects.hash(amounts[index], epochDays[index], incoming.get(index),
+                    descriptions[index], categorySets.get(categorySetIds[index]));
+        }
+        return hashCode;
+    }
+
+    /**
+     * An unmodifiable view of the list, which creates each transaction when it is read,
+     * and reports every change to the list to its listeners.
+     */
+    private class TransactionListView extends ObservableListBase<Transaction> {
+        @Override
+        public Transaction get(int index) {
+            Objects.checkIndex(index, size);
+            return TransactionList.this.get(index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        void fireAdded(int from, int to) {
+            beginChange();
+            nextAdd(from, to);
+            endChange();
+        }
+
+        void fireSet(int index, Transaction replaced) {
+            beginChange();
+            nextSet(index, replaced);
+            endChange();
+        }
+
+        void fireRemoved(int index, Transaction removed) {
+            beginChange();
+            nextRemove(index, removed);
+            endChange();
+        }
+
+        /**
+         * Reports that every transaction in {@code removed} was replaced by the current transactions.
+         */
+        void fireReplaced(Collection<Transaction> removed) {
+            beginChange();
+            if (!removed.isEmpty()) {
+                nextRemove(0, new ArrayList<>(removed));
+            }
+            if (size > 0) {
+                nextAdd(0, size);
+            }
+            endChange();
+        }
+
+        /**
+         * Reports that the transaction at each index {@code i} was moved to {@code permutation[i]}.
+         */
+        void firePermutation(int[] permutation) {
+            if (permutation.length == 0) {
+                return;
+            }
+            beginChange();
+            nextPermutation(0, permutation.length, permutation);
+            endChange();
+        }
     }
 }
@@ -1,8 +1,12 @@
 package budgetbuddy.model.transaction;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Predicate;
 
 import budgetbuddy.model.attributes.Amount;
@@ -14,6 +18,7 @@ import budgetbuddy.model.attributes.Description;
  */
 public class TransactionMatchesConditionsPredicate implements Predicate<Transaction> {
     private final List<Category> categoryList;
+    private final Set<Category> categorySet;
     private final Optional<LocalDate> fromOptional;
     private final Optional<LocalDate> untilOptional;
     private final Optional<Amount> fromAmtOptional;
@@ -27,6 +32,7 @@ public class TransactionMatchesConditionsPredicate implements Predicate<Transact
                                                  Optional<Amount> untilAmtOptional,
                                                  Optional<Description> descriptionOptional) {
         this.categoryList = categoryList;
+        this.categorySet = new HashSet<>(categoryList);
         this.fromOptional = fromOptional;
         this.untilOptional = untilOptional;
         this.fromAmtOptional = fromAmtOptional;
@@ -34,10 +40,18 @@ public class TransactionMatchesConditionsPredicate implements Predicate<Transact
         this.descriptionOptional = descriptionOptional;
     }
 
+    /**
+     * Returns true if there are no conditions, so that every transaction matches.
+     */
+    public boolean isUnconditional() {
+        return categoryList.isEmpty() && fromOptional.isEmpty() && untilOptional.isEmpty()
+                && fromAmtOptional.isEmpty() && untilAmtOptional.isEmpty() && descriptionOptional.isEmpty();
+    }
+
     @Override
     public boolean test(Transaction transaction) {
         if (!categoryList.isEmpty()) {
-            if (!transaction.getCategories().stream().anyMatch(categoryList::contains)) {
+            if (!transaction.getCategories().stream().anyMatch(categorySet::contains)) {
                 return false;
             }
         }
@@ -71,6 +85,115 @@ public class TransactionMatchesConditionsPredicate implements Predicate<Transact
         return true;
     }
 
+    /**
+     * Returns a matcher which tests the records of {@code archive} against the same conditions as
+     * {@link #test(Transaction)}, without creating their transactions.
+     * Each description in the dictionary of the archive is only tested once.
+     */
+    RowMatcher toArchiveMatcher(TransactionArchive archive) {
+        long categoryBits = archive.toCategoryBits(categoryList);
+        long fromDay = fromOptional.map(LocalDate::toEpochDay).orElse(Long.MIN_VALUE);
+        long untilDay = untilOptional.map(LocalDate::toEpochDay).orElse(Long.MAX_VALUE);
+        long fromAmount = fromAmtOptional.map(Amount::toLong).orElse(Long.MIN_VALUE);
+        long untilAmount = untilAmtOptional.map(Amount::toLong).orElse(Long.MAX_VALUE);
+        BitSet matchingDescriptions = new BitSet();
+        List<String> descriptions = archive.getDescriptionDictionary();
+        for (int index = 0; index < descriptions.size(); index++) {
+            if (descriptionOptional.isEmpty()
+                    || descriptions.get(index).contains(descriptionOptional.get().getDescription())) {
+                matchingDescriptions.set(index);
+            }
+        }
+
+        return index -> {
+            if (!categoryList.isEmpty() && (archive.getCategoryBits(index) & categoryBits) == 0) {
+                return false;
+            }
+            long day = archive.getEpochDay(index);
+            long amount = archive.getAmount(index);
+            return day >= fromDay && day <= untilDay
+                    && amount >= fromAmount && amount <= untilAmount
+                    && matchingDescriptions.get(archive.getDescriptionIndex(index));
+        };
+    }
+
+    /**
+     * Returns a matcher which tests the transactions of {@code transactionList} against the same conditions as
+     * {@link #test(Transaction)}, without creating them.
+     * Each distinct set of categories in the list is only tested once.
+     */
+    RowMatcher toRowMatcher(TransactionList transactionList) {
+        BitSet matchingCategorySets = new BitSet();
+        List<Set<Category>> categorySets = transactionList.getCategorySets();
+        for (int id = 0; id < categorySets.size(); id++) {
+            if (categoryList.isEmpty() || categorySets.get(id).stream().anyMatch(categorySet::contains)) {
+                matchingCategorySets.set(id);
+            }
+        }
+        long fromDay = fromOptional.map(LocalDate::toEpochDay).orElse(Long.MIN_VALUE);
+        long untilDay = untilOptional.map(LocalDate::toEpochDay).orElse(Long.MAX_VALUE);
+        long fromAmount = fromAmtOptional.map(Amount::toLong).orElse(Long.MIN_VALUE);
+        long untilAmount = untilAmtOptional.map(Amount::toLong).orElse(Long.MAX_VALUE);
+
+        return index -> {
+            if (!matchingCategorySets.get(transactionList.getCategorySetId(index))) {
+                return false;
+            }
+            long day = transactionList.getEpochDay(index);
+            long amount = transactionList.getAmount(index);
+            return day >= fromDay && day <= untilDay
+                    && amount >= fromAmount && amount <= untilAmount
+                    && (descriptionOptional.isEmpty()
+                    || transactionList.getDescription(index).contains(descriptionOptional.get().getDescription()));
+        };
+    }
+
+    /**
+     * Returns a plan for finding the transactions of {@code transactionList} which match the conditions,
+     * using its category, date, amount and description indices, with the lookups of the plan done.
+     */
+    QueryPlan toQueryPlan(TransactionList transactionList) {
+        List<QueryPlan.Lookup> lookups = new ArrayList<>();
+        if (!categoryList.isEmpty()) {
+            lookups.add(new QueryPlan.Lookup("categories " + categoryList,
+                    transactionList.estimateRowsWithAnyCategory(categoryList), () ->
+                    transactionList.getRowsWithAnyCategory(categoryList)));
+        }
+        if (fromOptional.isPresent() || untilOptional.isPresent()) {
+            long fromDay = fromOptional.map(LocalDate::toEpochDay).orElse(Long.MIN_VALUE);
+            long untilDay = untilOptional.map(LocalDate::toEpochDay).orElse(Long.MAX_VALUE);
+            lookups.add(new QueryPlan.Lookup(describeRange("dates", fromOptional, untilOptional),
+                    transactionList.countRowsBetweenDays(fromDay, untilDay), () ->
+                    transactionList.getRowsBetweenDays(fromDay, untilDay)));
+        }
+        if (fromAmtOptional.isPresent() || untilAmtOptional.isPresent()) {
+            long fromAmount = fromAmtOptional.map(Amount::toLong).orElse(Long.MIN_VALUE);
+            long untilAmount = untilAmtOptional.map(Amount::toLong).orElse(Long.MAX_VALUE);
+            lookups.add(new QueryPlan.Lookup(describeRange("amounts", fromAmtOptional, untilAmtOptional),
+                    transactionList.countRowsBetweenAmounts(fromAmount, untilAmount), () ->
+                    transactionList.getRowsBetweenAmounts(fromAmount, untilAmount)));
+        }
+        if (descriptionOptional.isPresent()) {
+            String text = descriptionOptional.get().getDescription();
+            lookups.add(new QueryPlan.Lookup("description containing \"" + text + "\"",
+                    transactionList.estimateRowsWithDescriptionLike(text), () ->
+                    transactionList.getRowsWithDescriptionLike(text)));
+        }
+        return QueryPlan.execute(transactionList.getTransactionsCount(), lookups);
+    }
+
+    private static String describeRange(String name, Optional<?> from, Optional<?> until) {
+        return name + from.map(bound -> " from " + bound).orElse("") + until.map(bound -> " until " + bound).orElse("");
+    }
+
+    /**
+     * Tests a record of a {@code TransactionArchive} or a transaction of a {@code TransactionList}, given its index.
+     */
+    @FunctionalInterface
+    interface RowMatcher {
+        boolean test(int index);
+    }
+
     @Override
     public boolean equals(Object other) {
         return other == this // short circuit if same object
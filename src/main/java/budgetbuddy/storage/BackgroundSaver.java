@@ -0,0 +1,228 @@
+package budgetbuddy.storage;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.util.logging.Logger;
+
+import budgetbuddy.commons.core.LogsCenter;
+import budgetbuddy.model.AccountsManager;
+import budgetbuddy.model.LoansManager;
+import budgetbuddy.model.RuleManager;
+import budgetbuddy.model.ScriptLibrary;
+
+/**
+ * Saves snapshots of model components on a single background thread.
+ * Snapshots submitted while an earlier snapshot is being written are coalesced,
+ * so that only the latest version of each component is written.
+ */
+class BackgroundSaver {
+
+    private static final Logger logger = LogsCenter.getLogger(BackgroundSaver.class);
+
+    private final Storage storage;
+    private final Object lock = new Object();
+
+    /** Components waiting to be written, or null if there are none. */
+    private Snapshot pending;
+    /** Components which failed to be written, to be retried with the next snapshot or flush. */
+    private Snapshot failed;
+    private IOException failure;
+    private boolean isWriting;
+
+    BackgroundSaver(Storage storage) {
+        requireNonNull(storage);
+        this.storage = storage;
+        Thread writerThread = new Thread(this::writeLoop, "storage-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * Queues {@code snapshot} to be written, replacing any queued versions of the same components.
+     * @throws IOException If an earlier snapshot could not be written. It is retried along with this snapshot.
+     */
+    void submit(Snapshot snapshot) throws IOException {
+        requireNonNull(snapshot);
+        IOException earlierFailure;
+        synchronized (lock) {
+            pending = Snapshot.merge(Snapshot.merge(failed, pending), snapshot);
+            failed = null;
+            earlierFailure = failure;
+            failure = null;
+            lock.notifyAll();
+        }
+        if (earlierFailure != null) {
+            throw earlierFailure;
+        }
+    }
+
+    /**
+     * Blocks until every submitted snapshot has been written.
+     * @throws IOException If any of the snapshots could not be written.
+     */
+    void flush() throws IOException {
+        IOException flushFailure;
+        synchronized (lock) {
+            pending = Snapshot.merge(failed, pending);
+            failed = null;
+            lock.notifyAll();
+            try {
+                while (pending != null || isWriting) {
+                    lock.wait();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while waiting for data to be saved", e);
+            }
+            flushFailure = failure;
+            failure = null;
+        }
+        if (flushFailure != null) {
+            throw flushFailure;
+        }
+    }
+
+    /**
+     * Repeatedly takes all pending components and writes them, until the thread is interrupted.
+     */
+    private void writeLoop() {
+        while (true) {
+            Snapshot toWrite;
+            synchronized (lock) {
+                while (pending == null) {
+                    try {
+                        lock.wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                toWrite = pending;
+                pending = null;
+                isWriting = true;
+            }
+
+            Snapshot notWritten = write(toWrite);
+
+            synchronized (lock) {
+                if (notWritten != null) {
+                    // Newer versions of the same components supersede the ones which failed to be written
+                    failed = notWritten.without(pending);
+                }
+                isWriting = false;
+                lock.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Writes the components in {@code snapshot}.
+     * @return The components which could not be written, or null if all of them were written.
+     */
+    private Snapshot write(Snapshot snapshot) {
+        AccountsManager accountsManager = snapshot.accountsManager;
+        LoansManager loansManager = snapshot.loansManager;
+        RuleManager ruleManager = snapshot.ruleManager;
+        ScriptLibrary scriptLibrary = snapshot.scriptLibrary;
+        IOException firstFailure = null;
+
+        try {
+            if (accountsManager != null) {
+                storage.saveAccounts(accountsManager);
+                accountsManager = null;
+            }
+        } catch (IOException e) {
+            firstFailure = e;
+        }
+        try {
+            if (loansManager != null) {
+                storage.saveLoans(loansManager);
+                loansManager = null;
+            }
+        } catch (IOException e) {
+            firstFailure = firstFailure == null ? e : firstFailure;
+        }
+        try {
+            if (ruleManager != null) {
+                storage.saveRules(ruleManager);
+                ruleManager = null;
+            }
+        } catch (IOException e) {
+            firstFailure = firstFailure == null ? e : firstFailure;
+        }
+        try {
+            if (scriptLibrary != null) {
+                storage.saveScripts(scriptLibrary);
+                scriptLibrary = null;
+            }
+        } catch (IOException e) {
+            firstFailure = firstFailure == null ? e : firstFailure;
+        }
+
+        if (firstFailure == null) {
+            return null;
+        }
+        logger.warning("Failed to save data in the background: " + firstFailure);
+        synchronized (lock) {
+            failure = firstFailure;
+        }
+        return new Snapshot(accountsManager, loansManager, ruleManager, scriptLibrary);
+    }
+
+    /**
+     * Copies of the model components to write. Components which do not need to be written are null.
+     * The components must not be modified after the snapshot is submitted.
+     */
+    static class Snapshot {
+        private final AccountsManager accountsManager;
+        private final LoansManager loansManager;
+        private final RuleManager ruleManager;
+        private final ScriptLibrary scriptLibrary;
+
+        Snapshot(AccountsManager accountsManager, LoansManager loansManager, RuleManager ruleManager,
+                 ScriptLibrary scriptLibrary) {
+            this.accountsManager = accountsManager;
+            this.loansManager = loansManager;
+            this.ruleManager = ruleManager;
+            this.scriptLibrary = scriptLibrary;
+        }
+
+        boolean isEmpty() {
+            return accountsManager == null && loansManager == null && ruleManager == null && scriptLibrary == null;
+        }
+
+        /**
+         * Returns a snapshot with the components of {@code newer}, and the components of {@code older}
+         * which are not in {@code newer}. Either snapshot may be null.
+         */
+        static Snapshot merge(Snapshot older, Snapshot newer) {
+            if (older == null) {
+                return newer;
+            }
+            if (newer == null) {
+                return older;
+            }
+            return new Snapshot(
+                    newer.accountsManager != null ? newer.accountsManager : older.accountsManager,
+                    newer.loansManager != null ? newer.loansManager : older.loansManager,
+                    newer.ruleManager != null ? newer.ruleManager : older.ruleManager,
+                    newer.scriptLibrary != null ? newer.scriptLibrary : older.scriptLibrary);
+        }
+
+        /**
+         * Returns this snapshot without the components which are also in {@code other},
+         * or null if no components are left. {@code other} may be null.
+         */
+        Snapshot without(Snapshot other) {
+            if (other == null) {
+                return this;
+            }
+            Snapshot remaining = new Snapshot(
+                    other.accountsManager == null ? accountsManager : null,
+                    other.loansManager == null ? loansManager : null,
+                    other.ruleManager == null ? ruleManager : null,
+                    other.scriptLibrary == null ? scriptLibrary : null);
+            return remaining.isEmpty() ? null : remaining;
+        }
+    }
+}
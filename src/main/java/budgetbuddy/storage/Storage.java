@@ -22,8 +22,19 @@ import budgetbuddy.storage.scripts.ScriptsStorage;
 public interface Storage extends AccountsStorage, LoansStorage, RuleStorage, ScriptsStorage, UserPrefsStorage {
 
 
+    /**
+     * Saves the components of {@code model} which have changed since they were last read or saved.
+     * Depending on the storage, the changes may be written in the background after this method returns.
+     * @throws IOException If the changes, or earlier changes being written in the background, could not be saved.
+     */
     void save(Model model) throws IOException;
 
+    /**
+     * Blocks until all changes passed to {@link #save(Model)} have been written and synced to disk.
+     * @throws IOException If any of the changes could not be saved.
+     */
+    void flush() throws IOException;
+
     @Override
     Optional<UserPrefs> readUserPrefs() throws DataConversionException, IOException;
 
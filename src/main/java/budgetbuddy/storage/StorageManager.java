@@ -2,18 +2,28 @@ package budgetbuddy.storage;
 
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.ToLongFunction;
 import java.util.logging.Logger;
 
 import budgetbuddy.commons.core.LogsCenter;
+import budgetbuddy.commons.core.StorageSettings.Durability;
 import budgetbuddy.commons.exceptions.DataConversionException;
+import budgetbuddy.commons.util.AtomicFileWriter;
 import budgetbuddy.model.AccountsManager;
 import budgetbuddy.model.LoansManager;
 import budgetbuddy.model.Model;
 import budgetbuddy.model.ReadOnlyUserPrefs;
 import budgetbuddy.model.RuleManager;
 import budgetbuddy.model.ScriptLibrary;
+import budgetbuddy.model.ScriptLibraryManager;
 import budgetbuddy.model.UserPrefs;
+import budgetbuddy.model.account.Account;
+import budgetbuddy.model.transaction.TransactionList;
 import budgetbuddy.storage.accounts.AccountsStorage;
 import budgetbuddy.storage.loans.LoansStorage;
 import budgetbuddy.storage.rules.RuleStorage;
@@ -32,23 +42,127 @@ public class StorageManager implements Storage {
     private ScriptsStorage scriptsStorage;
     private UserPrefsStorage userPrefsStorage;
 
+    private final SavedState<AccountsManager> savedAccounts = new SavedState<>(AccountsManager::getGeneration);
+    private final SavedState<LoansManager> savedLoans = new SavedState<>(LoansManager::getGeneration);
+    private final SavedState<RuleManager> savedRules = new SavedState<>(RuleManager::getGeneration);
+    private final SavedState<ScriptLibrary> savedScripts = new SavedState<>(ScriptLibrary::getGeneration);
+
+    /** The components last handed to {@code backgroundSaver}, if saving asynchronously. */
+    private final SavedState<AccountsManager> submittedAccounts = new SavedState<>(AccountsManager::getGeneration);
+    private final SavedState<LoansManager> submittedLoans = new SavedState<>(LoansManager::getGeneration);
+    private final SavedState<RuleManager> submittedRules = new SavedState<>(RuleManager::getGeneration);
+    private final SavedState<ScriptLibrary> submittedScripts = new SavedState<>(ScriptLibrary::getGeneration);
+    /** Copies of the transaction lists of the accounts last handed to {@code backgroundSaver}, by account. */
+    private Map<Account, SubmittedTransactions> submittedTransactions = new IdentityHashMap<>();
+    private final BackgroundSaver backgroundSaver;
 
     public StorageManager(AccountsStorage accountsStorage, LoansStorage loansStorage, RuleStorage ruleStorage,
                           ScriptsStorage scriptsStorage, UserPrefsStorage userPrefsStorage) {
+        this(accountsStorage, loansStorage, ruleStorage, scriptsStorage, userPrefsStorage, Durability.SYNCHRONOUS);
+    }
+
+    /**
+     * Creates a storage manager which saves the model either before {@link #save(Model)} returns,
+     * or on a background thread, according to {@code durability}.
+     */
+    public StorageManager(AccountsStorage accountsStorage, LoansStorage loansStorage, RuleStorage ruleStorage,
+                          ScriptsStorage scriptsStorage, UserPrefsStorage userPrefsStorage, Durability durability) {
         super();
         this.loansStorage = loansStorage;
         this.ruleStorage = ruleStorage;
         this.scriptsStorage = scriptsStorage;
         this.accountsStorage = accountsStorage;
         this.userPrefsStorage = userPrefsStorage;
+        this.backgroundSaver = durability == Durability.ASYNCHRONOUS ? new BackgroundSaver(this) : null;
     }
 
+    /**
+     * Saves the components of {@code model} which have changed since they were last read or saved.
+     */
     @Override
     public void save(Model model) throws IOException {
-        saveAccounts(model.getAccountsManager());
-        saveLoans(model.getLoansManager());
-        saveRules(model.getRuleManager());
-        saveScripts(model.getScriptLibrary());
+        if (backgroundSaver != null) {
+            submit(model);
+            return;
+        }
+
+        if (!savedAccounts.isUpToDate(model.getAccountsManager())) {
+            saveAccounts(model.getAccountsManager());
+        }
+        if (!savedLoans.isUpToDate(model.getLoansManager())) {
+            saveLoans(model.getLoansManager());
+        }
+        if (!savedRules.isUpToDate(model.getRuleManager())) {
+            saveRules(model.getRuleManager());
+        }
+        if (!savedScripts.isUpToDate(model.getScriptLibrary())) {
+            saveScripts(model.getScriptLibrary());
+        }
+    }
+
+    /**
+     * Hands copies of the components of {@code model} which have changed since they were last submitted
+     * to the background saver. Bursts of changes are coalesced by the background saver.
+     */
+    private void submit(Model model) throws IOException {
+        AccountsManager accountsManager = model.getAccountsManager();
+        LoansManager loansManager = model.getLoansManager();
+        RuleManager ruleManager = model.getRuleManager();
+        ScriptLibrary scriptLibrary = model.getScriptLibrary();
+
+        BackgroundSaver.Snapshot snapshot = new BackgroundSaver.Snapshot(
+                submittedAccounts.isUpToDate(accountsManager) ? null : copyOf(accountsManager),
+                submittedLoans.isUpToDate(loansManager)
+                        ? null
+                        : new LoansManager(loansManager.getLoans(), loansManager.getDebtors()),
+                submittedRules.isUpToDate(ruleManager) ? null : new RuleManager(ruleManager.getRules()),
+                submittedScripts.isUpToDate(scriptLibrary)
+                        ? null
+                        : new ScriptLibraryManager(scriptLibrary.getScriptList()));
+        if (snapshot.isEmpty()) {
+            return;
+        }
+
+        submittedAccounts.markSaved(accountsManager);
+        submittedLoans.markSaved(loansManager);
+        submittedRules.markSaved(ruleManager);
+        submittedScripts.markSaved(scriptLibrary);
+        backgroundSaver.submit(snapshot);
+    }
+
+    /**
+     * Returns a copy of {@code accountsManager} whose accounts and transaction lists can be saved
+     * while the original is being modified. Transactions and archives are immutable, so they are shared.
+     * Only the transaction lists of accounts which changed since they were last submitted are copied; the copies
+     * made then are reused for the others. Accounts whose transactions have not been loaded are copied without
+     * loading them.
+     */
+    private AccountsManager copyOf(AccountsManager accountsManager) {
+        Map<Account, SubmittedTransactions> copies = new IdentityHashMap<>();
+        List<Account> accounts = new ArrayList<>();
+        for (Account account : accountsManager.getAccounts()) {
+            if (!account.isTransactionListLoaded()) {
+                accounts.add(account.copyUnloaded());
+                continue;
+            }
+            SubmittedTransactions submitted = submittedTransactions.get(account);
+            if (submitted == null || submitted.generation != account.getGeneration()) {
+                submitted = new SubmittedTransactions(account);
+            }
+            copies.put(account, submitted);
+            accounts.add(new Account(account.getName(), account.getDescription(), submitted.transactionList,
+                    account.getBalance(), account.getArchive()));
+        }
+        submittedTransactions = copies;
+        return new AccountsManager(accounts, accountsManager.getActiveAccountIndex());
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (backgroundSaver != null) {
+            backgroundSaver.flush();
+        }
+        AtomicFileWriter.syncPending();
     }
 
     // ================ UserPrefs methods ==============================
@@ -83,7 +197,12 @@ public class StorageManager implements Storage {
     @Override
     public Optional<LoansManager> readLoans(Path filePath) throws DataConversionException, IOException {
         logger.fine("Attempting to read data from file: " + filePath);
-        return loansStorage.readLoans(filePath);
+        Optional<LoansManager> loansManager = loansStorage.readLoans(filePath);
+        if (filePath.equals(getLoansFilePath())) {
+            loansManager.ifPresent(savedLoans::markSaved);
+            loansManager.ifPresent(submittedLoans::markSaved);
+        }
+        return loansManager;
     }
 
     @Override
@@ -95,6 +214,9 @@ public class StorageManager implements Storage {
     public void saveLoans(LoansManager loansManager, Path filePath) throws IOException {
         logger.fine("Attempting to write to data file: " + filePath);
         loansStorage.saveLoans(loansManager, filePath);
+        if (filePath.equals(getLoansFilePath())) {
+            savedLoans.markSaved(loansManager);
+        }
     }
 
     // ================ Rule Storage methods ==============================
@@ -112,7 +234,12 @@ public class StorageManager implements Storage {
     @Override
     public Optional<RuleManager> readRules(Path filePath) throws DataConversionException, IOException {
         logger.fine("Attempting to read data from file: " + filePath);
-        return ruleStorage.readRules(filePath);
+        Optional<RuleManager> ruleManager = ruleStorage.readRules(filePath);
+        if (filePath.equals(getRuleFilePath())) {
+            ruleManager.ifPresent(savedRules::markSaved);
+            ruleManager.ifPresent(submittedRules::markSaved);
+        }
+        return ruleManager;
     }
 
     @Override
@@ -124,6 +251,9 @@ public class StorageManager implements Storage {
     public void saveRules(RuleManager ruleManager, Path filePath) throws IOException {
         logger.fine("Attempting to write to data file: " + filePath);
         ruleStorage.saveRules(ruleManager, filePath);
+        if (filePath.equals(getRuleFilePath())) {
+            savedRules.markSaved(ruleManager);
+        }
     }
 
     @Override
@@ -133,12 +263,20 @@ public class StorageManager implements Storage {
 
     @Override
     public ScriptLibrary readScripts(Path scriptsPath) throws IOException, ScriptsStorageException {
-        return scriptsStorage.readScripts(scriptsPath);
+        ScriptLibrary scriptLibrary = scriptsStorage.readScripts(scriptsPath);
+        if (scriptsPath.equals(getScriptsPath())) {
+            savedScripts.markSaved(scriptLibrary);
+            submittedScripts.markSaved(scriptLibrary);
+        }
+        return scriptLibrary;
     }
 
     @Override
     public void saveScripts(ScriptLibrary scripts, Path scriptsPath) throws IOException {
         scriptsStorage.saveScripts(scripts, scriptsPath);
+        if (scriptsPath.equals(getScriptsPath())) {
+            savedScripts.markSaved(scripts);
+        }
     }
 
     // ================ Account Storage methods ==============================
@@ -156,7 +294,12 @@ public class StorageManager implements Storage {
     @Override
     public Optional<AccountsManager> readAccounts(Path filePath) throws DataConversionException, IOException {
         logger.fine("Attempting to read data from file: " + filePath);
-        return accountsStorage.readAccounts(filePath);
+        Optional<AccountsManager> accountsManager = accountsStorage.readAccounts(filePath);
+        if (filePath.equals(getAccountsFilePath())) {
+            accountsManager.ifPresent(savedAccounts::markSaved);
+            accountsManager.ifPresent(submittedAccounts::markSaved);
+        }
+        return accountsManager;
     }
 
     @Override
@@ -168,5 +311,49 @@ public class StorageManager implements Storage {
     public void saveAccounts(AccountsManager accountsManager, Path filePath) throws IOException {
         logger.fine("Attempting to write to data file: " + filePath);
         accountsStorage.saveAccounts(accountsManager, filePath);
+        if (filePath.equals(getAccountsFilePath())) {
+            savedAccounts.markSaved(accountsManager);
+        }
+    }
+
+    /**
+     * A copy of the transaction list of an account, made when the account was at {@code generation}.
+     * The copy is never modified, so it is shared by every snapshot in which the account is unchanged.
+     */
+    private static class SubmittedTransactions {
+        private final long generation;
+        private final TransactionList transactionList = new TransactionList();
+
+        SubmittedTransactions(Account account) {
+            generation = account.getGeneration();
+            transactionList.setAll(account.getTransactionList());
+        }
+    }
+
+    /**
+     * Remembers the generation at which a model component was last read from or saved to its default location.
+     */
+    private static class SavedState<T> {
+        private final ToLongFunction<T> generationOf;
+        private T saved;
+        private long savedGeneration;
+
+        SavedState(ToLongFunction<T> generationOf) {
+            this.generationOf = generationOf;
+        }
+
+        void markSaved(T component) {
+            saved = component;
+            savedGeneration = generationOf.applyAsLong(component);
+        }
+
+        /**
+         * Returns true if {@code component} is the component last saved, and has not changed since.
+         * Only the identity and the generation are checked, so the check never loads or compares the contents
+         * of the component; a copy of the saved component is saved again.
+         */
+        boolean isUpToDate(T component) {
+            return component == saved && savedGeneration == generationOf.applyAsLong(component);
+        }
     }
 }
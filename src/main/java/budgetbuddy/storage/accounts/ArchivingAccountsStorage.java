@@ -0,0 +1,554 @@
+package budgetbuddy.storage.accounts;
+
+import static budgetbuddy.commons.util.CollectionUtil.requireAllNonNull;
+import static java.util.Objects.requireNonNull;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.logging.Logger;
+
+import budgetbuddy.commons.core.LogsCenter;
+import budgetbuddy.commons.exceptions.DataConversionException;
+import budgetbuddy.commons.exceptions.IllegalValueException;
+import budgetbuddy.commons.util.AtomicFileWriter;
+import budgetbuddy.model.AccountsManager;
+import budgetbuddy.model.account.Account;
+import budgetbuddy.model.attributes.Category;
+import budgetbuddy.model.attributes.Description;
+import budgetbuddy.model.attributes.Name;
+import budgetbuddy.model.transaction.Transaction;
+import budgetbuddy.model.transaction.TransactionArchive;
+import budgetbuddy.model.transaction.TransactionList;
+
+/**
+ * An {@code AccountsStorage} which moves old transactions out of another accounts storage, into read-only
+ * archive files which are memory-mapped when they are read, so that old transactions are not held on the heap.
+ *
+ * Each archive file holds the old transactions of one account as fixed-width records, in the layout of
+ * {@link TransactionArchive}, after the name of the account, the archive cutoff and the category and description
+ * dictionaries. When the accounts are saved, every transaction dated before the cutoff is moved into the archive
+ * of its account, and the other storage is given only the remaining transactions.
+ *
+ * Archive files are never overwritten. A changed archive is written to a new file before the other storage is
+ * saved, and the old file is only deleted after that. If the app stops in between, the other storage still holds
+ * transactions dated before the cutoff of the new archive, which are dropped when the accounts are next read.
+ */
+public class ArchivingAccountsStorage implements AccountsStorage {
+
+    public static final String DIRECTORY_SUFFIX = ".archive";
+
+    static final String ARCHIVE_PREFIX = "archive-";
+    static final String ARCHIVE_SUFFIX = ".bin";
+    static final String UNREADABLE_ARCHIVE_SUFFIX = ".unreadable";
+
+    private static final int MAGIC = 0x42424152; // "BBAR"
+    private static final int VERSION = 1;
+    private static final int COPY_BUFFER_SIZE = 8192;
+
+    private static final Logger logger = LogsCenter.getLogger(ArchivingAccountsStorage.class);
+
+    private final AccountsStorage accountsStorage;
+    private final Path directory;
+    private final int archiveAfterDays;
+    private final Clock clock;
+
+    /** The archive files in {@link #directory}, by the name of the account they hold, as of the last read or save. */
+    private Map<Name, ArchiveFile> archiveFiles = new HashMap<>();
+
+    /**
+     * Creates a storage which archives the transactions in {@code accountsStorage} which are more than
+     * {@code archiveAfterDays} days old, in files in {@code directory}.
+     */
+    public ArchivingAccountsStorage(AccountsStorage accountsStorage, Path directory, int archiveAfterDays) {
+        this(accountsStorage, directory, archiveAfterDays, Clock.systemDefaultZone());
+    }
+
+    ArchivingAccountsStorage(AccountsStorage accountsStorage, Path directory, int archiveAfterDays, Clock clock) {
+        requireAllNonNull(accountsStorage, directory, clock);
+        if (archiveAfterDays <= 0) {
+            throw new IllegalArgumentException("Transactions can only be archived after a positive number of days");
+        }
+        this.accountsStorage = accountsStorage;
+        this.directory = directory;
+        this.archiveAfterDays = archiveAfterDays;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the directory in which the archives for the json accounts file at {@code jsonFilePath} are kept.
+     * For example, the archives for {@code data/accounts.json} are kept in {@code data/accounts.archive}.
+     */
+    public static Path toArchiveDirectory(Path jsonFilePath) {
+        String fileName = jsonFilePath.getFileName().toString();
+        int extensionIndex = fileName.lastIndexOf('.');
+        String baseName = extensionIndex > 0 ? fileName.substring(0, extensionIndex) : fileName;
+        return jsonFilePath.resolveSibling(baseName + DIRECTORY_SUFFIX);
+    }
+
+    @Override
+    public Path getAccountsFilePath() {
+        return accountsStorage.getAccountsFilePath();
+    }
+
+    public Path getArchiveDirectory() {
+        return directory;
+    }
+
+    @Override
+    public Optional<AccountsManager> readAccounts() throws DataConversionException, IOException {
+        return readAccounts(accountsStorage.getAccountsFilePath());
+    }
+
+    /**
+     * Similar to {@link #readAccounts()}.
+     * The archives are only attached to accounts read from the file of the other storage.
+     * @param filePath Location of the data. Cannot be null.
+     * @throws DataConversionException If the data file is not in the correct format.
+     */
+    @Override
+    public synchronized Optional<AccountsManager> readAccounts(Path filePath)
+            throws DataConversionException, IOException {
+        requireNonNull(filePath);
+
+        Optional<AccountsManager> accountsManager = accountsStorage.readAccounts(filePath);
+        if (accountsManager.isEmpty() || !filePath.equals(accountsStorage.getAccountsFilePath())) {
+            return accountsManager;
+        }
+
+        Map<Name, ArchiveFile> readArchiveFiles = readArchiveFiles();
+        List<Account> accounts = new ArrayList<>();
+        for (Account account : accountsManager.get().getAccounts()) {
+            ArchiveFile archiveFile = readArchiveFiles.get(account.getName());
+            if (archiveFile == null) {
+                accounts.add(account);
+                continue;
+            }
+            Account archivedAccount = withArchive(account, archiveFile.archive);
+            archiveFile.markSaved(archivedAccount, archivedAccount);
+            accounts.add(archivedAccount);
+        }
+        archiveFiles = readArchiveFiles;
+        return Optional.of(new AccountsManager(accounts, accountsManager.get().getActiveAccountIndex()));
+    }
+
+    @Override
+    public void saveAccounts(AccountsManager accountsManager) throws IOException {
+        saveAccounts(accountsManager, accountsStorage.getAccountsFilePath());
+    }
+
+    /**
+     * Similar to {@link #saveAccounts(AccountsManager)}.
+     * Accounts saved to any file other than the file of the other storage are saved with their archived
+     * transactions, and no archives are written.
+     *
+     * @param filePath Location of the data. Cannot be null.
+     */
+    @Override
+    public synchronized void saveAccounts(AccountsManager accountsManager, Path filePath) throws IOException {
+        requireAllNonNull(accountsManager, filePath);
+
+        if (!filePath.equals(accountsStorage.getAccountsFilePath())) {
+            List<Account> accounts = new ArrayList<>();
+            for (Account account : accountsManager.getAccounts()) {
+                accounts.add(withoutArchive(account));
+            }
+            accountsStorage.saveAccounts(new AccountsManager(accounts, accountsManager.getActiveAccountIndex()),
+                    filePath);
+            return;
+        }
+
+        LocalDate cutoff = LocalDate.now(clock).minusDays(archiveAfterDays);
+        Set<String> existingFileNames = listArchiveFileNames();
+        long nextArchiveId = nextArchiveId(existingFileNames);
+
+        Map<Name, ArchiveFile> savedArchiveFiles = new HashMap<>();
+        List<Account> accounts = new ArrayList<>();
+        boolean isChanged = false;
+        for (Account account : accountsManager.getAccounts()) {
+            ArchiveFile archiveFile = archiveFiles.get(account.getName());
+            Account toSave = account;
+            if (archiveFile != null && archiveFile.isUpToDate(account)) {
+                toSave = archiveFile.savedAccount;
+            } else if (!account.isTransactionListLoaded()) {
+                // the account is unchanged since it was read, apart from the name it may have been given
+                if (archiveFile == null || archiveFile.archive != account.getArchive()) {
+                    archiveFile = account.getArchive().isEmpty()
+                            ? null
+                            : writeArchive(account.getName(), account.getArchive(), nextArchiveId++);
+                }
+            } else {
+                Account archivedAccount = archive(account, cutoff);
+                TransactionArchive archive = archivedAccount.getArchive();
+                if (archive.isEmpty()) {
+                    archiveFile = null;
+                } else if (archiveFile == null || !isSameArchive(archiveFile.archive, archive)) {
+                    archiveFile = writeArchive(account.getName(), archive, nextArchiveId++);
+                }
+                if (archivedAccount.getTransactionList().getTransactionsCount()
+                        != account.getTransactionList().getTransactionsCount()) {
+                    toSave = archivedAccount;
+                }
+                if (archiveFile != null) {
+                    archiveFile.markSaved(account, toSave);
+                }
+            }
+            if (archiveFile != null) {
+                savedArchiveFiles.put(account.getName(), archiveFile);
+            }
+            isChanged |= toSave != account;
+            accounts.add(toSave);
+        }
+
+        accountsStorage.saveAccounts(isChanged
+                ? new AccountsManager(accounts, accountsManager.getActiveAccountIndex())
+                : accountsManager);
+
+        Set<String> referencedFileNames = new HashSet<>();
+        savedArchiveFiles.values().forEach(archiveFile -> referencedFileNames.add(archiveFile.fileName));
+        for (String fileName : existingFileNames) {
+            if (!referencedFileNames.contains(fileName)) {
+                deleteArchiveFile(directory.resolve(fileName));
+            }
+        }
+        archiveFiles = savedArchiveFiles;
+    }
+
+    /**
+     * Returns a copy of {@code account} whose archive also holds the transactions of its transaction list
+     * which are dated before {@code cutoff}, or before the cutoff of its archive if that is later.
+     * Returns {@code account} itself if none of its transactions are to be archived.
+     *
+     * A transaction whose categories do not fit in the archive is kept in the transaction list, and the cutoff
+     * of the new archive is moved back to its date, so that every transaction dated before the cutoff is archived.
+     */
+    private static Account archive(Account account, LocalDate cutoff) {
+        TransactionArchive oldArchive = account.getArchive();
+        LocalDate archiveCutoff = cutoff.isAfter(oldArchive.getCutoff()) ? cutoff : oldArchive.getCutoff();
+        TransactionArchive.Builder builder = new TransactionArchive.Builder(oldArchive);
+        TransactionList transactionList = new TransactionList();
+        List<Transaction> remaining = new ArrayList<>();
+        for (Transaction transaction : account.getTransactionList()) {
+            if (!transaction.getLocalDate().isBefore(archiveCutoff)) {
+                remaining.add(transaction);
+            } else if (builder.canAdd(transaction)) {
+                builder.add(transaction);
+            } else {
+                remaining.add(transaction);
+                archiveCutoff = transaction.getLocalDate();
+            }
+        }
+        if (remaining.size() == account.getTransactionList().getTransactionsCount()) {
+            return account;
+        }
+        transactionList.addAll(remaining);
+        return new Account(account.getName(), account.getDescription(), transactionList, account.getBalance(),
+                builder.build(archiveCutoff));
+    }
+
+    /**
+     * Returns a copy of {@code account} with {@code archive}, whose transaction list leaves out the transactions
+     * dated before the cutoff of {@code archive}, since those have been archived.
+     * The transaction list of an account which has not been loaded is only filtered once it is loaded.
+     */
+    private static Account withArchive(Account account, TransactionArchive archive) {
+        if (account.isTransactionListLoaded()) {
+            return new Account(account.getName(), account.getDescription(),
+                    withoutArchived(account.getTransactionList(), archive), account.getBalance(), archive);
+        }
+        return new Account(account.getName(), account.getDescription(), account.getBalance(), () ->
+                withoutArchived(account.getTransactionList(), archive), archive);
+    }
+
+    /**
+     * Returns the transactions of {@code transactionList} which are not archived in {@code archive}.
+     */
+    private static TransactionList withoutArchived(TransactionList transactionList, TransactionArchive archive) {
+        List<Transaction> remaining = new ArrayList<>();
+        for (Transaction transaction : transactionList) {
+            if (!transaction.getLocalDate().isBefore(archive.getCutoff())) {
+                remaining.add(transaction);
+            }
+        }
+        if (remaining.size() == transactionList.getTransactionsCount()) {
+            return transactionList;
+        }
+        TransactionList filtered = new TransactionList();
+        filtered.addAll(remaining);
+        return filtered;
+    }
+
+    /**
+     * Returns a copy of {@code account} whose transaction list also holds its archived transactions,
+     * or {@code account} if it has no archived transactions.
+     */
+    private static Account withoutArchive(Account account) {
+        if (account.getArchive().isEmpty()) {
+            return account;
+        }
+        TransactionList transactionList = new TransactionList();
+        transactionList.addAll(account.getArchive().select(transaction -> true));
+        for (Transaction transaction : account.getTransactionList()) {
+            transactionList.add(transaction);
+        }
+        return new Account(account.getName(), account.getDescription(), transactionList, account.getBalance());
+    }
+
+    /**
+     * Returns true if both archives would be written to identical files.
+     */
+    private static boolean isSameArchive(TransactionArchive archive, TransactionArchive other) {
+        return archive.getCutoff().equals(other.getCutoff())
+                && archive.getRecords().equals(other.getRecords())
+                && archive.getCategoryDictionary().equals(other.getCategoryDictionary())
+                && archive.getDescriptionDictionary().equals(other.getDescriptionDictionary());
+    }
+
+    /**
+     * Writes {@code archive}, holding the archived transactions of the account named {@code name},
+     * to a new file with the id {@code archiveId}, and returns the file with the archive mapped from it.
+     */
+    private ArchiveFile writeArchive(Name name, TransactionArchive archive, long archiveId) throws IOException {
+        Path filePath = directory.resolve(ARCHIVE_PREFIX + archiveId + ARCHIVE_SUFFIX);
+        AtomicFileWriter.write(filePath, out -> {
+            DataOutputStream data = new DataOutputStream(out);
+            data.writeInt(MAGIC);
+            data.writeInt(VERSION);
+            writeString(data, name.toString());
+            data.writeLong(archive.getCutoff().toEpochDay());
+            data.writeInt(archive.getCategoryDictionary().size());
+            data.writeInt(archive.getDescriptionDictionary().size());
+            data.writeInt(archive.size());
+            for (Category category : archive.getCategoryDictionary()) {
+                writeString(data, category.getCategory());
+            }
+            for (String description : archive.getDescriptionDictionary()) {
+                writeString(data, description);
+            }
+            ByteBuffer records = archive.getRecords();
+            byte[] chunk = new byte[COPY_BUFFER_SIZE];
+            while (records.hasRemaining()) {
+                int length = Math.min(chunk.length, records.remaining());
+                records.get(chunk, 0, length);
+                data.write(chunk, 0, length);
+            }
+            data.flush();
+        });
+
+        try {
+            return mapArchiveFile(filePath);
+        } catch (IllegalValueException e) {
+            throw new IOException("Unable to read back " + filePath, e);
+        }
+    }
+
+    private static void writeString(DataOutputStream data, String string) throws IOException {
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        data.writeInt(bytes.length);
+        data.write(bytes);
+    }
+
+    /**
+     * Maps the newest archive file of each account in {@link #directory}.
+     * Archive files which cannot be read are moved aside, so that they can be recovered by hand.
+     */
+    private Map<Name, ArchiveFile> readArchiveFiles() throws IOException {
+        Map<Name, ArchiveFile> readArchiveFiles = new HashMap<>();
+        Map<Name, Long> readArchiveIds = new HashMap<>();
+        for (String fileName : listArchiveFileNames()) {
+            Path filePath = directory.resolve(fileName);
+            ArchiveFile archiveFile;
+            try {
+                archiveFile = mapArchiveFile(filePath);
+            } catch (IllegalValueException e) {
+                Path movedPath = filePath.resolveSibling(fileName + UNREADABLE_ARCHIVE_SUFFIX);
+                logger.warning("Unable to read archived transactions from " + filePath + ", moving it to "
+                        + movedPath + ": " + e.getMessage());
+                Files.move(filePath, movedPath, StandardCopyOption.REPLACE_EXISTING);
+                continue;
+            }
+            long archiveId = toArchiveId(fileName);
+            Long newestArchiveId = readArchiveIds.get(archiveFile.name);
+            if (newestArchiveId == null || archiveId > newestArchiveId) {
+                readArchiveFiles.put(archiveFile.name, archiveFile);
+                readArchiveIds.put(archiveFile.name, archiveId);
+            }
+        }
+        return readArchiveFiles;
+    }
+
+    /**
+     * Maps the archive file at {@code filePath}, and checks every record in it.
+     * @throws IllegalValueException If the file is not an archive file, or any of its records is invalid.
+     */
+    private static ArchiveFile mapArchiveFile(Path filePath) throws IllegalValueException, IOException {
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        try {
+            if (buffer.getInt() != MAGIC) {
+                throw new IllegalValueException("Not an archive file");
+            }
+            int version = buffer.getInt();
+            if (version != VERSION) {
+                throw new IllegalValueException("Unsupported archive version " + version);
+            }
+            String name = readString(buffer);
+            if (!Name.isValidName(name)) {
+                throw new IllegalValueException(Name.MESSAGE_CONSTRAINTS);
+            }
+            LocalDate cutoff = LocalDate.ofEpochDay(buffer.getLong());
+            int categoryCount = buffer.getInt();
+            int descriptionCount = buffer.getInt();
+            int recordCount = buffer.getInt();
+            if (categoryCount < 0 || categoryCount > TransactionArchive.MAX_CATEGORIES
+                    || descriptionCount < 0 || recordCount < 0) {
+                throw new IllegalValueException("Invalid archive header");
+            }
+
+            List<Category> categories = new ArrayList<>();
+            for (int i = 0; i < categoryCount; i++) {
+                String category = readString(buffer);
+                if (!Category.isValidCategory(category)) {
+                    throw new IllegalValueException(Category.MESSAGE_CONSTRAINTS);
+                }
+                categories.add(new Category(category));
+            }
+            List<String> descriptions = new ArrayList<>();
+            for (int i = 0; i < descriptionCount; i++) {
+                String description = readString(buffer);
+                if (!Description.isValidDescription(description)) {
+                    throw new IllegalValueException(Description.MESSAGE_CONSTRAINTS);
+                }
+                descriptions.add(description);
+            }
+            if ((long) recordCount * TransactionArchive.RECORD_SIZE != buffer.remaining()) {
+                throw new IllegalValueException("Archive ends unexpectedly");
+            }
+
+            TransactionArchive archive = new TransactionArchive(buffer, categories, descriptions, cutoff);
+            archive.checkRecords();
+            return new ArchiveFile(filePath.getFileName().toString(), new Name(name), archive);
+        } catch (BufferUnderflowException e) {
+            throw new IllegalValueException("Archive ends unexpectedly");
+        } catch (DateTimeException | IllegalArgumentException e) {
+            throw new IllegalValueException("Invalid archive: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Reads a string written by {@link #writeString(DataOutputStream, String)}.
+     */
+    private static String readString(ByteBuffer buffer) throws IllegalValueException {
+        int length = buffer.getInt();
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IllegalValueException("Invalid string length " + length);
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Deletes the archive file at {@code filePath}.
+     * Some platforms do not allow a file which is still mapped to be deleted, in which case it is deleted
+     * by a later save.
+     */
+    private static void deleteArchiveFile(Path filePath) {
+        try {
+            Files.deleteIfExists(filePath);
+        } catch (IOException e) {
+            logger.fine("Unable to delete old archive " + filePath + ": " + e);
+        }
+    }
+
+    /**
+     * Returns the names of the archive files in {@link #directory}.
+     */
+    private Set<String> listArchiveFileNames() throws IOException {
+        Set<String> fileNames = new HashSet<>();
+        if (!Files.isDirectory(directory)) {
+            return fileNames;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory,
+                ARCHIVE_PREFIX + "*" + ARCHIVE_SUFFIX)) {
+            files.forEach(file -> fileNames.add(file.getFileName().toString()));
+        }
+        return fileNames;
+    }
+
+    /**
+     * Returns the id in the archive file name {@code fileName}, or -1 if it has none.
+     */
+    private static long toArchiveId(String fileName) {
+        String id = fileName.substring(ARCHIVE_PREFIX.length(), fileName.length() - ARCHIVE_SUFFIX.length());
+        try {
+            return Long.parseLong(id);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Returns an id which is not used by any of the archive files in {@code fileNames}.
+     */
+    private static long nextArchiveId(Set<String> fileNames) {
+        long nextId = 0;
+        for (String fileName : fileNames) {
+            nextId = Math.max(nextId, toArchiveId(fileName) + 1);
+        }
+        return nextId;
+    }
+
+    /**
+     * A file holding the archived transactions of one account.
+     */
+    private static class ArchiveFile {
+        private final String fileName;
+        private final Name name;
+        private final TransactionArchive archive;
+        /** The account which was last read or saved, and the account with this archive which was saved for it. */
+        private Account account;
+        private long accountGeneration;
+        private Account savedAccount;
+
+        ArchiveFile(String fileName, Name name, TransactionArchive archive) {
+            this.fileName = fileName;
+            this.name = name;
+            this.archive = archive;
+        }
+
+        void markSaved(Account account, Account savedAccount) {
+            this.account = account;
+            this.accountGeneration = account.getGeneration();
+            this.savedAccount = savedAccount;
+        }
+
+        /**
+         * Returns true if {@code account} has not changed since it was last read or saved.
+         */
+        boolean isUpToDate(Account account) {
+            return account == this.account && account.getGeneration() == accountGeneration;
+        }
+    }
+}
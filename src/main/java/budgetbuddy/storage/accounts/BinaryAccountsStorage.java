@@ -0,0 +1,417 @@
+package budgetbuddy.storage.accounts;
+
+import static budgetbuddy.commons.util.CollectionUtil.requireAllNonNull;
+import static java.util.Objects.requireNonNull;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.logging.Logger;
+
+import budgetbuddy.commons.core.LogsCenter;
+import budgetbuddy.commons.core.index.Index;
+import budgetbuddy.commons.exceptions.DataConversionException;
+import budgetbuddy.commons.exceptions.IllegalValueException;
+import budgetbuddy.commons.util.AtomicFileWriter;
+import budgetbuddy.model.AccountsManager;
+import budgetbuddy.model.account.Account;
+import budgetbuddy.model.attributes.Amount;
+import budgetbuddy.model.attributes.Category;
+import budgetbuddy.model.attributes.Description;
+import budgetbuddy.model.attributes.Direction;
+import budgetbuddy.model.attributes.Name;
+import budgetbuddy.model.transaction.Transaction;
+import budgetbuddy.model.transaction.TransactionList;
+
+/**
+ * A class to access AccountsManager data stored as a compact binary file on the hard disk.
+ *
+ * The file starts with a dictionary of every category used, followed by the accounts.
+ * Each transaction is stored as its date in epoch days, its amount, a direction bit, its description
+ * and the dictionary indices of its categories. Counts, lengths and indices are stored as variable-length
+ * integers, and strings are stored as length-prefixed UTF-8.
+ *
+ * Every count and length read is checked against the bytes left in the file before anything is allocated for it,
+ * so a corrupted or truncated file fails to be read instead of exhausting memory.
+ */
+public class BinaryAccountsStorage implements AccountsStorage {
+
+    public static final String FILE_EXTENSION = ".bin";
+
+    private static final int MAGIC = 0x42424143; // "BBAC"
+    private static final int VERSION = 1;
+    private static final int FLAG_DIRECTION_IN = 1;
+
+    /** The fewest bytes in which an account with no transactions can be stored. */
+    private static final int MIN_ACCOUNT_BYTES = 11;
+    /** The fewest bytes in which a transaction with no categories can be stored. */
+    private static final int MIN_TRANSACTION_BYTES = 5;
+
+    private static final String MESSAGE_MALFORMED_INTEGER = "Malformed variable-length integer";
+    private static final String MESSAGE_INVALID_COUNT = "Count %1$d does not fit in the rest of the file";
+
+    private static final Logger logger = LogsCenter.getLogger(BinaryAccountsStorage.class);
+
+    private Path filePath;
+
+    public BinaryAccountsStorage(Path filePath) {
+        this.filePath = filePath;
+    }
+
+    public Path getAccountsFilePath() {
+        return filePath;
+    }
+
+    /**
+     * Returns the path at which the binary equivalent of the json accounts file at {@code jsonFilePath} is kept.
+     * For example, {@code data/accounts.json} is kept at {@code data/accounts.bin}.
+     */
+    public static Path toBinaryFilePath(Path jsonFilePath) {
+        String fileName = jsonFilePath.getFileName().toString();
+        int extensionIndex = fileName.lastIndexOf('.');
+        String baseName = extensionIndex > 0 ? fileName.substring(0, extensionIndex) : fileName;
+        return jsonFilePath.resolveSibling(baseName + FILE_EXTENSION);
+    }
+
+    /**
+     * Converts the json accounts file at {@code jsonFilePath} into a binary accounts file at {@code binaryFilePath}.
+     * @return True if the json file was converted, or false if there is no json file.
+     * @throws DataConversionException If the json file is not in the correct format.
+     */
+    public static boolean convertFromJson(Path jsonFilePath, Path binaryFilePath)
+            throws DataConversionException, IOException {
+        requireAllNonNull(jsonFilePath, binaryFilePath);
+
+        Optional<AccountsManager> accountsManager = new JsonAccountsStorage(jsonFilePath).readAccounts();
+        if (accountsManager.isEmpty()) {
+            return false;
+        }
+        new BinaryAccountsStorage(binaryFilePath).saveAccounts(accountsManager.get());
+        logger.info("Converted " + jsonFilePath + " to " + binaryFilePath);
+        return true;
+    }
+
+    @Override
+    public Optional<AccountsManager> readAccounts() throws DataConversionException, IOException {
+        return readAccounts(filePath);
+    }
+
+    /**
+     * Similar to {@link #readAccounts()}.
+     * @param filePath Location of the data. Cannot be null.
+     * @throws DataConversionException If the data file is not in the correct format.
+     */
+    public Optional<AccountsManager> readAccounts(Path filePath) throws DataConversionException, IOException {
+        requireNonNull(filePath);
+
+        if (!Files.exists(filePath)) {
+            logger.info("Accounts file " + filePath + " not found");
+            return Optional.empty();
+        }
+
+        try (FileDataInputStream in = new FileDataInputStream(filePath)) {
+            return Optional.of(readAccountsManager(in));
+        } catch (EOFException e) {
+            logger.info("Accounts file " + filePath + " ends unexpectedly");
+            throw new DataConversionException(e);
+        } catch (IllegalValueException e) {
+            logger.info("Illegal values found in " + filePath + ": " + e.getMessage());
+            throw new DataConversionException(e);
+        }
+    }
+
+    @Override
+    public void saveAccounts(AccountsManager accountsManager) throws IOException {
+        saveAccounts(accountsManager, filePath);
+    }
+
+    /**
+     * Similar to {@link #saveAccounts(AccountsManager)}
+     *
+     * @param filePath Location of the data. Cannot be null.
+     */
+    public void saveAccounts(AccountsManager accountsManager, Path filePath) throws IOException {
+        requireAllNonNull(accountsManager, filePath);
+
+        AtomicFileWriter.write(filePath, out -> writeAccountsManager(accountsManager, new DataOutputStream(out)));
+    }
+
+    /**
+     * Writes {@code accountsManager} to {@code out}.
+     */
+    private static void writeAccountsManager(AccountsManager accountsManager, DataOutputStream out)
+            throws IOException {
+        List<Account> accounts = accountsManager.getAccounts();
+
+        Map<Category, Integer> categoryIds = new HashMap<>();
+        List<Category> categories = new ArrayList<>();
+        for (Account account : accounts) {
+            for (Transaction transaction : account.getTransactionList()) {
+                for (Category category : transaction.getCategories()) {
+                    if (!categoryIds.containsKey(category)) {
+                        categoryIds.put(category, categories.size());
+                        categories.add(category);
+                    }
+                }
+            }
+        }
+
+        out.writeInt(MAGIC);
+        writeVarInt(out, VERSION);
+        writeVarInt(out, accountsManager.getActiveAccountIndex().getZeroBased());
+
+        writeVarInt(out, categories.size());
+        for (Category category : categories) {
+            writeString(out, category.getCategory());
+        }
+
+        writeVarInt(out, accounts.size());
+        for (Account account : accounts) {
+            writeString(out, account.getName().toString());
+            writeString(out, account.getDescription().toString());
+            out.writeLong(account.getBalance());
+
+            TransactionList transactionList = account.getTransactionList();
+            writeVarInt(out, transactionList.getTransactionsCount());
+            for (Transaction transaction : transactionList) {
+                long epochDay = transaction.getLocalDate().toEpochDay();
+                writeVarLong(out, (epochDay << 1) ^ (epochDay >> 63));
+                writeVarLong(out, transaction.getAmount().toLong());
+                out.writeByte(transaction.getDirection() == Direction.IN ? FLAG_DIRECTION_IN : 0);
+                writeString(out, transaction.getDescription().toString());
+                writeVarInt(out, transaction.getCategories().size());
+                for (Category category : transaction.getCategories()) {
+                    writeVarInt(out, categoryIds.get(category));
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads an {@code AccountsManager} from {@code in}.
+     * @throws IllegalValueException If the data is not in the correct format.
+     */
+    private static AccountsManager readAccountsManager(FileDataInputStream in)
+            throws IOException, IllegalValueException {
+        if (in.readInt() != MAGIC) {
+            throw new IllegalValueException("Not a binary accounts file");
+        }
+        int version = readVarInt(in);
+        if (version != VERSION) {
+            throw new IllegalValueException("Unsupported binary accounts file version: " + version);
+        }
+        int activeAccountIndex = readVarInt(in);
+
+        Category[] categories = new Category[readCount(in, 1)];
+        for (int i = 0; i < categories.length; i++) {
+            String category = readString(in);
+            if (!Category.isValidCategory(category)) {
+                throw new IllegalValueException(Category.MESSAGE_CONSTRAINTS);
+            }
+            categories[i] = new Category(category);
+        }
+
+        int accountCount = readCount(in, MIN_ACCOUNT_BYTES);
+        if (activeAccountIndex >= accountCount) {
+            throw new IllegalValueException("Invalid active account index: " + activeAccountIndex);
+        }
+        List<Account> accounts = new ArrayList<>();
+        for (int i = 0; i < accountCount; i++) {
+            String name = readString(in);
+            if (!Name.isValidName(name)) {
+                throw new IllegalValueException(Name.MESSAGE_CONSTRAINTS);
+            }
+            Description description = readDescription(in);
+            long balance = in.readLong();
+
+            int transactionCount = readCount(in, MIN_TRANSACTION_BYTES);
+            TransactionList transactionList = new TransactionList();
+            for (int j = 0; j < transactionCount; j++) {
+                transactionList.add(readTransaction(in, categories));
+            }
+            accounts.add(new Account(new Name(name), description, transactionList, balance));
+        }
+
+        return new AccountsManager(accounts, Index.fromZeroBased(activeAccountIndex));
+    }
+
+    /**
+     * Reads a {@code Transaction} from {@code in}, looking up its categories in {@code categories}.
+     * @throws IllegalValueException If the transaction is not in the correct format.
+     */
+    private static Transaction readTransaction(FileDataInputStream in, Category[] categories)
+            throws IOException, IllegalValueException {
+        LocalDate date;
+        try {
+            long zigZagEpochDay = readVarLong(in);
+            date = LocalDate.ofEpochDay((zigZagEpochDay >>> 1) ^ -(zigZagEpochDay & 1));
+        } catch (DateTimeException e) {
+            throw new IllegalValueException("Invalid transaction date");
+        }
+        long amount = readVarLong(in);
+        if (!Amount.isValidAmount(amount)) {
+            throw new IllegalValueException(Amount.MESSAGE_CONSTRAINTS);
+        }
+        Direction direction = (in.readByte() & FLAG_DIRECTION_IN) != 0 ? Direction.IN : Direction.OUT;
+        Description description = readDescription(in);
+
+        int categoryCount = readCount(in, 1);
+        Set<Category> transactionCategories = new HashSet<>();
+        for (int i = 0; i < categoryCount; i++) {
+            int categoryId = readVarInt(in);
+            if (categoryId >= categories.length) {
+                throw new IllegalValueException("Unknown category: " + categoryId);
+            }
+            transactionCategories.add(categories[categoryId]);
+        }
+
+        return new Transaction(date, new Amount(amount), direction, description, transactionCategories);
+    }
+
+    /**
+     * Reads a string from {@code in} and validates it as a {@code Description}.
+     * @throws IllegalValueException If the description is invalid.
+     */
+    private static Description readDescription(FileDataInputStream in) throws IOException, IllegalValueException {
+        String description = readString(in);
+        if (!Description.isValidDescription(description)) {
+            throw new IllegalValueException(Description.MESSAGE_CONSTRAINTS);
+        }
+        return new Description(description);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(out, bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(FileDataInputStream in) throws IOException, IllegalValueException {
+        byte[] bytes = new byte[readCount(in, 1)];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads a count of items, each stored in at least {@code minBytesEach} bytes.
+     * @throws IllegalValueException If the items cannot fit in the rest of the file.
+     */
+    private static int readCount(FileDataInputStream in, int minBytesEach) throws IOException, IllegalValueException {
+        int count = readVarInt(in);
+        if ((long) count * minBytesEach > in.getRemaining()) {
+            throw new IllegalValueException(String.format(MESSAGE_INVALID_COUNT, count));
+        }
+        return count;
+    }
+
+    /**
+     * Writes a non-negative {@code value} in as few bytes as possible, 7 bits per byte.
+     * Dates are zig-zag encoded first, so that dates before 1970 are also small.
+     */
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    /**
+     * Reads a value written by {@link #writeVarLong(DataOutputStream, long)}.
+     * @throws IllegalValueException If the value is longer than a long.
+     */
+    private static long readVarLong(DataInputStream in) throws IOException, IllegalValueException {
+        long value = 0;
+        for (int shift = 0; shift < Long.SIZE; shift += 7) {
+            byte b = in.readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalValueException(MESSAGE_MALFORMED_INTEGER);
+    }
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        writeVarLong(out, value);
+    }
+
+    /**
+     * Reads a value written by {@link #writeVarInt(DataOutputStream, int)}.
+     * @throws IllegalValueException If the value does not fit in a non-negative int.
+     */
+    private static int readVarInt(DataInputStream in) throws IOException, IllegalValueException {
+        long value = readVarLong(in);
+        if (value < 0 || value > Integer.MAX_VALUE) {
+            throw new IllegalValueException(MESSAGE_MALFORMED_INTEGER);
+        }
+        return (int) value;
+    }
+
+    /**
+     * A data input stream over a file, which knows how many bytes of the file are left to be read.
+     */
+    private static class FileDataInputStream extends DataInputStream {
+        FileDataInputStream(Path filePath) throws IOException {
+            super(new CountingInputStream(new BufferedInputStream(Files.newInputStream(filePath)),
+                    Files.size(filePath)));
+        }
+
+        long getRemaining() {
+            return ((CountingInputStream) in).remaining;
+        }
+    }
+
+    /**
+     * An input stream which counts down the bytes left to be read from a stream of a known size.
+     */
+    private static class CountingInputStream extends FilterInputStream {
+        private long remaining;
+
+        CountingInputStream(InputStream in, long size) {
+            super(in);
+            remaining = size;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                remaining--;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int count = super.read(b, off, len);
+            if (count > 0) {
+                remaining -= count;
+            }
+            return count;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            remaining -= skipped;
+            return skipped;
+        }
+    }
+}
@@ -0,0 +1,502 @@
+package budgetbuddy.storage.accounts;
+
+import static budgetbuddy.commons.util.CollectionUtil.requireAllNonNull;
+import static java.util.Objects.requireNonNull;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import budgetbuddy.commons.core.LogsCenter;
+import budgetbuddy.commons.core.index.Index;
+import budgetbuddy.commons.exceptions.DataConversionException;
+import budgetbuddy.commons.exceptions.IllegalValueException;
+import budgetbuddy.commons.util.AtomicFileWriter;
+import budgetbuddy.commons.util.FileUtil;
+import budgetbuddy.commons.util.JsonUtil;
+import budgetbuddy.model.AccountsManager;
+import budgetbuddy.model.account.Account;
+import budgetbuddy.model.attributes.Description;
+import budgetbuddy.model.attributes.Name;
+import budgetbuddy.model.transaction.Transaction;
+import budgetbuddy.model.transaction.TransactionList;
+
+/**
+ * A class to access AccountsManager data stored as a json snapshot plus an append-only journal.
+ *
+ * The snapshot is an ordinary accounts json file, readable by {@link JsonAccountsStorage}.
+ * Each save only appends the changes made since the previous save to the journal, one json record per line.
+ * Once the journal grows larger than the snapshot, it is folded into a new snapshot on a background thread.
+ */
+public class JournalAccountsStorage implements AccountsStorage {
+
+    public static final String JOURNAL_SUFFIX = ".journal";
+    public static final String COMPACTING_SUFFIX = ".journal.compacting";
+    public static final String COMPACTED_SUFFIX = ".journal.compacted";
+    public static final String SNAPSHOT_TEMP_SUFFIX = ".snapshot.tmp";
+
+    private static final long DEFAULT_MIN_COMPACTION_BYTES = 256 * 1024;
+
+    private static final Logger logger = LogsCenter.getLogger(JournalAccountsStorage.class);
+
+    private final Path filePath;
+    private final long minCompactionBytes;
+    private final ExecutorService compactor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "accounts-journal-compactor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * The accounts as they are currently persisted, or null if nothing has been read or saved yet.
+     */
+    private List<AccountImage> persistedAccounts;
+    private int persistedActiveIndex;
+    private long journalBytes;
+    private long snapshotBytes;
+    private Future<?> compaction;
+
+    public JournalAccountsStorage(Path filePath) {
+        this(filePath, DEFAULT_MIN_COMPACTION_BYTES);
+    }
+
+    /**
+     * Creates a journal storage which does not compact its journal until it is at least
+     * {@code minCompactionBytes} long.
+     */
+    JournalAccountsStorage(Path filePath, long minCompactionBytes) {
+        this.filePath = filePath;
+        this.minCompactionBytes = minCompactionBytes;
+    }
+
+    public Path getAccountsFilePath() {
+        return filePath;
+    }
+
+    @Override
+    public Optional<AccountsManager> readAccounts() throws DataConversionException, IOException {
+        return readAccounts(filePath);
+    }
+
+    /**
+     * Similar to {@link #readAccounts()}.
+     * Reads the snapshot at {@code filePath} and replays its journal on top of it.
+     * @param filePath Location of the data. Cannot be null.
+     * @throws DataConversionException If the snapshot or the journal is not in the correct format.
+     */
+    public synchronized Optional<AccountsManager> readAccounts(Path filePath)
+            throws DataConversionException, IOException {
+        requireNonNull(filePath);
+        awaitCompaction();
+        recoverInterruptedCompaction(filePath);
+
+        Path compactingJournal = siblingOf(filePath, COMPACTING_SUFFIX);
+        Path journal = siblingOf(filePath, JOURNAL_SUFFIX);
+        Optional<AccountsManager> snapshot = new JsonAccountsStorage(filePath).readAccounts(filePath);
+        if (snapshot.isEmpty() && !Files.exists(compactingJournal) && !Files.exists(journal)) {
+            return Optional.empty();
+        }
+
+        List<AccountImage> accounts = new ArrayList<>();
+        int activeIndex = 0;
+        if (snapshot.isPresent()) {
+            snapshot.get().getAccounts().forEach(account -> accounts.add(new AccountImage(account)));
+            activeIndex = snapshot.get().getActiveAccountIndex().getZeroBased();
+        }
+
+        activeIndex = replayJournal(compactingJournal, accounts, activeIndex);
+        List<AccountImage> compactedAccounts = copyOf(accounts);
+        int compactedActiveIndex = activeIndex;
+        activeIndex = replayJournal(journal, accounts, activeIndex);
+
+        List<Account> accountList = new ArrayList<>();
+        for (AccountImage image : accounts) {
+            Account account = image.toModelType();
+            image.markSaved(account);
+            accountList.add(account);
+        }
+        AccountsManager accountsManager = new AccountsManager(accountList, Index.fromZeroBased(activeIndex));
+
+        if (filePath.equals(this.filePath)) {
+            persistedAccounts = accounts;
+            persistedActiveIndex = activeIndex;
+            journalBytes = Files.exists(journal) ? Files.size(journal) : 0;
+            snapshotBytes = FileUtil.isFileExists(filePath) ? Files.size(filePath) : 0;
+            if (Files.exists(compactingJournal)) {
+                // A compaction was interrupted before it could commit, so start it over.
+                compaction = compactor.submit(() -> compact(compactedAccounts, compactedActiveIndex));
+            }
+        }
+        return Optional.of(accountsManager);
+    }
+
+    @Override
+    public void saveAccounts(AccountsManager accountsManager) throws IOException {
+        saveAccounts(accountsManager, filePath);
+    }
+
+    /**
+     * Similar to {@link #saveAccounts(AccountsManager)}.
+     * Only the changes made since the last save are written, unless nothing has been saved to or read from
+     * {@code filePath} by this storage yet, in which case a full snapshot is written.
+     *
+     * @param filePath Location of the data. Cannot be null.
+     */
+    public synchronized void saveAccounts(AccountsManager accountsManager, Path filePath) throws IOException {
+        requireAllNonNull(accountsManager, filePath);
+
+        if (!filePath.equals(this.filePath)) {
+            new JsonAccountsStorage(filePath).saveAccounts(accountsManager, filePath);
+            return;
+        }
+
+        if (persistedAccounts == null) {
+            awaitCompaction();
+            persistedAccounts = new ArrayList<>();
+            accountsManager.getAccounts().forEach(account -> persistedAccounts.add(new AccountImage(account)));
+            persistedActiveIndex = accountsManager.getActiveAccountIndex().getZeroBased();
+            startCompaction();
+            awaitCompaction();
+            return;
+        }
+
+        List<JsonAdaptedJournalRecord> records = diff(accountsManager);
+        if (records.isEmpty()) {
+            return;
+        }
+
+        StringBuilder lines = new StringBuilder();
+        for (JsonAdaptedJournalRecord record : records) {
+            lines.append(JsonUtil.toCompactJsonString(record)).append('\n');
+        }
+        byte[] bytes = lines.toString().getBytes(StandardCharsets.UTF_8);
+        AtomicFileWriter.append(siblingOf(filePath, JOURNAL_SUFFIX), bytes);
+        journalBytes += bytes.length;
+
+        if (journalBytes >= Math.max(minCompactionBytes, snapshotBytes)) {
+            startCompaction();
+        }
+    }
+
+    /**
+     * Computes the records needed to bring the persisted accounts up to date with {@code accountsManager},
+     * and applies them to the persisted accounts.
+     */
+    private List<JsonAdaptedJournalRecord> diff(AccountsManager accountsManager) {
+        List<JsonAdaptedJournalRecord> records = new ArrayList<>();
+        List<Account> accounts = accountsManager.getAccounts();
+
+        if (accounts.size() != persistedAccounts.size()) {
+            // Accounts are only ever added or removed one at a time, so match up the accounts
+            // at both ends of the list by name and treat the ones in between as removed and re-inserted.
+            int prefix = 0;
+            int maxMatches = Math.min(accounts.size(), persistedAccounts.size());
+            while (prefix < maxMatches
+                    && persistedAccounts.get(prefix).name.equals(accounts.get(prefix).getName())) {
+                prefix++;
+            }
+            int suffix = 0;
+            while (suffix < maxMatches - prefix
+                    && persistedAccounts.get(persistedAccounts.size() - 1 - suffix).name
+                    .equals(accounts.get(accounts.size() - 1 - suffix).getName())) {
+                suffix++;
+            }
+            int removeCount = persistedAccounts.size() - suffix - prefix;
+            for (int i = 0; i < removeCount; i++) {
+                persistedAccounts.remove(prefix);
+                records.add(JsonAdaptedJournalRecord.removeAccount(prefix));
+            }
+            for (int i = prefix; i < accounts.size() - suffix; i++) {
+                persistedAccounts.add(i, new AccountImage(accounts.get(i)));
+                records.add(JsonAdaptedJournalRecord.insertAccount(i, accounts.get(i)));
+            }
+        }
+
+        for (int i = 0; i < accounts.size(); i++) {
+            diffAccount(i, persistedAccounts.get(i), accounts.get(i), records);
+        }
+
+        int activeIndex = accountsManager.getActiveAccountIndex().getZeroBased();
+        if (activeIndex != persistedActiveIndex) {
+            persistedActiveIndex = activeIndex;
+            records.add(JsonAdaptedJournalRecord.setActiveAccount(activeIndex));
+        }
+        return records;
+    }
+
+    /**
+     * Computes the records needed to bring {@code image} up to date with {@code account}, and applies them.
+     * The transactions are only compared if the account changed them since it was last saved, so a save costs
+     * time in proportion to the accounts which changed. Unchanged transactions are found by comparing them,
+     * since a transaction list creates its transactions whenever they are read.
+     */
+    private static void diffAccount(int index, AccountImage image, Account account,
+                                    List<JsonAdaptedJournalRecord> records) {
+        if (!image.name.equals(account.getName()) || !image.description.equals(account.getDescription())
+                || image.balance != account.getBalance()) {
+            image.name = account.getName();
+            image.description = account.getDescription();
+            image.balance = account.getBalance();
+            records.add(JsonAdaptedJournalRecord.updateAccount(index, account));
+        }
+        if (!image.isTransactionListChanged(account)) {
+            return;
+        }
+        image.markSaved(account);
+
+        List<Transaction> persisted = image.transactions;
+        List<Transaction> current = account.getTransactionList().asUnmodifiableObservableList();
+        int maxMatches = Math.min(persisted.size(), current.size());
+        int prefix = 0;
+        while (prefix < maxMatches && persisted.get(prefix).equals(current.get(prefix))) {
+            prefix++;
+        }
+        if (prefix == persisted.size() && prefix == current.size()) {
+            return;
+        }
+        int suffix = 0;
+        while (suffix < maxMatches - prefix
+                && persisted.get(persisted.size() - 1 - suffix).equals(current.get(current.size() - 1 - suffix))) {
+            suffix++;
+        }
+
+        int removeCount = persisted.size() - suffix - prefix;
+        List<Transaction> added = new ArrayList<>(current.subList(prefix, current.size() - suffix));
+        persisted.subList(prefix, prefix + removeCount).clear();
+        persisted.addAll(prefix, added);
+        records.add(JsonAdaptedJournalRecord.spliceTransactions(index, prefix, removeCount, added));
+    }
+
+    /**
+     * Applies the records in {@code journal} to {@code accounts}.
+     * @return The active account index after applying the records.
+     * @throws DataConversionException If a record is malformed or does not apply to {@code accounts}.
+     */
+    private static int replayJournal(Path journal, List<AccountImage> accounts, int activeIndex)
+            throws DataConversionException, IOException {
+        if (!Files.exists(journal)) {
+            return activeIndex;
+        }
+
+        try (BufferedReader reader = Files.newBufferedReader(journal, StandardCharsets.UTF_8)) {
+            String line = reader.readLine();
+            while (line != null) {
+                String nextLine = reader.readLine();
+                JsonAdaptedJournalRecord record;
+                try {
+                    record = JsonUtil.fromJsonString(line, JsonAdaptedJournalRecord.class);
+                } catch (IOException e) {
+                    if (nextLine == null) {
+                        // The last record was only partially written before the app stopped; it never took effect.
+                        logger.warning("Ignoring incomplete last record in " + journal + ": " + e);
+                        break;
+                    }
+                    throw new DataConversionException(e);
+                }
+                activeIndex = applyRecord(record, accounts, activeIndex);
+                line = nextLine;
+            }
+        } catch (IllegalValueException | IndexOutOfBoundsException e) {
+            logger.info("Illegal values found in " + journal + ": " + e.getMessage());
+            throw new DataConversionException(e);
+        }
+        return activeIndex;
+    }
+
+    /**
+     * Applies a single journal record to {@code accounts}.
+     * @return The active account index after applying the record.
+     */
+    private static int applyRecord(JsonAdaptedJournalRecord record, List<AccountImage> accounts, int activeIndex)
+            throws IllegalValueException {
+        String op = record.getOp() == null ? "" : record.getOp();
+        switch (op) {
+        case JsonAdaptedJournalRecord.OP_INSERT_ACCOUNT:
+            accounts.add(record.getValidatedIndex(), new AccountImage(record.getValidatedAccount()));
+            return activeIndex;
+        case JsonAdaptedJournalRecord.OP_REMOVE_ACCOUNT:
+            accounts.remove(record.getValidatedIndex());
+            return activeIndex;
+        case JsonAdaptedJournalRecord.OP_UPDATE_ACCOUNT:
+            Account details = record.getValidatedAccountDetails().toModelType();
+            AccountImage toUpdate = accounts.get(record.getValidatedIndex());
+            toUpdate.name = details.getName();
+            toUpdate.description = details.getDescription();
+            toUpdate.balance = details.getBalance();
+            return activeIndex;
+        case JsonAdaptedJournalRecord.OP_SPLICE_TRANSACTIONS:
+            List<Transaction> transactions = accounts.get(record.getValidatedIndex()).transactions;
+            int from = record.getValidatedFrom();
+            transactions.subList(from, from + record.getValidatedRemoveCount()).clear();
+            transactions.addAll(from, record.getValidatedTransactions());
+            return activeIndex;
+        case JsonAdaptedJournalRecord.OP_SET_ACTIVE_ACCOUNT:
+            return record.getValidatedIndex();
+        default:
+            throw new IllegalValueException("Unknown journal record: " + op);
+        }
+    }
+
+    /**
+     * Moves the current journal aside and folds it into a new snapshot on the background thread.
+     * Saves made in the meantime are appended to a fresh journal.
+     */
+    private void startCompaction() throws IOException {
+        Path compactingJournal = siblingOf(filePath, COMPACTING_SUFFIX);
+        if (Files.exists(compactingJournal)) {
+            // An earlier compaction failed; it will be retried when the accounts are next read.
+            return;
+        }
+
+        Path journal = siblingOf(filePath, JOURNAL_SUFFIX);
+        FileUtil.createParentDirsOfFile(filePath);
+        if (Files.exists(journal)) {
+            Files.move(journal, compactingJournal);
+        } else {
+            Files.createFile(compactingJournal);
+        }
+        journalBytes = 0;
+
+        List<AccountImage> accounts = copyOf(persistedAccounts);
+        int activeIndex = persistedActiveIndex;
+        compaction = compactor.submit(() -> compact(accounts, activeIndex));
+    }
+
+    /**
+     * Writes {@code accounts} as the new snapshot and discards the journal that was moved aside for it.
+     *
+     * The moved-aside journal is renamed to mark the temporary snapshot as complete before the snapshot is
+     * moved into place, so that {@link #recoverInterruptedCompaction(Path)} can finish the job after a crash.
+     */
+    private void compact(List<AccountImage> accounts, int activeIndex) {
+        Path snapshotTemp = siblingOf(filePath, SNAPSHOT_TEMP_SUFFIX);
+        try {
+            List<Account> snapshotAccounts = new ArrayList<>();
+            accounts.forEach(image -> snapshotAccounts.add(image.toModelType()));
+            JsonAccountsStreamer.write(snapshotAccounts, activeIndex, snapshotTemp);
+
+            Files.move(siblingOf(filePath, COMPACTING_SUFFIX), siblingOf(filePath, COMPACTED_SUFFIX),
+                    StandardCopyOption.REPLACE_EXISTING);
+            Files.move(snapshotTemp, filePath, StandardCopyOption.REPLACE_EXISTING);
+            Files.delete(siblingOf(filePath, COMPACTED_SUFFIX));
+            snapshotBytes = Files.size(filePath);
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Failed to compact accounts journal", e);
+        }
+    }
+
+    /**
+     * Waits for any running compaction to finish.
+     */
+    private void awaitCompaction() {
+        if (compaction == null) {
+            return;
+        }
+        try {
+            compaction.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            logger.log(Level.WARNING, "Accounts journal compaction failed", e.getCause());
+        }
+        compaction = null;
+    }
+
+    /**
+     * Finishes a compaction which was committed but not cleaned up, or discards the temporary snapshot
+     * of a compaction which was not committed.
+     */
+    private static void recoverInterruptedCompaction(Path filePath) throws IOException {
+        Path snapshotTemp = siblingOf(filePath, SNAPSHOT_TEMP_SUFFIX);
+        Path compactedJournal = siblingOf(filePath, COMPACTED_SUFFIX);
+        if (Files.exists(compactedJournal)) {
+            if (Files.exists(snapshotTemp)) {
+                Files.move(snapshotTemp, filePath, StandardCopyOption.REPLACE_EXISTING);
+            }
+            Files.delete(compactedJournal);
+        } else {
+            Files.deleteIfExists(snapshotTemp);
+        }
+    }
+
+    private static Path siblingOf(Path filePath, String suffix) {
+        return filePath.resolveSibling(filePath.getFileName() + suffix);
+    }
+
+    private static List<AccountImage> copyOf(List<AccountImage> accounts) {
+        List<AccountImage> copy = new ArrayList<>();
+        accounts.forEach(image -> copy.add(new AccountImage(image)));
+        return copy;
+    }
+
+    /**
+     * The persisted state of an account.
+     */
+    private static class AccountImage {
+        private Name name;
+        private Description description;
+        private long balance;
+        private final List<Transaction> transactions;
+
+        /** The transaction list and generation of the account when its transactions were last saved. */
+        private TransactionList savedTransactionList;
+        private long savedGeneration;
+
+        AccountImage(Account account) {
+            name = account.getName();
+            description = account.getDescription();
+            balance = account.getBalance();
+            transactions = new ArrayList<>(account.getTransactionList().asUnmodifiableObservableList());
+            markSaved(account);
+        }
+
+        AccountImage(AccountImage toCopy) {
+            name = toCopy.name;
+            description = toCopy.description;
+            balance = toCopy.balance;
+            transactions = new ArrayList<>(toCopy.transactions);
+            savedTransactionList = toCopy.savedTransactionList;
+            savedGeneration = toCopy.savedGeneration;
+        }
+
+        /**
+         * Records that the transactions of {@code account} are the transactions of this image.
+         */
+        void markSaved(Account account) {
+            savedTransactionList = account.isTransactionListLoaded() ? account.getTransactionList() : null;
+            savedGeneration = account.getGeneration();
+        }
+
+        /**
+         * Returns true if the transactions of {@code account} may differ from those of this image.
+         * An account whose transaction list has not been loaded has not been changed, so it is not loaded.
+         */
+        boolean isTransactionListChanged(Account account) {
+            return account.isTransactionListLoaded()
+                    && (account.getTransactionList() != savedTransactionList
+                    || account.getGeneration() != savedGeneration);
+        }
+
+        /**
+         * Creates an account holding the same transactions as this image.
+         * The transactions are shared, so the image and the account diff as unchanged.
+         */
+        Account toModelType() {
+            TransactionList transactionList = new TransactionList();
+            transactions.forEach(transactionList::add);
+            return new Account(name, description, transactionList, balance);
+        }
+    }
+}
@@ -4,6 +4,7 @@ import static budgetbuddy.commons.util.CollectionUtil.requireAllNonNull;
 import static java.util.Objects.requireNonNull;
 
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Optional;
 import java.util.logging.Logger;
@@ -11,8 +12,6 @@ import java.util.logging.Logger;
 import budgetbuddy.commons.core.LogsCenter;
 import budgetbuddy.commons.exceptions.DataConversionException;
 import budgetbuddy.commons.exceptions.IllegalValueException;
-import budgetbuddy.commons.util.FileUtil;
-import budgetbuddy.commons.util.JsonUtil;
 import budgetbuddy.model.AccountsManager;
 
 /**
@@ -45,14 +44,16 @@ public class JsonAccountsStorage implements AccountsStorage {
     public Optional<AccountsManager> readAccounts(Path filePath) throws DataConversionException {
         requireNonNull(filePath);
 
-        Optional<JsonSerializableAccountsManager> jsonAccountsManager = JsonUtil.readJsonFile(
-                filePath, JsonSerializableAccountsManager.class);
-        if (jsonAccountsManager.isEmpty()) {
+        if (!Files.exists(filePath)) {
+            logger.info("Json file " + filePath + " not found");
             return Optional.empty();
         }
 
         try {
-            return Optional.of(jsonAccountsManager.get().toModelType());
+            return Optional.of(JsonAccountsStreamer.read(filePath));
+        } catch (IOException e) {
+            logger.warning("Error reading from jsonFile file " + filePath + ": " + e);
+            throw new DataConversionException(e);
         } catch (IllegalValueException e) {
             logger.info("Illegal values found in " + filePath + ": " + e.getMessage());
             throw new DataConversionException(e);
@@ -72,7 +73,6 @@ public class JsonAccountsStorage implements AccountsStorage {
     public void saveAccounts(AccountsManager accountsManager, Path filePath) throws IOException {
         requireAllNonNull(accountsManager, filePath);
 
-        FileUtil.createIfMissing(filePath);
-        JsonUtil.saveJsonFile(new JsonSerializableAccountsManager(accountsManager), filePath);
+        JsonAccountsStreamer.write(accountsManager, filePath);
     }
 }
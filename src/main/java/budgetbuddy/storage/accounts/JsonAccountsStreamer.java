@@ -0,0 +1,417 @@
+package budgetbuddy.storage.accounts;
+
+import static budgetbuddy.commons.util.AppUtil.getDateFormatter;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import budgetbuddy.commons.core.index.Index;
+import budgetbuddy.commons.exceptions.IllegalValueException;
+import budgetbuddy.commons.util.AtomicFileWriter;
+import budgetbuddy.model.AccountsManager;
+import budgetbuddy.model.account.Account;
+import budgetbuddy.model.attributes.Amount;
+import budgetbuddy.model.attributes.Category;
+import budgetbuddy.model.attributes.Description;
+import budgetbuddy.model.attributes.Direction;
+import budgetbuddy.model.attributes.Name;
+import budgetbuddy.model.transaction.Transaction;
+import budgetbuddy.model.transaction.TransactionList;
+import budgetbuddy.storage.transactions.JsonAdaptedCategory;
+import budgetbuddy.storage.transactions.JsonAdaptedTransaction;
+
+/**
+ * Reads and writes accounts json files one token at a time.
+ *
+ * The files are in the same format as {@link JsonSerializableAccountsManager}, but each transaction is converted
+ * to or from the model as soon as it is reached, so no adapted copy of the whole accounts manager is ever held.
+ */
+class JsonAccountsStreamer {
+
+    private static final String FIELD_ACCOUNTS = "accounts";
+    private static final String FIELD_ACTIVE_ACCOUNT_INDEX = "activeAccountIndex";
+    private static final String FIELD_NAME = "name";
+    private static final String FIELD_DESCRIPTION = "description";
+    private static final String FIELD_TRANSACTIONS = "transactions";
+    private static final String FIELD_BALANCE = "balance";
+    private static final String FIELD_DIRECTION = "direction";
+    private static final String FIELD_AMOUNT = "amount";
+    private static final String FIELD_CATEGORIES = "categories";
+    private static final String FIELD_CATEGORY = "category";
+    private static final String FIELD_DATE = "date";
+
+    private static final JsonFactory jsonFactory = new JsonFactory();
+
+    private JsonAccountsStreamer() {} // prevents instantiation
+
+    /**
+     * Reads the accounts json file at {@code filePath}, which must exist.
+     * @throws IOException If the file is not valid json.
+     * @throws IllegalValueException If any data constraints are violated.
+     */
+    static AccountsManager read(Path filePath) throws IOException, IllegalValueException {
+        try (BufferedReader reader = Files.newBufferedReader(filePath, StandardCharsets.UTF_8);
+             JsonParser parser = jsonFactory.createParser(reader)) {
+            expect(parser.nextToken(), JsonToken.START_OBJECT, parser);
+
+            List<Account> accounts = new ArrayList<>();
+            int activeAccountIndex = 0;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                if (FIELD_ACCOUNTS.equals(field) && value == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() != JsonToken.END_ARRAY) {
+                        accounts.add(readAccount(parser));
+                    }
+                } else if (FIELD_ACTIVE_ACCOUNT_INDEX.equals(field) && value != JsonToken.VALUE_NULL) {
+                    activeAccountIndex = parser.getValueAsInt();
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            return new AccountsManager(accounts, Index.fromZeroBased(activeAccountIndex));
+        }
+    }
+
+    /**
+     * Writes {@code accountsManager} to {@code filePath}, laid out exactly as {@code JsonUtil} would lay it out.
+     */
+    static void write(AccountsManager accountsManager, Path filePath) throws IOException {
+        write(accountsManager.getAccounts(), accountsManager.getActiveAccountIndex().getZeroBased(), filePath);
+    }
+
+    /**
+     * Writes {@code accounts} and {@code activeAccountIndex} to {@code filePath} as an accounts json file.
+     */
+    static void write(List<Account> accounts, int activeAccountIndex, Path filePath) throws IOException {
+        DateTimeFormatter dateFormatter = getDateFormatter();
+        AtomicFileWriter.write(filePath, out -> {
+            try (JsonGenerator generator = createGenerator(out)) {
+                writeAccounts(accounts, activeAccountIndex, generator, dateFormatter);
+            }
+        });
+    }
+
+    /**
+     * Writes {@code accounts} and {@code activeAccountIndex} as the root json object.
+     */
+    private static void writeAccounts(List<Account> accounts, int activeAccountIndex, JsonGenerator generator,
+                                      DateTimeFormatter dateFormatter) throws IOException {
+        generator.writeStartObject();
+        generator.writeArrayFieldStart(FIELD_ACCOUNTS);
+        for (Account account : accounts) {
+            generator.writeStartObject();
+            generator.writeStringField(FIELD_NAME, account.getName().toString());
+            generator.writeStringField(FIELD_DESCRIPTION, account.getDescription().toString());
+            writeTransactionArray(account.getTransactionList(), generator, dateFormatter);
+            generator.writeStringField(FIELD_BALANCE, String.valueOf(account.getBalance()));
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+        generator.writeNumberField(FIELD_ACTIVE_ACCOUNT_INDEX, activeAccountIndex);
+        generator.writeEndObject();
+    }
+
+    /**
+     * Reads a json file at {@code filePath} holding only the transactions of a single account.
+     * @throws IOException If the file is not valid json.
+     * @throws IllegalValueException If any data constraints are violated.
+     */
+    static TransactionList readTransactions(Path filePath) throws IOException, IllegalValueException {
+        try (BufferedReader reader = Files.newBufferedReader(filePath, StandardCharsets.UTF_8);
+             JsonParser parser = jsonFactory.createParser(reader)) {
+            expect(parser.nextToken(), JsonToken.START_OBJECT, parser);
+
+            TransactionList transactionList = null;
+            DateTimeFormatter dateFormatter = getDateFormatter();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                if (FIELD_TRANSACTIONS.equals(field) && value == JsonToken.START_ARRAY) {
+                    transactionList = readTransactionArray(parser, dateFormatter);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+
+            if (transactionList == null) {
+                throw missingField(JsonAdaptedAccount.MISSING_FIELD_MESSAGE_FORMAT, FIELD_TRANSACTIONS);
+            }
+            return transactionList;
+        }
+    }
+
+    /**
+     * Writes {@code transactionList} to {@code filePath} as a json file readable by {@link #readTransactions(Path)}.
+     */
+    static void writeTransactions(TransactionList transactionList, Path filePath) throws IOException {
+        AtomicFileWriter.write(filePath, out -> {
+            try (JsonGenerator generator = createGenerator(out)) {
+                generator.writeStartObject();
+                writeTransactionArray(transactionList, generator, getDateFormatter());
+                generator.writeEndObject();
+            }
+        });
+    }
+
+    /**
+     * Writes {@code transactionList} as the transactions field of the current json object.
+     */
+    private static void writeTransactionArray(TransactionList transactionList, JsonGenerator generator,
+                                              DateTimeFormatter dateFormatter) throws IOException {
+        generator.writeArrayFieldStart(FIELD_TRANSACTIONS);
+        for (Transaction transaction : transactionList) {
+            writeTransaction(transaction, generator, dateFormatter);
+        }
+        generator.writeEndArray();
+    }
+
+    /**
+     * Returns a generator which writes pretty-printed UTF-8 json to {@code out}.
+     */
+    private static JsonGenerator createGenerator(OutputStream out) throws IOException {
+        return jsonFactory.createGenerator(out, JsonEncoding.UTF8).useDefaultPrettyPrinter();
+    }
+
+    /**
+     * Writes {@code transaction} as a json object.
+     */
+    private static void writeTransaction(Transaction transaction, JsonGenerator generator,
+                                         DateTimeFormatter dateFormatter) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField(FIELD_DIRECTION, transaction.getDirection().toString());
+        generator.writeNumberField(FIELD_AMOUNT, transaction.getAmount().toLong());
+        generator.writeStringField(FIELD_DESCRIPTION, transaction.getDescription().toString());
+        generator.writeArrayFieldStart(FIELD_CATEGORIES);
+        for (Category category : transaction.getCategories()) {
+            generator.writeStartObject();
+            generator.writeStringField(FIELD_CATEGORY, category.getCategory());
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+        generator.writeStringField(FIELD_DATE, transaction.getLocalDate().format(dateFormatter));
+        generator.writeEndObject();
+    }
+
+    /**
+     * Reads an account, with the parser positioned at the start of the account object.
+     */
+    private static Account readAccount(JsonParser parser) throws IOException, IllegalValueException {
+        expect(parser.getCurrentToken(), JsonToken.START_OBJECT, parser);
+
+        String name = null;
+        String description = null;
+        String balance = null;
+        TransactionList transactionList = null;
+        DateTimeFormatter dateFormatter = getDateFormatter();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            if (FIELD_TRANSACTIONS.equals(field) && value == JsonToken.START_ARRAY) {
+                transactionList = readTransactionArray(parser, dateFormatter);
+            } else if (FIELD_NAME.equals(field)) {
+                name = readString(parser);
+            } else if (FIELD_DESCRIPTION.equals(field)) {
+                description = readString(parser);
+            } else if (FIELD_BALANCE.equals(field)) {
+                balance = readString(parser);
+            } else {
+                parser.skipChildren();
+            }
+        }
+
+        if (name == null) {
+            throw missingField(JsonAdaptedAccount.MISSING_FIELD_MESSAGE_FORMAT, Name.class.getSimpleName());
+        }
+        if (!Name.isValidName(name)) {
+            throw new IllegalValueException(Name.MESSAGE_CONSTRAINTS);
+        }
+        if (description == null) {
+            throw missingField(JsonAdaptedAccount.MISSING_FIELD_MESSAGE_FORMAT, Description.class.getSimpleName());
+        }
+        if (!Description.isValidDescription(description)) {
+            throw new IllegalValueException(Description.MESSAGE_CONSTRAINTS);
+        }
+        if (transactionList == null) {
+            throw missingField(JsonAdaptedAccount.MISSING_FIELD_MESSAGE_FORMAT, FIELD_TRANSACTIONS);
+        }
+        long validatedBalance;
+        try {
+            validatedBalance = Long.parseLong(balance);
+        } catch (NumberFormatException e) {
+            throw new IllegalValueException("Invalid balance", e);
+        }
+        return new Account(new Name(name), new Description(description), transactionList, validatedBalance);
+    }
+
+    /**
+     * Reads an array of transactions, with the parser positioned at the start of the array.
+     */
+    private static TransactionList readTransactionArray(JsonParser parser, DateTimeFormatter dateFormatter)
+            throws IOException, IllegalValueException {
+        TransactionList transactionList = new TransactionList();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            transactionList.add(readTransaction(parser, dateFormatter));
+        }
+        return transactionList;
+    }
+
+    /**
+     * Reads a transaction, with the parser positioned at the start of the transaction object.
+     */
+    private static Transaction readTransaction(JsonParser parser, DateTimeFormatter dateFormatter)
+            throws IOException, IllegalValueException {
+        expect(parser.getCurrentToken(), JsonToken.START_OBJECT, parser);
+
+        String direction = null;
+        Long amount = null;
+        String description = null;
+        Set<Category> categories = null;
+        String date = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            if (FIELD_CATEGORIES.equals(field) && value == JsonToken.START_ARRAY) {
+                categories = new HashSet<>();
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    categories.add(readCategory(parser));
+                }
+            } else if (FIELD_DIRECTION.equals(field)) {
+                direction = readString(parser);
+            } else if (FIELD_AMOUNT.equals(field)) {
+                amount = readLong(parser);
+            } else if (FIELD_DESCRIPTION.equals(field)) {
+                description = readString(parser);
+            } else if (FIELD_DATE.equals(field)) {
+                date = readString(parser);
+            } else {
+                parser.skipChildren();
+            }
+        }
+
+        String missingFormat = JsonAdaptedTransaction.MISSING_FIELD_MESSAGE_FORMAT;
+        if (date == null) {
+            throw missingField(missingFormat, FIELD_DATE);
+        }
+        if (amount == null) {
+            throw missingField(missingFormat, Amount.class.getSimpleName());
+        }
+        if (direction == null) {
+            throw missingField(missingFormat, Direction.class.getSimpleName());
+        }
+        if (description == null) {
+            throw missingField(missingFormat, Description.class.getSimpleName());
+        }
+        if (categories == null) {
+            throw missingField(missingFormat, "Categories");
+        }
+        if (!Direction.isValidDirection(direction)) {
+            throw new IllegalValueException(Direction.MESSAGE_CONSTRAINTS);
+        }
+        if (!Amount.isValidAmount(amount)) {
+            throw new IllegalValueException(Amount.MESSAGE_CONSTRAINTS);
+        }
+        if (!Description.isValidDescription(description)) {
+            throw new IllegalValueException(Description.MESSAGE_CONSTRAINTS);
+        }
+        LocalDate localDate;
+        try {
+            localDate = LocalDate.parse(date, dateFormatter);
+        } catch (DateTimeParseException e) {
+            throw new IllegalValueException("Error reading stored date.");
+        }
+        return new Transaction(localDate, new Amount(amount), Direction.valueOf(direction),
+                new Description(description), categories);
+    }
+
+    /**
+     * Reads a category, with the parser positioned at the start of the category object.
+     */
+    private static Category readCategory(JsonParser parser) throws IOException, IllegalValueException {
+        expect(parser.getCurrentToken(), JsonToken.START_OBJECT, parser);
+
+        String category = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            if (FIELD_CATEGORY.equals(field)) {
+                category = readString(parser);
+            } else {
+                parser.skipChildren();
+            }
+        }
+
+        if (category == null) {
+            throw missingField(JsonAdaptedCategory.MISSING_FIELD_MESSAGE_FORMAT, FIELD_CATEGORY);
+        }
+        if (!Category.isValidCategory(category)) {
+            throw new IllegalValueException(Category.MESSAGE_CONSTRAINTS);
+        }
+        return new Category(category);
+    }
+
+    /**
+     * Returns the current scalar value as a string, or null if it is a json null.
+     */
+    private static String readString(JsonParser parser) throws IOException {
+        if (parser.getCurrentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (!parser.getCurrentToken().isScalarValue()) {
+            throw new IOException("Expected a value but found " + parser.getCurrentToken() + " at "
+                    + parser.getCurrentLocation());
+        }
+        return parser.getValueAsString();
+    }
+
+    /**
+     * Returns the current value as a long, or null if it is a json null.
+     * @throws IllegalValueException If the value is not a whole number.
+     */
+    private static Long readLong(JsonParser parser) throws IOException, IllegalValueException {
+        if (parser.getCurrentToken() == JsonToken.VALUE_NUMBER_INT) {
+            return parser.getLongValue();
+        }
+        String value = readString(parser);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalValueException(Amount.MESSAGE_CONSTRAINTS, e);
+        }
+    }
+
+    /**
+     * Checks that the parser is at the {@code expected} token.
+     * @throws IOException If it is not.
+     */
+    private static void expect(JsonToken actual, JsonToken expected, JsonParser parser) throws IOException {
+        if (actual != expected) {
+            throw new IOException("Expected " + expected + " but found " + actual + " at "
+                    + parser.getCurrentLocation());
+        }
+    }
+
+    private static IllegalValueException missingField(String messageFormat, String fieldName) {
+        return new IllegalValueException(String.format(messageFormat, fieldName));
+    }
+}
@@ -0,0 +1,88 @@
+package budgetbuddy.storage.accounts;
+
+import java.util.function.Supplier;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import budgetbuddy.commons.exceptions.IllegalValueException;
+import budgetbuddy.model.account.Account;
+import budgetbuddy.model.attributes.Description;
+import budgetbuddy.model.attributes.Name;
+import budgetbuddy.model.transaction.TransactionList;
+
+/**
+ * Jackson-friendly version of the details of an {@link budgetbuddy.model.account.Account},
+ * naming the file in which its transactions are stored instead of holding them.
+ */
+public class JsonAdaptedAccountHeader {
+
+    private final String name;
+    private final String description;
+    private final String balance;
+    private final String segment;
+
+    /**
+     * Constructs a {@code JsonAdaptedAccountHeader} with the given account details.
+     */
+    public JsonAdaptedAccountHeader(@JsonProperty("name") String name,
+                                    @JsonProperty("description") String description,
+                                    @JsonProperty("balance") String balance,
+                                    @JsonProperty("segment") String segment) {
+        this.name = name;
+        this.description = description;
+        this.balance = balance;
+        this.segment = segment;
+    }
+
+    /**
+     * Converts the details of a given {@code Account} into this class for Jackson use.
+     * @param segment The name of the file holding the transactions of {@code source}.
+     */
+    public JsonAdaptedAccountHeader(Account source, String segment) {
+        name = source.getName().toString();
+        description = source.getDescription().toString();
+        balance = String.valueOf(source.getBalance());
+        this.segment = segment;
+    }
+
+    /**
+     * Returns the name of the file holding the transactions of this account.
+     * @throws IllegalValueException If the file name is missing.
+     */
+    public String getSegment() throws IllegalValueException {
+        if (segment == null) {
+            throw new IllegalValueException(String.format(JsonAdaptedAccount.MISSING_FIELD_MESSAGE_FORMAT, "segment"));
+        }
+        return segment;
+    }
+
+    /**
+     * Converts this Jackson-friendly adapted header into the model's {@code Account} object,
+     * whose transactions are loaded by {@code transactionListLoader} when they are first needed.
+     * @throws IllegalValueException If any data constraints were violated in the adapted header.
+     */
+    public Account toModelType(Supplier<TransactionList> transactionListLoader) throws IllegalValueException {
+        if (name == null) {
+            throw new IllegalValueException(
+                    String.format(JsonAdaptedAccount.MISSING_FIELD_MESSAGE_FORMAT, Name.class.getSimpleName()));
+        }
+        if (!Name.isValidName(name)) {
+            throw new IllegalValueException(Name.MESSAGE_CONSTRAINTS);
+        }
+        if (description == null) {
+            throw new IllegalValueException(String.format(JsonAdaptedAccount.MISSING_FIELD_MESSAGE_FORMAT,
+                    Description.class.getSimpleName()));
+        }
+        if (!Description.isValidDescription(description)) {
+            throw new IllegalValueException(Description.MESSAGE_CONSTRAINTS);
+        }
+
+        long validatedBalance;
+        try {
+            validatedBalance = Long.parseLong(balance);
+        } catch (NumberFormatException e) {
+            throw new IllegalValueException("Invalid balance", e);
+        }
+        return new Account(new Name(name), new Description(description), validatedBalance, transactionListLoader);
+    }
+}
@@ -0,0 +1,170 @@
+package budgetbuddy.storage.accounts;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import budgetbuddy.commons.exceptions.IllegalValueException;
+import budgetbuddy.model.account.Account;
+import budgetbuddy.model.transaction.Transaction;
+import budgetbuddy.storage.transactions.JsonAdaptedTransaction;
+
+/**
+ * Jackson-friendly version of a single change made to an {@link budgetbuddy.model.AccountsManager}.
+ * Each record is stored as one line of the accounts journal.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class JsonAdaptedJournalRecord {
+
+    public static final String OP_INSERT_ACCOUNT = "insertAccount";
+    public static final String OP_REMOVE_ACCOUNT = "removeAccount";
+    public static final String OP_UPDATE_ACCOUNT = "updateAccount";
+    public static final String OP_SPLICE_TRANSACTIONS = "spliceTransactions";
+    public static final String OP_SET_ACTIVE_ACCOUNT = "setActiveAccount";
+
+    public static final String MISSING_FIELD_MESSAGE_FORMAT = "Journal record's %s field is missing!";
+
+    private final String op;
+    private final Integer index;
+    private final JsonAdaptedAccount account;
+    private final String name;
+    private final String description;
+    private final Long balance;
+    private final Integer from;
+    private final Integer removeCount;
+    private final List<JsonAdaptedTransaction> transactions;
+
+    /**
+     * Constructs a {@code JsonAdaptedJournalRecord} with the given record details.
+     */
+    @JsonCreator
+    public JsonAdaptedJournalRecord(@JsonProperty("op") String op,
+                                    @JsonProperty("index") Integer index,
+                                    @JsonProperty("account") JsonAdaptedAccount account,
+                                    @JsonProperty("name") String name,
+                                    @JsonProperty("description") String description,
+                                    @JsonProperty("balance") Long balance,
+                                    @JsonProperty("from") Integer from,
+                                    @JsonProperty("removeCount") Integer removeCount,
+                                    @JsonProperty("transactions") List<JsonAdaptedTransaction> transactions) {
+        this.op = op;
+        this.index = index;
+        this.account = account;
+        this.name = name;
+        this.description = description;
+        this.balance = balance;
+        this.from = from;
+        this.removeCount = removeCount;
+        this.transactions = transactions;
+    }
+
+    /**
+     * Creates a record of {@code account} being inserted at {@code index} of the account list.
+     */
+    public static JsonAdaptedJournalRecord insertAccount(int index, Account account) {
+        requireNonNull(account);
+        return new JsonAdaptedJournalRecord(OP_INSERT_ACCOUNT, index, new JsonAdaptedAccount(account),
+                null, null, null, null, null, null);
+    }
+
+    /**
+     * Creates a record of the account at {@code index} being removed from the account list.
+     */
+    public static JsonAdaptedJournalRecord removeAccount(int index) {
+        return new JsonAdaptedJournalRecord(OP_REMOVE_ACCOUNT, index, null,
+                null, null, null, null, null, null);
+    }
+
+    /**
+     * Creates a record of the details (but not the transactions) of the account at {@code index} changing.
+     */
+    public static JsonAdaptedJournalRecord updateAccount(int index, Account account) {
+        requireNonNull(account);
+        return new JsonAdaptedJournalRecord(OP_UPDATE_ACCOUNT, index, null, account.getName().toString(),
+                account.getDescription().toString(), account.getBalance(), null, null, null);
+    }
+
+    /**
+     * Creates a record of {@code removeCount} transactions starting at {@code from} being replaced
+     * by {@code added} in the transaction list of the account at {@code index}.
+     */
+    public static JsonAdaptedJournalRecord spliceTransactions(int index, int from, int removeCount,
+                                                              List<Transaction> added) {
+        requireNonNull(added);
+        return new JsonAdaptedJournalRecord(OP_SPLICE_TRANSACTIONS, index, null, null, null, null, from,
+                removeCount, added.stream().map(JsonAdaptedTransaction::new).collect(Collectors.toList()));
+    }
+
+    /**
+     * Creates a record of the active account changing to the account at {@code index}.
+     */
+    public static JsonAdaptedJournalRecord setActiveAccount(int index) {
+        return new JsonAdaptedJournalRecord(OP_SET_ACTIVE_ACCOUNT, index, null,
+                null, null, null, null, null, null);
+    }
+
+    public String getOp() {
+        return op;
+    }
+
+    /**
+     * Returns the index of the account this record applies to.
+     * @throws IllegalValueException If the index is missing.
+     */
+    public int getValidatedIndex() throws IllegalValueException {
+        return requireField(index, "index");
+    }
+
+    /**
+     * Returns the inserted account as a model {@code Account}.
+     * @throws IllegalValueException If the account is missing or invalid.
+     */
+    public Account getValidatedAccount() throws IllegalValueException {
+        return requireField(account, "account").toModelType();
+    }
+
+    /**
+     * Returns the updated details of the account as an adapted account without transactions.
+     * @throws IllegalValueException If any of the details are missing.
+     */
+    public JsonAdaptedAccount getValidatedAccountDetails() throws IllegalValueException {
+        return new JsonAdaptedAccount(requireField(name, "name"), requireField(description, "description"),
+                new ArrayList<>(), String.valueOf(requireField(balance, "balance")));
+    }
+
+    public int getValidatedFrom() throws IllegalValueException {
+        return requireField(from, "from");
+    }
+
+    public int getValidatedRemoveCount() throws IllegalValueException {
+        return requireField(removeCount, "removeCount");
+    }
+
+    /**
+     * Returns the transactions added by this record as model {@code Transaction}s.
+     * @throws IllegalValueException If the transactions are missing or invalid.
+     */
+    public List<Transaction> getValidatedTransactions() throws IllegalValueException {
+        List<Transaction> added = new ArrayList<>();
+        for (JsonAdaptedTransaction transaction : requireField(transactions, "transactions")) {
+            added.add(transaction.toModelType());
+        }
+        return added;
+    }
+
+    /**
+     * Returns {@code field}, or throws an {@code IllegalValueException} naming {@code fieldName} if it is null.
+     */
+    private static <T> T requireField(T field, String fieldName) throws IllegalValueException {
+        if (field == null) {
+            throw new IllegalValueException(String.format(MISSING_FIELD_MESSAGE_FORMAT, fieldName));
+        }
+        return field;
+    }
+}
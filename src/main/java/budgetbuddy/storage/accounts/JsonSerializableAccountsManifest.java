@@ -0,0 +1,36 @@
+package budgetbuddy.storage.accounts;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonRootName;
+
+/**
+ * An immutable list of account headers that is serializable to JSON format.
+ */
+@JsonRootName(value = "accountsmanifest")
+public class JsonSerializableAccountsManifest {
+
+    private final List<JsonAdaptedAccountHeader> accounts = new ArrayList<>();
+    private final int activeAccountIndex;
+
+    /**
+     * Constructs a {@code JsonSerializableAccountsManifest} with the given account headers.
+     */
+    @JsonCreator
+    public JsonSerializableAccountsManifest(@JsonProperty("accounts") List<JsonAdaptedAccountHeader> accounts,
+                                            @JsonProperty("activeAccountIndex") int activeAccountIndex) {
+        this.accounts.addAll(accounts);
+        this.activeAccountIndex = activeAccountIndex;
+    }
+
+    public List<JsonAdaptedAccountHeader> getAccounts() {
+        return accounts;
+    }
+
+    public int getActiveAccountIndex() {
+        return activeAccountIndex;
+    }
+}
@@ -0,0 +1,382 @@
+package budgetbuddy.storage.accounts;
+
+import static budgetbuddy.commons.util.CollectionUtil.requireAllNonNull;
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.logging.Logger;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+
+import budgetbuddy.commons.core.LogsCenter;
+import budgetbuddy.commons.core.index.Index;
+import budgetbuddy.commons.exceptions.DataConversionException;
+import budgetbuddy.commons.exceptions.IllegalValueException;
+import budgetbuddy.commons.util.JsonUtil;
+import budgetbuddy.model.AccountsManager;
+import budgetbuddy.model.account.Account;
+import budgetbuddy.model.attributes.Name;
+import budgetbuddy.model.transaction.TransactionList;
+
+/**
+ * A class to access AccountsManager data stored as a directory with one file per account on the hard disk.
+ *
+ * A manifest lists the name, description and balance of every account, and the segment file holding its
+ * transactions. Reading the accounts only reads the manifest; the transactions of an account are read from
+ * its segment when they are first needed. Saving only rewrites the segments of accounts which have changed.
+ *
+ * Segments are never overwritten. A changed account is written to a new segment, the manifest is replaced
+ * to refer to it, and only then is the old segment deleted, so that a crash leaves a consistent directory.
+ *
+ * Changed segments are written in parallel. If the storage loads eagerly, every segment is read in parallel
+ * when the accounts are read, instead of when each account is first used.
+ *
+ * An account whose segment cannot be read is shown without transactions, but is never saved: its segment and
+ * the details read from the manifest are kept as they are, and saving a change to the account fails.
+ */
+public class SegmentedAccountsStorage implements AccountsStorage {
+
+    public static final String DIRECTORY_SUFFIX = ".segments";
+    public static final String MANIFEST_FILE_NAME = "manifest.json";
+
+    static final String SEGMENT_PREFIX = "account-";
+    static final String SEGMENT_SUFFIX = ".json";
+
+    static final String MESSAGE_UNREADABLE_SEGMENTS = "The transactions of accounts %1$s could not be read, "
+            + "so changes to them were not saved. Their files are kept as they were.";
+
+    private static final Logger logger = LogsCenter.getLogger(SegmentedAccountsStorage.class);
+
+    private final Path directory;
+    private final boolean isLoadedEagerly;
+
+    /** The segments in {@link #directory}, by the name of the account they hold, as of the last read or save. */
+    private Map<Name, Segment> segments = new HashMap<>();
+
+    public SegmentedAccountsStorage(Path directory) {
+        this(directory, false);
+    }
+
+    /**
+     * Creates a storage for the accounts in {@code directory}, which reads the transactions of every account
+     * in parallel when the accounts are read if {@code isLoadedEagerly} is true.
+     */
+    public SegmentedAccountsStorage(Path directory, boolean isLoadedEagerly) {
+        this.directory = directory;
+        this.isLoadedEagerly = isLoadedEagerly;
+    }
+
+    public Path getAccountsFilePath() {
+        return directory;
+    }
+
+    /**
+     * Returns the directory in which the segmented equivalent of the json accounts file at {@code jsonFilePath}
+     * is kept. For example, {@code data/accounts.json} is kept in {@code data/accounts.segments}.
+     */
+    public static Path toSegmentsDirectory(Path jsonFilePath) {
+        String fileName = jsonFilePath.getFileName().toString();
+        int extensionIndex = fileName.lastIndexOf('.');
+        String baseName = extensionIndex > 0 ? fileName.substring(0, extensionIndex) : fileName;
+        return jsonFilePath.resolveSibling(baseName + DIRECTORY_SUFFIX);
+    }
+
+    /**
+     * Converts the json accounts file at {@code jsonFilePath} into a segmented accounts directory at
+     * {@code directory}.
+     * @return True if the json file was converted, or false if there is no json file.
+     * @throws DataConversionException If the json file is not in the correct format.
+     */
+    public static boolean convertFromJson(Path jsonFilePath, Path directory)
+            throws DataConversionException, IOException {
+        requireAllNonNull(jsonFilePath, directory);
+
+        Optional<AccountsManager> accountsManager = new JsonAccountsStorage(jsonFilePath).readAccounts();
+        if (accountsManager.isEmpty()) {
+            return false;
+        }
+        new SegmentedAccountsStorage(directory).saveAccounts(accountsManager.get());
+        logger.info("Converted " + jsonFilePath + " to " + directory);
+        return true;
+    }
+
+    @Override
+    public Optional<AccountsManager> readAccounts() throws DataConversionException, IOException {
+        return readAccounts(directory);
+    }
+
+    /**
+     * Similar to {@link #readAccounts()}.
+     * @param directory Location of the data. Cannot be null.
+     * @throws DataConversionException If the manifest is not in the correct format.
+     */
+    public synchronized Optional<AccountsManager> readAccounts(Path directory)
+            throws DataConversionException, IOException {
+        requireNonNull(directory);
+
+        Optional<JsonSerializableAccountsManifest> manifest = JsonUtil.readJsonFile(
+                directory.resolve(MANIFEST_FILE_NAME), JsonSerializableAccountsManifest.class);
+        if (manifest.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Map<Name, Segment> readSegments = new HashMap<>();
+        List<Account> accounts = new ArrayList<>();
+        try {
+            for (JsonAdaptedAccountHeader header : manifest.get().getAccounts()) {
+                Segment segment = new Segment(directory, header.getSegment());
+                Account account = header.toModelType(segment::load);
+                segment.markSaved(account);
+                readSegments.put(account.getName(), segment);
+                accounts.add(account);
+            }
+        } catch (IllegalValueException e) {
+            logger.info("Illegal values found in " + directory.resolve(MANIFEST_FILE_NAME) + ": " + e.getMessage());
+            throw new DataConversionException(e);
+        }
+
+        if (isLoadedEagerly) {
+            // parallel streams run on the common fork-join pool
+            readSegments.values().parallelStream().forEach(Segment::preload);
+            accounts.forEach(Account::getTransactionList);
+        }
+
+        if (directory.equals(this.directory)) {
+            segments = readSegments;
+        }
+        return Optional.of(new AccountsManager(accounts, Index.fromZeroBased(manifest.get().getActiveAccountIndex())));
+    }
+
+    @Override
+    public void saveAccounts(AccountsManager accountsManager) throws IOException {
+        saveAccounts(accountsManager, directory);
+    }
+
+    /**
+     * Similar to {@link #saveAccounts(AccountsManager)}
+     *
+     * @param directory Location of the data. Cannot be null.
+     */
+    public synchronized void saveAccounts(AccountsManager accountsManager, Path directory) throws IOException {
+        requireAllNonNull(accountsManager, directory);
+
+        Files.createDirectories(directory);
+        Map<Name, Segment> knownSegments = directory.equals(this.directory) ? segments : Map.of();
+        Set<String> existingFileNames = listSegmentFileNames(directory);
+        long nextSegmentId = nextSegmentId(existingFileNames);
+
+        // an unreadable account is found by the transaction list it was given, as it may have been renamed
+        Map<TransactionList, Segment> unreadableSegments = new IdentityHashMap<>();
+        for (Segment segment : knownSegments.values()) {
+            if (segment.isUnreadable()) {
+                unreadableSegments.put(segment.getUnreadableTransactions(), segment);
+            }
+        }
+
+        Map<Name, Segment> savedSegments = new HashMap<>();
+        Map<Segment, Account> changedSegments = new HashMap<>();
+        List<JsonAdaptedAccountHeader> headers = new ArrayList<>();
+        List<Name> unsavedAccounts = new ArrayList<>();
+        for (Account account : accountsManager.getAccounts()) {
+            Segment unreadable = account.isTransactionListLoaded()
+                    ? unreadableSegments.get(account.getTransactionList())
+                    : null;
+            if (unreadable != null) {
+                savedSegments.put(account.getName(), unreadable);
+                headers.add(unreadable.getSavedHeader());
+                if (unreadable.isChanged(account)) {
+                    unsavedAccounts.add(account.getName());
+                }
+                continue;
+            }
+            Segment segment = knownSegments.get(account.getName());
+            if (segment == null || !segment.isUpToDate(account)) {
+                segment = new Segment(directory, SEGMENT_PREFIX + nextSegmentId++ + SEGMENT_SUFFIX);
+                changedSegments.put(segment, account);
+            }
+            savedSegments.put(account.getName(), segment);
+            headers.add(new JsonAdaptedAccountHeader(account, segment.getFileName()));
+        }
+        writeSegments(changedSegments);
+
+        JsonUtil.saveJsonFile(new JsonSerializableAccountsManifest(headers,
+                accountsManager.getActiveAccountIndex().getZeroBased()), directory.resolve(MANIFEST_FILE_NAME));
+
+        Set<String> referencedFileNames = new HashSet<>();
+        savedSegments.values().forEach(segment -> referencedFileNames.add(segment.getFileName()));
+        for (String fileName : existingFileNames) {
+            if (!referencedFileNames.contains(fileName)) {
+                Files.deleteIfExists(directory.resolve(fileName));
+            }
+        }
+
+        if (directory.equals(this.directory)) {
+            segments = savedSegments;
+        }
+        if (!unsavedAccounts.isEmpty()) {
+            throw new IOException(String.format(MESSAGE_UNREADABLE_SEGMENTS, unsavedAccounts));
+        }
+    }
+
+    /**
+     * Writes the transactions of each account in {@code changedSegments} to its new segment, in parallel.
+     */
+    private static void writeSegments(Map<Segment, Account> changedSegments) throws IOException {
+        // transaction lists are loaded first, since accounts are not safe to load from several threads
+        changedSegments.values().forEach(Account::getTransactionList);
+        try {
+            changedSegments.entrySet().parallelStream().forEach(entry -> {
+                try {
+                    JsonAccountsStreamer.writeTransactions(entry.getValue().getTransactionList(),
+                            entry.getKey().getFilePath());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        changedSegments.forEach(Segment::markSaved);
+    }
+
+    /**
+     * Returns the names of the segment files in {@code directory}.
+     */
+    private static Set<String> listSegmentFileNames(Path directory) throws IOException {
+        Set<String> fileNames = new HashSet<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory,
+                SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            files.forEach(file -> fileNames.add(file.getFileName().toString()));
+        }
+        return fileNames;
+    }
+
+    /**
+     * Returns an id which is not used by any of the segment files in {@code fileNames}.
+     */
+    private static long nextSegmentId(Set<String> fileNames) {
+        long nextId = 0;
+        for (String fileName : fileNames) {
+            String id = fileName.substring(SEGMENT_PREFIX.length(), fileName.length() - SEGMENT_SUFFIX.length());
+            try {
+                nextId = Math.max(nextId, Long.parseLong(id) + 1);
+            } catch (NumberFormatException e) {
+                // not a segment written by this class, so its name cannot clash
+            }
+        }
+        return nextId;
+    }
+
+    /**
+     * A file holding the transactions of one account.
+     */
+    private static class Segment {
+        private final Path filePath;
+        /** The account which was last read from or saved to this segment. */
+        private Account savedAccount;
+        private long savedGeneration;
+        private JsonAdaptedAccountHeader savedHeader;
+        /** The transactions given to the account if the segment could not be read, or null if it was read. */
+        private volatile TransactionList unreadableTransactions;
+        /** The transactions read by {@link #preload()}, until they are loaded. */
+        private TransactionList preloaded;
+
+        Segment(Path directory, String fileName) {
+            this.filePath = directory.resolve(fileName);
+        }
+
+        Path getFilePath() {
+            return filePath;
+        }
+
+        String getFileName() {
+            return filePath.getFileName().toString();
+        }
+
+        void markSaved(Account account) {
+            savedAccount = account;
+            savedGeneration = account.getGeneration();
+            savedHeader = new JsonAdaptedAccountHeader(account, getFileName());
+        }
+
+        /**
+         * Returns the details of the account as they were last read from or saved to the manifest.
+         */
+        JsonAdaptedAccountHeader getSavedHeader() {
+            return savedHeader;
+        }
+
+        /**
+         * Returns true if {@code account} has changed since it was last read from or saved to this segment.
+         */
+        boolean isChanged(Account account) {
+            return account != savedAccount || account.getGeneration() != savedGeneration;
+        }
+
+        /**
+         * Returns true if this segment holds the transactions of {@code account}, which has the same name as the
+         * account last saved to this segment. An account whose transactions have not been loaded is unchanged.
+         */
+        boolean isUpToDate(Account account) {
+            return !account.isTransactionListLoaded() || !isChanged(account);
+        }
+
+        /**
+         * Returns true if this segment could not be read, in which case it must be kept as it is.
+         */
+        boolean isUnreadable() {
+            return unreadableTransactions != null;
+        }
+
+        TransactionList getUnreadableTransactions() {
+            return unreadableTransactions;
+        }
+
+        /**
+         * Reads the transactions in this segment, so that they are ready when they are loaded.
+         */
+        void preload() {
+            preloaded = read();
+        }
+
+        /**
+         * Returns the transactions in this segment, reading them unless they have been preloaded.
+         */
+        TransactionList load() {
+            TransactionList transactionList = preloaded;
+            preloaded = null;
+            return transactionList != null ? transactionList : read();
+        }
+
+        /**
+         * Reads the transactions in this segment.
+         * If the segment cannot be read, the account is given no transactions and the segment is left as it is,
+         * so that it can be read again once it is repaired, or once an error reading it has passed.
+         */
+        private TransactionList read() {
+            try {
+                return JsonAccountsStreamer.readTransactions(filePath);
+            } catch (JsonProcessingException | IllegalValueException e) {
+                logger.severe("Transactions in " + filePath + " are corrupted, so the account will not be saved: "
+                        + e);
+            } catch (IOException e) {
+                logger.severe("Unable to read transactions from " + filePath
+                        + ", so the account will not be saved until it is read again: " + e);
+            }
+            unreadableTransactions = new TransactionList();
+            return unreadableTransactions;
+        }
+    }
+}
@@ -11,7 +11,6 @@ import java.util.logging.Logger;
 import budgetbuddy.commons.core.LogsCenter;
 import budgetbuddy.commons.exceptions.DataConversionException;
 import budgetbuddy.commons.exceptions.IllegalValueException;
-import budgetbuddy.commons.util.FileUtil;
 import budgetbuddy.commons.util.JsonUtil;
 import budgetbuddy.model.LoansManager;
 
@@ -72,7 +71,6 @@ public class JsonLoansStorage implements LoansStorage {
     public void saveLoans(LoansManager loansManager, Path filePath) throws IOException {
         requireAllNonNull(loansManager, filePath);
 
-        FileUtil.createIfMissing(filePath);
         JsonUtil.saveJsonFile(new JsonSerializableLoansManager(loansManager), filePath);
     }
 }
@@ -11,7 +11,6 @@ import java.util.logging.Logger;
 import budgetbuddy.commons.core.LogsCenter;
 import budgetbuddy.commons.exceptions.DataConversionException;
 import budgetbuddy.commons.exceptions.IllegalValueException;
-import budgetbuddy.commons.util.FileUtil;
 import budgetbuddy.commons.util.JsonUtil;
 import budgetbuddy.model.RuleManager;
 
@@ -72,7 +71,6 @@ public class JsonRuleStorage implements RuleStorage {
     public void saveRules(RuleManager ruleManager, Path filePath) throws IOException {
         requireAllNonNull(ruleManager, filePath);
 
-        FileUtil.createIfMissing(filePath);
         JsonUtil.saveJsonFile(new JsonSerializableRuleManager(ruleManager), filePath);
     }
 }
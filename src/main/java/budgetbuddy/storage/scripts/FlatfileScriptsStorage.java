@@ -9,6 +9,8 @@ import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.logging.Logger;
@@ -36,6 +38,12 @@ public class FlatfileScriptsStorage implements ScriptsStorage {
 
     private Path scriptsPath;
 
+    /**
+     * The scripts as they were last read from or written to {@code cachedScriptsPath}, by name.
+     */
+    private Path cachedScriptsPath;
+    private Map<ScriptName, Script> cachedScripts = new HashMap<>();
+
     /**
      * Constructs a flatfile script storage that stores scripts at the specified path.
      *
@@ -88,6 +96,7 @@ public class FlatfileScriptsStorage implements ScriptsStorage {
             scripts.add(new Script(scriptName, scriptDesc, scriptCode));
         }
 
+        updateCache(scripts, scriptsPath);
         return new ScriptLibraryManager(scripts);
     }
 
@@ -105,11 +114,24 @@ public class FlatfileScriptsStorage implements ScriptsStorage {
                 Arrays.stream(scriptsDir.listFiles(scriptFilenameFilter)).map(File::toPath)
                         .collect(Collectors.toSet());
 
+        // Only scripts whose code has changed since they were last read or written need to be rewritten
+        Map<ScriptName, Script> unchangedScripts = scriptsPath.equals(cachedScriptsPath)
+                ? cachedScripts
+                : new HashMap<>();
+        boolean hasChangedDescriptions = unchangedScripts.size() != scripts.getScriptList().size();
+
         for (Script script : scripts.getScriptList()) {
             String scriptFileName = scriptToScriptFileName(script);
             Path scriptFilePath = scriptsPath.resolve(scriptFileName);
-            Files.writeString(scriptFilePath, script.getCode(), StandardCharsets.UTF_8,
-                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+            Script cachedScript = unchangedScripts.get(script.getName());
+            if (cachedScript == null || !cachedScript.getCode().equals(script.getCode())
+                    || !existingScriptFiles.contains(scriptFilePath)) {
+                Files.writeString(scriptFilePath, script.getCode(), StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+            }
+            if (cachedScript == null || !cachedScript.getDescription().equals(script.getDescription())) {
+                hasChangedDescriptions = true;
+            }
             existingScriptFiles.remove(scriptFilePath);
         }
 
@@ -118,8 +140,24 @@ public class FlatfileScriptsStorage implements ScriptsStorage {
         }
 
         Path scriptDescriptionsJson = scriptsPath.resolve(DESCRIPTIONS_PATH);
-        JsonSerializableScriptDescriptionMap jsonDescMap = new JsonSerializableScriptDescriptionMap(scripts);
-        JsonUtil.saveJsonFile(jsonDescMap, scriptDescriptionsJson);
+        if (hasChangedDescriptions || !Files.exists(scriptDescriptionsJson)) {
+            JsonSerializableScriptDescriptionMap jsonDescMap = new JsonSerializableScriptDescriptionMap(scripts);
+            JsonUtil.saveJsonFile(jsonDescMap, scriptDescriptionsJson);
+        }
+
+        updateCache(scripts.getScriptList(), scriptsPath);
+    }
+
+    /**
+     * Records {@code scripts} as the contents of {@code scriptsPath}.
+     */
+    private void updateCache(List<Script> scripts, Path scriptsPath) {
+        Map<ScriptName, Script> newCache = new HashMap<>();
+        for (Script script : scripts) {
+            newCache.put(script.getName(), script);
+        }
+        cachedScripts = newCache;
+        cachedScriptsPath = scriptsPath;
     }
 
     private static ScriptName scriptFileNameToScriptName(String scriptFileName) {
@@ -0,0 +1,121 @@
+package budgetbuddy.commons.util;
+
+import static budgetbuddy.testutil.Assert.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import budgetbuddy.commons.core.StorageSettings.FsyncPolicy;
+
+public class AtomicFileWriterTest {
+
+    @TempDir
+    public Path testFolder;
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        AtomicFileWriter.setFsyncPolicy(FsyncPolicy.ALWAYS);
+    }
+
+    private String read(Path file) throws IOException {
+        return new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+    }
+
+    private boolean hasTempFiles(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.anyMatch(file -> file.toString().endsWith(AtomicFileWriter.TEMP_FILE_SUFFIX));
+        }
+    }
+
+    @Test
+    public void write_nullArguments_throwsNullPointerException() {
+        assertThrows(NullPointerException.class, () -> AtomicFileWriter.write(null, new byte[0]));
+        assertThrows(NullPointerException.class, () ->
+                AtomicFileWriter.write(testFolder.resolve("file.json"), (byte[]) null));
+    }
+
+    @Test
+    public void write_missingParentDirectories_created() throws Exception {
+        Path file = testFolder.resolve("data").resolve("nested").resolve("file.json");
+        AtomicFileWriter.write(file, "content".getBytes(StandardCharsets.UTF_8));
+        assertEquals("content", read(file));
+        assertFalse(hasTempFiles(file.getParent()));
+    }
+
+    @Test
+    public void write_existingFile_replaced() throws Exception {
+        Path file = testFolder.resolve("file.json");
+        AtomicFileWriter.write(file, "a much longer original content".getBytes(StandardCharsets.UTF_8));
+        AtomicFileWriter.write(file, out -> {
+            out.write("new".getBytes(StandardCharsets.UTF_8));
+            out.close();
+        });
+        assertEquals("new", read(file));
+        assertFalse(hasTempFiles(testFolder));
+    }
+
+    @Test
+    public void write_contentWriterFails_fileUnchanged() throws Exception {
+        Path file = testFolder.resolve("file.json");
+        AtomicFileWriter.write(file, "original".getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(IOException.class, () -> AtomicFileWriter.write(file, out -> {
+            out.write("partial".getBytes(StandardCharsets.UTF_8));
+            throw new IOException("failed halfway");
+        }));
+        assertEquals("original", read(file));
+        assertFalse(hasTempFiles(testFolder));
+    }
+
+    @Test
+    public void write_allFsyncPolicies_success() throws Exception {
+        Path file = testFolder.resolve("file.json");
+        for (FsyncPolicy fsyncPolicy : FsyncPolicy.values()) {
+            AtomicFileWriter.setFsyncPolicy(fsyncPolicy);
+            assertEquals(fsyncPolicy, AtomicFileWriter.getFsyncPolicy());
+            AtomicFileWriter.write(file, fsyncPolicy.toString().getBytes(StandardCharsets.UTF_8));
+            assertEquals(fsyncPolicy.toString(), read(file));
+        }
+
+        AtomicFileWriter.setFsyncPolicy(FsyncPolicy.BATCHED);
+        AtomicFileWriter.write(file, "batched".getBytes(StandardCharsets.UTF_8));
+        Files.delete(file);
+        AtomicFileWriter.syncPending();
+    }
+
+    @Test
+    public void append_missingFile_createdThenAppended() throws Exception {
+        Path file = testFolder.resolve("data").resolve("file.journal");
+        AtomicFileWriter.append(file, "first\n".getBytes(StandardCharsets.UTF_8));
+        AtomicFileWriter.append(file, "second\n".getBytes(StandardCharsets.UTF_8));
+        assertEquals("first\nsecond\n", read(file));
+        assertFalse(AtomicFileWriter.isSyncPending(file));
+    }
+
+    @Test
+    public void append_batchedFsyncPolicy_syncedLater() throws Exception {
+        Path file = testFolder.resolve("file.journal");
+        AtomicFileWriter.setFsyncPolicy(FsyncPolicy.BATCHED);
+        AtomicFileWriter.append(file, "batched\n".getBytes(StandardCharsets.UTF_8));
+        assertTrue(AtomicFileWriter.isSyncPending(file));
+
+        AtomicFileWriter.syncPending();
+        assertFalse(AtomicFileWriter.isSyncPending(file));
+        assertEquals("batched\n", read(file));
+
+        AtomicFileWriter.setFsyncPolicy(FsyncPolicy.NEVER);
+        AtomicFileWriter.append(file, "never\n".getBytes(StandardCharsets.UTF_8));
+        assertFalse(AtomicFileWriter.isSyncPending(file));
+        assertEquals("batched\nnever\n", read(file));
+    }
+}
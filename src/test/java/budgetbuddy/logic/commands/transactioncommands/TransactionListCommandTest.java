@@ -0,0 +1,126 @@
+package budgetbuddy.logic.commands.transactioncommands;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import budgetbuddy.model.Model;
+import budgetbuddy.model.ModelManager;
+import budgetbuddy.model.account.Account;
+import budgetbuddy.model.attributes.Amount;
+import budgetbuddy.model.attributes.Category;
+import budgetbuddy.model.attributes.Description;
+import budgetbuddy.model.attributes.Direction;
+import budgetbuddy.model.transaction.QueryPlan;
+import budgetbuddy.model.transaction.Transaction;
+import budgetbuddy.model.transaction.TransactionMatchesConditionsPredicate;
+
+public class TransactionListCommandTest {
+    private static final Category FOOD = new Category("food");
+    private static final Category TRANSPORT = new Category("transport");
+
+    private Model model;
+    private Account account;
+
+    @BeforeEach
+    public void initialize() {
+        model = new ModelManager();
+        account = model.getAccountsManager().getActiveAccount();
+        for (int day = 1; day <= 20; day++) {
+            account.addTransaction(new Transaction(LocalDate.of(2019, 1, day), new Amount(100 * day),
+                    Direction.OUT, new Description("txn " + day), day % 5 == 0 ? FOOD : TRANSPORT));
+        }
+    }
+
+    @Test
+    public void execute_category_testsOnlyMatchingTransactions() {
+        CountingPredicate predicate = new CountingPredicate(List.of(FOOD));
+        new TransactionListCommand(predicate, Optional.empty()).execute(model);
+
+        assertEquals(4, model.getFilteredTransactions().size());
+        for (Transaction transaction : model.getFilteredTransactions()) {
+            assertTrue(transaction.getCategories().contains(FOOD));
+        }
+        for (Transaction transaction : predicate.tested) {
+            assertTrue(transaction.getCategories().contains(FOOD));
+        }
+    }
+
+    @Test
+    public void execute_transactionsChangedAfterwards_filterKept() {
+        new TransactionListCommand(new CountingPredicate(List.of(FOOD)), Optional.empty()).execute(model);
+        assertEquals(4, model.getFilteredTransactions().size());
+
+        // as by txn add, which sets the account it added to as the active account
+        account.addTransaction(new Transaction(LocalDate.of(2019, 2, 1), new Amount(100),
+                Direction.OUT, new Description("later"), FOOD));
+        model.getAccountsManager().setActiveAccount(account);
+        assertEquals(5, model.getFilteredTransactions().size());
+
+        // as by txn delete, which updates the shown transactions
+        account.addTransaction(new Transaction(LocalDate.of(2019, 2, 2), new Amount(100),
+                Direction.OUT, new Description("bus"), TRANSPORT));
+        model.getAccountsManager().transactionListUpdateSource();
+        assertEquals(5, model.getFilteredTransactions().size());
+        for (Transaction transaction : model.getFilteredTransactions()) {
+            assertTrue(transaction.getCategories().contains(FOOD));
+        }
+
+        model.resetFilteredTransactionList();
+        assertEquals(22, model.getFilteredTransactions().size());
+    }
+
+    @Test
+    public void execute_noConditions_showsAccountTransactions() {
+        new TransactionListCommand(new CountingPredicate(List.of()), Optional.empty()).execute(model);
+        assertEquals(20, model.getFilteredTransactions().size());
+
+        // the account's own list is shown, so it follows changes to the account
+        account.addTransaction(new Transaction(LocalDate.of(2019, 2, 1), new Amount(100),
+                Direction.OUT, new Description("later"), FOOD));
+        assertEquals(21, model.getFilteredTransactions().size());
+    }
+
+    @Test
+    public void execute_explained_explainsPlanUsedToSelect() {
+        String result = new TransactionListCommand(new CountingPredicate(List.of(FOOD)), Optional.empty(), true)
+                .execute(model).getFeedbackToUser();
+        QueryPlan plan = model.getAccountsManager().getTransactionListPlan();
+        assertEquals(4, plan.getCandidateCount());
+        assertTrue(result.endsWith("\n" + plan.explain()));
+    }
+
+    @Test
+    public void execute_explainedWithoutConditions_notPlanned() {
+        String result = new TransactionListCommand(new CountingPredicate(List.of()), Optional.empty(), true)
+                .execute(model).getFeedbackToUser();
+        assertNull(model.getAccountsManager().getTransactionListPlan());
+        assertTrue(result.endsWith("\n" + String.format(TransactionListCommand.MESSAGE_UNPLANNED, 20)));
+    }
+
+    /**
+     * A predicate which records every transaction it is tested against.
+     */
+    private static class CountingPredicate extends TransactionMatchesConditionsPredicate {
+        private final List<Transaction> tested = new ArrayList<>();
+
+        CountingPredicate(List<Category> categories) {
+            super(categories, Optional.empty(), Optional.empty(), Optional.empty(), Optional.empty(),
+                    Optional.empty());
+        }
+
+        @Override
+        public boolean test(Transaction transaction) {
+            tested.add(transaction);
+            return super.test(transaction);
+        }
+    }
+}
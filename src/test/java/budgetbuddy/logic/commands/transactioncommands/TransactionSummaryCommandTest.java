@@ -0,0 +1,85 @@
+package budgetbuddy.logic.commands.transactioncommands;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import budgetbuddy.model.Model;
+import budgetbuddy.model.ModelManager;
+import budgetbuddy.model.account.Account;
+import budgetbuddy.model.attributes.Amount;
+import budgetbuddy.model.attributes.Category;
+import budgetbuddy.model.attributes.Description;
+import budgetbuddy.model.attributes.Direction;
+import budgetbuddy.model.transaction.Transaction;
+
+public class TransactionSummaryCommandTest {
+    private static final Category FOOD = new Category("food");
+    private static final Category WORK = new Category("work");
+
+    private Model model;
+    private Account account;
+
+    @BeforeEach
+    public void initialize() {
+        model = new ModelManager();
+        account = model.getAccountsManager().getActiveAccount();
+    }
+
+    /**
+     * Adds a transaction dated {@code day} to the active account.
+     */
+    private void addTransaction(LocalDate day, long amount, Direction direction, Category category) {
+        account.addTransaction(new Transaction(day, new Amount(amount), direction,
+                new Description("txn"), category));
+    }
+
+    /**
+     * Returns the feedback of a summary from {@code from} until {@code until} of {@code categories}.
+     */
+    private String summarise(LocalDate from, LocalDate until, Category... categories) {
+        return new TransactionSummaryCommand(Optional.ofNullable(from), Optional.ofNullable(until),
+                List.of(categories)).execute(model).getFeedbackToUser();
+    }
+
+    @Test
+    public void execute_noTransactions_noTransactionsMessage() {
+        assertEquals(String.format(TransactionSummaryCommand.MESSAGE_NO_TRANSACTIONS, account.getName()),
+                summarise(null, null));
+    }
+
+    @Test
+    public void execute_noDates_summarisesAllTransactions() {
+        addTransaction(LocalDate.of(2019, 1, 1), 100, Direction.OUT, FOOD);
+        addTransaction(LocalDate.of(2019, 2, 10), 5000, Direction.IN, WORK);
+
+        assertEquals("Summary of account " + account.getName() + " from 1/1/2019 until 10/2/2019:\n"
+                + "Total: income $50.00, expense $1.00 (2 transactions)\n"
+                + "2019-01: income $0.00, expense $1.00 (1 transactions)\n"
+                + "2019-02: income $50.00, expense $0.00 (1 transactions)",
+                summarise(null, null));
+    }
+
+    @Test
+    public void execute_rangeAndCategories_monthsClippedToRange() {
+        addTransaction(LocalDate.of(2019, 1, 1), 100, Direction.OUT, FOOD);
+        addTransaction(LocalDate.of(2019, 1, 20), 200, Direction.OUT, FOOD);
+        addTransaction(LocalDate.of(2019, 2, 5), 400, Direction.OUT, FOOD);
+        addTransaction(LocalDate.of(2019, 2, 10), 5000, Direction.IN, WORK);
+        addTransaction(LocalDate.of(2019, 3, 1), 800, Direction.OUT, FOOD);
+
+        assertEquals("Summary of account " + account.getName() + " from 15/1/2019 until 28/2/2019:\n"
+                + "Total: income $50.00, expense $6.00 (3 transactions)\n"
+                + "2019-01: income $0.00, expense $2.00 (1 transactions)\n"
+                + "2019-02: income $50.00, expense $4.00 (2 transactions)\n"
+                + "food in 2019-01: income $0.00, expense $2.00 (1 transactions)\n"
+                + "food in 2019-02: income $0.00, expense $4.00 (1 transactions)\n"
+                + "work in 2019-02: income $50.00, expense $0.00 (1 transactions)",
+                summarise(LocalDate.of(2019, 1, 15), LocalDate.of(2019, 2, 28), FOOD, WORK));
+    }
+}
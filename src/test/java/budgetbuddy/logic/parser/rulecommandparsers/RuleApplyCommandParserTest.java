@@ -0,0 +1,48 @@
+package budgetbuddy.logic.parser.rulecommandparsers;
+
+import static budgetbuddy.logic.parser.CliSyntax.PREFIX_ACCOUNT;
+import static budgetbuddy.logic.parser.CliSyntax.PREFIX_CATEGORY;
+import static budgetbuddy.logic.parser.CliSyntax.PREFIX_FROM;
+import static budgetbuddy.logic.parser.CliSyntax.PREFIX_UNTIL;
+import static budgetbuddy.logic.parser.CommandParserTestUtil.assertParseFailure;
+import static budgetbuddy.logic.parser.CommandParserTestUtil.assertParseSuccess;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+import budgetbuddy.logic.commands.rulecommands.RuleApplyCommand;
+import budgetbuddy.logic.parser.commandparsers.rulecommandparsers.RuleApplyCommandParser;
+import budgetbuddy.model.attributes.Category;
+import budgetbuddy.model.attributes.Name;
+import budgetbuddy.model.transaction.TransactionMatchesConditionsPredicate;
+
+public class RuleApplyCommandParserTest {
+
+    private RuleApplyCommandParser parser = new RuleApplyCommandParser();
+
+    @Test
+    public void parse_noArguments_allTransactionsOfAllAccounts() {
+        assertParseSuccess(parser, "", new RuleApplyCommand(null,
+                new TransactionMatchesConditionsPredicate(List.of(), Optional.empty(), Optional.empty(),
+                        Optional.empty(), Optional.empty(), Optional.empty())));
+    }
+
+    @Test
+    public void parse_accountAndFilters_success() {
+        assertParseSuccess(parser, " " + PREFIX_ACCOUNT + "food " + PREFIX_FROM + "1/1/2019 "
+                        + PREFIX_UNTIL + "31/3/2019 " + PREFIX_CATEGORY + "lunch",
+                new RuleApplyCommand(new Name("food"),
+                        new TransactionMatchesConditionsPredicate(List.of(new Category("lunch")),
+                                Optional.of(LocalDate.of(2019, 1, 1)), Optional.of(LocalDate.of(2019, 3, 31)),
+                                Optional.empty(), Optional.empty(), Optional.empty())));
+    }
+
+    @Test
+    public void parse_fromAfterUntil_failure() {
+        assertParseFailure(parser, " " + PREFIX_FROM + "1/4/2019 " + PREFIX_UNTIL + "31/3/2019",
+                "The start date of the range cannot be after the end date.");
+    }
+}
@@ -0,0 +1,66 @@
+package budgetbuddy.logic.parser.transactioncommandparsers;
+
+import static budgetbuddy.commons.core.Messages.MESSAGE_INVALID_COMMAND_FORMAT;
+import static budgetbuddy.logic.parser.CliSyntax.KEYWORD_EXPLAIN;
+import static budgetbuddy.logic.parser.CliSyntax.PREFIX_AMOUNT_FROM;
+import static budgetbuddy.logic.parser.CliSyntax.PREFIX_AMOUNT_UNTIL;
+import static budgetbuddy.logic.parser.CliSyntax.PREFIX_CATEGORY;
+import static budgetbuddy.logic.parser.CliSyntax.PREFIX_UNTIL;
+import static budgetbuddy.logic.parser.CommandParserTestUtil.assertParseFailure;
+import static budgetbuddy.logic.parser.CommandParserTestUtil.assertParseSuccess;
+import static budgetbuddy.logic.parser.CommandParserUtil.MESSAGE_INVALID_AMOUNT_RANGE;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+import budgetbuddy.logic.commands.transactioncommands.TransactionListCommand;
+import budgetbuddy.logic.parser.commandparsers.transactioncommandparsers.TransactionListCommandParser;
+import budgetbuddy.model.attributes.Amount;
+import budgetbuddy.model.attributes.Category;
+import budgetbuddy.model.transaction.TransactionMatchesConditionsPredicate;
+
+public class TransactionListCommandParserTest {
+
+    private static final TransactionMatchesConditionsPredicate FOOD = new TransactionMatchesConditionsPredicate(
+            List.of(new Category("food")), Optional.empty(), Optional.empty(), Optional.empty(), Optional.empty(),
+            Optional.empty());
+
+    private TransactionListCommandParser parser = new TransactionListCommandParser();
+
+    @Test
+    public void parse_explainKeyword_explainedCommand() {
+        assertParseSuccess(parser, " " + KEYWORD_EXPLAIN + " " + PREFIX_CATEGORY + "food",
+                new TransactionListCommand(FOOD, Optional.empty(), true));
+    }
+
+    @Test
+    public void parse_noKeyword_unexplainedCommand() {
+        assertParseSuccess(parser, " " + PREFIX_CATEGORY + "food",
+                new TransactionListCommand(FOOD, Optional.empty(), false));
+    }
+
+    @Test
+    public void parse_minimumAmountWithEndDate_success() {
+        assertParseSuccess(parser, " " + PREFIX_AMOUNT_FROM + "5 " + PREFIX_UNTIL + "31/3/2019",
+                new TransactionListCommand(new TransactionMatchesConditionsPredicate(List.of(), Optional.empty(),
+                        Optional.of(LocalDate.of(2019, 3, 31)), Optional.of(new Amount(500)), Optional.empty(),
+                        Optional.empty()), Optional.empty(), false));
+    }
+
+    @Test
+    public void parse_minimumAboveMaximumAmount_failure() {
+        assertParseFailure(parser, " " + PREFIX_AMOUNT_FROM + "5 " + PREFIX_AMOUNT_UNTIL + "4",
+                MESSAGE_INVALID_AMOUNT_RANGE);
+    }
+
+    @Test
+    public void parse_unknownPreamble_failure() {
+        assertParseFailure(parser, " explian " + PREFIX_CATEGORY + "food",
+                String.format(MESSAGE_INVALID_COMMAND_FORMAT, TransactionListCommand.MESSAGE_USAGE));
+        assertParseFailure(parser, " " + KEYWORD_EXPLAIN + " more " + PREFIX_CATEGORY + "food",
+                String.format(MESSAGE_INVALID_COMMAND_FORMAT, TransactionListCommand.MESSAGE_USAGE));
+    }
+}
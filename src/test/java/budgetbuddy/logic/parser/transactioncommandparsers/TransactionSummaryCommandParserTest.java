@@ -0,0 +1,42 @@
+package budgetbuddy.logic.parser.transactioncommandparsers;
+
+import static budgetbuddy.logic.parser.CliSyntax.PREFIX_CATEGORY;
+import static budgetbuddy.logic.parser.CliSyntax.PREFIX_FROM;
+import static budgetbuddy.logic.parser.CliSyntax.PREFIX_UNTIL;
+import static budgetbuddy.logic.parser.CommandParserTestUtil.assertParseFailure;
+import static budgetbuddy.logic.parser.CommandParserTestUtil.assertParseSuccess;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+import budgetbuddy.logic.commands.transactioncommands.TransactionSummaryCommand;
+import budgetbuddy.logic.parser.commandparsers.transactioncommandparsers.TransactionSummaryCommandParser;
+import budgetbuddy.model.attributes.Category;
+
+public class TransactionSummaryCommandParserTest {
+
+    private TransactionSummaryCommandParser parser = new TransactionSummaryCommandParser();
+
+    @Test
+    public void parse_noArguments_summaryOfAllTransactions() {
+        assertParseSuccess(parser, "",
+                new TransactionSummaryCommand(Optional.empty(), Optional.empty(), List.of()));
+    }
+
+    @Test
+    public void parse_allArguments_success() {
+        assertParseSuccess(parser, " " + PREFIX_FROM + "1/1/2019 " + PREFIX_UNTIL + "31/3/2019 "
+                        + PREFIX_CATEGORY + "food " + PREFIX_CATEGORY + "rent",
+                new TransactionSummaryCommand(Optional.of(LocalDate.of(2019, 1, 1)),
+                        Optional.of(LocalDate.of(2019, 3, 31)), List.of(new Category("food"), new Category("rent"))));
+    }
+
+    @Test
+    public void parse_fromAfterUntil_failure() {
+        assertParseFailure(parser, " " + PREFIX_FROM + "1/4/2019 " + PREFIX_UNTIL + "31/3/2019",
+                "The start date of the range cannot be after the end date.");
+    }
+}
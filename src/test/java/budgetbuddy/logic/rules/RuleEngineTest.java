@@ -4,12 +4,15 @@ import static budgetbuddy.logic.rules.RuleEngine.TYPE_AMOUNT;
 import static budgetbuddy.logic.rules.RuleEngine.TYPE_BLANK;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.time.LocalDate;
 import java.util.HashSet;
+import java.util.List;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -116,6 +119,100 @@ class RuleEngineTest {
         assertEquals(new Description("hidden"), account.getTransaction(txnIndex).getDescription());
     }
 
+    @Test
+    public void executeRules_manyActionsPerformed_accountUpdatedOnce() {
+        RuleManager ruleManager = model.getRuleManager();
+        ruleManager.addRule(TypicalRules.DAILY_DESC_PREP_DAILY);
+        ruleManager.addRule(TypicalRules.MOREEQUAL100_OUTAMT_EXP);
+
+        account.addTransaction(new TransactionMock("daily food"));
+        long generation = account.getGeneration();
+        RuleEngine.executeRules(model, scriptEngine, TypicalIndexes.INDEX_FIRST_ITEM, account);
+
+        // assert every action is applied, with a single update of the account
+        Transaction txn = account.getTransaction(TypicalIndexes.INDEX_FIRST_ITEM);
+        assertTrue(txn.getCategories().contains(new Category("Food")));
+        assertTrue(txn.getDescription().getDescription().startsWith("[Daily] daily food"));
+        assertEquals(generation + 1, account.getGeneration());
+    }
+
+    @Test
+    public void executeRules_rulesChangedBetweenTransactions_changedRulesExecuted() {
+        account.addTransaction(new TransactionMock("food for lunch"));
+        RuleEngine.executeRules(model, scriptEngine, TypicalIndexes.INDEX_FIRST_ITEM, account);
+
+        RuleManager ruleManager = model.getRuleManager();
+        ruleManager.deleteRule(TypicalIndexes.INDEX_FIRST_ITEM);
+        ruleManager.addRule(TypicalRules.DAILY_DESC_PREP_DAILY);
+        account.addTransaction(new TransactionMock("daily food"));
+        RuleEngine.executeRules(model, scriptEngine, TypicalIndexes.INDEX_SECOND_ITEM, account);
+
+        Transaction txn = account.getTransaction(TypicalIndexes.INDEX_SECOND_ITEM);
+        assertTrue(txn.getCategories().isEmpty());
+        assertEquals("[Daily] daily food", txn.getDescription().getDescription());
+    }
+
+    @Test
+    public void applyRules_manyAccounts_sameAsExecutingEachTransaction() {
+        RuleManager ruleManager = model.getRuleManager();
+        ruleManager.addRule(TypicalRules.DAILY_DESC_PREP_DAILY);
+        ruleManager.addRule(TypicalRules.MOREEQUAL100_OUTAMT_EXP);
+        List<String> descriptions = List.of("food for lunch", "daily necessities", "daily food", "rent");
+
+        Account otherAccount = new Account(new Name("Other"), new Description("Other"), new TransactionList());
+        Account expectedAccount = new AccountMock();
+        for (String description : descriptions) {
+            account.addTransaction(new TransactionMock(description));
+            otherAccount.addTransaction(new TransactionMock(description));
+            expectedAccount.addTransaction(new TransactionMock(description));
+        }
+        for (int i = 0; i < descriptions.size(); i++) {
+            RuleEngine.executeRules(model, scriptEngine, Index.fromZeroBased(i), expectedAccount);
+        }
+
+        int changed = RuleEngine.applyRules(model, scriptEngine, List.of(account, otherAccount), txn -> true);
+
+        assertEquals(2 * descriptions.size(), changed);
+        assertEquals(expectedAccount.getTransactionList(), account.getTransactionList());
+        assertEquals(expectedAccount.getTransactionList(), otherAccount.getTransactionList());
+        assertEquals(expectedAccount.getBalance(), account.getBalance());
+    }
+
+    @Test
+    public void applyRules_filteredTransactions_onlyMatchingTransactionsChanged() {
+        account.addTransaction(new TransactionMock("food for lunch"));
+        account.addTransaction(new TransactionMock("food for dinner"));
+
+        int changed = RuleEngine.applyRules(model, scriptEngine, List.of(account),
+            txn -> txn.getDescription().getDescription().contains("lunch"));
+
+        assertEquals(1, changed);
+        assertTrue(account.getTransaction(TypicalIndexes.INDEX_FIRST_ITEM).getCategories()
+                .contains(new Category("Food")));
+        assertTrue(account.getTransaction(TypicalIndexes.INDEX_SECOND_ITEM).getCategories().isEmpty());
+    }
+
+    @Test
+    public void executeRules_anotherModelAndEngine_compiledRulesKeptPerEngine() {
+        account.addTransaction(new TransactionMock("food for lunch"));
+        RuleEngine.executeRules(model, scriptEngine, TypicalIndexes.INDEX_FIRST_ITEM, account);
+        Object compiledRules = scriptEngine.getCompiledRules();
+        assertNotNull(compiledRules);
+
+        // another model without rules, run by its own engine
+        Model otherModel = new ModelManager();
+        ScriptEngine otherScriptEngine = new ScriptEngine();
+        Account otherAccount = new AccountMock();
+        otherModel.getAccountsManager().addAccount(otherAccount);
+        otherAccount.addTransaction(new TransactionMock("food for lunch"));
+        RuleEngine.executeRules(otherModel, otherScriptEngine, TypicalIndexes.INDEX_FIRST_ITEM, otherAccount);
+
+        assertNotSame(compiledRules, otherScriptEngine.getCompiledRules());
+        assertTrue(otherAccount.getTransaction(TypicalIndexes.INDEX_FIRST_ITEM).getCategories().isEmpty());
+        RuleEngine.executeRules(model, scriptEngine, TypicalIndexes.INDEX_FIRST_ITEM, account);
+        assertSame(compiledRules, scriptEngine.getCompiledRules());
+    }
+
     @Test
     public void executeRules_nullModel_throwsNullPointerException() {
         Index txnIndex = TypicalIndexes.INDEX_FIRST_ITEM;
@@ -0,0 +1,86 @@
+package budgetbuddy.logic.rules;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.BitSet;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import budgetbuddy.logic.rules.testable.Testable;
+import budgetbuddy.logic.script.ScriptEngine;
+import budgetbuddy.model.ModelManager;
+import budgetbuddy.model.ScriptLibraryManager;
+import budgetbuddy.model.attributes.Amount;
+import budgetbuddy.model.attributes.Description;
+import budgetbuddy.model.attributes.Direction;
+import budgetbuddy.model.rule.RulePredicate;
+import budgetbuddy.model.rule.expression.Attribute;
+import budgetbuddy.model.rule.expression.Operator;
+import budgetbuddy.model.rule.expression.PredicateExpression;
+import budgetbuddy.model.rule.expression.Value;
+import budgetbuddy.model.transaction.Transaction;
+import budgetbuddy.testutil.ruleutil.TypicalPredicates;
+
+public class RuleNetworkTest {
+
+    private static final List<RulePredicate> PREDICATES = List.of(
+            predicate(Attribute.DESCRIPTION, Operator.CONTAINS, "food"),
+            predicate(Attribute.DESCRIPTION, Operator.CONTAINS, "od"),
+            predicate(Attribute.DESCRIPTION, Operator.CONTAINS, "lunch"),
+            predicate(Attribute.DESCRIPTION, Operator.EQUAL_TO, "daily food"),
+            predicate(Attribute.OUT_AMOUNT, Operator.LESS_THAN, "10"),
+            predicate(Attribute.OUT_AMOUNT, Operator.LESS_EQUAL, "10"),
+            predicate(Attribute.OUT_AMOUNT, Operator.MORE_THAN, "10"),
+            predicate(Attribute.OUT_AMOUNT, Operator.MORE_EQUAL, "10"),
+            predicate(Attribute.IN_AMOUNT, Operator.EQUAL_TO, "10"),
+            predicate(Attribute.IN_AMOUNT, Operator.CONTAINS, "10"),
+            predicate(Attribute.DATE, Operator.MORE_EQUAL, "01/11/2019"),
+            predicate(Attribute.DATE, Operator.LESS_THAN, "not a date"));
+
+    private static final List<Transaction> TRANSACTIONS = List.of(
+            transaction("daily food", 1000, Direction.OUT, LocalDate.of(2019, 10, 31)),
+            transaction("lunch food", 999, Direction.OUT, LocalDate.of(2019, 11, 1)),
+            transaction("good lunch", 1001, Direction.OUT, LocalDate.of(2019, 12, 1)),
+            transaction("salary", 1000, Direction.IN, LocalDate.of(2019, 10, 1)),
+            transaction("refund", 21050, Direction.IN, LocalDate.of(2019, 11, 2)));
+
+    private static RulePredicate predicate(Attribute attribute, Operator operator, String value) {
+        return new PredicateExpression(attribute, operator, new Value(value));
+    }
+
+    private static Transaction transaction(String description, long amount, Direction direction, LocalDate date) {
+        return new Transaction(date, new Amount(amount), direction, new Description(description));
+    }
+
+    @Test
+    public void candidates_expressions_exactlyRulesSatisfied() {
+        RuleNetwork network = new RuleNetwork(PREDICATES);
+        for (Transaction txn : TRANSACTIONS) {
+            RuleContext context = new RuleContext(new ModelManager(), txn);
+            BitSet satisfied = new BitSet();
+            for (int i = 0; i < PREDICATES.size(); i++) {
+                Testable testable = RuleEngine.generateTestable(PREDICATES.get(i), new ScriptLibraryManager(),
+                        new ScriptEngine());
+                if (testable.test(context)) {
+                    satisfied.set(i);
+                }
+            }
+            assertEquals(satisfied, network.candidates(txn), txn.toString());
+        }
+    }
+
+    @Test
+    public void candidates_script_alwaysCandidate() {
+        RuleNetwork network = new RuleNetwork(List.of(
+                predicate(Attribute.DESCRIPTION, Operator.EQUAL_TO, "nothing matches this"),
+                TypicalPredicates.TEST_SCRIPT));
+        for (Transaction txn : TRANSACTIONS) {
+            BitSet candidates = network.candidates(txn);
+            assertEquals(1, candidates.cardinality());
+            assertTrue(candidates.get(1));
+        }
+    }
+}
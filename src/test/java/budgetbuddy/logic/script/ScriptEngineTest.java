@@ -7,7 +7,9 @@ import static org.junit.jupiter.api.Assertions.fail;
 import org.junit.jupiter.api.Test;
 
 import budgetbuddy.logic.script.exceptions.ScriptException;
+import budgetbuddy.model.ScriptLibraryManager;
 import budgetbuddy.testutil.scriptutil.ScriptUtil;
+import budgetbuddy.testutil.scriptutil.TypicalScriptNames;
 
 class ScriptEngineTest {
     @Test
@@ -18,6 +20,49 @@ class ScriptEngineTest {
         assertEquals(123, se.evaluateScript(ScriptUtil.makeScript("a", "a", "123")));
     }
 
+    @Test
+    void testLibraryScript() throws Exception {
+        ScriptEngine se = new ScriptEngine();
+        ScriptLibraryManager library = new ScriptLibraryManager();
+
+        assertThrows(ScriptException.class, () -> se.evaluateScript(library, TypicalScriptNames.A));
+
+        library.addScript(ScriptUtil.makeScript("A", "A description", "argv[0] + 1"));
+        assertEquals(124, ((Number) se.evaluateScript(library, TypicalScriptNames.A, 123)).intValue());
+        assertEquals(2, ((Number) se.evaluateScript(library, TypicalScriptNames.A, 1)).intValue());
+
+        // replaced script is run, not the one compiled before
+        library.addScript(ScriptUtil.makeScript("A", "A description", "argv[0] + 2"));
+        assertEquals(125, ((Number) se.evaluateScript(library, TypicalScriptNames.A, 123)).intValue());
+
+        library.removeScript(TypicalScriptNames.A);
+        assertThrows(ScriptException.class, () -> se.evaluateScript(library, TypicalScriptNames.A, 123));
+    }
+
+    @Test
+    void testLibraryScriptOtherLibrary() throws Exception {
+        ScriptEngine se = new ScriptEngine();
+        ScriptLibraryManager library = new ScriptLibraryManager();
+        ScriptLibraryManager otherLibrary = new ScriptLibraryManager();
+        library.addScript(ScriptUtil.makeScript("A", "A description", "argv[0] + 1"));
+        otherLibrary.addScript(ScriptUtil.makeScript("A", "A description", "argv[0] + 2"));
+
+        // both libraries are at the same generation, but each runs its own script
+        assertEquals(124, ((Number) se.evaluateScript(library, TypicalScriptNames.A, 123)).intValue());
+        assertEquals(125, ((Number) se.evaluateScript(otherLibrary, TypicalScriptNames.A, 123)).intValue());
+        assertEquals(124, ((Number) se.evaluateScript(library, TypicalScriptNames.A, 123)).intValue());
+    }
+
+    @Test
+    void testLibraryScriptSyntaxError() {
+        ScriptEngine se = new ScriptEngine();
+        ScriptLibraryManager library = new ScriptLibraryManager();
+
+        library.addScript(ScriptUtil.makeScript("A", "A description", "var = ;"));
+        assertThrows(ScriptException.class, () -> se.evaluateScript(library, TypicalScriptNames.A));
+        assertThrows(ScriptException.class, () -> se.evaluateScript(library, TypicalScriptNames.A));
+    }
+
     @Test
     void testArgv() throws Exception {
         ScriptEngine se = new ScriptEngine();
@@ -15,6 +15,7 @@ import budgetbuddy.logic.script.exceptions.ScriptException;
 import budgetbuddy.model.Model;
 import budgetbuddy.model.ModelManager;
 import budgetbuddy.model.account.Account;
+import budgetbuddy.model.account.AccountTotals;
 import budgetbuddy.model.attributes.Category;
 import budgetbuddy.model.attributes.Direction;
 import budgetbuddy.model.transaction.Transaction;
@@ -111,6 +112,16 @@ class ScriptModelBindingTest {
         assertEquals(Set.of(new Category("a"), new Category("b")), txn.getCategories());
         assertEquals("hello", txn.getDescription().getDescription());
 
+        AccountTotals.Total summary = (AccountTotals.Total) run("accountSummary(acc, { from: '1/1/2019' })");
+        assertEquals(1, summary.getCount());
+        assertEquals(1, summary.getExpense());
+        summary = (AccountTotals.Total) run("accountSummary(acc, { from: '2/1/2019', until: '31/1/2019' })");
+        assertEquals(0, summary.getCount());
+        summary = (AccountTotals.Total) run("accountSummary(acc, { from: '1/1/2019', category: 'a' })");
+        assertEquals(1, summary.getCount());
+        summary = (AccountTotals.Total) run("accountSummary(acc, { from: '2/1/2019', category: 'a' })");
+        assertEquals(0, summary.getCount());
+
         se.setVariable("txn", txn);
         run("deleteTxn(acc, txn)");
         assertEquals(0, acc.getTransactionList().getTransactionsCount());
@@ -5,15 +5,27 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.junit.jupiter.api.Test;
 
 import budgetbuddy.commons.core.index.Index;
 import budgetbuddy.model.account.Account;
 import budgetbuddy.model.account.exceptions.AccountNotFoundException;
 import budgetbuddy.model.account.exceptions.DuplicateAccountException;
+import budgetbuddy.model.attributes.Amount;
+import budgetbuddy.model.attributes.Description;
+import budgetbuddy.model.attributes.Direction;
+import budgetbuddy.model.attributes.Name;
+import budgetbuddy.model.transaction.Transaction;
+import budgetbuddy.model.transaction.TransactionList;
 import budgetbuddy.testutil.TypicalIndexes;
 import budgetbuddy.testutil.accountutil.AccountBuilder;
 import budgetbuddy.testutil.accountutil.TypicalAccounts;
+import javafx.collections.ListChangeListener;
 
 
 public class AccountManagerTest {
@@ -53,6 +65,46 @@ public class AccountManagerTest {
                 TypicalIndexes.INDEX_THIRD_ITEM, TypicalAccounts.FOOD));
     }
 
+    @Test
+    public void getGeneration_modified_increases() {
+        long generation = accountsManager.getGeneration();
+        accountsManager.updateFilteredTransactionList(txn -> false);
+        accountsManager.resetSortedTransactionList();
+        assertEquals(generation, accountsManager.getGeneration());
+
+        accountsManager.editAccount(TypicalIndexes.INDEX_FIRST_ITEM,
+                new AccountBuilder(accountsManager.getAccount(TypicalIndexes.INDEX_FIRST_ITEM))
+                        .withName("Savings").build());
+        assertTrue(accountsManager.getGeneration() > generation);
+
+        generation = accountsManager.getGeneration();
+        accountsManager.setActiveAccountByIndex(TypicalIndexes.INDEX_SECOND_ITEM);
+        assertTrue(accountsManager.getGeneration() > generation);
+    }
+
+    @Test
+    public void setActiveAccount_filteredAccountList_switchedOnce() {
+        List<Account> accounts = new ArrayList<>();
+        for (String name : List.of("First", "Second", "Third")) {
+            TransactionList transactionList = new TransactionList();
+            transactionList.add(new Transaction(LocalDate.of(2019, 1, 1), new Amount(100), Direction.OUT,
+                    new Description(name)));
+            accounts.add(new Account(new Name(name), new Description(name), transactionList));
+        }
+        AccountsManager manager = new AccountsManager(accounts, TypicalIndexes.INDEX_SECOND_ITEM);
+        manager.updateFilteredAccountList(account -> account == accounts.get(1));
+        long generation = manager.getGeneration();
+        AtomicInteger changes = new AtomicInteger();
+        manager.getFilteredTransactionList().addListener((ListChangeListener<Transaction>) change ->
+                changes.incrementAndGet());
+
+        manager.setActiveAccount(accounts.get(2));
+        assertEquals(accounts.get(2), manager.getActiveAccount());
+        assertEquals(TypicalIndexes.INDEX_THIRD_ITEM, manager.getActiveAccountIndex());
+        assertEquals(generation + 1, manager.getGeneration());
+        assertEquals(1, changes.get());
+    }
+
     @Test
     public void deleteAccount_indexBeyondListSize_throwsAccountNotFoundException() {
         assertThrows(AccountNotFoundException.class, () -> accountsManager.deleteAccount(
@@ -1,13 +1,24 @@
 package budgetbuddy.model.account;
 
 import static budgetbuddy.testutil.Assert.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.junit.jupiter.api.Test;
 
+import budgetbuddy.commons.core.index.Index;
+import budgetbuddy.model.attributes.Amount;
+import budgetbuddy.model.attributes.Category;
 import budgetbuddy.model.attributes.Description;
+import budgetbuddy.model.attributes.Direction;
 import budgetbuddy.model.attributes.Name;
+import budgetbuddy.model.transaction.Transaction;
 import budgetbuddy.model.transaction.TransactionList;
 import budgetbuddy.testutil.accountutil.AccountBuilder;
 
@@ -42,4 +53,91 @@ public class AccountTest {
         accountOther = new AccountBuilder(account).withDescription("blahblahblah").build();
         assertFalse(account.equals(accountOther));
     }
+
+    @Test
+    public void getTransactionList_lazyAccount_loadedOnceOnFirstAccess() {
+        TransactionList transactionList = new TransactionList();
+        transactionList.add(new Transaction(LocalDate.of(2019, 10, 1), new Amount(550), Direction.IN,
+                new Description("Refund")));
+        AtomicInteger loadCount = new AtomicInteger();
+        Account account = new Account(new Name("Cash"), new Description("Wallet"), 550, () -> {
+            loadCount.incrementAndGet();
+            return transactionList;
+        });
+
+        assertFalse(account.isTransactionListLoaded());
+        assertEquals(550, account.getBalance());
+        assertEquals(0, loadCount.get());
+
+        assertEquals(transactionList, account.getTransactionList());
+        assertTrue(account.isTransactionListLoaded());
+        account.getTransactionList();
+        assertEquals(1, loadCount.get());
+    }
+
+    @Test
+    public void getTotals_transactionsChanged_totalsKeptUpToDate() {
+        Category food = new Category("Food");
+        Transaction lunch = new Transaction(LocalDate.of(2019, 10, 1), new Amount(550), Direction.OUT,
+                new Description("Lunch"), food);
+        Transaction refund = new Transaction(LocalDate.of(2019, 10, 2), new Amount(300), Direction.IN,
+                new Description("Refund"), food, new Category("Refunds"));
+        Account account = new Account(new Name("Cash"), new Description("Wallet"), new TransactionList());
+        account.addTransaction(lunch);
+        assertEquals(550, account.getTotals().getExpense());
+
+        account.addTransaction(refund);
+        assertEquals(2, account.getTotals().getCategoryCount(food));
+        assertEquals(300, account.getTotals().getCategoryIncome(food));
+        assertEquals("$3.00", account.getIncome());
+
+        account.updateTransaction(Index.fromOneBased(1), new Transaction(LocalDate.of(2019, 10, 1),
+                new Amount(700), Direction.OUT, new Description("Dinner"), food));
+        assertEquals(700, account.getTotals().getCategoryExpense(food));
+
+        account.deleteTransaction(refund);
+        assertEquals(Set.of(food), account.getCategories());
+        assertEquals(0, account.getTotals().getIncome());
+        assertEquals("$7.00", account.getExpense());
+    }
+
+    @Test
+    public void getTotals_transactionsChanged_rollupsKeptUpToDate() {
+        Category food = new Category("Food");
+        Transaction octoberLunch = new Transaction(LocalDate.of(2019, 10, 31), new Amount(550), Direction.OUT,
+                new Description("Lunch"), food);
+        Transaction novemberLunch = new Transaction(LocalDate.of(2019, 11, 1), new Amount(450), Direction.OUT,
+                new Description("Lunch"), food);
+        Transaction salary = new Transaction(LocalDate.of(2019, 11, 1), new Amount(10000), Direction.IN,
+                new Description("Salary"), new Category("Work"));
+        Account account = new Account(new Name("Cash"), new Description("Wallet"), new TransactionList());
+        account.addTransaction(octoberLunch);
+        account.addTransaction(novemberLunch);
+        account.addTransaction(salary);
+
+        AccountTotals.Total november = account.getTotals().getTotal(LocalDate.of(2019, 11, 1),
+                LocalDate.of(2019, 11, 30));
+        assertEquals(2, november.getCount());
+        assertEquals(10000, november.getIncome());
+        assertEquals(450, november.getExpense());
+        assertEquals(Set.of(YearMonth.of(2019, 10), YearMonth.of(2019, 11)),
+                account.getTotals().getMonthlyTotals(LocalDate.of(2019, 1, 1), LocalDate.of(2019, 12, 31)).keySet());
+        assertEquals(1000, account.getTotals().getCategoryTotal(food, LocalDate.of(2019, 10, 1),
+                LocalDate.of(2019, 11, 30)).getExpense());
+        assertEquals(450, account.getTotals().getCategoryTotal(food, LocalDate.of(2019, 11, 1),
+                LocalDate.of(2019, 11, 30)).getExpense());
+        assertEquals(550, account.getTotals().getMonthlyTotals(food, LocalDate.of(2019, 10, 2),
+                LocalDate.of(2019, 11, 30)).get(YearMonth.of(2019, 10)).getExpense());
+        assertEquals(Set.of(YearMonth.of(2019, 11)), account.getTotals().getMonthlyTotals(food,
+                LocalDate.of(2019, 11, 1), LocalDate.of(2019, 11, 30)).keySet());
+
+        account.updateTransaction(Index.fromOneBased(1), new Transaction(LocalDate.of(2019, 12, 1),
+                new Amount(550), Direction.OUT, new Description("Lunch"), food));
+        assertEquals(Set.of(YearMonth.of(2019, 11), YearMonth.of(2019, 12)),
+                account.getTotals().getMonthlyTotals(food, LocalDate.of(2019, 1, 1), LocalDate.of(2019, 12, 31))
+                        .keySet());
+        assertEquals(LocalDate.of(2019, 12, 1), account.getTotals().getLastDate());
+        assertEquals(0, account.getTotals().getTotal(LocalDate.of(2019, 10, 1),
+                LocalDate.of(2019, 10, 31)).getCount());
+    }
 }
@@ -0,0 +1,54 @@
+package budgetbuddy.model.account;
+
+import static budgetbuddy.testutil.Assert.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import budgetbuddy.commons.core.index.Index;
+import budgetbuddy.model.account.exceptions.DuplicateAccountException;
+import budgetbuddy.model.attributes.Description;
+import budgetbuddy.model.attributes.Name;
+import budgetbuddy.model.transaction.TransactionList;
+
+public class UniqueAccountListTest {
+
+    private static Account account(String name, String description) {
+        return new Account(new Name(name), new Description(description), new TransactionList());
+    }
+
+    @Test
+    public void lookups_afterAddReplaceAndRemove_findAccountsByName() {
+        Account cash = account("Cash", "Wallet");
+        Account bank = account("Bank", "Savings");
+        Account card = account("Card", "Credit card");
+        UniqueAccountList accounts = new UniqueAccountList(List.of(cash, bank));
+        accounts.add(card);
+        assertEquals(Index.fromZeroBased(2), accounts.indexOfEquivalent(card));
+
+        Account renamedBank = account("Savings", "Savings");
+        accounts.replace(bank, renamedBank);
+        assertNull(accounts.get(new Name("Bank")));
+        assertEquals(renamedBank, accounts.get(new Name("Savings")));
+        assertEquals(Index.fromZeroBased(1), accounts.indexOfEquivalent(renamedBank));
+
+        accounts.remove(cash);
+        assertFalse(accounts.contains(cash));
+        assertEquals(card, accounts.get(new Name("Card")));
+        assertEquals(Index.fromZeroBased(1), accounts.indexOfEquivalent(card));
+        assertNull(accounts.indexOfEquivalent(account("Card", "Debit card")));
+        assertTrue(accounts.contains(account("Card", "Debit card")));
+    }
+
+    @Test
+    public void setAll_accountsWithSameName_throwsDuplicateAccountException() {
+        UniqueAccountList accounts = new UniqueAccountList();
+        assertThrows(DuplicateAccountException.class, () ->
+                accounts.setAll(List.of(account("Cash", "Wallet"), account("Cash", "Pocket"))));
+    }
+}
@@ -0,0 +1,63 @@
+package budgetbuddy.model.transaction;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.BitSet;
+
+import org.junit.jupiter.api.Test;
+
+public class OrderedIndexTest {
+
+    /**
+     * Returns a bitmap with the given rows set.
+     */
+    private static BitSet bits(int... rows) {
+        BitSet bits = new BitSet();
+        for (int row : rows) {
+            bits.set(row);
+        }
+        return bits;
+    }
+
+    @Test
+    public void rowsBetween_bounds_inclusive() {
+        long[] keys = {5, 1, 3, 3, 9};
+        OrderedIndex index = new OrderedIndex(row -> keys[row], keys.length);
+        assertEquals(bits(0, 2, 3), index.rowsBetween(3, 5));
+        assertEquals(bits(), index.rowsBetween(6, 8));
+        assertEquals(bits(0, 1, 2, 3, 4), index.rowsBetween(Long.MIN_VALUE, Long.MAX_VALUE));
+        assertEquals(2, index.count(2, 4));
+    }
+
+    @Test
+    public void order_equalKeys_stable() {
+        long[] keys = {2, 1, 2, 1};
+        OrderedIndex index = new OrderedIndex(row -> keys[row], keys.length);
+        assertArrayEquals(new int[] {1, 3, 0, 2}, index.ascendingOrder());
+        assertArrayEquals(new int[] {0, 2, 1, 3}, index.descendingOrder());
+    }
+
+    @Test
+    public void changes_insertRemovePermute_orderKeptUpToDate() {
+        long[] keys = {4, 2, 8, 0};
+        OrderedIndex index = new OrderedIndex(row -> keys[row], 3);
+
+        index.insert(3);
+        assertArrayEquals(new int[] {3, 1, 0, 2}, index.ascendingOrder());
+
+        // the transaction at row 1 is removed, and the later keys move down
+        index.remove(1);
+        index.rowRemoved(1);
+        keys[1] = 8;
+        keys[2] = 0;
+        assertArrayEquals(new int[] {2, 0, 1}, index.ascendingOrder());
+
+        // reverse the three remaining transactions
+        keys[0] = 0;
+        keys[2] = 4;
+        index.permute(new int[] {2, 1, 0});
+        assertArrayEquals(new int[] {0, 2, 1}, index.ascendingOrder());
+        assertEquals(3, index.size());
+    }
+}
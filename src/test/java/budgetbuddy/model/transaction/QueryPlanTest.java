@@ -0,0 +1,61 @@
+package budgetbuddy.model.transaction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class QueryPlanTest {
+
+    private static final int TOTAL_ROWS = 1000;
+
+    /**
+     * Returns a bitmap of the rows from {@code from} to {@code to}.
+     */
+    private static BitSet rows(int from, int to) {
+        BitSet rows = new BitSet();
+        rows.set(from, to);
+        return rows;
+    }
+
+    @Test
+    public void execute_lookups_mostSelectiveFirst() {
+        List<String> lookedUp = new ArrayList<>();
+        List<QueryPlan.Lookup> lookups = List.of(
+                new QueryPlan.Lookup("wide", 900, () -> {
+                    lookedUp.add("wide");
+                    return rows(0, 900);
+                }),
+                new QueryPlan.Lookup("narrow", 100, () -> {
+                    lookedUp.add("narrow");
+                    return rows(850, 950);
+                }));
+        QueryPlan plan = QueryPlan.execute(TOTAL_ROWS, lookups);
+        assertEquals(List.of("narrow", "wide"), lookedUp);
+        assertEquals(rows(850, 900), plan.getCandidates());
+        assertTrue(plan.explain().contains("1. Look up narrow (about 100 matches): 100 candidates left"));
+    }
+
+    @Test
+    public void execute_fewCandidatesLeft_remainingConditionsTested() {
+        List<QueryPlan.Lookup> lookups = List.of(
+                new QueryPlan.Lookup("rare", 3, () -> rows(0, 3)),
+                new QueryPlan.Lookup("common", 500, () -> {
+                    throw new AssertionError("not looked up");
+                }));
+        QueryPlan plan = QueryPlan.execute(TOTAL_ROWS, lookups);
+        assertEquals(3, plan.getCandidateCount());
+        assertTrue(plan.explain().contains("2. Test common (about 500 matches)"));
+    }
+
+    @Test
+    public void execute_noLookups_everyRowScanned() {
+        QueryPlan plan = QueryPlan.execute(TOTAL_ROWS, List.of());
+        assertEquals(TOTAL_ROWS, plan.getCandidateCount());
+        assertTrue(plan.explain().contains("Scan every transaction"));
+    }
+}
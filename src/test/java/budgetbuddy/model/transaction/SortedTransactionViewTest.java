@@ -0,0 +1,113 @@
+package budgetbuddy.model.transaction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import budgetbuddy.commons.core.index.Index;
+import budgetbuddy.model.attributes.Amount;
+import budgetbuddy.model.attributes.Description;
+import budgetbuddy.model.attributes.Direction;
+import javafx.collections.ListChangeListener;
+
+public class SortedTransactionViewTest {
+
+    private static final Transaction LUNCH = new Transaction(LocalDate.of(2019, 10, 1), new Amount(550),
+            Direction.OUT, new Description("Lunch"));
+    private static final Transaction DINNER = new Transaction(LocalDate.of(2019, 10, 2), new Amount(2000),
+            Direction.OUT, new Description("Dinner"));
+    private static final Transaction SALARY = new Transaction(LocalDate.of(2019, 11, 1), new Amount(200000),
+            Direction.IN, new Description("Salary"));
+    private static final Transaction REFUND = new Transaction(LocalDate.of(2019, 9, 1), new Amount(550),
+            Direction.IN, new Description("Refund"));
+
+    private static TransactionList transactionList(Transaction... transactions) {
+        TransactionList transactionList = new TransactionList();
+        transactionList.addAll(List.of(transactions));
+        return transactionList;
+    }
+
+    private static List<Transaction> sorted(TransactionList transactionList, Comparator<Transaction> comparator) {
+        return transactionList.asUnmodifiableObservableList().stream().sorted(comparator)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Returns a list to which a description of each part of each change to {@code view} is added.
+     */
+    private static List<String> recordChanges(SortedTransactionView view) {
+        List<String> changes = new ArrayList<>();
+        view.addListener((ListChangeListener<Transaction>) change -> {
+            while (change.next()) {
+                if (change.wasPermutated()) {
+                    changes.add("permutation");
+                } else if (change.wasReplaced()) {
+                    changes.add("replace " + change.getRemovedSize() + " with " + change.getAddedSize());
+                } else if (change.wasAdded()) {
+                    changes.add("add at " + change.getFrom());
+                } else {
+                    changes.add("remove at " + change.getFrom());
+                }
+            }
+        });
+        return changes;
+    }
+
+    @Test
+    public void sourceChanged_oneTransaction_onlyThatTransactionMoved() {
+        TransactionList source = transactionList(LUNCH, DINNER, SALARY);
+        SortedTransactionView view = new SortedTransactionView(source, ComparatorUtil.SORT_BY_DESCENDING_DATE);
+        List<String> changes = recordChanges(view);
+        assertEquals(List.of(SALARY, DINNER, LUNCH), view);
+
+        source.add(REFUND);
+        assertEquals(List.of(SALARY, DINNER, LUNCH, REFUND), view);
+        source.setTransaction(Index.fromZeroBased(0), new Transaction(LocalDate.of(2019, 12, 1),
+                new Amount(550), Direction.OUT, new Description("Lunch")));
+        assertEquals(sorted(source, ComparatorUtil.SORT_BY_DESCENDING_DATE), view);
+        source.remove(DINNER);
+        assertEquals(sorted(source, ComparatorUtil.SORT_BY_DESCENDING_DATE), view);
+
+        assertEquals(List.of("add at 3", "add at 0", "remove at 3", "remove at 2"), changes);
+    }
+
+    @Test
+    public void setComparator_newComparator_reportedAsPermutation() {
+        TransactionList source = transactionList(LUNCH, DINNER, SALARY, REFUND);
+        SortedTransactionView view = new SortedTransactionView(source, ComparatorUtil.SORT_BY_DESCENDING_DATE);
+        List<String> changes = recordChanges(view);
+
+        Comparator<Transaction> byDirection = Comparator.comparing(Transaction::getDirection);
+        for (Comparator<Transaction> comparator : List.of(ComparatorUtil.SORT_BY_ASCENDING_AMOUNT,
+                ComparatorUtil.SORT_BY_ASCENDING_DESCRIPTION, byDirection)) {
+            view.setComparator(comparator);
+            assertEquals(sorted(source, comparator), view);
+        }
+        assertEquals(List.of("permutation", "permutation", "permutation"), changes);
+
+        source.add(DINNER);
+        assertEquals(sorted(source, byDirection), view);
+    }
+
+    @Test
+    public void setSource_otherList_followsOnlyOtherList() {
+        TransactionList source = transactionList(LUNCH, DINNER);
+        TransactionList otherSource = transactionList(SALARY, REFUND);
+        SortedTransactionView view = new SortedTransactionView(source, ComparatorUtil.SORT_BY_ASCENDING_DATE);
+        List<String> changes = recordChanges(view);
+
+        view.setSource(otherSource);
+        assertEquals(List.of(REFUND, SALARY), view);
+        source.add(SALARY);
+        otherSource.setAll(List.of(LUNCH, DINNER, SALARY));
+        assertEquals(List.of(LUNCH, DINNER, SALARY), view);
+        assertTrue(changes.stream().allMatch(change -> change.startsWith("replace")));
+    }
+}
@@ -0,0 +1,159 @@
+package budgetbuddy.model.transaction;
+
+import static budgetbuddy.testutil.Assert.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import budgetbuddy.model.attributes.Amount;
+import budgetbuddy.model.attributes.Category;
+import budgetbuddy.model.attributes.Description;
+import budgetbuddy.model.attributes.Direction;
+
+public class TransactionArchiveTest {
+
+    private static final LocalDate CUTOFF = LocalDate.of(2019, 1, 1);
+
+    private static final Transaction LUNCH = new Transaction(LocalDate.of(2018, 10, 1), new Amount(550),
+            Direction.OUT, new Description("Lunch at work"), new Category("Food"), new Category("Work"));
+    private static final Transaction DINNER = new Transaction(LocalDate.of(2018, 10, 2), new Amount(2000),
+            Direction.OUT, new Description("Dinner"), new Category("Food"));
+    private static final Transaction SALARY = new Transaction(LocalDate.of(2018, 11, 1), new Amount(200000),
+            Direction.IN, new Description("Salary"));
+    private static final Transaction REFUND = new Transaction(LocalDate.of(2018, 12, 1), new Amount(550),
+            Direction.IN, new Description("Lunch at work"), new Category("Work"));
+
+    private static final List<Transaction> TRANSACTIONS = List.of(LUNCH, DINNER, SALARY, REFUND);
+
+    private static TransactionArchive archive(List<Transaction> transactions) {
+        TransactionArchive.Builder builder = new TransactionArchive.Builder(TransactionArchive.EMPTY);
+        transactions.forEach(builder::add);
+        return builder.build(CUTOFF);
+    }
+
+    private static TransactionMatchesConditionsPredicate predicate(List<Category> categories,
+            Optional<LocalDate> from, Optional<Amount> fromAmount, Optional<Description> description) {
+        return new TransactionMatchesConditionsPredicate(categories, from, Optional.empty(), fromAmount,
+                Optional.empty(), description);
+    }
+
+    @Test
+    public void getTransaction_builtArchive_sameTransactions() {
+        TransactionArchive archive = archive(TRANSACTIONS);
+        assertEquals(4, archive.size());
+        assertEquals(CUTOFF, archive.getCutoff());
+        for (int i = 0; i < TRANSACTIONS.size(); i++) {
+            assertEquals(TRANSACTIONS.get(i), archive.getTransaction(i));
+        }
+        // descriptions and categories are kept once each
+        assertEquals(3, archive.getDescriptionDictionary().size());
+        assertEquals(2, archive.getCategoryDictionary().size());
+        assertThrows(IndexOutOfBoundsException.class, () -> archive.getTransaction(4));
+    }
+
+    @Test
+    public void builder_existingArchive_transactionsAppended() {
+        TransactionArchive base = archive(List.of(LUNCH, DINNER));
+        TransactionArchive appended = new TransactionArchive.Builder(base).add(SALARY).add(REFUND).build(CUTOFF);
+        assertEquals(archive(TRANSACTIONS), appended);
+        assertEquals(2, base.size());
+        assertNotEquals(base, appended);
+    }
+
+    @Test
+    public void builder_tooManyCategories_rejected() {
+        TransactionArchive.Builder builder = new TransactionArchive.Builder(TransactionArchive.EMPTY);
+        for (int i = 0; i < TransactionArchive.MAX_CATEGORIES; i++) {
+            builder.add(new Transaction(LocalDate.of(2018, 1, 1), new Amount(i), Direction.OUT,
+                    new Description("Item"), new Category("Category " + i)));
+        }
+        Transaction oneMore = new Transaction(LocalDate.of(2018, 1, 1), new Amount(1), Direction.OUT,
+                new Description("Item"), new Category("One more"));
+        assertFalse(builder.canAdd(oneMore));
+        assertTrue(builder.canAdd(SALARY));
+        assertThrows(IllegalArgumentException.class, () -> builder.add(oneMore));
+    }
+
+    /**
+     * Returns a copy of {@code archive} whose first record has {@code value} at {@code offset}.
+     */
+    private static TransactionArchive withCorruptedRecord(TransactionArchive archive, int offset, long value) {
+        ByteBuffer records = ByteBuffer.allocate(archive.getRecords().remaining()).put(archive.getRecords());
+        if (offset % Long.BYTES == 0) {
+            records.putLong(offset, value);
+        } else {
+            records.putInt(offset, (int) value);
+        }
+        records.flip();
+        return new TransactionArchive(records, archive.getCategoryDictionary(), archive.getDescriptionDictionary(),
+                archive.getCutoff());
+    }
+
+    @Test
+    public void checkRecords_validRecords_success() {
+        archive(TRANSACTIONS).checkRecords();
+        TransactionArchive.EMPTY.checkRecords();
+    }
+
+    @Test
+    public void checkRecords_invalidRecord_throwsIllegalArgumentException() {
+        TransactionArchive archive = archive(TRANSACTIONS);
+        // amount, category bitmap, date and description index of the first record
+        assertThrows(IllegalArgumentException.class, () -> withCorruptedRecord(archive, 0, -1).checkRecords());
+        assertThrows(IllegalArgumentException.class, () -> withCorruptedRecord(archive, 8, 1L << 2).checkRecords());
+        assertThrows(IllegalArgumentException.class, () ->
+                withCorruptedRecord(archive, 16, Integer.MIN_VALUE).checkRecords());
+        assertThrows(IllegalArgumentException.class, () -> withCorruptedRecord(archive, 20, 3).checkRecords());
+        assertThrows(IllegalArgumentException.class, () -> withCorruptedRecord(archive, 20, -1).checkRecords());
+    }
+
+    @Test
+    public void select_conditionsPredicate_sameAsFilteringTransactions() {
+        TransactionArchive archive = archive(TRANSACTIONS);
+        List<TransactionMatchesConditionsPredicate> predicates = List.of(
+                predicate(List.of(), Optional.empty(), Optional.empty(), Optional.empty()),
+                predicate(List.of(new Category("Work")), Optional.empty(), Optional.empty(), Optional.empty()),
+                predicate(List.of(new Category("Travel")), Optional.empty(), Optional.empty(), Optional.empty()),
+                predicate(List.of(), Optional.of(LocalDate.of(2018, 10, 2)), Optional.empty(), Optional.empty()),
+                predicate(List.of(), Optional.empty(), Optional.of(new Amount(551)), Optional.empty()),
+                predicate(List.of(new Category("Food")), Optional.empty(), Optional.empty(),
+                        Optional.of(new Description("work"))),
+                predicate(List.of(), Optional.empty(), Optional.empty(), Optional.of(new Description("Lunch"))));
+
+        for (TransactionMatchesConditionsPredicate predicate : predicates) {
+            List<Transaction> expected = TRANSACTIONS.stream().filter(predicate).collect(Collectors.toList());
+            assertEquals(expected, archive.select(predicate));
+        }
+        assertEquals(List.of(DINNER), archive.select(transaction -> transaction.getAmount().toLong() == 2000));
+    }
+
+    @Test
+    public void totals_builtArchive_sumOfAmounts() {
+        TransactionArchive archive = archive(TRANSACTIONS);
+        assertEquals(200550, archive.getIncome());
+        assertEquals(2550, archive.getExpense());
+        assertEquals(Set.of(new Category("Food"), new Category("Work")), archive.getCategories());
+
+        assertEquals(0, TransactionArchive.EMPTY.getIncome());
+        assertTrue(TransactionArchive.EMPTY.isEmpty());
+    }
+
+    @Test
+    public void iterator_builtArchive_allTransactionsInOrder() {
+        List<Transaction> iterated = new ArrayList<>();
+        archive(TRANSACTIONS).forEach(iterated::add);
+        assertEquals(TRANSACTIONS, iterated);
+        assertEquals(archive(TRANSACTIONS).hashCode(), archive(TRANSACTIONS).hashCode());
+    }
+}
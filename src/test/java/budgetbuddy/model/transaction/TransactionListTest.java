@@ -0,0 +1,214 @@
+package budgetbuddy.model.transaction;
+
+import static budgetbuddy.testutil.Assert.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import budgetbuddy.commons.core.index.Index;
+import budgetbuddy.model.attributes.Amount;
+import budgetbuddy.model.attributes.Category;
+import budgetbuddy.model.attributes.Description;
+import budgetbuddy.model.attributes.Direction;
+import budgetbuddy.model.transaction.exceptions.TransactionNotFoundException;
+import javafx.collections.ListChangeListener;
+
+public class TransactionListTest {
+
+    private static final Transaction LUNCH = new Transaction(LocalDate.of(2019, 10, 1), new Amount(550),
+            Direction.OUT, new Description("Lunch at work"), new Category("Food"), new Category("Work"));
+    private static final Transaction DINNER = new Transaction(LocalDate.of(2019, 10, 2), new Amount(2000),
+            Direction.OUT, new Description("Dinner"), new Category("Food"));
+    private static final Transaction SALARY = new Transaction(LocalDate.of(2019, 11, 1), new Amount(200000),
+            Direction.IN, new Description("Salary"));
+    private static final Transaction REFUND = new Transaction(LocalDate.of(2019, 9, 1), new Amount(550),
+            Direction.IN, new Description("Lunch at work"), new Category("Work"));
+
+    private static final List<Transaction> TRANSACTIONS = List.of(LUNCH, DINNER, SALARY, REFUND);
+
+    private static TransactionList transactionList(List<Transaction> transactions) {
+        TransactionList transactionList = new TransactionList();
+        transactionList.addAll(transactions);
+        return transactionList;
+    }
+
+    private static TransactionMatchesConditionsPredicate descriptionPredicate(String description) {
+        return new TransactionMatchesConditionsPredicate(List.of(), Optional.empty(), Optional.empty(),
+                Optional.empty(), Optional.empty(), Optional.of(new Description(description)));
+    }
+
+    @Test
+    public void add_manyTransactions_sameTransactionsInOrder() {
+        TransactionList transactionList = new TransactionList();
+        List<Transaction> expected = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            Transaction transaction = TRANSACTIONS.get(i % TRANSACTIONS.size());
+            transactionList.add(transaction);
+            expected.add(transaction);
+        }
+        assertEquals(expected, transactionList.asUnmodifiableObservableList());
+        assertEquals(SALARY, transactionList.getTransaction(Index.fromOneBased(3)));
+        assertThrows(TransactionNotFoundException.class, () ->
+                transactionList.getTransaction(Index.fromOneBased(101)));
+    }
+
+    @Test
+    public void remove_existingTransaction_removedAndChangeReported() {
+        TransactionList transactionList = transactionList(TRANSACTIONS);
+        List<Transaction> removed = new ArrayList<>();
+        transactionList.asUnmodifiableObservableList().addListener((ListChangeListener<Transaction>) change -> {
+            while (change.next()) {
+                removed.addAll(change.getRemoved());
+            }
+        });
+
+        transactionList.remove(DINNER);
+        assertEquals(List.of(LUNCH, SALARY, REFUND), transactionList.asUnmodifiableObservableList());
+        assertEquals(List.of(DINNER), removed);
+        assertFalse(transactionList.contains(DINNER));
+        assertThrows(TransactionNotFoundException.class, () -> transactionList.remove(DINNER));
+    }
+
+    @Test
+    public void setTransaction_validIndex_transactionReplaced() {
+        TransactionList transactionList = transactionList(TRANSACTIONS);
+        transactionList.setTransaction(Index.fromZeroBased(1), SALARY);
+        assertEquals(List.of(LUNCH, SALARY, SALARY, REFUND), transactionList.asUnmodifiableObservableList());
+        assertEquals(transactionList(List.of(LUNCH, SALARY, SALARY, REFUND)), transactionList);
+    }
+
+    @Test
+    public void sort_comparators_sameAsSortingTransactions() {
+        Comparator<Transaction> byDirection = Comparator.comparing(Transaction::getDirection);
+        List<Comparator<Transaction>> comparators = List.of(ComparatorUtil.SORT_BY_ASCENDING_DATE,
+                ComparatorUtil.SORT_BY_DESCENDING_AMOUNT, ComparatorUtil.SORT_BY_ASCENDING_DESCRIPTION, byDirection);
+        for (Comparator<Transaction> comparator : comparators) {
+            TransactionList transactionList = transactionList(TRANSACTIONS);
+            transactionList.sort(comparator);
+            List<Transaction> expected = TRANSACTIONS.stream().sorted(comparator).collect(Collectors.toList());
+            assertEquals(expected, transactionList.asUnmodifiableObservableList());
+        }
+    }
+
+    @Test
+    public void select_conditionsPredicate_sameAsFilteringTransactions() {
+        TransactionList transactionList = transactionList(TRANSACTIONS);
+        List<TransactionMatchesConditionsPredicate> predicates = List.of(
+                new TransactionMatchesConditionsPredicate(List.of(new Category("Work")), Optional.empty(),
+                        Optional.empty(), Optional.empty(), Optional.empty(), Optional.empty()),
+                new TransactionMatchesConditionsPredicate(List.of(), Optional.of(LocalDate.of(2019, 10, 1)),
+                        Optional.of(LocalDate.of(2019, 10, 31)), Optional.empty(), Optional.empty(),
+                        Optional.empty()),
+                new TransactionMatchesConditionsPredicate(List.of(new Category("Food")), Optional.empty(),
+                        Optional.empty(), Optional.of(new Amount(1000)), Optional.empty(), Optional.empty()),
+                new TransactionMatchesConditionsPredicate(List.of(), Optional.empty(), Optional.empty(),
+                        Optional.empty(), Optional.empty(), Optional.of(new Description("Lunch"))));
+
+        for (TransactionMatchesConditionsPredicate predicate : predicates) {
+            List<Transaction> expected = TRANSACTIONS.stream().filter(predicate).collect(Collectors.toList());
+            assertEquals(expected, transactionList.select(predicate));
+        }
+    }
+
+    @Test
+    public void select_categoriesAfterChanges_indexKeptUpToDate() {
+        TransactionList transactionList = transactionList(TRANSACTIONS);
+        TransactionMatchesConditionsPredicate foodOrWork = new TransactionMatchesConditionsPredicate(
+                List.of(new Category("Food"), new Category("Work")), Optional.empty(), Optional.empty(),
+                Optional.empty(), Optional.empty(), Optional.empty());
+        assertEquals(List.of(LUNCH, DINNER, REFUND), transactionList.select(foodOrWork));
+
+        transactionList.add(DINNER);
+        transactionList.remove(LUNCH);
+        transactionList.sort(ComparatorUtil.SORT_BY_ASCENDING_DATE);
+        assertEquals(List.of(REFUND, DINNER, DINNER), transactionList.select(foodOrWork));
+
+        transactionList.setTransaction(Index.fromZeroBased(0), SALARY);
+        transactionList.add(LUNCH);
+        assertEquals(List.of(DINNER, DINNER, LUNCH), transactionList.select(foodOrWork));
+        assertTrue(transactionList.select(new TransactionMatchesConditionsPredicate(List.of(new Category("Unused")),
+                Optional.empty(), Optional.empty(), Optional.empty(), Optional.empty(), Optional.empty())).isEmpty());
+    }
+
+    @Test
+    public void select_datesAfterChanges_indexKeptUpToDate() {
+        TransactionList transactionList = transactionList(TRANSACTIONS);
+        TransactionMatchesConditionsPredicate october = new TransactionMatchesConditionsPredicate(List.of(),
+                Optional.of(LocalDate.of(2019, 10, 1)), Optional.of(LocalDate.of(2019, 10, 31)),
+                Optional.empty(), Optional.empty(), Optional.empty());
+        assertEquals(List.of(LUNCH, DINNER), transactionList.select(october));
+
+        transactionList.sort(ComparatorUtil.SORT_BY_DESCENDING_DATE);
+        transactionList.add(LUNCH);
+        transactionList.remove(DINNER);
+        transactionList.setTransaction(Index.fromZeroBased(0), DINNER);
+        assertEquals(List.of(DINNER, LUNCH, LUNCH), transactionList.select(october));
+    }
+
+    @Test
+    public void select_descriptionAfterChanges_indexKeptUpToDate() {
+        TransactionList transactionList = transactionList(TRANSACTIONS);
+        TransactionMatchesConditionsPredicate atWork = descriptionPredicate("at work");
+        assertEquals(List.of(LUNCH, REFUND), transactionList.select(atWork));
+        assertEquals(List.of(LUNCH, DINNER, REFUND), transactionList.select(descriptionPredicate("n")));
+        assertTrue(transactionList.select(descriptionPredicate("work at")).isEmpty());
+
+        transactionList.remove(LUNCH);
+        transactionList.sort(ComparatorUtil.SORT_BY_ASCENDING_DESCRIPTION);
+        transactionList.setTransaction(Index.fromZeroBased(0), LUNCH);
+        transactionList.add(REFUND);
+        assertEquals(List.of(LUNCH, REFUND, REFUND), transactionList.select(atWork));
+    }
+
+    @Test
+    public void select_amountsAfterChanges_indexKeptUpToDate() {
+        TransactionList transactionList = transactionList(TRANSACTIONS);
+        TransactionMatchesConditionsPredicate upToTwenty = new TransactionMatchesConditionsPredicate(List.of(),
+                Optional.empty(), Optional.empty(), Optional.of(new Amount(550)), Optional.of(new Amount(2000)),
+                Optional.empty());
+        assertEquals(List.of(LUNCH, DINNER, REFUND), transactionList.select(upToTwenty));
+
+        transactionList.sort(ComparatorUtil.SORT_BY_DESCENDING_AMOUNT);
+        assertEquals(List.of(SALARY, DINNER, LUNCH, REFUND), transactionList.asUnmodifiableObservableList());
+        transactionList.remove(DINNER);
+        transactionList.setTransaction(Index.fromZeroBased(1), SALARY);
+        transactionList.add(DINNER);
+        assertEquals(List.of(REFUND, DINNER), transactionList.select(upToTwenty));
+        transactionList.sort(ComparatorUtil.SORT_BY_ASCENDING_AMOUNT);
+        assertEquals(List.of(REFUND, DINNER, SALARY, SALARY), transactionList.asUnmodifiableObservableList());
+    }
+
+    @Test
+    public void sort_sameDates_stableOrder() {
+        Transaction breakfast = new Transaction(LUNCH.getLocalDate(), new Amount(300), Direction.OUT,
+                new Description("Breakfast"));
+        TransactionList transactionList = transactionList(List.of(LUNCH, SALARY, breakfast, REFUND));
+        transactionList.sort(ComparatorUtil.SORT_BY_DESCENDING_DATE);
+        assertEquals(List.of(SALARY, LUNCH, breakfast, REFUND), transactionList.asUnmodifiableObservableList());
+        transactionList.sort(ComparatorUtil.SORT_BY_ASCENDING_DATE);
+        assertEquals(List.of(REFUND, LUNCH, breakfast, SALARY), transactionList.asUnmodifiableObservableList());
+    }
+
+    @Test
+    public void totals_transactions_sumOfAmounts() {
+        TransactionList transactionList = transactionList(TRANSACTIONS);
+        assertEquals(200550, transactionList.getIncome());
+        assertEquals(2550, transactionList.getExpense());
+        assertEquals(Set.of(new Category("Food"), new Category("Work")), transactionList.getCategories());
+
+        transactionList.setAll(List.of(SALARY));
+        assertEquals(0, transactionList.getExpense());
+        assertTrue(transactionList.getCategories().isEmpty());
+        assertEquals(transactionList(List.of(SALARY)).hashCode(), transactionList.hashCode());
+    }
+}
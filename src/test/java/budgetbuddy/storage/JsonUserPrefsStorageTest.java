@@ -13,6 +13,10 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
 import budgetbuddy.commons.core.GuiSettings;
+import budgetbuddy.commons.core.StorageSettings;
+import budgetbuddy.commons.core.StorageSettings.AccountsFormat;
+import budgetbuddy.commons.core.StorageSettings.Durability;
+import budgetbuddy.commons.core.StorageSettings.FsyncPolicy;
 import budgetbuddy.commons.exceptions.DataConversionException;
 import budgetbuddy.model.UserPrefs;
 
@@ -121,4 +125,15 @@ public class JsonUserPrefsStorageTest {
         assertEquals(original, readBack);
     }
 
+    @Test
+    public void saveUserPrefs_storageSettings_successfullyRead() throws DataConversionException, IOException {
+        UserPrefs original = new UserPrefs();
+        original.setStorageSettings(new StorageSettings(AccountsFormat.JOURNAL, Durability.ASYNCHRONOUS,
+                FsyncPolicy.BATCHED, 365));
+
+        JsonUserPrefsStorage jsonUserPrefsStorage = new JsonUserPrefsStorage(testFolder.resolve("TempPrefs.json"));
+        jsonUserPrefsStorage.saveUserPrefs(original);
+        assertEquals(original, jsonUserPrefsStorage.readUserPrefs().get());
+    }
+
 }
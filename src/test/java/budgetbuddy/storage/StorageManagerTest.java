@@ -1,15 +1,40 @@
 package budgetbuddy.storage;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
 import budgetbuddy.commons.core.GuiSettings;
+import budgetbuddy.commons.core.StorageSettings.Durability;
+import budgetbuddy.commons.core.index.Index;
+import budgetbuddy.model.AccountsManager;
+import budgetbuddy.model.LoansManager;
+import budgetbuddy.model.Model;
+import budgetbuddy.model.ModelManager;
+import budgetbuddy.model.RuleManager;
+import budgetbuddy.model.ScriptLibraryManager;
 import budgetbuddy.model.UserPrefs;
+import budgetbuddy.model.account.Account;
+import budgetbuddy.model.attributes.Amount;
+import budgetbuddy.model.attributes.Category;
+import budgetbuddy.model.attributes.Description;
+import budgetbuddy.model.attributes.Direction;
+import budgetbuddy.model.attributes.Name;
+import budgetbuddy.model.transaction.Transaction;
+import budgetbuddy.model.transaction.TransactionList;
 import budgetbuddy.storage.accounts.JsonAccountsStorage;
 import budgetbuddy.storage.loans.JsonLoansStorage;
 import budgetbuddy.storage.rules.JsonRuleStorage;
@@ -50,4 +75,113 @@ public class StorageManagerTest {
         UserPrefs retrieved = storageManager.readUserPrefs().get();
         assertEquals(original, retrieved);
     }
+
+    @Test
+    public void save_unchangedComponents_notRewritten() throws Exception {
+        Model model = new ModelManager();
+        storageManager.save(model);
+        assertTrue(Files.exists(getTempFilePath("accounts")));
+        assertTrue(Files.exists(getTempFilePath("rules")));
+
+        Files.delete(getTempFilePath("accounts"));
+        Files.delete(getTempFilePath("rules"));
+        model.updateFilteredTransactionList(txn -> false);
+        storageManager.save(model);
+        assertFalse(Files.exists(getTempFilePath("accounts")));
+        assertFalse(Files.exists(getTempFilePath("rules")));
+
+        model.getAccountsManager().getActiveAccount().addTransaction(new Transaction(LocalDate.of(2019, 10, 1),
+                new Amount(100), Direction.OUT, new Description("Coffee"), new Category("Food")));
+        storageManager.save(model);
+        assertTrue(Files.exists(getTempFilePath("accounts")));
+        assertFalse(Files.exists(getTempFilePath("rules")));
+        assertEquals(model.getAccountsManager(), storageManager.readAccounts().get());
+    }
+
+    @Test
+    public void save_readComponent_notRewritten() throws Exception {
+        Model model = new ModelManager();
+        storageManager.save(model);
+
+        // the model copies the loans it is given, and a copy is not compared with what was saved
+        Model reloaded = new ModelManager(model.getLoansManager(), model.getRuleManager(),
+                storageManager.readAccounts().get(), model.getScriptLibrary(), new UserPrefs());
+        Files.delete(getTempFilePath("accounts"));
+        Files.delete(getTempFilePath("loans"));
+        storageManager.save(reloaded);
+        assertFalse(Files.exists(getTempFilePath("accounts")));
+        assertTrue(Files.exists(getTempFilePath("loans")));
+    }
+
+    @Test
+    public void save_asynchronous_writtenByFlush() throws Exception {
+        StorageManager asyncStorageManager = new StorageManager(
+                new JsonAccountsStorage(getTempFilePath("asyncAccounts")),
+                new JsonLoansStorage(getTempFilePath("asyncLoans")),
+                new JsonRuleStorage(getTempFilePath("asyncRules")),
+                new FlatfileScriptsStorage(getTempFilePath("asyncScripts")),
+                new JsonUserPrefsStorage(getTempFilePath("asyncPrefs")),
+                Durability.ASYNCHRONOUS);
+        Model model = new ModelManager();
+        Account account = model.getAccountsManager().getActiveAccount();
+        for (int i = 1; i <= 20; i++) {
+            account.addTransaction(new Transaction(LocalDate.of(2019, 10, i), new Amount(i), Direction.OUT,
+                    new Description("Coffee"), new Category("Food")));
+            asyncStorageManager.save(model);
+        }
+        asyncStorageManager.flush();
+
+        assertEquals(model.getAccountsManager(), asyncStorageManager.readAccounts().get());
+        assertEquals(model.getRuleManager(), asyncStorageManager.readRules().get());
+        assertEquals(model.getLoansManager(), asyncStorageManager.readLoans().get());
+    }
+
+    @Test
+    public void save_asynchronous_onlyChangedAccountsCopied() throws Exception {
+        List<AccountsManager> savedAccounts = new ArrayList<>();
+        StorageManager asyncStorageManager = new StorageManager(
+                new JsonAccountsStorage(getTempFilePath("asyncAccounts")) {
+                    @Override
+                    public void saveAccounts(AccountsManager accountsManager, Path filePath) throws IOException {
+                        savedAccounts.add(accountsManager);
+                        super.saveAccounts(accountsManager, filePath);
+                    }
+                },
+                new JsonLoansStorage(getTempFilePath("asyncLoans")),
+                new JsonRuleStorage(getTempFilePath("asyncRules")),
+                new FlatfileScriptsStorage(getTempFilePath("asyncScripts")),
+                new JsonUserPrefsStorage(getTempFilePath("asyncPrefs")),
+                Durability.ASYNCHRONOUS);
+        Account cash = new Account(new Name("Cash"), new Description("Wallet"), new TransactionList());
+        Account bank = new Account(new Name("Bank"), new Description("Savings"), new TransactionList());
+        int[] loads = new int[1];
+        Account card = new Account(new Name("Card"), new Description("Credit"), 0, () -> {
+            loads[0]++;
+            return new TransactionList();
+        });
+        Model model = new ModelManager(new LoansManager(), new RuleManager(),
+                new AccountsManager(new ArrayList<>(List.of(cash, bank, card)), Index.fromZeroBased(0)),
+                new ScriptLibraryManager(), new UserPrefs());
+
+        cash.addTransaction(new Transaction(LocalDate.of(2019, 10, 1), new Amount(100), Direction.OUT,
+                new Description("Coffee"), new Category("Food")));
+        asyncStorageManager.save(model);
+        asyncStorageManager.flush();
+        bank.addTransaction(new Transaction(LocalDate.of(2019, 10, 2), new Amount(200), Direction.IN,
+                new Description("Salary"), new Category("Work")));
+        asyncStorageManager.save(model);
+        asyncStorageManager.flush();
+
+        assertEquals(2, savedAccounts.size());
+        List<Account> first = savedAccounts.get(0).getAccounts();
+        List<Account> second = savedAccounts.get(1).getAccounts();
+        assertSame(first.get(0).getTransactionList(), second.get(0).getTransactionList());
+        assertNotSame(first.get(1).getTransactionList(), second.get(1).getTransactionList());
+        assertEquals(bank.getTransactionList(), second.get(1).getTransactionList());
+
+        // the unloaded account is loaded by its copies, not in the model
+        assertFalse(card.isTransactionListLoaded());
+        assertEquals(2, loads[0]);
+        assertEquals(model.getAccountsManager(), asyncStorageManager.readAccounts().get());
+    }
 }
@@ -0,0 +1,198 @@
+package budgetbuddy.storage.accounts;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import budgetbuddy.commons.core.index.Index;
+import budgetbuddy.model.AccountsManager;
+import budgetbuddy.model.account.Account;
+import budgetbuddy.model.attributes.Amount;
+import budgetbuddy.model.attributes.Category;
+import budgetbuddy.model.attributes.Description;
+import budgetbuddy.model.attributes.Direction;
+import budgetbuddy.model.attributes.Name;
+import budgetbuddy.model.transaction.Transaction;
+import budgetbuddy.model.transaction.TransactionArchive;
+import budgetbuddy.model.transaction.TransactionList;
+
+public class ArchivingAccountsStorageTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2019, 11, 1);
+    private static final int ARCHIVE_AFTER_DAYS = 30;
+
+    private static final Transaction OLD_LUNCH = new Transaction(LocalDate.of(2019, 9, 1), new Amount(550),
+            Direction.OUT, new Description("Lunch"), new Category("Food"));
+    private static final Transaction OLD_SALARY = new Transaction(LocalDate.of(2019, 9, 2), new Amount(200000),
+            Direction.IN, new Description("Salary"), new Category("Income"));
+    private static final Transaction RECENT_LUNCH = new Transaction(LocalDate.of(2019, 10, 25), new Amount(600),
+            Direction.OUT, new Description("Lunch"), new Category("Food"));
+
+    @TempDir
+    public Path testFolder;
+
+    private Path jsonFilePath;
+    private Path directory;
+
+    @BeforeEach
+    public void setUp() {
+        jsonFilePath = testFolder.resolve("accounts.json");
+        directory = ArchivingAccountsStorage.toArchiveDirectory(jsonFilePath);
+    }
+
+    private ArchivingAccountsStorage storage() {
+        return new ArchivingAccountsStorage(new JsonAccountsStorage(jsonFilePath), directory, ARCHIVE_AFTER_DAYS,
+                Clock.fixed(TODAY.atStartOfDay().toInstant(ZoneOffset.UTC), ZoneOffset.UTC));
+    }
+
+    /**
+     * Creates an account with the given transactions and a matching balance.
+     */
+    private static Account account(String name, Transaction... transactions) {
+        TransactionList transactionList = new TransactionList();
+        long balance = 0;
+        for (Transaction transaction : transactions) {
+            transactionList.add(transaction);
+            balance += transaction.getDirection().equals(Direction.IN)
+                    ? transaction.getAmount().toLong()
+                    : -transaction.getAmount().toLong();
+        }
+        return new Account(new Name(name), new Description(name), transactionList, balance);
+    }
+
+    private static AccountsManager getAccountsManager() {
+        return new AccountsManager(new ArrayList<>(Arrays.asList(
+                account("Cash", OLD_LUNCH, RECENT_LUNCH, OLD_SALARY), account("Bank", RECENT_LUNCH))),
+                Index.fromZeroBased(0));
+    }
+
+    /**
+     * Returns the names of the archive files, including unreadable ones, in the test directory.
+     */
+    private Set<String> archiveFileNames() throws Exception {
+        Set<String> fileNames = new TreeSet<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory,
+                ArchivingAccountsStorage.ARCHIVE_PREFIX + "*")) {
+            files.forEach(file -> fileNames.add(file.getFileName().toString()));
+        }
+        return fileNames;
+    }
+
+    @Test
+    public void saveAccounts_oldTransactions_movedToArchive() throws Exception {
+        storage().saveAccounts(getAccountsManager());
+        assertEquals(1, archiveFileNames().size());
+
+        // the json file only holds the recent transactions
+        AccountsManager jsonAccounts = new JsonAccountsStorage(jsonFilePath).readAccounts().get();
+        assertEquals(1, jsonAccounts.getAccount(new Name("Cash")).getTransactionList().getTransactionsCount());
+
+        AccountsManager readBack = storage().readAccounts().get();
+        Account cash = readBack.getAccount(new Name("Cash"));
+        assertEquals(2, cash.getArchive().size());
+        assertEquals(List.of(OLD_LUNCH, OLD_SALARY), cash.getArchive().select(transaction -> true));
+        assertEquals(1, cash.getTransactionList().getTransactionsCount());
+        assertEquals(LocalDate.of(2019, 10, 2), cash.getArchive().getCutoff());
+        assertEquals("$2000.00", cash.getIncome());
+        assertEquals("$11.50", cash.getExpense());
+        assertEquals(200000 - 550 - 600, cash.getBalance());
+        assertTrue(readBack.getAccount(new Name("Bank")).getArchive().isEmpty());
+    }
+
+    @Test
+    public void saveAccounts_unchangedAccounts_archiveNotRewritten() throws Exception {
+        ArchivingAccountsStorage storage = storage();
+        storage.saveAccounts(getAccountsManager());
+        Set<String> fileNames = archiveFileNames();
+
+        AccountsManager readBack = storage.readAccounts().get();
+        storage.saveAccounts(readBack);
+        assertEquals(fileNames, archiveFileNames());
+
+        readBack.getAccount(new Name("Cash")).addTransaction(RECENT_LUNCH);
+        storage.saveAccounts(readBack);
+        assertEquals(fileNames, archiveFileNames());
+
+        Transaction backdated = new Transaction(LocalDate.of(2019, 1, 1), new Amount(100), Direction.OUT,
+                new Description("Backdated"));
+        readBack.getAccount(new Name("Cash")).addTransaction(backdated);
+        storage.saveAccounts(readBack);
+        assertEquals(1, archiveFileNames().size());
+        assertFalse(archiveFileNames().equals(fileNames));
+
+        Account cash = storage().readAccounts().get().getAccount(new Name("Cash"));
+        assertEquals(List.of(OLD_LUNCH, OLD_SALARY, backdated), cash.getArchive().select(transaction -> true));
+        assertEquals(2, cash.getTransactionList().getTransactionsCount());
+    }
+
+    @Test
+    public void readAccounts_interruptedSave_archivedTransactionsDropped() throws Exception {
+        storage().saveAccounts(getAccountsManager());
+        // the json file is written as if the app stopped before it was saved
+        new JsonAccountsStorage(jsonFilePath).saveAccounts(getAccountsManager());
+
+        Account cash = storage().readAccounts().get().getAccount(new Name("Cash"));
+        assertEquals(2, cash.getArchive().size());
+        assertEquals(1, cash.getTransactionList().getTransactionsCount());
+    }
+
+    @Test
+    public void readAccounts_unreadableArchive_movedAside() throws Exception {
+        storage().saveAccounts(getAccountsManager());
+        for (String fileName : archiveFileNames()) {
+            Files.write(directory.resolve(fileName), "not an archive".getBytes(StandardCharsets.UTF_8));
+        }
+
+        Account cash = storage().readAccounts().get().getAccount(new Name("Cash"));
+        assertTrue(cash.getArchive().isEmpty());
+        assertTrue(archiveFileNames().stream()
+                .allMatch(fileName -> fileName.endsWith(ArchivingAccountsStorage.UNREADABLE_ARCHIVE_SUFFIX)));
+    }
+
+    @Test
+    public void readAccounts_invalidRecord_movedAside() throws Exception {
+        storage().saveAccounts(getAccountsManager());
+        for (String fileName : archiveFileNames()) {
+            // the records are at the end of the file; point the last one at a description which does not exist
+            Path filePath = directory.resolve(fileName);
+            byte[] bytes = Files.readAllBytes(filePath);
+            ByteBuffer.wrap(bytes).putInt(bytes.length - TransactionArchive.RECORD_SIZE + 20, Integer.MAX_VALUE);
+            Files.write(filePath, bytes);
+        }
+
+        Account cash = storage().readAccounts().get().getAccount(new Name("Cash"));
+        assertTrue(cash.getArchive().isEmpty());
+        assertTrue(archiveFileNames().stream()
+                .allMatch(fileName -> fileName.endsWith(ArchivingAccountsStorage.UNREADABLE_ARCHIVE_SUFFIX)));
+    }
+
+    @Test
+    public void saveAccounts_otherFile_archivedTransactionsIncluded() throws Exception {
+        ArchivingAccountsStorage storage = storage();
+        storage.saveAccounts(getAccountsManager());
+        AccountsManager readBack = storage.readAccounts().get();
+
+        Path otherFilePath = testFolder.resolve("backup.json");
+        storage.saveAccounts(readBack, otherFilePath);
+        Account cash = new JsonAccountsStorage(otherFilePath).readAccounts().get().getAccount(new Name("Cash"));
+        assertEquals(3, cash.getTransactionList().getTransactionsCount());
+    }
+}
@@ -0,0 +1,166 @@
+package budgetbuddy.storage.accounts;
+
+import static budgetbuddy.testutil.Assert.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import budgetbuddy.commons.core.index.Index;
+import budgetbuddy.commons.exceptions.DataConversionException;
+import budgetbuddy.model.AccountsManager;
+import budgetbuddy.model.account.Account;
+import budgetbuddy.model.attributes.Amount;
+import budgetbuddy.model.attributes.Category;
+import budgetbuddy.model.attributes.Description;
+import budgetbuddy.model.attributes.Direction;
+import budgetbuddy.model.attributes.Name;
+import budgetbuddy.model.transaction.Transaction;
+import budgetbuddy.model.transaction.TransactionList;
+
+public class BinaryAccountsStorageTest {
+
+    @TempDir
+    public Path testFolder;
+
+    /**
+     * Creates an accounts manager with two accounts holding {@code transactionCount} transactions between them.
+     */
+    private static AccountsManager getAccountsManager(int transactionCount) {
+        TransactionList cash = new TransactionList();
+        TransactionList bank = new TransactionList();
+        for (int i = 0; i < transactionCount; i++) {
+            Transaction transaction = new Transaction(LocalDate.of(1960, 1, 1).plusDays(i * 7), new Amount(i * 101),
+                    i % 3 == 0 ? Direction.IN : Direction.OUT, new Description("Transaction " + i),
+                    new Category("Category" + (i % 5)), new Category("Shared"));
+            TransactionList target = i % 2 == 0 ? cash : bank;
+            target.add(transaction);
+        }
+        cash.add(new Transaction(LocalDate.of(2019, 11, 1), new Amount(1), Direction.OUT,
+                new Description("No categories")));
+
+        List<Account> accounts = new ArrayList<>(Arrays.asList(
+                new Account(new Name("Cash"), new Description("Wallet"), cash, -2500),
+                new Account(new Name("Bank"), new Description("Savings"), bank, 123456789)));
+        return new AccountsManager(accounts, Index.fromZeroBased(1));
+    }
+
+    @Test
+    public void readAccounts_nullFilePath_throwsNullPointerException() {
+        assertThrows(NullPointerException.class, () ->
+                new BinaryAccountsStorage(testFolder.resolve("accounts.bin")).readAccounts(null));
+    }
+
+    @Test
+    public void readAccounts_missingFile_emptyResult() throws Exception {
+        assertFalse(new BinaryAccountsStorage(testFolder.resolve("accounts.bin")).readAccounts().isPresent());
+    }
+
+    @Test
+    public void readAccounts_notBinaryFile_throwsDataConversionException() throws Exception {
+        Path filePath = testFolder.resolve("accounts.bin");
+        Files.write(filePath, "{ \"accounts\": [] }".getBytes(StandardCharsets.UTF_8));
+        assertThrows(DataConversionException.class, () -> new BinaryAccountsStorage(filePath).readAccounts());
+    }
+
+    @Test
+    public void readAccounts_truncatedFile_throwsDataConversionException() throws Exception {
+        Path filePath = testFolder.resolve("accounts.bin");
+        new BinaryAccountsStorage(filePath).saveAccounts(getAccountsManager(10));
+        byte[] bytes = Files.readAllBytes(filePath);
+        Files.write(filePath, Arrays.copyOf(bytes, bytes.length / 2));
+        assertThrows(DataConversionException.class, () -> new BinaryAccountsStorage(filePath).readAccounts());
+    }
+
+    /**
+     * Saves an accounts file, then replaces the single-byte variable-length integer at {@code offset}
+     * with the largest value a variable-length integer can hold.
+     */
+    private Path saveWithHugeVarInt(int offset) throws Exception {
+        Path filePath = testFolder.resolve("accounts.bin");
+        new BinaryAccountsStorage(filePath).saveAccounts(getAccountsManager(10));
+        byte[] bytes = Files.readAllBytes(filePath);
+        byte[] hugeVarInt = {(byte) 0xff, (byte) 0xff, (byte) 0xff, (byte) 0xff, 0x07};
+
+        byte[] corrupted = new byte[bytes.length - 1 + hugeVarInt.length];
+        System.arraycopy(bytes, 0, corrupted, 0, offset);
+        System.arraycopy(hugeVarInt, 0, corrupted, offset, hugeVarInt.length);
+        System.arraycopy(bytes, offset + 1, corrupted, offset + hugeVarInt.length, bytes.length - offset - 1);
+        Files.write(filePath, corrupted);
+        return filePath;
+    }
+
+    @Test
+    public void readAccounts_hugeCategoryCount_throwsDataConversionException() throws Exception {
+        // magic (4 bytes), version, active account index, then the category count
+        Path filePath = saveWithHugeVarInt(6);
+        assertThrows(DataConversionException.class, () -> new BinaryAccountsStorage(filePath).readAccounts());
+    }
+
+    @Test
+    public void readAccounts_hugeStringLength_throwsDataConversionException() throws Exception {
+        // the length of the first category name
+        Path filePath = saveWithHugeVarInt(7);
+        assertThrows(DataConversionException.class, () -> new BinaryAccountsStorage(filePath).readAccounts());
+    }
+
+    @Test
+    public void readAccounts_invalidActiveAccountIndex_throwsDataConversionException() throws Exception {
+        Path filePath = testFolder.resolve("accounts.bin");
+        new BinaryAccountsStorage(filePath).saveAccounts(getAccountsManager(10));
+        byte[] bytes = Files.readAllBytes(filePath);
+        bytes[5] = 2;
+        Files.write(filePath, bytes);
+        assertThrows(DataConversionException.class, () -> new BinaryAccountsStorage(filePath).readAccounts());
+    }
+
+    @Test
+    public void readAndSaveAccounts_allInOrder_success() throws Exception {
+        Path filePath = testFolder.resolve("accounts.bin");
+        BinaryAccountsStorage storage = new BinaryAccountsStorage(filePath);
+        AccountsManager original = getAccountsManager(100);
+
+        storage.saveAccounts(original);
+        AccountsManager readBack = storage.readAccounts().get();
+        assertEquals(original, readBack);
+        assertEquals(original.getActiveAccountIndex(), readBack.getActiveAccountIndex());
+
+        // Save over an existing, larger file
+        AccountsManager smaller = getAccountsManager(3);
+        storage.saveAccounts(smaller);
+        assertEquals(smaller, storage.readAccounts().get());
+    }
+
+    @Test
+    public void convertFromJson_jsonFile_convertedAndSmaller() throws Exception {
+        Path jsonFilePath = testFolder.resolve("accounts.json");
+        Path binaryFilePath = BinaryAccountsStorage.toBinaryFilePath(jsonFilePath);
+        assertEquals(testFolder.resolve("accounts.bin"), binaryFilePath);
+        assertFalse(BinaryAccountsStorage.convertFromJson(jsonFilePath, binaryFilePath));
+
+        AccountsManager original = getAccountsManager(1000);
+        new JsonAccountsStorage(jsonFilePath).saveAccounts(original);
+        assertTrue(BinaryAccountsStorage.convertFromJson(jsonFilePath, binaryFilePath));
+
+        assertEquals(original, new BinaryAccountsStorage(binaryFilePath).readAccounts().get());
+        assertTrue(Files.size(binaryFilePath) * 4 < Files.size(jsonFilePath));
+    }
+
+    @Test
+    public void convertFromJson_invalidJsonFile_throwsDataConversionException() {
+        Path jsonFilePath = Paths.get("src", "test", "data", "JsonLoansStorageTest", "notJsonFormatLoansStorage.json");
+        assertThrows(DataConversionException.class, () ->
+                BinaryAccountsStorage.convertFromJson(jsonFilePath, testFolder.resolve("accounts.bin")));
+    }
+}
@@ -0,0 +1,231 @@
+package budgetbuddy.storage.accounts;
+
+import static budgetbuddy.testutil.Assert.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import budgetbuddy.commons.core.index.Index;
+import budgetbuddy.commons.exceptions.DataConversionException;
+import budgetbuddy.model.AccountsManager;
+import budgetbuddy.model.account.Account;
+import budgetbuddy.model.attributes.Amount;
+import budgetbuddy.model.attributes.Category;
+import budgetbuddy.model.attributes.Description;
+import budgetbuddy.model.attributes.Direction;
+import budgetbuddy.model.attributes.Name;
+import budgetbuddy.model.transaction.Transaction;
+import budgetbuddy.model.transaction.TransactionList;
+
+public class JournalAccountsStorageTest {
+
+    private static final Transaction LUNCH = new Transaction(LocalDate.of(2019, 10, 1), new Amount(550),
+            Direction.OUT, new Description("Lunch"), new Category("Food"));
+    private static final Transaction SALARY = new Transaction(LocalDate.of(2019, 10, 2), new Amount(200000),
+            Direction.IN, new Description("Salary"), new Category("Income"));
+    private static final Transaction DINNER = new Transaction(LocalDate.of(2019, 10, 3), new Amount(1200),
+            Direction.OUT, new Description("Dinner"), new Category("Food"));
+
+    @TempDir
+    public Path testFolder;
+
+    private Path filePath;
+    private Path journalPath;
+
+    @BeforeEach
+    public void setUp() {
+        filePath = testFolder.resolve("accounts.json");
+        journalPath = testFolder.resolve("accounts.json" + JournalAccountsStorage.JOURNAL_SUFFIX);
+    }
+
+    /**
+     * Creates an account with the given transactions and a matching balance.
+     */
+    private static Account account(String name, Transaction... transactions) {
+        TransactionList transactionList = new TransactionList();
+        long balance = 0;
+        for (Transaction transaction : transactions) {
+            transactionList.add(transaction);
+            balance += transaction.getDirection().equals(Direction.IN)
+                    ? transaction.getAmount().toLong()
+                    : -transaction.getAmount().toLong();
+        }
+        return new Account(new Name(name), new Description(name), transactionList, balance);
+    }
+
+    /**
+     * Creates an accounts manager with the given accounts, with the first account active.
+     */
+    private static AccountsManager accountsManager(Account... accounts) {
+        List<Account> accountList = new ArrayList<>();
+        for (Account account : accounts) {
+            accountList.add(account);
+        }
+        return new AccountsManager(accountList, Index.fromZeroBased(0));
+    }
+
+    private long journalLines() throws Exception {
+        return Files.exists(journalPath) ? Files.readAllLines(journalPath).size() : 0;
+    }
+
+    @Test
+    public void readAccounts_missingFile_emptyResult() throws Exception {
+        assertFalse(new JournalAccountsStorage(filePath).readAccounts().isPresent());
+    }
+
+    @Test
+    public void readAccounts_nullFilePath_throwsNullPointerException() {
+        assertThrows(NullPointerException.class, () -> new JournalAccountsStorage(filePath).readAccounts(null));
+    }
+
+    @Test
+    public void saveAccounts_firstSave_writesJsonSnapshot() throws Exception {
+        AccountsManager original = accountsManager(account("Cash", LUNCH, SALARY));
+        new JournalAccountsStorage(filePath).saveAccounts(original);
+
+        assertFalse(Files.exists(journalPath));
+        assertEquals(original, new JsonAccountsStorage(filePath).readAccounts().get());
+        assertEquals(original, new JournalAccountsStorage(filePath).readAccounts().get());
+    }
+
+    @Test
+    public void saveAccounts_incrementalChanges_appendedToJournalAndReplayed() throws Exception {
+        JournalAccountsStorage storage = new JournalAccountsStorage(filePath);
+        AccountsManager accountsManager = accountsManager(account("Cash", LUNCH));
+        storage.saveAccounts(accountsManager);
+
+        accountsManager.getAccounts().get(0).addTransaction(SALARY);
+        storage.saveAccounts(accountsManager);
+        // one record for the new balance, one for the new transaction
+        assertEquals(2, journalLines());
+
+        storage.saveAccounts(accountsManager);
+        assertEquals(2, journalLines());
+
+        accountsManager.getAccounts().get(0).deleteTransaction(SALARY);
+        storage.saveAccounts(accountsManager);
+        assertEquals(4, journalLines());
+
+        AccountsManager expected = accountsManager(account("Cash", LUNCH));
+        assertEquals(expected, new JournalAccountsStorage(filePath).readAccounts().get());
+    }
+
+    @Test
+    public void saveAccounts_accountsAddedRemovedAndEdited_replayed() throws Exception {
+        JournalAccountsStorage storage = new JournalAccountsStorage(filePath);
+        AccountsManager accountsManager = accountsManager(account("Cash", LUNCH), account("Bank", SALARY));
+        storage.saveAccounts(accountsManager);
+
+        accountsManager.addAccount(account("Card", DINNER));
+        storage.saveAccounts(accountsManager);
+        accountsManager.deleteAccount(Index.fromZeroBased(0));
+        storage.saveAccounts(accountsManager);
+        accountsManager.editAccount(Index.fromZeroBased(0), account("Savings", SALARY));
+        storage.saveAccounts(accountsManager);
+
+        AccountsManager expected = accountsManager(account("Savings", SALARY), account("Card", DINNER));
+        assertEquals(expected, new JournalAccountsStorage(filePath).readAccounts().get());
+    }
+
+    @Test
+    public void saveAccounts_unchangedAndUnloadedAccounts_notLoaded() throws Exception {
+        JournalAccountsStorage storage = new JournalAccountsStorage(filePath);
+        storage.saveAccounts(accountsManager(account("Cash", LUNCH), account("Bank", SALARY)));
+
+        // the same accounts, whose transactions are only loaded when they are needed
+        AtomicInteger loads = new AtomicInteger();
+        List<Account> accounts = new ArrayList<>();
+        for (Account account : List.of(account("Cash", LUNCH), account("Bank", SALARY))) {
+            accounts.add(new Account(account.getName(), account.getDescription(), account.getBalance(), () -> {
+                loads.incrementAndGet();
+                return account.getTransactionList();
+            }));
+        }
+        AccountsManager accountsManager = new AccountsManager(accounts, Index.fromZeroBased(0));
+        // only the active account is loaded, to be shown
+        assertEquals(1, loads.get());
+        storage.saveAccounts(accountsManager);
+        assertEquals(1, loads.get());
+        assertFalse(Files.exists(journalPath));
+
+        accounts.get(1).addTransaction(DINNER);
+        storage.saveAccounts(accountsManager);
+        assertEquals(2, loads.get());
+        assertEquals(accountsManager(account("Cash", LUNCH), account("Bank", SALARY, DINNER)),
+                new JournalAccountsStorage(filePath).readAccounts().get());
+    }
+
+    @Test
+    public void saveAccounts_journalLargerThanSnapshot_compacted() throws Exception {
+        JournalAccountsStorage storage = new JournalAccountsStorage(filePath, 0);
+        AccountsManager accountsManager = accountsManager(account("Cash", LUNCH));
+        storage.saveAccounts(accountsManager);
+
+        accountsManager.getAccounts().get(0).addTransaction(SALARY);
+        accountsManager.getAccounts().get(0).addTransaction(DINNER);
+        storage.saveAccounts(accountsManager);
+
+        // reading waits for the compaction to finish
+        AccountsManager expected = accountsManager(account("Cash", LUNCH, SALARY, DINNER));
+        assertEquals(expected, storage.readAccounts().get());
+        assertFalse(Files.exists(journalPath));
+        assertEquals(expected, new JsonAccountsStorage(filePath).readAccounts().get());
+    }
+
+    @Test
+    public void readAccounts_interruptedCompaction_replayedAndCompacted() throws Exception {
+        JournalAccountsStorage storage = new JournalAccountsStorage(filePath);
+        AccountsManager accountsManager = accountsManager(account("Cash", LUNCH));
+        storage.saveAccounts(accountsManager);
+        accountsManager.getAccounts().get(0).addTransaction(SALARY);
+        storage.saveAccounts(accountsManager);
+
+        // the app stopped after moving the journal aside but before writing the new snapshot
+        Files.move(journalPath, testFolder.resolve("accounts.json" + JournalAccountsStorage.COMPACTING_SUFFIX));
+        Files.write(testFolder.resolve("accounts.json" + JournalAccountsStorage.SNAPSHOT_TEMP_SUFFIX),
+                "{ \"incomplete".getBytes(StandardCharsets.UTF_8));
+
+        AccountsManager expected = accountsManager(account("Cash", LUNCH, SALARY));
+        JournalAccountsStorage restarted = new JournalAccountsStorage(filePath);
+        assertEquals(expected, restarted.readAccounts().get());
+        assertEquals(expected, restarted.readAccounts().get());
+        assertEquals(expected, new JsonAccountsStorage(filePath).readAccounts().get());
+    }
+
+    @Test
+    public void readAccounts_incompleteLastRecord_ignored() throws Exception {
+        JournalAccountsStorage storage = new JournalAccountsStorage(filePath);
+        AccountsManager accountsManager = accountsManager(account("Cash", LUNCH));
+        storage.saveAccounts(accountsManager);
+        accountsManager.getAccounts().get(0).addTransaction(SALARY);
+        storage.saveAccounts(accountsManager);
+        Files.write(journalPath, "{\"op\":\"setAct".getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.APPEND);
+
+        AccountsManager expected = accountsManager(account("Cash", LUNCH, SALARY));
+        assertEquals(expected, new JournalAccountsStorage(filePath).readAccounts().get());
+    }
+
+    @Test
+    public void readAccounts_invalidRecord_throwsDataConversionException() throws Exception {
+        new JournalAccountsStorage(filePath).saveAccounts(accountsManager(account("Cash", LUNCH)));
+        Files.write(journalPath, ("{\"op\":\"removeAccount\",\"index\":5}\n"
+                + "{\"op\":\"setActiveAccount\",\"index\":0}\n").getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(DataConversionException.class, () -> new JournalAccountsStorage(filePath).readAccounts());
+        assertTrue(Files.exists(journalPath));
+    }
+}
@@ -0,0 +1,141 @@
+package budgetbuddy.storage.accounts;
+
+import static budgetbuddy.testutil.Assert.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import budgetbuddy.commons.core.index.Index;
+import budgetbuddy.commons.exceptions.DataConversionException;
+import budgetbuddy.commons.util.JsonUtil;
+import budgetbuddy.model.AccountsManager;
+import budgetbuddy.model.account.Account;
+import budgetbuddy.model.attributes.Amount;
+import budgetbuddy.model.attributes.Category;
+import budgetbuddy.model.attributes.Description;
+import budgetbuddy.model.attributes.Direction;
+import budgetbuddy.model.attributes.Name;
+import budgetbuddy.model.transaction.Transaction;
+import budgetbuddy.model.transaction.TransactionList;
+
+public class JsonAccountsStorageTest {
+
+    @TempDir
+    public Path testFolder;
+
+    private Path filePath;
+
+    @BeforeEach
+    public void setUp() {
+        filePath = testFolder.resolve("accounts.json");
+    }
+
+    private static AccountsManager getAccountsManager() {
+        TransactionList cash = new TransactionList();
+        cash.add(new Transaction(LocalDate.of(2019, 10, 1), new Amount(550), Direction.OUT,
+                new Description("Lunch"), new Category("Food"), new Category("Work")));
+        cash.add(new Transaction(LocalDate.of(2019, 10, 2), new Amount(1), Direction.OUT,
+                new Description("No categories")));
+        TransactionList bank = new TransactionList();
+        bank.add(new Transaction(LocalDate.of(2019, 10, 3), new Amount(200000), Direction.IN,
+                new Description("Salary \"October\""), new Category("Income")));
+
+        List<Account> accounts = new ArrayList<>(Arrays.asList(
+                new Account(new Name("Cash"), new Description("Wallet"), cash, -551),
+                new Account(new Name("Bank"), new Description("Savings"), bank, 200000)));
+        return new AccountsManager(accounts, Index.fromZeroBased(1));
+    }
+
+    private void writeFile(String content) throws Exception {
+        Files.write(filePath, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void readAccounts_nullFilePath_throwsNullPointerException() {
+        assertThrows(NullPointerException.class, () -> new JsonAccountsStorage(filePath).readAccounts(null));
+    }
+
+    @Test
+    public void readAccounts_missingFile_emptyResult() throws Exception {
+        assertFalse(new JsonAccountsStorage(filePath).readAccounts().isPresent());
+    }
+
+    @Test
+    public void readAccounts_notJsonFormat_throwsDataConversionException() throws Exception {
+        writeFile("not json format!");
+        assertThrows(DataConversionException.class, () -> new JsonAccountsStorage(filePath).readAccounts());
+    }
+
+    @Test
+    public void readAccounts_truncatedFile_throwsDataConversionException() throws Exception {
+        new JsonAccountsStorage(filePath).saveAccounts(getAccountsManager());
+        byte[] bytes = Files.readAllBytes(filePath);
+        Files.write(filePath, Arrays.copyOf(bytes, bytes.length / 2));
+        assertThrows(DataConversionException.class, () -> new JsonAccountsStorage(filePath).readAccounts());
+    }
+
+    @Test
+    public void readAccounts_missingTransactionField_throwsDataConversionException() throws Exception {
+        writeFile("{ \"accounts\": [ { \"name\": \"Cash\", \"description\": \"Wallet\", \"balance\": \"0\","
+                + " \"transactions\": [ { \"direction\": \"IN\", \"description\": \"Gift\","
+                + " \"categories\": [], \"date\": \"01/10/2019\" } ] } ], \"activeAccountIndex\": 0 }");
+        assertThrows(DataConversionException.class, () -> new JsonAccountsStorage(filePath).readAccounts());
+    }
+
+    @Test
+    public void readAccounts_invalidBalance_throwsDataConversionException() throws Exception {
+        writeFile("{ \"accounts\": [ { \"name\": \"Cash\", \"description\": \"Wallet\", \"balance\": \"lots\","
+                + " \"transactions\": [] } ], \"activeAccountIndex\": 0 }");
+        assertThrows(DataConversionException.class, () -> new JsonAccountsStorage(filePath).readAccounts());
+    }
+
+    @Test
+    public void readAccounts_fieldsReorderedAndUnknown_success() throws Exception {
+        writeFile("{ \"version\": 2, \"activeAccountIndex\": 0, \"accounts\": [ { \"balance\": 550,"
+                + " \"transactions\": [ { \"date\": \"01/10/2019\", \"categories\": [ { \"category\": \"Food\" } ],"
+                + " \"amount\": \"550\", \"note\": { \"nested\": [ 1, 2 ] }, \"description\": \"Refund\","
+                + " \"direction\": \"IN\" } ], \"description\": \"Wallet\", \"name\": \"Cash\" } ] }");
+
+        TransactionList transactions = new TransactionList();
+        transactions.add(new Transaction(LocalDate.of(2019, 10, 1), new Amount(550), Direction.IN,
+                new Description("Refund"), new Category("Food")));
+        AccountsManager expected = new AccountsManager(new ArrayList<>(Arrays.asList(
+                new Account(new Name("Cash"), new Description("Wallet"), transactions, 550))),
+                Index.fromZeroBased(0));
+        assertEquals(expected, new JsonAccountsStorage(filePath).readAccounts().get());
+    }
+
+    @Test
+    public void readAndSaveAccounts_allInOrder_success() throws Exception {
+        JsonAccountsStorage storage = new JsonAccountsStorage(filePath);
+        AccountsManager original = getAccountsManager();
+
+        storage.saveAccounts(original);
+        AccountsManager readBack = storage.readAccounts().get();
+        assertEquals(original, readBack);
+        assertEquals(original.getActiveAccountIndex(), readBack.getActiveAccountIndex());
+    }
+
+    @Test
+    public void saveAccounts_sameFileAsJsonSerializableAccountsManager() throws Exception {
+        AccountsManager original = getAccountsManager();
+        Path adaptedFilePath = testFolder.resolve("adapted.json");
+        JsonUtil.saveJsonFile(new JsonSerializableAccountsManager(original), adaptedFilePath);
+        new JsonAccountsStorage(filePath).saveAccounts(original);
+
+        assertEquals(new String(Files.readAllBytes(adaptedFilePath), StandardCharsets.UTF_8),
+                new String(Files.readAllBytes(filePath), StandardCharsets.UTF_8));
+        assertEquals(original, new JsonAccountsStorage(adaptedFilePath).readAccounts().get());
+    }
+}
@@ -0,0 +1,242 @@
+package budgetbuddy.storage.accounts;
+
+import static budgetbuddy.testutil.Assert.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import budgetbuddy.commons.core.index.Index;
+import budgetbuddy.commons.exceptions.DataConversionException;
+import budgetbuddy.model.AccountsManager;
+import budgetbuddy.model.account.Account;
+import budgetbuddy.model.attributes.Amount;
+import budgetbuddy.model.attributes.Category;
+import budgetbuddy.model.attributes.Description;
+import budgetbuddy.model.attributes.Direction;
+import budgetbuddy.model.attributes.Name;
+import budgetbuddy.model.transaction.Transaction;
+import budgetbuddy.model.transaction.TransactionList;
+
+public class SegmentedAccountsStorageTest {
+
+    private static final Transaction LUNCH = new Transaction(LocalDate.of(2019, 10, 1), new Amount(550),
+            Direction.OUT, new Description("Lunch"), new Category("Food"));
+    private static final Transaction SALARY = new Transaction(LocalDate.of(2019, 10, 2), new Amount(200000),
+            Direction.IN, new Description("Salary"), new Category("Income"));
+
+    @TempDir
+    public Path testFolder;
+
+    private Path directory;
+
+    @BeforeEach
+    public void setUp() {
+        directory = testFolder.resolve("accounts" + SegmentedAccountsStorage.DIRECTORY_SUFFIX);
+    }
+
+    /**
+     * Creates an account with the given transactions and a matching balance.
+     */
+    private static Account account(String name, Transaction... transactions) {
+        TransactionList transactionList = new TransactionList();
+        long balance = 0;
+        for (Transaction transaction : transactions) {
+            transactionList.add(transaction);
+            balance += transaction.getDirection().equals(Direction.IN)
+                    ? transaction.getAmount().toLong()
+                    : -transaction.getAmount().toLong();
+        }
+        return new Account(new Name(name), new Description(name), transactionList, balance);
+    }
+
+    /**
+     * Creates an accounts manager with the cash, bank and card accounts, with the first account active.
+     */
+    private static AccountsManager getAccountsManager() {
+        List<Account> accounts = new ArrayList<>(Arrays.asList(
+                account("Cash", LUNCH), account("Bank", SALARY), account("Card", LUNCH, SALARY)));
+        return new AccountsManager(accounts, Index.fromZeroBased(0));
+    }
+
+    /**
+     * Returns the names of the segment files, including unreadable ones, in the test directory.
+     */
+    private Set<String> segmentFileNames() throws Exception {
+        Set<String> fileNames = new TreeSet<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory,
+                SegmentedAccountsStorage.SEGMENT_PREFIX + "*")) {
+            files.forEach(file -> fileNames.add(file.getFileName().toString()));
+        }
+        return fileNames;
+    }
+
+    @Test
+    public void readAccounts_nullDirectory_throwsNullPointerException() {
+        assertThrows(NullPointerException.class, () -> new SegmentedAccountsStorage(directory).readAccounts(null));
+    }
+
+    @Test
+    public void readAccounts_missingDirectory_emptyResult() throws Exception {
+        assertFalse(new SegmentedAccountsStorage(directory).readAccounts().isPresent());
+    }
+
+    @Test
+    public void readAccounts_invalidManifest_throwsDataConversionException() throws Exception {
+        Files.createDirectories(directory);
+        Files.write(directory.resolve(SegmentedAccountsStorage.MANIFEST_FILE_NAME),
+                "{ \"accounts\": [ { \"name\": \"Cash\", \"description\": \"Wallet\", \"balance\": \"0\" } ] }"
+                        .getBytes(StandardCharsets.UTF_8));
+        assertThrows(DataConversionException.class, () -> new SegmentedAccountsStorage(directory).readAccounts());
+    }
+
+    @Test
+    public void readAccounts_onlyActiveAccountLoaded() throws Exception {
+        AccountsManager original = getAccountsManager();
+        original.setActiveAccountByIndex(Index.fromZeroBased(1));
+        new SegmentedAccountsStorage(directory).saveAccounts(original);
+
+        AccountsManager readBack = new SegmentedAccountsStorage(directory).readAccounts().get();
+        List<Account> accounts = readBack.getAccounts();
+        assertFalse(accounts.get(0).isTransactionListLoaded());
+        assertTrue(accounts.get(1).isTransactionListLoaded());
+        assertFalse(accounts.get(2).isTransactionListLoaded());
+        assertEquals(original.getAccounts().get(2).getBalance(), accounts.get(2).getBalance());
+
+        assertEquals(original, readBack);
+        assertEquals(Index.fromZeroBased(1), readBack.getActiveAccountIndex());
+    }
+
+    @Test
+    public void readAccounts_loadedEagerly_allAccountsLoaded() throws Exception {
+        AccountsManager original = getAccountsManager();
+        new SegmentedAccountsStorage(directory).saveAccounts(original);
+
+        SegmentedAccountsStorage storage = new SegmentedAccountsStorage(directory, true);
+        AccountsManager readBack = storage.readAccounts().get();
+        assertTrue(readBack.getAccounts().stream().allMatch(Account::isTransactionListLoaded));
+        assertEquals(original, readBack);
+
+        // accounts loaded eagerly are unchanged, so no segment is rewritten
+        Set<String> fileNames = segmentFileNames();
+        storage.saveAccounts(readBack);
+        assertEquals(fileNames, segmentFileNames());
+    }
+
+    @Test
+    public void saveAccounts_onlyChangedAccountsRewritten() throws Exception {
+        new SegmentedAccountsStorage(directory).saveAccounts(getAccountsManager());
+        Set<String> initialFileNames = segmentFileNames();
+        assertEquals(3, initialFileNames.size());
+
+        SegmentedAccountsStorage storage = new SegmentedAccountsStorage(directory);
+        AccountsManager accountsManager = storage.readAccounts().get();
+        storage.saveAccounts(accountsManager);
+        assertEquals(initialFileNames, segmentFileNames());
+
+        accountsManager.getAccounts().get(1).addTransaction(LUNCH);
+        storage.saveAccounts(accountsManager);
+        Set<String> changedFileNames = segmentFileNames();
+        assertEquals(3, changedFileNames.size());
+        assertNotEquals(initialFileNames, changedFileNames);
+        changedFileNames.retainAll(initialFileNames);
+        assertEquals(2, changedFileNames.size());
+        assertFalse(accountsManager.getAccounts().get(2).isTransactionListLoaded());
+
+        AccountsManager expected = new AccountsManager(new ArrayList<>(Arrays.asList(
+                account("Cash", LUNCH), account("Bank", SALARY, LUNCH), account("Card", LUNCH, SALARY))),
+                Index.fromZeroBased(0));
+        assertEquals(expected, new SegmentedAccountsStorage(directory).readAccounts().get());
+    }
+
+    @Test
+    public void saveAccounts_accountDeleted_segmentDeleted() throws Exception {
+        SegmentedAccountsStorage storage = new SegmentedAccountsStorage(directory);
+        storage.saveAccounts(getAccountsManager());
+        AccountsManager accountsManager = storage.readAccounts().get();
+
+        accountsManager.deleteAccount(Index.fromZeroBased(2));
+        storage.saveAccounts(accountsManager);
+        assertEquals(2, segmentFileNames().size());
+        assertEquals(accountsManager, new SegmentedAccountsStorage(directory).readAccounts().get());
+    }
+
+    @Test
+    public void readAccounts_corruptedSegment_keptAndNotSaved() throws Exception {
+        SegmentedAccountsStorage storage = new SegmentedAccountsStorage(directory);
+        storage.saveAccounts(getAccountsManager());
+        byte[] corrupted = "{ \"transactions\": [ { ".getBytes(StandardCharsets.UTF_8);
+        for (String fileName : segmentFileNames()) {
+            Files.write(directory.resolve(fileName), corrupted);
+        }
+        Set<String> fileNames = segmentFileNames();
+
+        AccountsManager accountsManager = storage.readAccounts().get();
+        assertEquals(new TransactionList(), accountsManager.getAccounts().get(0).getTransactionList());
+
+        // unchanged accounts are saved without touching their segments
+        storage.saveAccounts(accountsManager);
+        assertEquals(fileNames, segmentFileNames());
+
+        // changes to an unreadable account are refused, and its segment and balance are kept
+        accountsManager.getAccounts().get(0).addTransaction(SALARY);
+        accountsManager.getAccounts().get(1).getTransactionList();
+        assertThrows(IOException.class, () -> storage.saveAccounts(accountsManager));
+        assertEquals(fileNames, segmentFileNames());
+        for (String fileName : fileNames) {
+            assertArrayEquals(corrupted, Files.readAllBytes(directory.resolve(fileName)));
+        }
+        AccountsManager readBack = new SegmentedAccountsStorage(directory).readAccounts().get();
+        assertEquals(getAccountsManager().getAccounts().get(0).getBalance(),
+                readBack.getAccounts().get(0).getBalance());
+    }
+
+    @Test
+    public void readAccounts_segmentReadFails_readAgainLater() throws Exception {
+        SegmentedAccountsStorage storage = new SegmentedAccountsStorage(directory);
+        storage.saveAccounts(getAccountsManager());
+        Path segment = directory.resolve(segmentFileNames().iterator().next());
+        Path movedSegment = testFolder.resolve("segment");
+        Files.move(segment, movedSegment);
+        // a directory cannot be read as a file, which fails as an I/O error would
+        Files.createDirectory(segment);
+
+        AccountsManager accountsManager = storage.readAccounts().get();
+        accountsManager.getAccounts().forEach(Account::getTransactionList);
+        storage.saveAccounts(accountsManager);
+        assertTrue(Files.isDirectory(segment));
+
+        Files.delete(segment);
+        Files.move(movedSegment, segment);
+        assertEquals(getAccountsManager(), new SegmentedAccountsStorage(directory).readAccounts().get());
+    }
+
+    @Test
+    public void convertFromJson_jsonFile_converted() throws Exception {
+        Path jsonFilePath = testFolder.resolve("accounts.json");
+        assertEquals(directory, SegmentedAccountsStorage.toSegmentsDirectory(jsonFilePath));
+        assertFalse(SegmentedAccountsStorage.convertFromJson(jsonFilePath, directory));
+
+        AccountsManager original = getAccountsManager();
+        new JsonAccountsStorage(jsonFilePath).saveAccounts(original);
+        assertTrue(SegmentedAccountsStorage.convertFromJson(jsonFilePath, directory));
+        assertEquals(original, new SegmentedAccountsStorage(directory).readAccounts().get());
+    }
+}